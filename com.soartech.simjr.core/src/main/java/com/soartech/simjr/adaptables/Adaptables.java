@@ -42,6 +42,28 @@ import java.util.List;
  */
 public class Adaptables
 {
+    /**
+     * Global negative cache. True for classes that inherit 
+     * {@link AbstractAdaptable#getAdapter(Class)} unchanged, so their adapters
+     * depend only on their type. When an instanceof test on one of these 
+     * fails, the object can never be adapted to the class and getAdapter() 
+     * is not called.
+     */
+    private static final ClassValue<Boolean> typeOnlyAdapters = new ClassValue<Boolean>()
+    {
+        @Override
+        protected Boolean computeValue(Class<?> type)
+        {
+            try
+            {
+                return type.getMethod("getAdapter", Class.class).getDeclaringClass() == AbstractAdaptable.class;
+            }
+            catch (NoSuchMethodException e)
+            {
+                return false;
+            }
+        }
+    };
 
     /**
      * Adapt an object to the given class. This is equivalent to o.getAdapter(klass)
@@ -83,7 +105,7 @@ public class Adaptables
         {
             return (T) o;
         }
-        else if(recurse && (o instanceof Adaptable))
+        else if(recurse && (o instanceof Adaptable) && !typeOnlyAdapters.get(o.getClass()))
         {
             return (T) ((Adaptable) o).getAdapter(klass);
         }
@@ -111,7 +133,7 @@ public class Adaptables
         {
             return o;
         }
-        else if(recurse && (o instanceof Adaptable))
+        else if(recurse && (o instanceof Adaptable) && !typeOnlyAdapters.get(o.getClass()))
         {
             return ((Adaptable) o).getAdapter(klass);
         }
@@ -14,6 +14,7 @@ import com.soartech.simjr.ProgressMonitor;
 import com.soartech.simjr.SimJrProps;
 import com.soartech.simjr.SimulationException;
 import com.soartech.simjr.scripting.ScriptRunner;
+import com.soartech.simjr.sensors.SensorWorld;
 import com.soartech.simjr.services.ConstructOnDemand;
 import com.soartech.simjr.services.DefaultServiceManager;
 import com.soartech.simjr.services.ServiceManager;
@@ -23,6 +24,7 @@ import com.soartech.simjr.services.SimulationService;
 import com.soartech.simjr.sim.ScenarioLoader;
 import com.soartech.simjr.sim.SimpleTerrain;
 import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.SimulationProfiler;
 import com.soartech.simjr.util.FileTools;
 
 public abstract class AbstractSimulationApplication extends DefaultServiceManager
@@ -185,6 +187,17 @@ public abstract class AbstractSimulationApplication extends DefaultServiceManage
         // UI Only
         //simulation.addListener(new SimListener());
         addService(simulation);
+        
+        // Make the profiler console and JMX bean available. Profiling itself
+        // stays off unless simjr.profiler.enabled is set.
+        SimulationProfiler.findService(this);
+        
+        // Optionally evaluate all sensors in one pass after motion rather 
+        // than from each entity's tick
+        if(SimJrProps.get("simjr.sensors.world.enabled", false))
+        {
+            SensorWorld.findService(this);
+        }
         return simulation;
     }
     
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.controllers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.EntityPropertyListener;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.SimulationListener;
+import com.soartech.simjr.sim.SimulationListenerAdapter;
+import com.soartech.simjr.sim.Terrain;
+
+/**
+ * A route resolved once into the form a follower needs each tick: the point
+ * entities, their (optionally ground clamped) target positions and the
+ * cumulative arc length along them.
+ * 
+ * <p>A compiled route is invalidated when a watched property changes (see
+ * {@link #watch(Entity, String...)}), when a point entity is removed from the
+ * simulation, or when an entity is added with the name of a point that 
+ * didn't exist when it was compiled. Point entities don't fire an event when
+ * they move, so a follower calls {@link #refresh(int)} on its current target
+ * point, which re-clamps just that point if it has moved since it was 
+ * compiled.
+ * 
+ * <p>Compiled routes are not thread-safe, other than {@link #invalidate()},
+ * and are meant to be owned by a single controller.
+ * 
+ * @author ray
+ */
+public class CompiledRoute
+{
+    private final Entity[] points;
+    private final Vector3[] sources;
+    private final Vector3[] targets;
+    private final double[] distances;
+    private final Terrain terrain;
+    private final Double agl;
+    private boolean distancesDirty = true;
+    private volatile boolean valid = true;
+    
+    private final List<Entity> watchedEntities = new ArrayList<Entity>();
+    private final List<EntityPropertyListener> watchListeners = new ArrayList<EntityPropertyListener>();
+    
+    private Set<String> missingPointNames = Collections.emptySet();
+    private Simulation missingPointSim;
+    private SimulationListener missingPointListener;
+    
+    /**
+     * Compile a route from a list of point names. Names that can't be resolved
+     * are left out, and the route is invalidated when an entity with one of 
+     * those names is added to the simulation. Listeners are removed by 
+     * {@link #dispose()}.
+     * 
+     * @param sim the simulation
+     * @param pointNames the names of the point entities, in order
+     * @param agl if not null, target positions are clamped to this height
+     *      above the terrain
+     * @return the compiled route
+     */
+    public static CompiledRoute compile(Simulation sim, List<String> pointNames, Double agl)
+    {
+        final List<Entity> resolved = new ArrayList<Entity>(pointNames.size());
+        Set<String> missing = null;
+        for(String name : pointNames)
+        {
+            final Entity e = sim.getEntity(name);
+            if(e != null)
+            {
+                resolved.add(e);
+            }
+            else
+            {
+                if(missing == null)
+                {
+                    missing = new LinkedHashSet<String>();
+                }
+                missing.add(name);
+            }
+        }
+        final CompiledRoute route = new CompiledRoute(resolved, sim.getTerrain(), agl);
+        if(missing != null)
+        {
+            route.watchForMissingPoints(sim, missing);
+        }
+        return route;
+    }
+    
+    private void watchForMissingPoints(Simulation sim, final Set<String> names)
+    {
+        missingPointNames = Collections.unmodifiableSet(names);
+        missingPointSim = sim;
+        missingPointListener = new SimulationListenerAdapter()
+        {
+            @Override
+            public void onEntityAdded(Entity e)
+            {
+                if(names.contains(e.getName()))
+                {
+                    invalidate();
+                }
+            }
+        };
+        sim.addListener(missingPointListener);
+    }
+    
+    /**
+     * @param points the point entities, in order
+     * @param terrain the terrain used to clamp points. May be null if agl is
+     *      null.
+     * @param agl if not null, target positions are clamped to this height
+     *      above the terrain
+     */
+    public CompiledRoute(List<Entity> points, Terrain terrain, Double agl)
+    {
+        if(agl != null && terrain == null)
+        {
+            throw new IllegalArgumentException("A terrain is required to clamp a route to the ground");
+        }
+        this.points = points.toArray(new Entity[points.size()]);
+        this.sources = new Vector3[this.points.length];
+        this.targets = new Vector3[this.points.length];
+        this.distances = new double[this.points.length];
+        this.terrain = terrain;
+        this.agl = agl;
+        
+        for(int i = 0; i < this.points.length; ++i)
+        {
+            sources[i] = this.points[i].getPosition();
+            targets[i] = clamp(sources[i]);
+        }
+    }
+    
+    private Vector3 clamp(Vector3 p)
+    {
+        return agl != null ? terrain.clampPointToGround(p, agl) : p;
+    }
+    
+    /**
+     * @return true if this route still reflects its source
+     */
+    public boolean isValid()
+    {
+        return valid;
+    }
+    
+    /**
+     * Mark this route as stale. It may be called from any thread.
+     */
+    public void invalidate()
+    {
+        valid = false;
+    }
+    
+    /**
+     * Invalidate this route when any of the given properties of an entity 
+     * change. Listeners are removed by {@link #dispose()}.
+     * 
+     * @param entity the entity to watch
+     * @param properties the property names
+     */
+    public void watch(Entity entity, String... properties)
+    {
+        final List<String> names = Arrays.asList(properties);
+        final EntityPropertyListener listener = new EntityPropertyListener()
+        {
+            public void onPropertyChanged(Entity entity, String propertyName)
+            {
+                if(names.contains(propertyName))
+                {
+                    invalidate();
+                }
+            }
+        };
+        entity.addPropertyListener(listener);
+        watchedEntities.add(entity);
+        watchListeners.add(listener);
+    }
+    
+    /**
+     * @return true if every point name the route was compiled from resolved
+     *      to an entity
+     */
+    public boolean isComplete()
+    {
+        return missingPointNames.isEmpty();
+    }
+    
+    /**
+     * @return the point names that didn't resolve to an entity when the 
+     *      route was compiled
+     */
+    public Set<String> getMissingPointNames()
+    {
+        return missingPointNames;
+    }
+    
+    /**
+     * Invalidate this route and remove any listeners added by 
+     * {@link #watch(Entity, String...)} or for missing points.
+     */
+    public void dispose()
+    {
+        invalidate();
+        if(missingPointListener != null)
+        {
+            missingPointSim.removeListener(missingPointListener);
+            missingPointListener = null;
+            missingPointSim = null;
+        }
+        for(int i = 0; i < watchedEntities.size(); ++i)
+        {
+            watchedEntities.get(i).removePropertyListener(watchListeners.get(i));
+        }
+        watchedEntities.clear();
+        watchListeners.clear();
+    }
+    
+    /**
+     * @return the number of points in the route
+     */
+    public int size()
+    {
+        return points.length;
+    }
+    
+    /**
+     * @param i point index
+     * @return the point entity
+     */
+    public Entity getPoint(int i)
+    {
+        return points[i];
+    }
+    
+    /**
+     * @param i point index
+     * @return the position a follower should head for, clamped to the ground
+     *      if the route was compiled with an agl
+     */
+    public Vector3 getTarget(int i)
+    {
+        return targets[i];
+    }
+    
+    /**
+     * Pick up movement of a single point since it was compiled. This is 
+     * constant time unless the point has moved.
+     * 
+     * @param i point index
+     * @return false if the route is no longer valid
+     */
+    public boolean refresh(int i)
+    {
+        final Entity e = points[i];
+        if(e.getSimulation() == null)
+        {
+            invalidate();
+            return false;
+        }
+        final Vector3 p = e.getPosition();
+        if(!p.equals(sources[i]))
+        {
+            sources[i] = p;
+            targets[i] = clamp(p);
+            distancesDirty = true;
+        }
+        return valid;
+    }
+    
+    /**
+     * @param i point index
+     * @return the distance along the route from the first point to point i
+     */
+    public double getDistance(int i)
+    {
+        if(distancesDirty)
+        {
+            double total = 0.0;
+            for(int j = 0; j < targets.length; ++j)
+            {
+                if(j > 0)
+                {
+                    total += targets[j].distance(targets[j - 1]);
+                }
+                distances[j] = total;
+            }
+            distancesDirty = false;
+        }
+        return distances[i];
+    }
+    
+    /**
+     * @return the distance along the route from the first to the last point
+     */
+    public double getLength()
+    {
+        return points.length > 0 ? getDistance(points.length - 1) : 0.0;
+    }
+}
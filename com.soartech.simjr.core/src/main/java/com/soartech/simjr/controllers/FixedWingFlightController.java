@@ -34,6 +34,7 @@ import com.soartech.math.Vector3;
 import com.soartech.simjr.sim.AbstractEntityCapability;
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityTools;
+import com.soartech.simjr.sim.ParallelTickSafe;
 
 /**
  * A controller that provides an interface for controlling a fixed-wing 
@@ -45,7 +46,7 @@ import com.soartech.simjr.sim.EntityTools;
  *
  * @author piegdon
  */
-public class FixedWingFlightController extends AbstractEntityCapability implements FlightController
+public class FixedWingFlightController extends AbstractEntityCapability implements FlightController, ParallelTickSafe
 {
     /**
      * The names of various properties used by this controller.
@@ -313,6 +314,16 @@ public class FixedWingFlightController extends AbstractEntityCapability implemen
     {
     }
 
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.ParallelTickSafe#isParallelTickSafe()
+     */
+    @Override
+    public boolean isParallelTickSafe()
+    {
+        // Only reads and writes the controlled entity
+        return true;
+    }
+
     /* (non-Javadoc)
      * @see com.soartech.simjr.sim.Tickable#tick(double)
      */
@@ -35,6 +35,7 @@ import com.soartech.simjr.sim.AbstractEntityCapability;
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityController;
 import com.soartech.simjr.sim.EntityTools;
+import com.soartech.simjr.sim.ParallelTickSafe;
 import com.soartech.simjr.sim.Tickable;
 
 /**
@@ -46,7 +47,7 @@ import com.soartech.simjr.sim.Tickable;
  * @author glenn
  */
 public class GroundController extends AbstractEntityCapability implements
-    EntityController, Tickable
+    EntityController, Tickable, ParallelTickSafe
 {
     /**
      * Desired ground speed in m/s
@@ -132,6 +133,16 @@ public class GroundController extends AbstractEntityCapability implements
     {
     }
 
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.ParallelTickSafe#isParallelTickSafe()
+     */
+    @Override
+    public boolean isParallelTickSafe()
+    {
+        // Only reads and writes the controlled entity
+        return true;
+    }
+
     /* (non-Javadoc)
      * @see com.soartech.simjr.sim.Tickable#tick(double)
      */
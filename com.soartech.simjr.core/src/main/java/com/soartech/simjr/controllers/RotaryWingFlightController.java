@@ -36,6 +36,7 @@ import com.soartech.math.Vector3;
 import com.soartech.simjr.sim.AbstractEntityCapability;
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityTools;
+import com.soartech.simjr.sim.ParallelTickSafe;
 
 /**
  * A controller that provides an interface for controlling a vehicle, usually
@@ -56,7 +57,7 @@ import com.soartech.simjr.sim.EntityTools;
  * @author ray
  */
 public class RotaryWingFlightController extends AbstractEntityCapability implements
-        FlightController
+        FlightController, ParallelTickSafe
 {
     /**
      * Desired ground speed in m/s
@@ -218,6 +219,16 @@ public class RotaryWingFlightController extends AbstractEntityCapability impleme
     {
     }
 
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.ParallelTickSafe#isParallelTickSafe()
+     */
+    @Override
+    public boolean isParallelTickSafe()
+    {
+        // Only reads and writes the controlled entity
+        return true;
+    }
+
     /* (non-Javadoc)
      * @see com.soartech.simjr.sim.Tickable#tick(double)
      */
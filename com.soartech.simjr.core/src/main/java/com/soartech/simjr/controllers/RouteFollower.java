@@ -32,7 +32,6 @@
 package com.soartech.simjr.controllers;
 
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
@@ -42,9 +41,11 @@ import com.soartech.math.Vector3;
 import com.soartech.simjr.adaptables.Adaptables;
 import com.soartech.simjr.sim.AbstractEntityCapability;
 import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.EntityConstants;
 import com.soartech.simjr.sim.EntityController;
 import com.soartech.simjr.sim.EntityPropertyListener;
 import com.soartech.simjr.sim.EntityTools;
+import com.soartech.simjr.sim.Simulation;
 import com.soartech.simjr.sim.entities.AbstractPolygon;
 import com.soartech.simjr.sim.entities.DamageStatus;
 
@@ -53,6 +54,10 @@ import com.soartech.simjr.sim.entities.DamageStatus;
  * route to follow are controlled by setters on the object, or with the
  * "routeFollower.route" and "routeFollower.speed" properties on the
  * attached entity.
+ * 
+ * <p>The route is compiled (see {@link CompiledRoute}) the first time it is
+ * needed and again only when its points, the route itself or the entity's
+ * enforced AGL change, so each tick is constant time.
  *
  * @author ray
  */
@@ -68,6 +73,14 @@ public class RouteFollower extends AbstractEntityCapability implements EntityCon
     private boolean pushingProps = false;
 
     private int targetPoint = 0;
+    
+    /**
+     * Id of the route entity when the route is given by name. Checked 
+     * against the name before use.
+     */
+    private int routeId = -1;
+    private Entity routeEntity;
+    private CompiledRoute compiled;
     private List<RouteFollowerListener> listeners = new CopyOnWriteArrayList<RouteFollowerListener>();
 
     private final EntityPropertyListener propListener = new EntityPropertyListener()
@@ -123,6 +136,7 @@ public class RouteFollower extends AbstractEntityCapability implements EntityCon
     public void setRoute(Object route)
     {
         this.route = route;
+        discardCompiledRoute();
         pushProps();
     }
 
@@ -144,7 +158,14 @@ public class RouteFollower extends AbstractEntityCapability implements EntityCon
             return routePoly;
         }
 
-        Entity e = getEntity().getSimulation().getEntity(route.toString());
+        final Simulation sim = getEntity().getSimulation();
+        final String routeName = route.toString();
+        Entity e = sim.getEntityById(routeId);
+        if(e == null || !e.getName().equals(routeName))
+        {
+            e = sim.getEntity(routeName);
+            routeId = e != null ? e.getId() : -1;
+        }
         routePoly = Adaptables.adapt(e, AbstractPolygon.class);
         if(routePoly != null)
         {
@@ -153,34 +174,39 @@ public class RouteFollower extends AbstractEntityCapability implements EntityCon
         return null;
     }
 
-    private Entity getTargetEntity(AbstractPolygon route)
+    /**
+     * @return the compiled form of the current route, compiling it if it has
+     *      changed, or null if there is no route
+     */
+    CompiledRoute getCompiledRoute()
     {
-        List<Entity> points = route.getPoints();
-        if(points.isEmpty())
+        if(compiled != null && compiled.isValid() && routeEntity.getSimulation() != null)
+        {
+            return compiled;
+        }
+        discardCompiledRoute();
+        
+        final AbstractPolygon routePoly = getRoutePolygon();
+        if(routePoly == null)
         {
             return null;
         }
-        targetPoint = Math.min(targetPoint, points.size() - 1);
-
-        return points.get(targetPoint);
+        final Entity entity = getEntity();
+        routeEntity = routePoly.getEntity();
+        compiled = CompiledRoute.compile(entity.getSimulation(), routePoly.getPointNames(), 
+                                         EntityTools.getEnforcedAboveGroundLevel(entity));
+        compiled.watch(routeEntity, EntityConstants.PROPERTY_POINTS);
+        compiled.watch(entity, ROUTE_PROPERTY, EntityConstants.PROPERTY_ENFORCE_AGL);
+        return compiled;
     }
-
-    private Vector3 getTargetPoint(AbstractPolygon route)
+    
+    private void discardCompiledRoute()
     {
-        Entity target = getTargetEntity(route);
-        if(target == null)
+        if(compiled != null)
         {
-            return Vector3.ZERO;
-        }
-
-        Double enforceAgl = EntityTools.getEnforcedAboveGroundLevel(getEntity());
-        if(enforceAgl != null)
-        {
-            return getEntity().getSimulation().getTerrain().clampPointToGround(target.getPosition(), enforceAgl);
-        }
-        else
-        {
-            return target.getPosition();
+            compiled.dispose();
+            compiled = null;
+            routeEntity = null;
         }
     }
 
@@ -240,6 +266,7 @@ public class RouteFollower extends AbstractEntityCapability implements EntityCon
     @Override
     public void detach()
     {
+        discardCompiledRoute();
         getEntity().removePropertyListener(propListener);
         removeProps();
         super.detach();
@@ -259,21 +286,29 @@ public class RouteFollower extends AbstractEntityCapability implements EntityCon
     public void tick(double dt)
     {
         final Entity entity = getEntity();
-        Map<String, Object> props = entity.getProperties();
-        if(DamageStatus.destroyed == EntityTools.getDamage(props))
+        if(DamageStatus.destroyed == EntityTools.getDamage(entity))
         {
             return;
         }
 
-        AbstractPolygon route = getRoutePolygon();
+        final CompiledRoute route = getCompiledRoute();
         if(route == null)
         {
             logger.error(entity.getName() + ": No route specified for route follower. Route = " + this.route);
             return;
         }
 
+        Entity targetEntity = null;
+        Vector3 target = Vector3.ZERO;
+        if(route.size() > 0)
+        {
+            targetPoint = Math.min(targetPoint, route.size() - 1);
+            route.refresh(targetPoint);
+            targetEntity = route.getPoint(targetPoint);
+            target = route.getTarget(targetPoint);
+        }
+
         Vector3 pos = entity.getPosition();
-        Vector3 target = getTargetPoint(route);
 
         double speed = getSpeed();
 
@@ -283,17 +318,13 @@ public class RouteFollower extends AbstractEntityCapability implements EntityCon
 
         // If we'll  overshoot the target in the next tick, then consider it
         // achieved and move on to the next.
-        if(pos.subtract(target).length() < speed * dt)
+        if(targetEntity != null && pos.subtract(target).length() < speed * dt)
         {
-            Entity targetEntity = getTargetEntity(route);
-            if(targetEntity != null)
+            for(RouteFollowerListener listener : listeners)
             {
-                for(RouteFollowerListener listener : listeners)
-                {
-                    listener.onWaypointAchieved(this, targetEntity);
-                }
+                listener.onWaypointAchieved(this, targetEntity);
             }
-            targetPoint = (targetPoint + 1) % route.getPointNames().size();
+            targetPoint = (targetPoint + 1) % route.size();
         }
     }
 
@@ -32,6 +32,7 @@
 package com.soartech.simjr.controllers;
 
 import java.awt.Color;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -39,6 +40,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.soartech.math.Vector3;
+import com.soartech.simjr.SimJrProps;
 import com.soartech.simjr.SimulationException;
 import com.soartech.simjr.adaptables.Adaptables;
 import com.soartech.simjr.sim.AbstractEntityCapability;
@@ -56,7 +58,11 @@ import com.soartech.simjr.sim.entities.AbstractPolygon;
  * associated speed. When the follower is assigned a list of segments to
  * follow with the {@link #setSegments(SegmentInfo)} method, the follower
  * automatically constructs a new route entity in the simulation so that
- * it will be displayed.
+ * it will be displayed, unless the route is not visible (see 
+ * {@link #setRouteVisible(boolean)} and the 
+ * simjr.controllers.segmentFollower.routeVisible property). The waypoints
+ * themselves are followed through a {@link CompiledRoute}, resolved once per
+ * assignment rather than looked up by name each tick.
  *
  * @author ray
  */
@@ -71,8 +77,10 @@ public class SegmentFollower extends AbstractEntityCapability implements
     private Vector3 currentSegmentStart = null;
     private Entity constructedRoute = null;
     private int nameIndex = 0;
-    private boolean routeVisible = true;
+    private boolean routeVisible = SimJrProps.get("simjr.controllers.segmentFollower.routeVisible", true);
     private double currentSegmentDelay;
+    private CompiledRoute compiled = null;
+    private int currentIndex = 0;
 
     /**
      * Adapt the given object to a SegmentFollower. This method is a convenience method for scripting.
@@ -148,9 +156,46 @@ public class SegmentFollower extends AbstractEntityCapability implements
 
     private void startFollowingSegments()
     {
+        discardCompiledRoute();
+        currentIndex = 0;
         getEntity().setProperty("segments", segments);
         startFollowingSegment(segments);
     }
+    
+    private void discardCompiledRoute()
+    {
+        if(compiled != null)
+        {
+            compiled.dispose();
+            compiled = null;
+        }
+    }
+    
+    /**
+     * @return the position of the current segment's waypoint. If some of the
+     *      assigned waypoints don't exist, the current one is looked up by 
+     *      name instead, until they are added and the route is compiled 
+     *      again.
+     */
+    private Vector3 getCurrentTarget()
+    {
+        final Simulation sim = getEntity().getSimulation();
+        if(compiled == null || !compiled.isValid())
+        {
+            discardCompiledRoute();
+            final List<String> names = new ArrayList<String>();
+            for(SegmentInfo segment = segments; segment != null; segment = segment.getNext())
+            {
+                names.add(segment.getWaypoint());
+            }
+            compiled = CompiledRoute.compile(sim, names, null);
+        }
+        if(compiled.isComplete() && compiled.refresh(currentIndex))
+        {
+            return compiled.getTarget(currentIndex);
+        }
+        return currentSegment.getWaypoint(sim).getPosition();
+    }
 
     private void startFollowingSegment(SegmentInfo segment)
     {
@@ -254,6 +299,7 @@ public class SegmentFollower extends AbstractEntityCapability implements
     @Override
     public void detach()
     {
+        discardCompiledRoute();
         removeConstructedRoute();
 
         super.detach();
@@ -278,7 +324,7 @@ public class SegmentFollower extends AbstractEntityCapability implements
         }
 
         final Entity entity = getEntity();
-        final Vector3 target = currentSegment.getWaypoint(entity.getSimulation()).getPosition();
+        final Vector3 target = getCurrentTarget();
         final Vector3 pos = entity.getPosition();
         Vector3 dir = target.subtract(pos).normalized();
         entity.setHeading(Math.atan2(dir.y, dir.x));
@@ -299,6 +345,7 @@ public class SegmentFollower extends AbstractEntityCapability implements
             if(pos.subtract(target).length() < speed * dt)
             {
                 final SegmentInfo completedSegment = currentSegment;
+                ++currentIndex;
                 startFollowingSegment(currentSegment.getNext());
 
                 for(SegmentFollowerListener listener : listeners)
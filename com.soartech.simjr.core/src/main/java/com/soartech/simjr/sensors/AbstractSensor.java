@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.PeriodicTickable;
 
 /**
  * Abstract sensor implementation for new Sensor interface.
@@ -44,13 +45,14 @@ import com.soartech.simjr.sim.Entity;
  * 
  * @author rdf
  */
-public abstract class AbstractSensor implements Sensor
+public abstract class AbstractSensor implements Sensor, PeriodicTickable
 {
     private List<SensorListener> listeners = new CopyOnWriteArrayList<SensorListener>();
 
     private Entity entity;
     private String name;
     private boolean enabled = true;
+    private volatile double tickPeriod = Double.NaN;
 
     public AbstractSensor(String name)
     {
@@ -85,6 +87,25 @@ public abstract class AbstractSensor implements Sensor
         return this.enabled;
     }
 
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.PeriodicTickable#getTickPeriod()
+     */
+    @Override
+    public double getTickPeriod()
+    {
+        return tickPeriod;
+    }
+    
+    /**
+     * @param tickPeriod seconds between ticks of this sensor, zero to tick 
+     *      it every simulation tick, or NaN (the default) for the period 
+     *      configured for its class
+     */
+    public void setTickPeriod(double tickPeriod)
+    {
+        this.tickPeriod = tickPeriod;
+    }
+
     @Override
     public abstract void tick(double dt);
 
@@ -107,4 +128,45 @@ public abstract class AbstractSensor implements Sensor
     {
         return Collections.unmodifiableList(listeners);
     }
+    
+    /**
+     * Notify listeners of the detections that entered and exited a detection
+     * set in its last update, then forget them. Implements 
+     * {@link IncrementalSensor#fireDetectionChanges()} for sensors that keep
+     * their detections in a {@link DetectionSet}.
+     * 
+     * @param detections the sensor's detection set
+     */
+    protected void fireDetectionChanges(DetectionSet detections)
+    {
+        fireDetectionChanges(detections.getExited(), detections.getEntered());
+        detections.clearChanges();
+    }
+    
+    /**
+     * Notify listeners of detections that exited and entered, in that order.
+     * 
+     * @param exited detections that exited
+     * @param entered detections that entered
+     */
+    protected void fireDetectionChanges(List<Detection> exited, List<Detection> entered)
+    {
+        if(!listeners.isEmpty())
+        {
+            for(Detection d : exited)
+            {
+                for(SensorListener listener : listeners)
+                {
+                    listener.destroyedDetection(d);
+                }
+            }
+            for(Detection d : entered)
+            {
+                for(SensorListener listener : listeners)
+                {
+                    listener.generatedDetection(d);
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -1,13 +1,20 @@
 package com.soartech.simjr.sensors;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.soartech.simjr.adaptables.Adaptables;
 import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.entities.AbstractEntity;
 
 public class ContactManager
 {
@@ -16,6 +23,106 @@ public class ContactManager
     
     private HashMap<String,Contact> contactMap = new HashMap<String,Contact>();
     
+    /**
+     * Contacts indexed by the id of their entity, so detections don't have 
+     * to hash names. Slots may be stale after an id is reused, so the 
+     * contact's entity is checked before use.
+     */
+    private Contact[] contactsById = new Contact[0];
+    
+    /**
+     * Contacts seen by a non-incremental sensor during the current update
+     */
+    private final Set<Contact> detectedContacts = Collections.newSetFromMap(new IdentityHashMap<Contact, Boolean>());
+    
+    /**
+     * Contacts with no active detections from incremental sensors. Contacts
+     * in here are projected in {@link #update(double)} unless a 
+     * non-incremental sensor detects them.
+     */
+    private final Set<Contact> undetectedContacts = new LinkedHashSet<Contact>();
+    
+    /**
+     * Active detections from incremental sensors, by contact
+     */
+    private final Map<Contact, Tally> tallies = new IdentityHashMap<Contact, Tally>();
+    
+    /**
+     * Incremental sensors this manager is listening to, and the changes they
+     * reported since the last update
+     */
+    private final Set<IncrementalSensor> subscribedSensors = Collections.newSetFromMap(new IdentityHashMap<IncrementalSensor, Boolean>());
+    private final Set<IncrementalSensor> seenSensors = Collections.newSetFromMap(new IdentityHashMap<IncrementalSensor, Boolean>());
+    private final List<DetectionChange> detectionChanges = new ArrayList<DetectionChange>();
+    private final List<Contact> changedContacts = new ArrayList<Contact>();
+    private final SensorListener sensorListener = new SensorListener()
+    {
+        @Override
+        public void generatedDetection(Detection detection)
+        {
+            detectionChanges.add(new DetectionChange(detection, true));
+        }
+
+        @Override
+        public void destroyedDetection(Detection detection)
+        {
+            detectionChanges.add(new DetectionChange(detection, false));
+        }
+    };
+    
+    /**
+     * A detection entering or exiting, in the order it was reported. A 
+     * detection may enter and exit again between two updates, so the order
+     * matters.
+     */
+    private static class DetectionChange
+    {
+        final Detection detection;
+        final boolean entered;
+        
+        DetectionChange(Detection detection, boolean entered)
+        {
+            this.detection = detection;
+            this.entered = entered;
+        }
+    }
+    
+    /**
+     * Number of active detections of a contact by type
+     */
+    private static class Tally
+    {
+        int visible;
+        int radar;
+        int other;
+        
+        void add(DetectionType type, int delta)
+        {
+            if ( type == DetectionType.VISIBLE )
+            {
+                visible += delta;
+            }
+            else if ( type == DetectionType.RADAR )
+            {
+                radar += delta;
+            }
+            else
+            {
+                other += delta;
+            }
+        }
+        
+        boolean isDetected()
+        {
+            return visible > 0 || radar > 0 || other > 0;
+        }
+        
+        ContactState getState()
+        {
+            return visible > 0 ? ContactState.VISIBLE : (radar > 0 ? ContactState.RADAR : ContactState.UNKNOWN);
+        }
+    }
+    
     public ContactManager(Entity entity) 
     {
         this.entity = entity;
@@ -41,23 +148,64 @@ public class ContactManager
         return Collections.unmodifiableMap(contactMap);
     }
     
+    /**
+     * Stop listening to sensors. Call when the manager is no longer used.
+     */
+    public void dispose()
+    {
+        for (IncrementalSensor sensor : subscribedSensors)
+        {
+            sensor.removeListener(sensorListener);
+        }
+        subscribedSensors.clear();
+        detectionChanges.clear();
+    }
+    
+    /**
+     * Update contacts from the owning entity's sensors. Sensors that 
+     * implement {@link IncrementalSensor} are listened to, and only their 
+     * changes since the last update are processed. The full detection lists
+     * of any other sensors are processed every update.
+     * 
+     * @param dt time since the last update
+     */
     public void update(double dt) 
     {
-        HashMap<String,Contact> undetectedContacts = new HashMap<String,Contact>(contactMap);
+        detectedContacts.clear();
         
-        List<SensorPlatform> sensorPlatforms = Adaptables.adaptCollection(this.entity.getCapabilities(), SensorPlatform.class);
+        List<SensorPlatform> sensorPlatforms = entity instanceof AbstractEntity ? 
+                ((AbstractEntity) entity).getCapabilityAdapters(SensorPlatform.class) :
+                Adaptables.adaptCollection(this.entity.getCapabilities(), SensorPlatform.class);
         
         for (SensorPlatform sensorPlatform : sensorPlatforms )
         {
             for (Sensor sensor : sensorPlatform.getSensors() ) 
             {
-                processDetections( sensor.getDetections(), undetectedContacts );
+                if (sensor instanceof IncrementalSensor)
+                {
+                    subscribe((IncrementalSensor) sensor);
+                }
+                else
+                {
+                    processDetections( sensor.getDetections() );
+                }
+            }
+        }
+        unsubscribeMissingSensors();
+        processDetectionChanges();
+        
+        List<Contact> undetected = new ArrayList<Contact>(undetectedContacts.size());
+        for (Contact contact : undetectedContacts)
+        {
+            if (!detectedContacts.contains(contact))
+            {
+                undetected.add(contact);
             }
         }
         
         // TODO: Try to pull out simulation references if possible
         double currentTime = entity.getSimulation().getTime();
-        for (Contact contact : undetectedContacts.values() ) 
+        for (Contact contact : undetected ) 
         {
             contact.updatePosition( dt );
             boolean hasExpired = contact.getExpirationTime() <= currentTime;
@@ -87,28 +235,150 @@ public class ContactManager
         }
     }
     
+    /**
+     * Start listening to an incremental sensor if we aren't already. Its 
+     * current detections are treated as having just entered.
+     */
+    private void subscribe(IncrementalSensor sensor)
+    {
+        seenSensors.add(sensor);
+        if (subscribedSensors.add(sensor))
+        {
+            sensor.addListener(sensorListener);
+            for (Detection detection : sensor.getDetections())
+            {
+                detectionChanges.add(new DetectionChange(detection, true));
+            }
+        }
+    }
+    
+    /**
+     * Stop listening to sensors that have been removed since the last 
+     * update. Their current detections are treated as having exited.
+     */
+    private void unsubscribeMissingSensors()
+    {
+        if (seenSensors.size() != subscribedSensors.size())
+        {
+            for (Iterator<IncrementalSensor> it = subscribedSensors.iterator(); it.hasNext();)
+            {
+                final IncrementalSensor sensor = it.next();
+                if (!seenSensors.contains(sensor))
+                {
+                    sensor.removeListener(sensorListener);
+                    for (Detection detection : sensor.getDetections())
+                    {
+                        detectionChanges.add(new DetectionChange(detection, false));
+                    }
+                    it.remove();
+                }
+            }
+        }
+        seenSensors.clear();
+    }
+    
+    /**
+     * Apply the detections that incremental sensors reported entering and 
+     * exiting since the last update, in the order they were reported.
+     */
+    private void processDetectionChanges()
+    {
+        final double currentTime = entity.getSimulation().getTime();
+        for (DetectionChange change : detectionChanges)
+        {
+            final Detection detection = change.detection;
+            if (change.entered)
+            {
+                Contact contact = findContact(detection.getTargetEntity());
+                if (contact == null)
+                {
+                    contact = createContactWithDetection(detection);
+                }
+                Tally tally = tallies.get(contact);
+                if (tally == null)
+                {
+                    tally = new Tally();
+                    tallies.put(contact, tally);
+                }
+                tally.add(detection.getType(), 1);
+                changedContacts.add(contact);
+            }
+            else
+            {
+                final Contact contact = findContact(detection.getTargetEntity());
+                final Tally tally = contact != null ? tallies.get(contact) : null;
+                if (tally != null)
+                {
+                    tally.add(detection.getType(), -1);
+                    changedContacts.add(contact);
+                }
+            }
+        }
+        detectionChanges.clear();
+        
+        // Contacts also seen by another sensor this update get the best state
+        // of all their detections, like they would if every detection were 
+        // processed every update
+        for (Contact contact : detectedContacts)
+        {
+            if (tallies.containsKey(contact))
+            {
+                changedContacts.add(contact);
+            }
+        }
+        
+        for (Contact contact : changedContacts)
+        {
+            final Tally tally = tallies.get(contact);
+            if (tally == null)
+            {
+                continue; // already handled
+            }
+            if (tally.isDetected())
+            {
+                undetectedContacts.remove(contact);
+                ContactState oldState = contact.getState();
+                contact.updateState(tally.getState(), currentTime);
+                fireContactStateChange(contact, oldState);
+            }
+            else
+            {
+                tallies.remove(contact);
+                undetectedContacts.add(contact);
+            }
+        }
+        changedContacts.clear();
+    }
+    
     private void removeContact(Contact contact)
     {
         Contact removedContact = this.contactMap.remove(contact.getEntity().getName());
+        undetectedContacts.remove(contact);
+        tallies.remove(contact);
+        final int id = contact.getEntity().getId();
+        if (id >= 0 && id < contactsById.length && contactsById[id] == contact)
+        {
+            contactsById[id] = null;
+        }
         for ( ContactManagerListener listener : listeners ) 
         {
             listener.destroyedContact(removedContact);
         }
     }
 
-    private void processDetections(List<Detection> detections, HashMap<String,Contact> undetectedContacts)
+    private void processDetections(List<Detection> detections)
     {
         for (Detection detection : detections) 
         {
-            String targetName = detection.getTargetEntity().getName();
-            undetectedContacts.remove(targetName);
-            Contact contact = contactMap.get(targetName);
+            Contact contact = findContact(detection.getTargetEntity());
             if ( contact == null )
             {
-                createContactWithDetection(detection);
+                contact = createContactWithDetection(detection);
+                undetectedContacts.add(contact);
             }
             else
             {
+                detectedContacts.add(contact);
                 ContactState oldState = contact.getState();
                 updateContactWithDetection(contact, detection);
                 fireContactStateChange(contact, oldState); 
@@ -116,6 +386,43 @@ public class ContactManager
         }
     }
 
+    /**
+     * Find the contact for an entity by id, falling back to the name if the
+     * entity has no id or the id slot is stale.
+     */
+    private Contact findContact(Entity target)
+    {
+        final int id = target.getId();
+        if (id >= 0 && id < contactsById.length)
+        {
+            final Contact contact = contactsById[id];
+            if (contact != null && contact.getEntity() == target)
+            {
+                return contact;
+            }
+        }
+        final Contact contact = contactMap.get(target.getName());
+        if (contact != null)
+        {
+            index(target, contact);
+        }
+        return contact;
+    }
+    
+    private void index(Entity target, Contact contact)
+    {
+        final int id = target.getId();
+        if (id < 0)
+        {
+            return;
+        }
+        if (id >= contactsById.length)
+        {
+            contactsById = Arrays.copyOf(contactsById, Math.max(id + 1, contactsById.length * 2));
+        }
+        contactsById[id] = contact;
+    }
+
     private void fireContactStateChange(Contact contact, ContactState oldState)
     {
         // If state hasn't changed then this shouldn't be fired
@@ -145,21 +452,31 @@ public class ContactManager
         contact.updateState(state, entity.getSimulation().getTime());
     }
 
-    private void createContactWithDetection(Detection detection)
+    private Contact createContactWithDetection(Detection detection)
     {
         Contact contact = new Contact(detection.getTargetEntity());
         this.contactMap.put(contact.getEntity().getName(),contact);
+        index(contact.getEntity(), contact);
+        detectedContacts.add(contact);
         updateContactWithDetection(contact, detection);
         
         for ( ContactManagerListener listener : listeners )
         {
             listener.createdContact(contact);
         }
+        return contact;
     }
     
     public void addContact(Contact contact) 
     {
-        this.contactMap.put(contact.getEntity().getName(), contact);
+        Contact replaced = this.contactMap.put(contact.getEntity().getName(), contact);
+        if (replaced != null && replaced != contact)
+        {
+            undetectedContacts.remove(replaced);
+            tallies.remove(replaced);
+        }
+        index(contact.getEntity(), contact);
+        undetectedContacts.add(contact);
         contact.updateState(ContactState.PROJECTED, entity.getSimulation().getTime());
     }
 
@@ -38,10 +38,13 @@ import java.util.Map;
 
 import com.soartech.simjr.sim.AbstractEntityCapability;
 import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.ParallelTickSafe;
+import com.soartech.simjr.sim.RateGroupScheduler;
 
-public class DefaultSensorPlatform extends AbstractEntityCapability implements SensorPlatform
+public class DefaultSensorPlatform extends AbstractEntityCapability implements SensorPlatform, ParallelTickSafe
 {
     private final Map<String,Sensor> sensors = new HashMap<String,Sensor>();
+    private final RateGroupScheduler rateGroups = new RateGroupScheduler();
 
     public DefaultSensorPlatform()
     {
@@ -97,14 +100,71 @@ public class DefaultSensorPlatform extends AbstractEntityCapability implements S
         }
     }
 
+    /**
+     * Sensors look at other entities, so the platform can only be ticked in
+     * parallel if none of its sensors are enabled, or they're evaluated by
+     * a {@link SensorWorld} instead.
+     */
+    @Override
+    public boolean isParallelTickSafe()
+    {
+        if(isSensorWorldRunning())
+        {
+            return true;
+        }
+        for(Sensor sensor : sensors.values())
+        {
+            if(sensor.isEnabled())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void tick(double dt) {
+        if(isSensorWorldRunning())
+        {
+            return;
+        }
         for ( Sensor sensor : sensors.values() ) {
             if ( sensor.isEnabled() )
             {
-                sensor.tick(dt);
+                // Sensors with a tick period only run when due
+                final double sensorDt = rateGroups.advance(sensor, getPhaseKey(sensor), RateGroupScheduler.getPeriod(sensor), dt);
+                if ( sensorDt > 0.0 )
+                {
+                    sensor.tick(sensorDt);
+                    if ( sensor instanceof IncrementalSensor )
+                    {
+                        ((IncrementalSensor) sensor).fireDetectionChanges();
+                    }
+                }
+                if ( sensor instanceof RadarSensor )
+                {
+                    RadarEmitterIndex.get(getEntity().getSimulation()).addDetections(sensor.getDetections());
+                }
             }
         }
+        rateGroups.sweep();
+    }
+    
+    /**
+     * @param sensor a sensor
+     * @return key used to spread sensors with the same tick period over 
+     *      different ticks
+     */
+    static int getPhaseKey(Sensor sensor)
+    {
+        final Entity entity = sensor.getEntity();
+        final String name = sensor.getName();
+        return (entity != null ? entity.getId() * 31 : 0) + (name != null ? name.hashCode() : 0);
     }
 
-}
\ No newline at end of file
+    private boolean isSensorWorldRunning()
+    {
+        final Entity entity = getEntity();
+        return entity != null && SensorWorld.isRunning(entity.getSimulation());
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import com.soartech.simjr.sim.Entity;
+
+/**
+ * The persistent detections of a sensor. Each update, the sensor calls 
+ * {@link #begin()}, {@link #add(Entity, DetectionType)} for every target it
+ * detects and then {@link #commit()}. Targets that were already detected 
+ * keep their {@link Detection} object, and the set records which detections
+ * entered and exited so they can be reported to listeners. If nothing 
+ * changed, commit returns the same list as last time, so a steady set of 
+ * detections costs no allocation.
+ * 
+ * <p>Not thread-safe. A set belongs to one sensor and is only updated from
+ * its tick.
+ * 
+ * @author ray
+ */
+public class DetectionSet
+{
+    private final Sensor sensor;
+    private IdentityHashMap<Entity, Detection> previous = new IdentityHashMap<Entity, Detection>();
+    private IdentityHashMap<Entity, Detection> current = new IdentityHashMap<Entity, Detection>();
+    private final List<Detection> building = new ArrayList<Detection>();
+    private List<Detection> published = Collections.emptyList();
+    private final List<Detection> entered = new ArrayList<Detection>();
+    private final List<Detection> exited = new ArrayList<Detection>();
+    
+    /**
+     * @param sensor the sensor that owns the set and is the source of its
+     *      detections
+     */
+    public DetectionSet(Sensor sensor)
+    {
+        this.sensor = sensor;
+    }
+    
+    /**
+     * Start an update. Changes from the previous update are discarded.
+     */
+    public void begin()
+    {
+        building.clear();
+        current.clear();
+        clearChanges();
+    }
+    
+    /**
+     * Add a detection to the update in progress. A target is only detected 
+     * once per update, later calls for the same target are ignored. If the
+     * type differs from the target's previous detection, it's treated as the
+     * old detection exiting and a new one entering.
+     * 
+     * @param target the detected entity
+     * @param type the type of detection
+     */
+    public void add(Entity target, DetectionType type)
+    {
+        if(current.containsKey(target))
+        {
+            return;
+        }
+        Detection d = previous.remove(target);
+        if(d != null && d.getType() != type)
+        {
+            previous.put(target, d); // reported as exited in commit()
+            d = null;
+        }
+        if(d == null)
+        {
+            d = new Detection(sensor, target, type);
+            entered.add(d);
+        }
+        current.put(target, d);
+        building.add(d);
+    }
+    
+    /**
+     * @param target an entity
+     * @return true if the target was detected at the last commit and hasn't
+     *      been added to the update in progress yet
+     */
+    public boolean wasDetected(Entity target)
+    {
+        return previous.containsKey(target);
+    }
+    
+    /**
+     * Finish an update.
+     * 
+     * @return unmodifiable list of detections in the order they were added.
+     *      The same list is returned until the detections change.
+     */
+    public List<Detection> commit()
+    {
+        // Walk the old list rather than the map so exits are reported in a
+        // repeatable order
+        if(!previous.isEmpty())
+        {
+            for(Detection d : published)
+            {
+                if(previous.get(d.getTargetEntity()) == d)
+                {
+                    exited.add(d);
+                }
+            }
+            previous.clear();
+        }
+        final IdentityHashMap<Entity, Detection> temp = previous;
+        previous = current;
+        current = temp;
+        
+        if(!entered.isEmpty() || !exited.isEmpty() || !building.equals(published))
+        {
+            published = Collections.unmodifiableList(new ArrayList<Detection>(building));
+        }
+        return published;
+    }
+    
+    /**
+     * @return the detections as of the last commit
+     */
+    public List<Detection> getDetections()
+    {
+        return published;
+    }
+    
+    /**
+     * @return detections that entered in the last update
+     */
+    public List<Detection> getEntered()
+    {
+        return Collections.unmodifiableList(entered);
+    }
+    
+    /**
+     * @return detections that exited in the last update
+     */
+    public List<Detection> getExited()
+    {
+        return Collections.unmodifiableList(exited);
+    }
+    
+    /**
+     * Forget the entered and exited detections of the last update, e.g. 
+     * once they've been reported.
+     */
+    public void clearChanges()
+    {
+        entered.clear();
+        exited.clear();
+    }
+}
@@ -31,7 +31,6 @@
  */
 package com.soartech.simjr.sensors;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -40,10 +39,11 @@ import com.soartech.simjr.sim.EntityConstants;
 import com.soartech.simjr.sim.entities.EntityVisibleRange;
 import com.soartech.simjr.util.ExtendedProperties;
 
-public class GenericRadarSensor extends AbstractSensor implements RadarSensor
+public class GenericRadarSensor extends AbstractSensor implements RadarSensor, IncrementalSensor
 {
     private EntityFilter filter;
-    private List<Detection> detections = new ArrayList<Detection>();
+    private final DetectionSet detectionSet = new DetectionSet(this);
+    private volatile List<Detection> detections = Collections.emptyList();
     
     private double visualRange;
     private double visualAngle;
@@ -90,29 +90,45 @@ public class GenericRadarSensor extends AbstractSensor implements RadarSensor
     @Override
     public void tick(double dt)
     {
-        detections.clear();
+        // Publish the new detections in one step
+        detections = detect();
+    }
+    
+    private List<Detection> detect()
+    {
+        detectionSet.begin();
         EntityVisibleRange evr = (EntityVisibleRange) getEntity().getProperty(EntityConstants.PROPERTY_RADAR);
         if ( evr == null ) 
         {
-            return;
+            return detectionSet.commit();
         }
         
-        List<Entity> entities = this.getEntity().getSimulation().getEntitiesFast();
+        List<Entity> entities = SensorBroadPhase.getCandidates(getEntity(), evr.getVisibleRange());
         for ( Entity entity : entities ) 
         {
             if ( filter.isEntityOfInterest(entity) ) 
             {
                 if ( evr.isInRange(entity.getPosition()) )
                 {
-                    detections.add(new Detection(this, entity, DetectionType.RADAR));
+                    detectionSet.add(entity, DetectionType.RADAR);
                 }
             }
         }
+        return detectionSet.commit();
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sensors.IncrementalSensor#fireDetectionChanges()
+     */
+    @Override
+    public void fireDetectionChanges()
+    {
+        fireDetectionChanges(detectionSet);
     }
 
     @Override
     public List<Detection> getDetections()
     {
-        return Collections.unmodifiableList(detections);
+        return detections;
     }
 }
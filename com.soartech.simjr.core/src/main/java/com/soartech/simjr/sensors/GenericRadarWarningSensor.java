@@ -1,16 +1,15 @@
 package com.soartech.simjr.sensors;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import com.soartech.simjr.adaptables.Adaptables;
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.util.ExtendedProperties;
 
-public class GenericRadarWarningSensor extends AbstractSensor
+public class GenericRadarWarningSensor extends AbstractSensor implements DerivedSensor, IncrementalSensor
 {
-    private List<Detection> detections = new ArrayList<Detection>();
+    private final DetectionSet detectionSet = new DetectionSet(this);
+    private volatile List<Detection> detections = Collections.emptyList();
     
     public GenericRadarWarningSensor(String name, ExtendedProperties props) 
     {
@@ -20,39 +19,36 @@ public class GenericRadarWarningSensor extends AbstractSensor
     @Override
     public void tick(double dt)
     {
-        // Clearing out old detections
-        detections.clear();
+        detectionSet.begin();
 
         if ( isEnabled() ) {
-            for (Entity entity : this.getEntity().getSimulation().getEntitiesFast() ) {
-                // Creating radar warning detections by iterating over the radar detections
-                // of the other entities in the sim.
-                if ( entity != this.getEntity() ) {
-                    SensorPlatform sensorPlatform = Adaptables.adapt(entity, SensorPlatform.class);
-
-                    if ( sensorPlatform != null ) {
-                        for (Sensor sensor : sensorPlatform.getSensors()) {
-                            RadarSensor radar = Adaptables.adapt(sensor, RadarSensor.class);
-                            if ( radar != null ) {
-                                for ( Detection detection : radar.getDetections() ) {
-                                    if ( detection.getTargetEntity() == this.getEntity() ) {
-                                        detections.add(new Detection(this, 
-                                                                     detection.getSourceSensor().getEntity(),
-                                                                     DetectionType.RADAR_WARNING));
-                                    }
-                                }
-                            }
-                        }
-                    }
+            // Look up the radars painting this entity rather than scanning
+            // every radar in the sim
+            final Entity owner = getEntity();
+            for ( Entity emitter : RadarEmitterIndex.get(owner.getSimulation()).getEmitters(owner) ) {
+                if ( emitter != owner ) {
+                    detectionSet.add(emitter, DetectionType.RADAR_WARNING);
                 }
             }
         }
+        
+        // Publish the new detections in one step
+        this.detections = detectionSet.commit();
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sensors.IncrementalSensor#fireDetectionChanges()
+     */
+    @Override
+    public void fireDetectionChanges()
+    {
+        fireDetectionChanges(detectionSet);
     }
 
     @Override
     public List<Detection> getDetections()
     {
-        return Collections.unmodifiableList(detections);
+        return detections;
     }
 
 }
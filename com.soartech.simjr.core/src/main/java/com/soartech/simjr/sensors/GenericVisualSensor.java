@@ -31,30 +31,34 @@
  */
 package com.soartech.simjr.sensors;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityConstants;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.Terrain;
 import com.soartech.simjr.sim.entities.EntityVisibleRange;
 import com.soartech.simjr.util.ExtendedProperties;
 
-public class GenericVisualSensor extends AbstractSensor implements VisionSensor
+public class GenericVisualSensor extends AbstractSensor implements VisionSensor, IncrementalSensor
 {
     private static final double DEFAULT_VIS_RANGE = 7500.;
     private static final double DEFAULT_VIS_FOV = 2.*Math.PI;
     
     private EntityFilter filter;
-    private List<Detection> detections = new ArrayList<Detection>();
+    private final DetectionSet detectionSet = new DetectionSet(this);
+    private volatile List<Detection> detections = Collections.emptyList();
     
     private double visualRange = DEFAULT_VIS_RANGE;
     private double visualAngle = DEFAULT_VIS_FOV;
+    private boolean occlusionEnabled = false;
     
     public GenericVisualSensor(String name, ExtendedProperties props) {
         this(name, 
              props.getDouble(name+".range", DEFAULT_VIS_RANGE),
              props.getDouble(name+".angle", DEFAULT_VIS_FOV));
+        occlusionEnabled = props.getBoolean(name+".occlusion", false);
     }    
     
     public GenericVisualSensor(String name)
@@ -86,6 +90,22 @@ public class GenericVisualSensor extends AbstractSensor implements VisionSensor
         updateEntityVisibleRange();
     }
     
+    /**
+     * If enabled, targets that are in range but hidden by the terrain (see
+     * {@link Terrain#hasLineOfSight}) are not detected. Off by default.
+     * 
+     * @param occlusionEnabled true to test terrain occlusion
+     */
+    public void setOcclusionEnabled(boolean occlusionEnabled)
+    {
+        this.occlusionEnabled = occlusionEnabled;
+    }
+    
+    public boolean isOcclusionEnabled()
+    {
+        return occlusionEnabled;
+    }
+    
     private void updateEntityVisibleRange()
     {
         Entity entity = getEntity();
@@ -109,29 +129,54 @@ public class GenericVisualSensor extends AbstractSensor implements VisionSensor
     @Override
     public void tick(double dt)
     {
-        detections.clear();
+        // Publish the new detections in one step
+        detections = detect();
+    }
+    
+    private List<Detection> detect()
+    {
+        detectionSet.begin();
         EntityVisibleRange evr = EntityVisibleRange.get(this.getEntity());
         if ( evr == null ) 
         {
-            return;
+            return detectionSet.commit();
+        }
+        
+        // Occlusion is tested last, only for targets already in range
+        Terrain terrain = null;
+        Simulation sim = getEntity().getSimulation();
+        if ( occlusionEnabled && sim != null )
+        {
+            terrain = sim.getTerrain();
         }
         
-        List<Entity> entities = this.getEntity().getSimulation().getEntitiesFast();
+        List<Entity> entities = SensorBroadPhase.getCandidates(getEntity(), evr.getVisibleRange());
         for ( Entity entity : entities ) 
         {
             if ( filter.isEntityOfInterest(entity) ) 
             {
-                if ( evr.isInRange(entity.getPosition()) )
+                if ( evr.isInRange(entity.getPosition()) && 
+                     (terrain == null || terrain.hasLineOfSight(getEntity().getPosition(), entity.getPosition())) )
                 {
-                    detections.add(new Detection(this, entity, DetectionType.VISIBLE));
+                    detectionSet.add(entity, DetectionType.VISIBLE);
                 }
             }
         }
+        return detectionSet.commit();
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sensors.IncrementalSensor#fireDetectionChanges()
+     */
+    @Override
+    public void fireDetectionChanges()
+    {
+        fireDetectionChanges(detectionSet);
     }
 
     @Override
     public List<Detection> getDetections()
     {
-        return Collections.unmodifiableList(detections);
+        return detections;
     }
 }
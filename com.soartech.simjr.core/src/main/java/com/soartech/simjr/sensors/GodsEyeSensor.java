@@ -32,47 +32,132 @@
 package com.soartech.simjr.sensors;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.Simulation;
 import com.soartech.simjr.util.ExtendedProperties;
 
-public class GodsEyeSensor extends AbstractSensor implements VisionSensor
+/**
+ * A sensor that sees every visible entity in the simulation. All god's eye
+ * sensors share one {@link VisibleEntitySet}, so a tick costs each sensor 
+ * nothing unless the visible entities changed. Each sensor keeps one 
+ * {@link Detection} per target for as long as it's visible, and the same 
+ * object is reported to listeners and returned by {@link #getDetections()}.
+ */
+public class GodsEyeSensor extends AbstractSensor implements VisionSensor, IncrementalSensor
 {
-    private List<Detection> detections = new ArrayList<Detection>();
-    private EntityFilter filter;
+    private volatile List<Detection> detections = Collections.emptyList();
+    
+    // The snapshot the detections were built from, null if there are none
+    private VisibleEntitySet.Snapshot snapshot;
+    private final Map<Entity, Detection> byTarget = new IdentityHashMap<Entity, Detection>();
+    private final List<Detection> entered = new ArrayList<Detection>();
+    private final List<Detection> exited = new ArrayList<Detection>();
     
     public GodsEyeSensor(String name, ExtendedProperties props) {
         super(name);
     }
     
     @Override
-    public void setEntity(Entity entity) 
+    public void tick(double dt)
     {
-        super.setEntity(entity);
-        filter = new EntityFilter(getEntity());
+        VisibleEntitySet.Snapshot next = null;
+        final Simulation sim = getEntity().getSimulation();
+        if ( isEnabled() && sim != null ) {
+            next = VisibleEntitySet.get(sim).getSnapshot();
+        }
+        if ( next != snapshot ) {
+            addChanges(snapshot, next);
+            snapshot = next;
+            // Publish the new detections in one step
+            detections = next != null ? buildDetections(next) : Collections.<Detection>emptyList();
+        }
     }
     
-    @Override
-    public void tick(double dt)
+    /**
+     * Record the detections that entered and exited going from one snapshot
+     * to another. Usually the next snapshot already knows what changed.
+     */
+    private void addChanges(VisibleEntitySet.Snapshot from, VisibleEntitySet.Snapshot to)
     {
-        detections.clear();
-        if ( isEnabled() ) {
-            List<Entity> simEntities = this.getEntity().getSimulation().getEntitiesFast();
-            for ( Entity entity : simEntities ) {
-                // Only adding detections for visible entities who don't own this sensor
-                if ( filter.isEntityOfInterest(entity) ) {
-                    detections.add(new Detection(this, entity, DetectionType.VISIBLE));
-                }
-            }        
+        if ( to != null && to.follows(from) ) {
+            removeDetections(to.getExited());
+            addDetections(to.getEntered());
+        }
+        else {
+            final Entity[] none = new Entity[0];
+            removeDetections(from == null ? none : (to == null ? toArray(from) : to.missing(from)));
+            addDetections(to == null ? none : (from == null ? toArray(to) : from.missing(to)));
         }
     }
+    
+    private static Entity[] toArray(VisibleEntitySet.Snapshot snapshot)
+    {
+        final Entity[] result = new Entity[snapshot.size()];
+        for ( int i = 0; i < result.length; ++i ) {
+            result[i] = snapshot.get(i);
+        }
+        return result;
+    }
+    
+    private void addDetections(Entity[] targets)
+    {
+        for ( Entity target : targets ) {
+            // Only adding detections for entities who don't own this sensor
+            if ( target != getEntity() && !byTarget.containsKey(target) ) {
+                final Detection d = new Detection(this, target, DetectionType.VISIBLE);
+                byTarget.put(target, d);
+                entered.add(d);
+            }
+        }
+    }
+    
+    private void removeDetections(Entity[] targets)
+    {
+        for ( Entity target : targets ) {
+            final Detection d = byTarget.remove(target);
+            if ( d != null ) {
+                exited.add(d);
+            }
+        }
+    }
+    
+    /**
+     * @return unmodifiable list of the detections of the snapshot's 
+     *      entities, in snapshot order
+     */
+    private List<Detection> buildDetections(VisibleEntitySet.Snapshot snapshot)
+    {
+        final Detection[] result = new Detection[byTarget.size()];
+        int n = 0;
+        for ( int i = 0; i < snapshot.size(); ++i ) {
+            final Detection d = byTarget.get(snapshot.get(i));
+            if ( d != null ) {
+                result[n++] = d;
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
 
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sensors.IncrementalSensor#fireDetectionChanges()
+     */
     @Override
-    public List<Detection> getDetections()
+    public void fireDetectionChanges()
     {
-        return Collections.unmodifiableList(detections);
+        fireDetectionChanges(exited, entered);
+        exited.clear();
+        entered.clear();
     }
 
+    @Override
+    public List<Detection> getDetections()
+    {
+        return detections;
+    }
 }
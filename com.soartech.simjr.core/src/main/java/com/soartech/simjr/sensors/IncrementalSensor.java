@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors;
+
+/**
+ * A sensor that keeps a persistent set of detections between ticks and 
+ * reports changes to it through {@link SensorListener#generatedDetection(Detection)}
+ * and {@link SensorListener#destroyedDetection(Detection)}. A target that 
+ * stays detected keeps the same {@link Detection} object.
+ * 
+ * <p>Sensors may be ticked on worker threads (see {@link SensorWorld}), so 
+ * they don't notify listeners from {@link #tick(double)}. Whatever ticks the
+ * sensor calls {@link #fireDetectionChanges()} afterwards on the simulation
+ * thread.
+ * 
+ * @author ray
+ */
+public interface IncrementalSensor extends Sensor
+{
+    /**
+     * Notify listeners of the detections that entered and exited in the most 
+     * recent tick. Changes are only reported once.
+     */
+    void fireDetectionChanges();
+}
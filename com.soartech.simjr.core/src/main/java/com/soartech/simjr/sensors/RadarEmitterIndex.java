@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.Tickable;
+
+/**
+ * Per-simulation index from radar targets to the entities whose radars 
+ * detected them, used by radar warning sensors instead of scanning every
+ * radar in the simulation.
+ * 
+ * <p>The detections of each {@link RadarSensor} are added as it's evaluated
+ * by {@link DefaultSensorPlatform} or {@link SensorWorld}. The index is 
+ * published once per tick, after motion, and readers only ever see the 
+ * published index. Without a {@link SensorWorld}, radar warning sensors see
+ * the radar detections from the end of the previous tick no matter what 
+ * order entities are ticked in. With one, the index is published between
+ * the radar pass and the {@link DerivedSensor} pass, so they see the 
+ * current tick's detections.
+ * 
+ * @author ray
+ */
+public class RadarEmitterIndex implements Tickable
+{
+    /**
+     * Returns the index for a simulation, creating it if necessary.
+     * 
+     * @param sim the simulation
+     * @return the index
+     */
+    public static RadarEmitterIndex get(Simulation sim)
+    {
+        RadarEmitterIndex index = sim.getPostMotionTickable(RadarEmitterIndex.class);
+        if(index == null)
+        {
+            synchronized(sim.getLock())
+            {
+                index = sim.getPostMotionTickable(RadarEmitterIndex.class);
+                if(index == null)
+                {
+                    index = new RadarEmitterIndex(sim);
+                    sim.addPostMotionTickable(index);
+                }
+            }
+        }
+        return index;
+    }
+    
+    private static final Comparator<Entity> BY_ID = new Comparator<Entity>()
+    {
+        @Override
+        public int compare(Entity a, Entity b)
+        {
+            return a.getId() < b.getId() ? -1 : (a.getId() == b.getId() ? 0 : 1);
+        }
+    };
+    
+    /**
+     * The emitters that detected a target. Targets are stored by id, so the
+     * target is kept to catch ids reused within a tick.
+     */
+    private static class Emitters
+    {
+        final Entity target;
+        final List<Entity> entities = new ArrayList<Entity>(2);
+        
+        Emitters(Entity target)
+        {
+            this.target = target;
+        }
+    }
+    
+    private final Simulation sim;
+    
+    /**
+     * Emitters by target id for the tick in progress. Guarded by this.
+     */
+    private List<Emitters> building = new ArrayList<Emitters>();
+    
+    /**
+     * Emitters by target id as of the last publish. Never modified.
+     */
+    private volatile List<Emitters> published = Collections.emptyList();
+    
+    private RadarEmitterIndex(Simulation sim)
+    {
+        this.sim = sim;
+    }
+    
+    /**
+     * Add a radar's detections for the current tick. Thread-safe.
+     * 
+     * @param detections the detections
+     */
+    public synchronized void addDetections(List<Detection> detections)
+    {
+        for(Detection d : detections)
+        {
+            final Entity target = d.getTargetEntity();
+            final int id = target.getId();
+            if(id < 0)
+            {
+                continue;
+            }
+            while(building.size() <= id)
+            {
+                building.add(null);
+            }
+            Emitters emitters = building.get(id);
+            if(emitters == null || emitters.target != target)
+            {
+                emitters = new Emitters(target);
+                building.set(id, emitters);
+            }
+            emitters.entities.add(d.getSourceSensor().getEntity());
+        }
+    }
+    
+    /**
+     * Publish the detections added since the last publish, replacing the 
+     * previously published index. Emitters are ordered by id so the result
+     * doesn't depend on the order radars were evaluated in.
+     */
+    public synchronized void publish()
+    {
+        for(Emitters emitters : building)
+        {
+            if(emitters != null && emitters.entities.size() > 1)
+            {
+                Collections.sort(emitters.entities, BY_ID);
+            }
+        }
+        published = building;
+        building = new ArrayList<Emitters>(building.size());
+    }
+    
+    /**
+     * Returns the entities whose radars detected a target as of the last
+     * publish. Entities that have since been removed from the simulation are
+     * left out. Thread-safe. 
+     * 
+     * @param target the target entity
+     * @return the emitting entities, ordered by id. An entity with more than
+     *      one radar detecting the target appears once per radar.
+     */
+    public List<Entity> getEmitters(Entity target)
+    {
+        final List<Emitters> index = published;
+        final int id = target.getId();
+        final Emitters emitters = id >= 0 && id < index.size() ? index.get(id) : null;
+        if(emitters == null || emitters.target != target)
+        {
+            return Collections.emptyList();
+        }
+        final List<Entity> result = new ArrayList<Entity>(emitters.entities.size());
+        for(Entity e : emitters.entities)
+        {
+            if(sim.getEntityById(e.getId()) == e)
+            {
+                result.add(e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Publish the index after motion. A running {@link SensorWorld} publishes
+     * it itself, between its passes.
+     * 
+     * @param dt the time that has passed
+     */
+    @Override
+    public void tick(double dt)
+    {
+        if(!SensorWorld.isRunning(sim))
+        {
+            publish();
+        }
+    }
+}
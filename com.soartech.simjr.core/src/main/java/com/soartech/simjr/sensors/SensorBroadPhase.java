@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors;
+
+import java.util.List;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.SimJrProps;
+import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.Simulation;
+
+/**
+ * Broad phase shared by the range-limited sensors. Rather than testing every 
+ * entity in the simulation, a sensor asks for the candidates that could be
+ * within its maximum horizontal range, using the simulation's spatial index,
+ * and runs its exact range, angle and notch tests on that short list. The
+ * candidates are a superset of what the exact tests accept and are in 
+ * simulation order, so detections are identical to a full scan.
+ * 
+ * <p>The broad phase can be disabled with the 
+ * <code>simjr.sensors.broadPhase.enabled</code> property, in which case every
+ * entity is a candidate.
+ * 
+ * @author ray
+ */
+public class SensorBroadPhase
+{
+    /**
+     * Relative and absolute slack added to the search radius so that round-off
+     * in the sensors' own distance calculations can't drop an entity that's
+     * right on the boundary.
+     */
+    private static final double RELATIVE_SLACK = 1e-9;
+    private static final double ABSOLUTE_SLACK = 1e-3;
+    
+    private static volatile boolean enabled = SimJrProps.get("simjr.sensors.broadPhase.enabled", true);
+    
+    /**
+     * @return true if the broad phase is enabled
+     */
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+    
+    /**
+     * Enable or disable the broad phase. Mostly useful for comparing 
+     * results and performance.
+     * 
+     * @param enabled the new value
+     */
+    public static void setEnabled(boolean enabled)
+    {
+        SensorBroadPhase.enabled = enabled;
+    }
+    
+    /**
+     * Returns the entities a sensor mounted on the given entity needs to test.
+     * 
+     * @param sensorEntity the entity carrying the sensor
+     * @param maxRange the sensor's maximum horizontal range in meters. A 
+     *      negative, NaN or infinite range means the range is unlimited.
+     * @return a superset, in simulation order, of the entities whose X/Y 
+     *      position is within maxRange of the sensor entity. The list must
+     *      not be modified.
+     */
+    public static List<Entity> getCandidates(Entity sensorEntity, double maxRange)
+    {
+        final Simulation sim = sensorEntity.getSimulation();
+        if(!enabled || !(maxRange >= 0.0) || maxRange >= Double.MAX_VALUE)
+        {
+            return sim.getEntitiesFast();
+        }
+        final Vector3 p = sensorEntity.getPosition();
+        if(Double.isNaN(p.x) || Double.isNaN(p.y))
+        {
+            return sim.getEntitiesFast();
+        }
+        return sim.getEntityCandidates(p.x, p.y, maxRange * (1.0 + RELATIVE_SLACK) + ABSOLUTE_SLACK);
+    }
+    
+    private SensorBroadPhase()
+    {
+    }
+}
@@ -102,6 +102,9 @@ public class SensorFactory
             throw new IllegalStateException("Unable to instantiate an instance of sensor '"+name+"'", e);
         }
 
+        if ( retval instanceof AbstractSensor ) {
+            ((AbstractSensor) retval).setTickPeriod(properties.getDouble(name+".tickPeriod", Double.NaN));
+        }
         if ( retval instanceof Sensor ) {
             return (Sensor) retval;
         } else {
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.soartech.simjr.ProgressMonitor;
+import com.soartech.simjr.SimJrProps;
+import com.soartech.simjr.SimulationException;
+import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.services.AbstractSimulationService;
+import com.soartech.simjr.services.ConstructOnDemand;
+import com.soartech.simjr.services.ServiceManager;
+import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.RateGroupScheduler;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.Tickable;
+
+/**
+ * Evaluates every enabled sensor in the simulation in one pass after all
+ * entities have been ticked and moved. While the service is running, 
+ * {@link DefaultSensorPlatform} no longer ticks its sensors from its owner's
+ * tick, so every sensor sees the same, settled, world instead of some
+ * entities at their old positions and some at their new ones.
+ * 
+ * <p>Sensors only read the world and write their own detections, so they're
+ * split across a thread pool. {@link DerivedSensor}s are evaluated in a 
+ * second pass once all other sensors are done and the {@link RadarEmitterIndex}
+ * has been published. The pass runs with the 
+ * simulation lock held, and each sensor replaces its detection list in one
+ * step, so a client holding the lock sees either all of the previous tick's
+ * detections or all of this tick's.
+ * 
+ * <p>The pool size is controlled by the {@code simjr.sensors.world.threads}
+ * property, which defaults to the number of available processors. Passes 
+ * with fewer than {@code simjr.sensors.world.minBatch} sensors are evaluated
+ * on the simulation thread.
+ * 
+ * @author ray
+ */
+@ConstructOnDemand
+public class SensorWorld extends AbstractSimulationService implements Tickable
+{
+    private static final Logger logger = LoggerFactory.getLogger(SensorWorld.class);
+    
+    public static SensorWorld findService(ServiceManager services)
+    {
+        return services.findService(SensorWorld.class);
+    }
+    
+    /**
+     * @param sim the simulation
+     * @return true if a sensor world is evaluating the sensors in the given
+     *      simulation
+     */
+    public static boolean isRunning(Simulation sim)
+    {
+        return sim != null && sim.getPostMotionTickable(SensorWorld.class) != null;
+    }
+    
+    private final Simulation sim;
+    private final int threads;
+    private final int minBatch;
+    private ForkJoinPool pool;
+    private RadarEmitterIndex index;
+    
+    private final Batch primary = new Batch();
+    private final Batch derived = new Batch();
+    private final RateGroupScheduler rateGroups = new RateGroupScheduler();
+    
+    /**
+     * Constructed on demand by ServiceManager.findService()
+     * 
+     * @param services the service manager
+     */
+    public SensorWorld(ServiceManager services)
+    {
+        this(Simulation.findService(services));
+    }
+    
+    /**
+     * Construct a sensor world for the given simulation, with the pool 
+     * configured from properties. It doesn't evaluate anything until it is
+     * started.
+     * 
+     * @param sim the simulation
+     */
+    public SensorWorld(Simulation sim)
+    {
+        this(sim, 
+             SimJrProps.get("simjr.sensors.world.threads", Runtime.getRuntime().availableProcessors()),
+             SimJrProps.get("simjr.sensors.world.minBatch", 32));
+    }
+    
+    /**
+     * Construct a sensor world for the given simulation. It doesn't evaluate
+     * anything until it is started.
+     * 
+     * @param sim the simulation
+     * @param threads number of threads to evaluate sensors on. If 1, 
+     *      sensors are evaluated on the simulation thread.
+     * @param minBatch passes with fewer sensors than this are evaluated on
+     *      the simulation thread
+     */
+    public SensorWorld(Simulation sim, int threads, int minBatch)
+    {
+        if(sim == null)
+        {
+            throw new IllegalStateException("SensorWorld requires a Simulation service");
+        }
+        if(threads < 1)
+        {
+            throw new IllegalArgumentException("threads must be at least 1, got " + threads);
+        }
+        this.sim = sim;
+        this.threads = threads;
+        this.minBatch = minBatch;
+    }
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.services.AbstractSimulationService#start(com.soartech.simjr.ProgressMonitor)
+     */
+    @Override
+    public void start(ProgressMonitor progress) throws SimulationException
+    {
+        synchronized(sim.getLock())
+        {
+            if(pool == null && threads > 1)
+            {
+                logger.info("Evaluating sensors with " + threads + " threads");
+                pool = new ForkJoinPool(threads);
+            }
+            // Created up front since pool threads can't take the lock
+            // to create it
+            index = RadarEmitterIndex.get(sim);
+            VisibleEntitySet.get(sim);
+            sim.addPostMotionTickable(this);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.services.AbstractSimulationService#shutdown()
+     */
+    @Override
+    public void shutdown() throws SimulationException
+    {
+        synchronized(sim.getLock())
+        {
+            sim.removePostMotionTickable(this);
+            if(pool != null)
+            {
+                pool.shutdown();
+                pool = null;
+            }
+        }
+    }
+
+    /**
+     * Evaluate all enabled sensors. Called by the simulation with the lock
+     * held.
+     * 
+     * @param dt the time that has passed
+     */
+    @Override
+    public void tick(double dt)
+    {
+        try
+        {
+            for(Entity e : sim.getEntitiesFast())
+            {
+                final SensorPlatform platform = Adaptables.adapt(e, SensorPlatform.class);
+                if(platform == null)
+                {
+                    continue;
+                }
+                for(Sensor sensor : platform.getSensors())
+                {
+                    if(!sensor.isEnabled())
+                    {
+                        continue;
+                    }
+                    // Sensors with a tick period only run when due. Radar 
+                    // detections still go in the emitter index, which is 
+                    // rebuilt every tick
+                    final double sensorDt = rateGroups.advance(sensor, DefaultSensorPlatform.getPhaseKey(sensor), 
+                                                               RateGroupScheduler.getPeriod(sensor), dt);
+                    if(sensorDt > 0.0)
+                    {
+                        (sensor instanceof DerivedSensor ? derived : primary).add(sensor, sensorDt);
+                    }
+                    else if(sensor instanceof RadarSensor)
+                    {
+                        index.addDetections(sensor.getDetections());
+                    }
+                }
+            }
+            rateGroups.sweep();
+            
+            evaluate(primary);
+            index.publish();
+            evaluate(derived);
+            
+            // Listeners aren't thread-safe, so changes are reported here,
+            // in order
+            fireDetectionChanges(primary);
+            fireDetectionChanges(derived);
+        }
+        finally
+        {
+            primary.clear();
+            derived.clear();
+        }
+    }
+    
+    private void evaluate(Batch batch)
+    {
+        if(pool == null || batch.size() < minBatch)
+        {
+            for(int i = 0; i < batch.size(); ++i)
+            {
+                tickSensor(batch.sensors.get(i), batch.dts[i], index);
+            }
+        }
+        else
+        {
+            pool.invoke(new SensorTask(batch, 0, batch.size(), index));
+        }
+    }
+    
+    private static void fireDetectionChanges(Batch batch)
+    {
+        for(Sensor sensor : batch.sensors)
+        {
+            if(sensor instanceof IncrementalSensor)
+            {
+                ((IncrementalSensor) sensor).fireDetectionChanges();
+            }
+        }
+    }
+    
+    private static void tickSensor(Sensor sensor, double dt, RadarEmitterIndex index)
+    {
+        sensor.tick(dt);
+        if(sensor instanceof RadarSensor)
+        {
+            index.addDetections(sensor.getDetections());
+        }
+    }
+    
+    /**
+     * Sensors due this tick, each with the time since its last tick
+     */
+    private static class Batch
+    {
+        final List<Sensor> sensors = new ArrayList<Sensor>();
+        double[] dts = new double[64];
+        
+        void add(Sensor sensor, double dt)
+        {
+            if(sensors.size() == dts.length)
+            {
+                dts = Arrays.copyOf(dts, dts.length * 2);
+            }
+            dts[sensors.size()] = dt;
+            sensors.add(sensor);
+        }
+        
+        int size()
+        {
+            return sensors.size();
+        }
+        
+        void clear()
+        {
+            sensors.clear();
+        }
+    }
+    
+    /**
+     * Fork/join task that ticks a range of sensors
+     */
+    private static class SensorTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        private static final int LEAF_SIZE = 8;
+        
+        private final Batch batch;
+        private final int start;
+        private final int end;
+        private final RadarEmitterIndex index;
+        
+        SensorTask(Batch batch, int start, int end, RadarEmitterIndex index)
+        {
+            this.batch = batch;
+            this.start = start;
+            this.end = end;
+            this.index = index;
+        }
+
+        /* (non-Javadoc)
+         * @see java.util.concurrent.RecursiveAction#compute()
+         */
+        @Override
+        protected void compute()
+        {
+            if(end - start <= LEAF_SIZE)
+            {
+                for(int i = start; i < end; ++i)
+                {
+                    tickSensor(batch.sensors.get(i), batch.dts[i], index);
+                }
+            }
+            else
+            {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new SensorTask(batch, start, middle, index),
+                          new SensorTask(batch, middle, end, index));
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.Tickable;
+
+/**
+ * Per-simulation list of every entity a sensor could be interested in (see
+ * {@link EntityFilter}), computed at most once per tick and shared by all
+ * {@link GodsEyeSensor}s instead of each of them walking every entity.
+ * 
+ * <p>The list is marked stale after motion each tick and recomputed by the
+ * first sensor that asks for it, so sensors ticked by their entity and 
+ * sensors ticked by a {@link SensorWorld} both see the current tick's 
+ * entities. Each recomputation that changes the list produces a new, 
+ * immutable, {@link Snapshot} that also records which entities entered and
+ * exited since the one before it.
+ * 
+ * @author ray
+ */
+public class VisibleEntitySet implements Tickable
+{
+    /**
+     * Returns the set for a simulation, creating it if necessary.
+     * 
+     * @param sim the simulation
+     * @return the set
+     */
+    public static VisibleEntitySet get(Simulation sim)
+    {
+        VisibleEntitySet set = sim.getPostMotionTickable(VisibleEntitySet.class);
+        if(set == null)
+        {
+            synchronized(sim.getLock())
+            {
+                set = sim.getPostMotionTickable(VisibleEntitySet.class);
+                if(set == null)
+                {
+                    set = new VisibleEntitySet(sim);
+                    sim.addPostMotionTickable(set);
+                }
+            }
+        }
+        return set;
+    }
+    
+    /**
+     * An immutable list of visible entities
+     */
+    public static class Snapshot
+    {
+        private static final Entity[] NONE = new Entity[0];
+        
+        private final long version;
+        private final long previousVersion;
+        private final Entity[] entities;
+        private final IdentityHashMap<Entity, Integer> positions;
+        private final Entity[] entered;
+        private final Entity[] exited;
+        
+        private Snapshot(long version, Snapshot previous, Entity[] entities)
+        {
+            this.version = version;
+            this.entities = entities;
+            this.positions = new IdentityHashMap<Entity, Integer>(entities.length);
+            for(int i = 0; i < entities.length; ++i)
+            {
+                positions.put(entities[i], i);
+            }
+            if(previous != null)
+            {
+                this.previousVersion = previous.version;
+                this.entered = previous.missing(this);
+                this.exited = missing(previous);
+            }
+            else
+            {
+                this.previousVersion = -1;
+                this.entered = entities;
+                this.exited = NONE;
+            }
+        }
+        
+        /**
+         * @return number of entities
+         */
+        public int size()
+        {
+            return entities.length;
+        }
+        
+        /**
+         * @param i index
+         * @return the i'th entity, in simulation order
+         */
+        public Entity get(int i)
+        {
+            return entities[i];
+        }
+        
+        /**
+         * @param entity an entity
+         * @return index of the entity, or -1 if it isn't in the snapshot
+         */
+        public int indexOf(Entity entity)
+        {
+            final Integer i = positions.get(entity);
+            return i != null ? i : -1;
+        }
+        
+        /**
+         * @param previous an older snapshot, or null for an empty one
+         * @return true if {@link #getEntered()} and {@link #getExited()} are
+         *      the changes since previous
+         */
+        public boolean follows(Snapshot previous)
+        {
+            return previous != null ? previous.version == previousVersion : previousVersion == -1;
+        }
+        
+        /**
+         * @return entities added since the previous snapshot
+         */
+        public Entity[] getEntered()
+        {
+            return entered;
+        }
+        
+        /**
+         * @return entities removed since the previous snapshot
+         */
+        public Entity[] getExited()
+        {
+            return exited;
+        }
+        
+        /**
+         * @param other another snapshot
+         * @return entities in other that aren't in this snapshot
+         */
+        Entity[] missing(Snapshot other)
+        {
+            List<Entity> result = null;
+            for(Entity e : other.entities)
+            {
+                if(!positions.containsKey(e))
+                {
+                    if(result == null)
+                    {
+                        result = new ArrayList<Entity>();
+                    }
+                    result.add(e);
+                }
+            }
+            return result != null ? result.toArray(new Entity[result.size()]) : NONE;
+        }
+        
+        boolean hasEntities(List<Entity> list)
+        {
+            if(list.size() != entities.length)
+            {
+                return false;
+            }
+            for(int i = 0; i < entities.length; ++i)
+            {
+                if(list.get(i) != entities[i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    private static final EntityFilter FILTER = new EntityFilter(null);
+    
+    private final Simulation sim;
+    private final List<Entity> building = new ArrayList<Entity>();
+    private volatile Snapshot current;
+    private volatile boolean stale = true;
+    private long nextVersion = 0;
+    
+    private VisibleEntitySet(Simulation sim)
+    {
+        this.sim = sim;
+    }
+    
+    /**
+     * Returns the visible entities as of this tick, recomputing them if this
+     * is the first call since the last tick. Thread-safe.
+     * 
+     * @return the snapshot. The same snapshot is returned until the visible
+     *      entities change.
+     */
+    public Snapshot getSnapshot()
+    {
+        if(stale)
+        {
+            synchronized(this)
+            {
+                if(stale)
+                {
+                    refresh();
+                    stale = false;
+                }
+            }
+        }
+        return current;
+    }
+    
+    private void refresh()
+    {
+        building.clear();
+        for(Entity e : sim.getEntitiesFast())
+        {
+            if(FILTER.isEntityOfInterest(e))
+            {
+                building.add(e);
+            }
+        }
+        if(current == null || !current.hasEntities(building))
+        {
+            current = new Snapshot(nextVersion++, current, building.toArray(new Entity[building.size()]));
+        }
+    }
+
+    /**
+     * Marks the set stale after motion so it's recomputed the next time it's
+     * used.
+     * 
+     * @param dt the time that has passed
+     */
+    @Override
+    public void tick(double dt)
+    {
+        stale = true;
+    }
+}
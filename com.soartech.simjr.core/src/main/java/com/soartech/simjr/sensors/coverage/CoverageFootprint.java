@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors.coverage;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.sensors.GodsEyeSensor;
+import com.soartech.simjr.sensors.RadarSensor;
+import com.soartech.simjr.sensors.Sensor;
+import com.soartech.simjr.sensors.VisionSensor;
+import com.soartech.simjr.sensors.radar.AdvancedModalRadar;
+import com.soartech.simjr.sensors.radar.RadarController;
+import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.EntityConstants;
+import com.soartech.simjr.sim.entities.EntityVisibleRange;
+
+/**
+ * Snapshot of the volume covered by one sensor, taken on the simulation 
+ * thread so that it can be tested against many points on other threads 
+ * without looking at the sensor or its entity again.
+ * 
+ * @author ray
+ */
+public abstract class CoverageFootprint
+{
+    private final Vector3 origin;
+    private final double range;
+    
+    /**
+     * Take a snapshot of a sensor's coverage. Advanced radars use their 
+     * {@link RadarController}, other vision and radar sensors the
+     * {@link EntityVisibleRange} they publish on their entity. Call with the
+     * simulation lock held.
+     * 
+     * @param sensor the sensor
+     * @return the sensor's footprint, or null if it has no known coverage
+     */
+    public static CoverageFootprint create(Sensor sensor)
+    {
+        final Entity entity = sensor.getEntity();
+        if(entity == null)
+        {
+            return null;
+        }
+        if(sensor instanceof AdvancedModalRadar)
+        {
+            final RadarController controller = ((AdvancedModalRadar) sensor).getRadarController();
+            return new Radar(entity.getPosition(), entity.getHeading(), entity.getPitch(), new RadarController(controller));
+        }
+        final String property;
+        if(sensor instanceof GodsEyeSensor)
+        {
+            // Sees everything, so it has no footprint to speak of
+            return null;
+        }
+        else if(sensor instanceof VisionSensor)
+        {
+            property = EntityConstants.PROPERTY_VISIBLE_RANGE;
+        }
+        else if(sensor instanceof RadarSensor)
+        {
+            property = EntityConstants.PROPERTY_RADAR;
+        }
+        else
+        {
+            return null;
+        }
+        final Object evr = entity.getProperty(property);
+        if(!(evr instanceof EntityVisibleRange))
+        {
+            return null;
+        }
+        return new VisibleRange(entity.getPosition(), entity.getHeading(), (EntityVisibleRange) evr);
+    }
+    
+    protected CoverageFootprint(Vector3 origin, double range)
+    {
+        this.origin = origin;
+        this.range = range;
+    }
+    
+    /**
+     * @return the sensor position
+     */
+    public Vector3 getOrigin()
+    {
+        return origin;
+    }
+    
+    /**
+     * @return the horizontal distance from the origin beyond which nothing 
+     *      is covered. May be infinite.
+     */
+    public double getRange()
+    {
+        return range;
+    }
+    
+    /**
+     * Tests whether a point is inside the covered volume, ignoring terrain.
+     * Must be safe to call from several threads at once.
+     * 
+     * @param point the point
+     * @return true if the point is covered
+     */
+    public abstract boolean covers(Vector3 point);
+    
+    /**
+     * @param other another footprint
+     * @return true if the other footprint covers exactly the same volume
+     */
+    public abstract boolean isSameAs(CoverageFootprint other);
+    
+    /**
+     * Footprint of an {@link EntityVisibleRange}, a horizontal wedge
+     */
+    private static class VisibleRange extends CoverageFootprint
+    {
+        private final double direction;
+        private final double angle;
+        private final double cosDirection;
+        private final double sinDirection;
+        private final double cosHalfAngle;
+        
+        VisibleRange(Vector3 origin, double heading, EntityVisibleRange evr)
+        {
+            super(origin, evr.getVisibleRange() < 0 ? Double.POSITIVE_INFINITY : evr.getVisibleRange());
+            this.direction = heading + evr.getVisibleRelativeHeading();
+            this.angle = evr.getVisibleRange() < 0 ? 2 * Math.PI : evr.getVisibleAngle();
+            this.cosDirection = Math.cos(direction);
+            this.sinDirection = Math.sin(direction);
+            // Same rule as EntityVisibleRange.isInRange(), without the atan2
+            this.cosHalfAngle = angle >= 2 * Math.PI ? -2.0 : Math.cos(0.5 * angle);
+        }
+        
+        /* (non-Javadoc)
+         * @see com.soartech.simjr.sensors.coverage.CoverageFootprint#covers(com.soartech.math.Vector3)
+         */
+        @Override
+        public boolean covers(Vector3 point)
+        {
+            final double dx = point.x - getOrigin().x;
+            final double dy = point.y - getOrigin().y;
+            final double distance = Math.sqrt(dx * dx + dy * dy);
+            if(distance > getRange())
+            {
+                return false;
+            }
+            return distance == 0.0 || dx * cosDirection + dy * sinDirection >= cosHalfAngle * distance;
+        }
+        
+        /* (non-Javadoc)
+         * @see com.soartech.simjr.sensors.coverage.CoverageFootprint#isSameAs(com.soartech.simjr.sensors.coverage.CoverageFootprint)
+         */
+        @Override
+        public boolean isSameAs(CoverageFootprint other)
+        {
+            if(!(other instanceof VisibleRange))
+            {
+                return false;
+            }
+            final VisibleRange o = (VisibleRange) other;
+            return getOrigin().equals(o.getOrigin()) && getRange() == o.getRange() && 
+                   direction == o.direction && angle == o.angle;
+        }
+    }
+    
+    /**
+     * Footprint of a {@link RadarController}, tested with a private copy of
+     * the controller
+     */
+    private static class Radar extends CoverageFootprint
+    {
+        private final double heading;
+        private final double pitch;
+        private final RadarController controller;
+        
+        Radar(Vector3 origin, double heading, double pitch, RadarController controller)
+        {
+            super(origin, controller.getHighRange());
+            this.heading = heading;
+            this.pitch = pitch;
+            this.controller = controller;
+            
+            // Cache the controller's frame for this orientation before the
+            // footprint is shared between threads
+            controller.isInRange(origin, heading, pitch, origin);
+        }
+        
+        /* (non-Javadoc)
+         * @see com.soartech.simjr.sensors.coverage.CoverageFootprint#covers(com.soartech.math.Vector3)
+         */
+        @Override
+        public boolean covers(Vector3 point)
+        {
+            return controller.isInRange(getOrigin(), heading, pitch, point);
+        }
+        
+        /* (non-Javadoc)
+         * @see com.soartech.simjr.sensors.coverage.CoverageFootprint#isSameAs(com.soartech.simjr.sensors.coverage.CoverageFootprint)
+         */
+        @Override
+        public boolean isSameAs(CoverageFootprint other)
+        {
+            if(!(other instanceof Radar))
+            {
+                return false;
+            }
+            final Radar o = (Radar) other;
+            final RadarController a = controller, b = o.controller;
+            return getOrigin().equals(o.getOrigin()) && heading == o.heading && pitch == o.pitch &&
+                   a.getRadarMode().getDefinition() == b.getRadarMode().getDefinition() &&
+                   a.getAzimuthCenter() == b.getAzimuthCenter() && a.getInclinationCenter() == b.getInclinationCenter() &&
+                   a.getAzimuthSlew() == b.getAzimuthSlew() && a.getInclinationSlew() == b.getInclinationSlew() &&
+                   a.getLowRange() == b.getLowRange() && a.getHighRange() == b.getHighRange();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors.coverage;
+
+/**
+ * A grid of sensor coverage counts over a rectangular area. Each cell holds
+ * the number of sensors that cover its center, so the union of all coverage
+ * is the set of cells with a non-zero count.
+ * 
+ * <p>Cells are grouped into square tiles of {@link #TILE_SIZE} cells, the 
+ * unit of work of {@link SensorCoverageService}. The service writes the 
+ * counts in place and then bumps the {@link #getVersion() version}, so a 
+ * reader that checks the version first sees at least the counts of that 
+ * version.
+ * 
+ * @author ray
+ */
+public class CoverageRaster
+{
+    /**
+     * Width and height of a tile, in cells
+     */
+    public static final int TILE_SIZE = 64;
+    
+    private final double minX;
+    private final double minY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] counts;
+    private volatile int version;
+    
+    /**
+     * @param minX x of the left edge of the area, in meters
+     * @param minY y of the bottom edge of the area, in meters
+     * @param width width of the area, in meters
+     * @param height height of the area, in meters
+     * @param cellSize width and height of a cell, in meters
+     */
+    public CoverageRaster(double minX, double minY, double width, double height, double cellSize)
+    {
+        if(!(cellSize > 0.0))
+        {
+            throw new IllegalArgumentException("cellSize must be positive, got " + cellSize);
+        }
+        if(!(width > 0.0) || !(height > 0.0))
+        {
+            throw new IllegalArgumentException("Area must not be empty, got " + width + " x " + height);
+        }
+        final long columns = (long) Math.ceil(width / cellSize);
+        final long rows = (long) Math.ceil(height / cellSize);
+        if(columns * rows > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Too many cells: " + columns + " x " + rows);
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = cellSize;
+        this.columns = (int) columns;
+        this.rows = (int) rows;
+        this.counts = new int[this.columns * this.rows];
+    }
+    
+    public double getMinX()
+    {
+        return minX;
+    }
+    
+    public double getMinY()
+    {
+        return minY;
+    }
+    
+    public double getCellSize()
+    {
+        return cellSize;
+    }
+    
+    public int getColumns()
+    {
+        return columns;
+    }
+    
+    public int getRows()
+    {
+        return rows;
+    }
+    
+    /**
+     * @return number of tiles across, the last one possibly partial
+     */
+    public int getTileColumns()
+    {
+        return (columns + TILE_SIZE - 1) / TILE_SIZE;
+    }
+    
+    /**
+     * @return number of tiles down, the last one possibly partial
+     */
+    public int getTileRows()
+    {
+        return (rows + TILE_SIZE - 1) / TILE_SIZE;
+    }
+    
+    /**
+     * @return a number that changes each time the counts are updated
+     */
+    public int getVersion()
+    {
+        return version;
+    }
+    
+    /**
+     * @param column cell column, from the left
+     * @param row cell row, from the bottom
+     * @return number of sensors covering the cell
+     */
+    public int getCount(int column, int row)
+    {
+        return counts[row * columns + column];
+    }
+    
+    /**
+     * @param x x in meters
+     * @param y y in meters
+     * @return number of sensors covering the cell containing the point, 0 if 
+     *      the point is outside the raster
+     */
+    public int getCount(double x, double y)
+    {
+        final double column = Math.floor((x - minX) / cellSize);
+        final double row = Math.floor((y - minY) / cellSize);
+        if(column < 0 || row < 0 || column >= columns || row >= rows)
+        {
+            return 0;
+        }
+        return getCount((int) column, (int) row);
+    }
+    
+    /**
+     * @param x x in meters
+     * @param y y in meters
+     * @return true if any sensor covers the cell containing the point
+     */
+    public boolean isCovered(double x, double y)
+    {
+        return getCount(x, y) > 0;
+    }
+    
+    /**
+     * @param column cell column
+     * @return x of the center of cells in the column, in meters
+     */
+    public double getCellCenterX(int column)
+    {
+        return minX + (column + 0.5) * cellSize;
+    }
+    
+    /**
+     * @param row cell row
+     * @return y of the center of cells in the row, in meters
+     */
+    public double getCellCenterY(int row)
+    {
+        return minY + (row + 0.5) * cellSize;
+    }
+    
+    /**
+     * @param x x in meters
+     * @return column of the tile containing x, clamped to the raster
+     */
+    int getTileColumn(double x)
+    {
+        return clamp((x - minX) / (cellSize * TILE_SIZE), getTileColumns());
+    }
+    
+    /**
+     * @param y y in meters
+     * @return row of the tile containing y, clamped to the raster
+     */
+    int getTileRow(double y)
+    {
+        return clamp((y - minY) / (cellSize * TILE_SIZE), getTileRows());
+    }
+    
+    private static int clamp(double tile, int tiles)
+    {
+        return (int) Math.max(0.0, Math.min(Math.floor(tile), tiles - 1));
+    }
+    
+    void setCount(int column, int row, int count)
+    {
+        counts[row * columns + column] = count;
+    }
+    
+    void publish()
+    {
+        ++version;
+    }
+}
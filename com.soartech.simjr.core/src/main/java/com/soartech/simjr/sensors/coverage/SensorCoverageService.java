@@ -0,0 +1,506 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors.coverage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.ProgressMonitor;
+import com.soartech.simjr.SimJrProps;
+import com.soartech.simjr.SimulationException;
+import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.sensors.Sensor;
+import com.soartech.simjr.sensors.SensorPlatform;
+import com.soartech.simjr.services.AbstractSimulationService;
+import com.soartech.simjr.services.ConstructOnDemand;
+import com.soartech.simjr.services.ServiceManager;
+import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.HeightmapTerrain;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.Terrain;
+import com.soartech.simjr.sim.Tickable;
+
+/**
+ * Maintains a {@link CoverageRaster} of where the simulation's sensors can 
+ * see, for "who can see this spot" analysis over a large area. Each cell 
+ * center, at {@link #getTargetAgl()} meters above the terrain, is tested
+ * against a {@link CoverageFootprint} of every enabled sensor and, if 
+ * occlusion is enabled, against the terrain line of sight from the sensor.
+ * 
+ * <p>An update takes footprints of all sensors with the simulation lock held
+ * and then recomputes, without the lock and in parallel, only the tiles of 
+ * the raster touched by footprints that appeared, went away or changed since
+ * the previous update. While the service is running it updates every
+ * {@code simjr.sensors.coverage.updatePeriod} seconds of simulation time 
+ * in the background; {@link #update()} updates on demand and waits.
+ * 
+ * <p>The area, cell size and pool size come from the 
+ * {@code simjr.sensors.coverage.*} properties.
+ * 
+ * @author ray
+ */
+@ConstructOnDemand
+public class SensorCoverageService extends AbstractSimulationService implements Tickable
+{
+    private static final Logger logger = LoggerFactory.getLogger(SensorCoverageService.class);
+    
+    public static SensorCoverageService findService(ServiceManager services)
+    {
+        return services.findService(SensorCoverageService.class);
+    }
+    
+    private final Simulation sim;
+    private final CoverageRaster raster;
+    private final int threads;
+    private final double updatePeriod;
+    private ForkJoinPool pool;
+    
+    private volatile double targetAgl;
+    private volatile boolean occlusionEnabled = true;
+    
+    // Updates run one at a time. Footprints and dirty tiles are only 
+    // touched by the running update.
+    private final Object updateLock = new Object();
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private Map<Sensor, CoverageFootprint> footprints = new IdentityHashMap<Sensor, CoverageFootprint>();
+    private final boolean[] dirty;
+    private boolean allDirty = true;
+    private double sinceUpdate = 0.0;
+    
+    /**
+     * Constructed on demand by ServiceManager.findService()
+     * 
+     * @param services the service manager
+     */
+    public SensorCoverageService(ServiceManager services)
+    {
+        this(Simulation.findService(services),
+             new CoverageRaster(SimJrProps.get("simjr.sensors.coverage.minX", -100000.0),
+                                SimJrProps.get("simjr.sensors.coverage.minY", -100000.0),
+                                SimJrProps.get("simjr.sensors.coverage.width", 200000.0),
+                                SimJrProps.get("simjr.sensors.coverage.height", 200000.0),
+                                SimJrProps.get("simjr.sensors.coverage.cellSize", 500.0)),
+             SimJrProps.get("simjr.sensors.coverage.threads", Runtime.getRuntime().availableProcessors()),
+             SimJrProps.get("simjr.sensors.coverage.updatePeriod", 5.0));
+        setTargetAgl(SimJrProps.get("simjr.sensors.coverage.targetAgl", 0.0));
+    }
+    
+    /**
+     * @param sim the simulation
+     * @param raster the raster to maintain
+     * @param threads number of threads tiles are computed on
+     * @param updatePeriod seconds of simulation time between background 
+     *      updates, or zero to only update on demand
+     */
+    public SensorCoverageService(Simulation sim, CoverageRaster raster, int threads, double updatePeriod)
+    {
+        if(sim == null)
+        {
+            throw new IllegalStateException("SensorCoverageService requires a Simulation service");
+        }
+        if(threads < 1)
+        {
+            throw new IllegalArgumentException("threads must be at least 1, got " + threads);
+        }
+        this.sim = sim;
+        this.raster = raster;
+        this.threads = threads;
+        this.updatePeriod = updatePeriod;
+        this.dirty = new boolean[raster.getTileColumns() * raster.getTileRows()];
+    }
+    
+    /**
+     * @return the coverage raster
+     */
+    public CoverageRaster getRaster()
+    {
+        return raster;
+    }
+    
+    /**
+     * @return height above the terrain, in meters, of the points tested
+     */
+    public double getTargetAgl()
+    {
+        return targetAgl;
+    }
+    
+    /**
+     * @param targetAgl height above the terrain, in meters, of the points 
+     *      tested. Everything is recomputed on the next update.
+     */
+    public void setTargetAgl(double targetAgl)
+    {
+        this.targetAgl = targetAgl;
+        invalidate();
+    }
+    
+    public boolean isOcclusionEnabled()
+    {
+        return occlusionEnabled;
+    }
+    
+    /**
+     * @param occlusionEnabled if true (the default), points hidden from a 
+     *      sensor by the terrain aren't covered by it. Everything is 
+     *      recomputed on the next update.
+     */
+    public void setOcclusionEnabled(boolean occlusionEnabled)
+    {
+        this.occlusionEnabled = occlusionEnabled;
+        invalidate();
+    }
+    
+    private void invalidate()
+    {
+        synchronized(updateLock)
+        {
+            allDirty = true;
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.services.AbstractSimulationService#start(com.soartech.simjr.ProgressMonitor)
+     */
+    @Override
+    public void start(ProgressMonitor progress) throws SimulationException
+    {
+        synchronized(sim.getLock())
+        {
+            if(pool == null)
+            {
+                logger.info("Computing sensor coverage with " + threads + " threads");
+                pool = new ForkJoinPool(threads);
+            }
+            if(updatePeriod > 0.0)
+            {
+                sim.addPostMotionTickable(this);
+            }
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.services.AbstractSimulationService#shutdown()
+     */
+    @Override
+    public void shutdown() throws SimulationException
+    {
+        synchronized(sim.getLock())
+        {
+            sim.removePostMotionTickable(this);
+            if(pool != null)
+            {
+                pool.shutdown();
+                pool = null;
+            }
+        }
+    }
+    
+    /**
+     * Starts a background update every update period, unless the previous 
+     * one is still running. Called by the simulation with the lock held.
+     * 
+     * @param dt the time that has passed
+     */
+    @Override
+    public void tick(double dt)
+    {
+        sinceUpdate += dt;
+        if(sinceUpdate < updatePeriod || pool == null || !updating.compareAndSet(false, true))
+        {
+            return;
+        }
+        sinceUpdate = 0.0;
+        
+        final Map<Sensor, CoverageFootprint> snapshot = snapshot();
+        final ForkJoinPool pool = this.pool;
+        pool.execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    compute(pool, snapshot);
+                }
+                catch(RuntimeException e)
+                {
+                    logger.error("Sensor coverage update failed", e);
+                }
+                finally
+                {
+                    updating.set(false);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Bring the raster up to date with the current sensors and wait for it.
+     * The simulation is only locked while the footprints are taken.
+     * 
+     * @return the number of tiles recomputed
+     */
+    public int update()
+    {
+        final Map<Sensor, CoverageFootprint> snapshot;
+        synchronized(sim.getLock())
+        {
+            snapshot = snapshot();
+        }
+        final ForkJoinPool pool = this.pool;
+        if(pool == null)
+        {
+            throw new IllegalStateException("SensorCoverageService is not running");
+        }
+        return compute(pool, snapshot);
+    }
+    
+    private Map<Sensor, CoverageFootprint> snapshot()
+    {
+        final Map<Sensor, CoverageFootprint> result = new IdentityHashMap<Sensor, CoverageFootprint>();
+        for(Entity e : sim.getEntitiesFast())
+        {
+            final SensorPlatform platform = Adaptables.adapt(e, SensorPlatform.class);
+            if(platform == null)
+            {
+                continue;
+            }
+            for(Sensor sensor : platform.getSensors())
+            {
+                if(sensor.isEnabled())
+                {
+                    final CoverageFootprint footprint = CoverageFootprint.create(sensor);
+                    if(footprint != null)
+                    {
+                        result.put(sensor, footprint);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+    
+    private int compute(ForkJoinPool pool, Map<Sensor, CoverageFootprint> snapshot)
+    {
+        synchronized(updateLock)
+        {
+            // Tiles touched by a footprint before or after it changed
+            if(allDirty)
+            {
+                Arrays.fill(dirty, true);
+                allDirty = false;
+            }
+            for(Map.Entry<Sensor, CoverageFootprint> entry : snapshot.entrySet())
+            {
+                final CoverageFootprint old = footprints.remove(entry.getKey());
+                if(old == null || !old.isSameAs(entry.getValue()))
+                {
+                    markDirty(old);
+                    markDirty(entry.getValue());
+                }
+            }
+            for(CoverageFootprint gone : footprints.values())
+            {
+                markDirty(gone);
+            }
+            footprints = snapshot;
+            
+            final List<Integer> tiles = new ArrayList<Integer>();
+            for(int i = 0; i < dirty.length; ++i)
+            {
+                if(dirty[i])
+                {
+                    tiles.add(i);
+                    dirty[i] = false;
+                }
+            }
+            if(!tiles.isEmpty())
+            {
+                final Context context = new Context(raster, sim.getTerrain(), 
+                                                    new ArrayList<CoverageFootprint>(snapshot.values()), 
+                                                    targetAgl, occlusionEnabled);
+                pool.invoke(new TileTask(context, tiles, 0, tiles.size()));
+                raster.publish();
+            }
+            return tiles.size();
+        }
+    }
+    
+    private void markDirty(CoverageFootprint footprint)
+    {
+        if(footprint == null)
+        {
+            return;
+        }
+        final Vector3 o = footprint.getOrigin();
+        final double r = footprint.getRange();
+        final int minColumn = raster.getTileColumn(o.x - r), maxColumn = raster.getTileColumn(o.x + r);
+        final int minRow = raster.getTileRow(o.y - r), maxRow = raster.getTileRow(o.y + r);
+        for(int row = minRow; row <= maxRow; ++row)
+        {
+            for(int column = minColumn; column <= maxColumn; ++column)
+            {
+                dirty[row * raster.getTileColumns() + column] = true;
+            }
+        }
+    }
+    
+    /**
+     * Everything a tile task needs, fixed for one update
+     */
+    private static class Context
+    {
+        final CoverageRaster raster;
+        final Terrain terrain;
+        final List<CoverageFootprint> footprints;
+        final double targetAgl;
+        final boolean occlusion;
+        
+        Context(CoverageRaster raster, Terrain terrain, List<CoverageFootprint> footprints, 
+                double targetAgl, boolean occlusion)
+        {
+            this.raster = raster;
+            this.terrain = terrain;
+            this.footprints = footprints;
+            this.targetAgl = targetAgl;
+            this.occlusion = occlusion;
+        }
+        
+        boolean hasLineOfSight(Vector3 a, Vector3 b)
+        {
+            // Every cell is a different ray, so skip the heightmap's cache
+            // rather than flushing the sensors' entries out of it
+            if(terrain instanceof HeightmapTerrain)
+            {
+                return ((HeightmapTerrain) terrain).computeLineOfSight(a, b);
+            }
+            return terrain.hasLineOfSight(a, b);
+        }
+        
+        void computeTile(int tile)
+        {
+            final int tileColumns = raster.getTileColumns();
+            final int startColumn = (tile % tileColumns) * CoverageRaster.TILE_SIZE;
+            final int startRow = (tile / tileColumns) * CoverageRaster.TILE_SIZE;
+            final int endColumn = Math.min(startColumn + CoverageRaster.TILE_SIZE, raster.getColumns());
+            final int endRow = Math.min(startRow + CoverageRaster.TILE_SIZE, raster.getRows());
+            
+            // Only footprints that can reach the tile
+            final double minX = raster.getCellCenterX(startColumn), maxX = raster.getCellCenterX(endColumn - 1);
+            final double minY = raster.getCellCenterY(startRow), maxY = raster.getCellCenterY(endRow - 1);
+            final List<CoverageFootprint> candidates = new ArrayList<CoverageFootprint>();
+            for(CoverageFootprint f : footprints)
+            {
+                final Vector3 o = f.getOrigin();
+                final double dx = Math.max(0.0, Math.max(minX - o.x, o.x - maxX));
+                final double dy = Math.max(0.0, Math.max(minY - o.y, o.y - maxY));
+                if(dx * dx + dy * dy <= f.getRange() * f.getRange())
+                {
+                    candidates.add(f);
+                }
+            }
+            
+            for(int row = startRow; row < endRow; ++row)
+            {
+                final double y = raster.getCellCenterY(row);
+                for(int column = startColumn; column < endColumn; ++column)
+                {
+                    int count = 0;
+                    if(!candidates.isEmpty())
+                    {
+                        final double x = raster.getCellCenterX(column);
+                        final Vector3 ground = new Vector3(x, y, 0.0);
+                        final Vector3 point = new Vector3(x, y, terrain.getElevationAtPoint(ground) + targetAgl);
+                        for(CoverageFootprint f : candidates)
+                        {
+                            if(f.covers(point) && (!occlusion || hasLineOfSight(f.getOrigin(), point)))
+                            {
+                                ++count;
+                            }
+                        }
+                    }
+                    raster.setCount(column, row, count);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Fork/join task that computes a range of dirty tiles
+     */
+    private static class TileTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        
+        private final Context context;
+        private final List<Integer> tiles;
+        private final int start;
+        private final int end;
+        
+        TileTask(Context context, List<Integer> tiles, int start, int end)
+        {
+            this.context = context;
+            this.tiles = tiles;
+            this.start = start;
+            this.end = end;
+        }
+
+        /* (non-Javadoc)
+         * @see java.util.concurrent.RecursiveAction#compute()
+         */
+        @Override
+        protected void compute()
+        {
+            if(end - start == 1)
+            {
+                context.computeTile(tiles.get(start));
+            }
+            else
+            {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new TileTask(context, tiles, start, middle),
+                          new TileTask(context, tiles, middle, end));
+            }
+        }
+    }
+}
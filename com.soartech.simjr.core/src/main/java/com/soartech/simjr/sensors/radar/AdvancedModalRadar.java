@@ -1,6 +1,5 @@
 package com.soartech.simjr.sensors.radar;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -10,26 +9,32 @@ import org.slf4j.LoggerFactory;
 import com.soartech.simjr.sensors.AbstractSensor;
 import com.soartech.simjr.sensors.ContactManager;
 import com.soartech.simjr.sensors.Detection;
+import com.soartech.simjr.sensors.DetectionSet;
 import com.soartech.simjr.sensors.DetectionType;
 import com.soartech.simjr.sensors.EntityFilter;
+import com.soartech.simjr.sensors.IncrementalSensor;
 import com.soartech.simjr.sensors.NotchFilter;
 import com.soartech.simjr.sensors.RadarSensor;
+import com.soartech.simjr.sensors.SensorBroadPhase;
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.util.ExtendedProperties;
 
-public class AdvancedModalRadar extends AbstractSensor implements RadarSensor
+public class AdvancedModalRadar extends AbstractSensor implements RadarSensor, IncrementalSensor
 {
     private static final Logger logger = LoggerFactory.getLogger(AdvancedModalRadar.class);
     
     private EntityFilter filter;
     private NotchFilter notchFilter;
-    private RadarController controller = new RadarController(new RangeWhileSearch());
+    private final RangeWhileSearch fallbackMode = new RangeWhileSearch();
+    private RadarController controller = new RadarController(fallbackMode);
     private ContactManager contactManager;
-    private List<Detection> detections = new ArrayList<Detection>();
+    private final DetectionSet detectionSet = new DetectionSet(this);
+    private volatile List<Detection> detections = Collections.emptyList();
 
     public AdvancedModalRadar(String name, ExtendedProperties props)
     {
         super(name);
+        controller.setRevisitTime(props.getDouble(name+".revisitTime", 0.0));
     }
     
     public RadarController getRadarController()
@@ -58,48 +63,77 @@ public class AdvancedModalRadar extends AbstractSensor implements RadarSensor
         super.setEntity(entity);
         filter = new EntityFilter(entity);
         notchFilter = new NotchFilter(entity);
+        if(contactManager != null)
+        {
+            contactManager.dispose();
+        }
         contactManager = new ContactManager(entity);
     }
 
     @Override
     public void tick(double dt)
     {
-        detections.clear();
+        // Publish the new detections in one step
+        detections = detect(dt);
+    }
+    
+    private List<Detection> detect(double dt)
+    {
+        controller.advanceScan(dt);
+        detectionSet.begin();
         if ( controller.getRadarMode() == null )
         {
             logger.warn("No radar mode set for AdvancedModalRadar for "+getEntity().getName());
-            return;
+            return detectionSet.commit();
         }
         
+        // When the beam only sweeps a sector per tick, targets outside it 
+        // keep their detection from the last pass of the beam and are only
+        // tested again when the beam comes back to them. Until then they're
+        // just checked against a cheap bound, and dropped if they leave the
+        // high range or the azimuth slew, where the beam won't come back.
         int numDetectedTargets = 0;
-        List<Entity> targets = this.getEntity().getSimulation().getEntitiesFast();
+        List<Entity> targets = SensorBroadPhase.getCandidates(getEntity(), controller.getHighRange());
         for ( Entity target : targets ) 
         {
             if ( filter.isEntityOfInterest(target) ) 
             {
-                if ( controller.getRadarMode().onlyShowTargets() ) 
+                if ( controller.getRadarMode().onlyShowTargets() && !controller.getRadarMode().isTarget(target) )
                 {
-                    if ( controller.getRadarMode().isTarget(target) && canDetect(target) ) 
-                    {
-                        numDetectedTargets++;
-                        detections.add(new Detection(this, target, DetectionType.RADAR)); 
-                    }
+                    continue;
+                }
+                
+                boolean detected;
+                if ( controller.isInScanSector(getEntity(), target.getPosition()) )
+                {
+                    detected = canDetect(target);
                 }
                 else
                 {
-                    if ( canDetect(target) )
+                    detected = detectionSet.wasDetected(target) && 
+                               controller.mayBeInRange(getEntity(), target.getPosition());
+                }
+                
+                if ( detected )
+                {
+                    if ( controller.getRadarMode().onlyShowTargets() )
                     {
-                        detections.add(new Detection(this, target, DetectionType.RADAR));
+                        numDetectedTargets++;
                     }
+                    detectionSet.add(target, DetectionType.RADAR);
                 }
             }
         }
         
         // Some radar modes switch back to RWS mode if there are no detected targets
-        if ( controller.getRadarMode().switchToRWSWhenNoTargets() && numDetectedTargets == 0 )
+        if ( controller.getRadarMode().switchToRWSWhenNoTargets() && numDetectedTargets == 0 && 
+             controller.getRadarMode() != fallbackMode )
         {
-            controller.setRadarMode(new RangeWhileSearch());
+            // Reuse the same RWS instance rather than allocating one per fallback
+            fallbackMode.clearTargets();
+            controller.setRadarMode(fallbackMode);
         }
+        return detectionSet.commit();
     }
         
     private boolean canDetect(Entity target)
@@ -111,10 +145,19 @@ public class AdvancedModalRadar extends AbstractSensor implements RadarSensor
         return !inNotch;
     }
 
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sensors.IncrementalSensor#fireDetectionChanges()
+     */
+    @Override
+    public void fireDetectionChanges()
+    {
+        fireDetectionChanges(detectionSet);
+    }
+
     @Override
     public List<Detection> getDetections()
     {
-        return Collections.unmodifiableList(detections);
+        return detections;
     }
 
 }
@@ -1,59 +1,13 @@
 package com.soartech.simjr.sensors.radar;
 
-
+/**
+ * Unrestricted mode. Limits and bounds are defined in simjr.radarmodes.properties.
+ */
 public class Full extends RadarMode
 {
-    @Override
-    public int getAllowedTargetCount()
-    {
-        return 1;
-    }
-
-    @Override
-    public DetectionMode getTargetDetectionMode()
-    {
-        return DetectionMode.FULL;
-    }
-
-    @Override
-    public DetectionMode getRegularDetectionMode()
-    {
-        return DetectionMode.FULL;
-    }
-
-    @Override
-    public boolean switchToRWSWhenNoTargets()
-    {
-        return false;
-    }
-
-    @Override
-    public boolean onlyShowTargets()
-    {
-        return false;
-    }
-
-    @Override
-    public RadarDegreeBound getAzimuthBounds()
-    {
-        return RadarDegreeBound.NoBounds();
-    }
-
-    @Override
-    public RadarBound getRangeBounds()
-    {
-        return RadarBound.NoBounds();
-    }
-
-    @Override
-    public RadarDegreeBound getInclinationBounds()
-    {
-        return RadarDegreeBound.NoBounds();
-    }
-    
-    public String toString()
+    public Full()
     {
-        return getRadarName();
+        super(RadarModeDefinition.get(getRadarName()));
     }
     
     public static String getRadarName()
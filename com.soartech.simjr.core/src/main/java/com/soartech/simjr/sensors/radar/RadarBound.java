@@ -2,6 +2,8 @@ package com.soartech.simjr.sensors.radar;
 
 public class RadarBound
 {
+    private static final RadarBound NO_BOUNDS = new RadarBound(Double.MIN_NORMAL, Double.MAX_VALUE);
+
     private final double high;
     private final double low;
 
@@ -23,6 +25,6 @@ public class RadarBound
 
     public static RadarBound NoBounds()
     {
-        return new RadarBound(Double.MIN_NORMAL, Double.MAX_VALUE);
+        return NO_BOUNDS;
     }
 }
@@ -13,6 +13,29 @@ public class RadarController
     private double azimuthSlew;
     private double inclinationSlew;
     
+    // Cosine thresholds for half the slews
+    private double cosHalfAzimuthSlew;
+    private double cosHalfInclinationSlew;
+    
+    // Direction cosines of the entity heading/pitch and of the radar centers,
+    // recomputed only when the entity's orientation or the centers change
+    private double frameHeading = Double.NaN;
+    private double framePitch = Double.NaN;
+    private double cosHeading;
+    private double sinHeading;
+    private double cosAzimuthCenter;
+    private double sinAzimuthCenter;
+    private double cosPitch;
+    private double sinPitch;
+    private double cosInclinationCenter;
+    private double sinInclinationCenter;
+    
+    // Azimuth sector swept by the beam this tick
+    private final RadarScanPattern scanPattern = new RadarScanPattern(0.0);
+    private double cosHalfSector;
+    private double cosSector;
+    private double sinSector;
+    
     // TODO: Radar controller should probably provide all the externally available
     // radar controls at the moment its lacking the mode switching and target 
     // specifying ones. This would hide radar mode from the rest of the system.
@@ -23,38 +46,223 @@ public class RadarController
         highRange = Double.MAX_VALUE;
         azimuthCenter = 0.0;
         inclinationCenter = 0.0;
-        azimuthSlew = 2*Math.PI;
-        inclinationSlew = 2*Math.PI;
+        setAzimuthSlew(2*Math.PI);
+        setInclinationSlew(2*Math.PI);
         
         this.setRadarMode(radarMode);
     }
     
     /**
-     * Tests whether a position is within this radar range
+     * Copy the coverage settings (mode, centers, slews and ranges) of another
+     * controller. The scan state isn't copied, so the copy covers the whole
+     * slew.
+     * 
+     * @param other the controller to copy
+     */
+    public RadarController(RadarController other)
+    {
+        this(other.radarMode);
+        setAzimuthCenter(other.azimuthCenter);
+        setInclinationCenter(other.inclinationCenter);
+        setAzimuthSlew(other.azimuthSlew);
+        setInclinationSlew(other.inclinationSlew);
+        setLowRange(other.lowRange);
+        setHighRange(other.highRange);
+    }
+    
+    /**
+     * Tests whether a position is within this radar range.
+     * 
+     * <p>Angles are compared through precomputed cosine thresholds, so the 
+     * only per-target math is a couple of dot products and square roots.
      * 
      * @param otherPos The position to test.
      * @return True iff otherPos is within this radar range.
      */
     public boolean isInRange(Entity entity, Vector3 otherPos)
     {
-        Vector3 agentPos = entity.getPosition();
-        Vector3 displacement = otherPos.subtract(agentPos);
+        return isInRange(entity.getPosition(), entity.getHeading(), entity.getPitch(), otherPos);
+    }
+    
+    /**
+     * Tests whether a position is within this radar range for a radar at the
+     * given position and orientation.
+     * 
+     * <p>The direction cosines of the orientation are cached on each call, 
+     * so a controller shared between threads must only be used with one 
+     * orientation, and called once before it's shared.
+     * 
+     * @param agentPos the radar's position
+     * @param heading the radar entity's heading in radians
+     * @param pitch the radar entity's pitch in radians
+     * @param otherPos The position to test.
+     * @return True iff otherPos is within this radar range.
+     */
+    public boolean isInRange(Vector3 agentPos, double heading, double pitch, Vector3 otherPos)
+    {
+        updateFrame(heading, pitch);
         
-        double distance = displacement.length();
+        double dx = otherPos.x - agentPos.x;
+        double dy = otherPos.y - agentPos.y;
+        double dz = otherPos.z - agentPos.z;
+        
+        double horizontalSq = dx * dx + dy * dy;
+        double distance = Math.sqrt(horizontalSq + dz * dz);
         
         if (!RadarScanDistanceRange.contains(lowRange, highRange, distance))
             return false;
-
-        double otherAzimuthAngle = Math.atan2(displacement.y, displacement.x);
-        if (!RadarScanAngleRange.contains(radarMode.getAzimuthBounds(), entity.getHeading(), azimuthCenter, azimuthSlew, otherAzimuthAngle))
+        
+        // Inclination is undefined at zero distance
+        if (distance == 0.0)
+            return false;
+        
+        // For a unit bearing u and angle a from a center direction c, 
+        // u.c == cos(a). Everything is scaled by the horizontal distance
+        // to avoid normalizing. Straight up/down has bearing 0, as with atan2.
+        double horizontal = Math.sqrt(horizontalSq);
+        double bx = dx, by = dy, bLength = horizontal;
+        if (horizontal == 0.0)
+        {
+            bx = 1.0; by = 0.0; bLength = 1.0;
+        }
+        
+        if (bx * cosHeading + by * sinHeading < radarMode.getAzimuthBounds().getCosHalfSpread() * bLength)
+            return false;
+        if (bx * cosAzimuthCenter + by * sinAzimuthCenter < cosHalfAzimuthSlew * bLength)
             return false;
 
-        double otherInclinationAngle = Math.asin(displacement.z / distance);
-        if (!RadarScanAngleRange.contains(radarMode.getInclinationBounds(), entity.getPitch(), inclinationCenter, inclinationSlew, otherInclinationAngle))
+        // Elevation e has cos(e) = horizontal/distance and sin(e) = dz/distance
+        if (horizontal * cosPitch + dz * sinPitch < radarMode.getInclinationBounds().getCosHalfSpread() * distance)
+            return false;
+        if (horizontal * cosInclinationCenter + dz * sinInclinationCenter < cosHalfInclinationSlew * distance)
             return false;
         
         return true;
+    }
+    
+    /**
+     * Cheap, conservative, bound on {@link #isInRange(Entity, Vector3)}. Only
+     * the high range and the azimuth slew are tested, without square roots,
+     * so a position that passes may still be out of range.
+     * 
+     * @param entity the radar's entity
+     * @param otherPos The position to test.
+     * @return false if otherPos is certainly out of range
+     */
+    public boolean mayBeInRange(Entity entity, Vector3 otherPos)
+    {
+        Vector3 agentPos = entity.getPosition();
+        double dx = otherPos.x - agentPos.x;
+        double dy = otherPos.y - agentPos.y;
+        double dz = otherPos.z - agentPos.z;
         
+        double horizontalSq = dx * dx + dy * dy;
+        if (horizontalSq + dz * dz > highRange * highRange)
+            return false;
+        
+        // u.c >= cos(a) * |u|, squared with care for the signs
+        updateFrame(entity.getHeading(), entity.getPitch());
+        double dot = dx * cosAzimuthCenter + dy * sinAzimuthCenter;
+        double boundSq = cosHalfAzimuthSlew * cosHalfAzimuthSlew * horizontalSq;
+        if (cosHalfAzimuthSlew >= 0.0)
+            return dot >= 0.0 && dot * dot >= boundSq;
+        return dot >= 0.0 || dot * dot <= boundSq;
+    }
+    
+    private void updateFrame(double heading, double pitch)
+    {
+        if (heading != frameHeading)
+        {
+            frameHeading = heading;
+            cosHeading = Math.cos(heading);
+            sinHeading = Math.sin(heading);
+            cosAzimuthCenter = Math.cos(heading + azimuthCenter);
+            sinAzimuthCenter = Math.sin(heading + azimuthCenter);
+            cosSector = Math.cos(heading + azimuthCenter + scanPattern.getSectorCenter());
+            sinSector = Math.sin(heading + azimuthCenter + scanPattern.getSectorCenter());
+        }
+        if (pitch != framePitch)
+        {
+            framePitch = pitch;
+            cosPitch = Math.cos(pitch);
+            sinPitch = Math.sin(pitch);
+            cosInclinationCenter = Math.cos(pitch + inclinationCenter);
+            sinInclinationCenter = Math.sin(pitch + inclinationCenter);
+        }
+    }
+    
+    /**
+     * Advance the scan by one tick. Call once per tick before testing targets.
+     * 
+     * @param dt the tick length in seconds
+     */
+    public void advanceScan(double dt)
+    {
+        scanPattern.advance(azimuthSlew, dt);
+        cosHalfSector = RadarScanAngleRange.cosThreshold(scanPattern.getSectorHalfWidth());
+        frameHeading = Double.NaN;
+    }
+    
+    /**
+     * @return true if only part of the azimuth slew is scanned this tick
+     */
+    public boolean isScanningSector()
+    {
+        return scanPattern.isSectorActive();
+    }
+    
+    /**
+     * Tests whether a position is in the azimuth sector swept by the beam 
+     * this tick. This is only an azimuth test, use {@link #isInRange} for the
+     * rest.
+     * 
+     * @param entity the radar's entity
+     * @param otherPos The position to test.
+     * @return True iff the whole slew is scanned this tick or otherPos is in
+     *      the swept sector
+     */
+    public boolean isInScanSector(Entity entity, Vector3 otherPos)
+    {
+        if (!scanPattern.isSectorActive())
+            return true;
+        
+        Vector3 agentPos = entity.getPosition();
+        double dx = otherPos.x - agentPos.x;
+        double dy = otherPos.y - agentPos.y;
+        double horizontal = Math.sqrt(dx * dx + dy * dy);
+        if (horizontal == 0.0)
+        {
+            dx = 1.0; dy = 0.0; horizontal = 1.0;
+        }
+        
+        updateFrame(entity.getHeading(), entity.getPitch());
+        return dx * cosSector + dy * sinSector >= cosHalfSector * horizontal;
+    }
+    
+    /**
+     * Seconds for the beam to sweep the azimuth slew once. Zero (the default)
+     * scans the whole slew every tick.
+     */
+    public double getRevisitTime()
+    {
+        return scanPattern.getRevisitTime();
+    }
+    
+    /**
+     * @param revisitTime seconds for the beam to sweep the azimuth slew once,
+     *      or zero to scan the whole slew every tick
+     */
+    public void setRevisitTime(double revisitTime)
+    {
+        scanPattern.setRevisitTime(revisitTime);
+    }
+    
+    /**
+     * Current beam position relative to the azimuth center, in radians.
+     */
+    public double getBeamOffset()
+    {
+        return scanPattern.getBeamOffset();
     }
     
     public void setAzimuthCenter(double center)
@@ -62,6 +270,7 @@ public class RadarController
         if (Math.abs(center) > radarMode.getInclinationBounds().getSpreadRadians())
             center = Math.signum(center)*radarMode.getInclinationBounds().getSpreadRadians();
         this.azimuthCenter = center;
+        this.frameHeading = Double.NaN;
     }
     
     public RadarMode getRadarMode()
@@ -88,16 +297,19 @@ public class RadarController
         if (Math.abs(center) > radarMode.getInclinationBounds().getSpreadRadians())
             center = Math.signum(center)*radarMode.getInclinationBounds().getSpreadRadians();
         this.inclinationCenter = center;
+        this.framePitch = Double.NaN;
     }
 
     public void setAzimuthSlew(double azimuthSlew)
     {
         this.azimuthSlew = azimuthSlew;
+        this.cosHalfAzimuthSlew = RadarScanAngleRange.cosThreshold(0.5 * azimuthSlew);
     }
     
     public void setInclinationSlew(double inclinationSlew)
     {
         this.inclinationSlew = inclinationSlew;
+        this.cosHalfInclinationSlew = RadarScanAngleRange.cosThreshold(0.5 * inclinationSlew);
     }
     
     public void setLowRange(double lowRange)
@@ -1,17 +1,26 @@
 package com.soartech.simjr.sensors.radar;
 
+/**
+ * Immutable angular bound of a radar. The half spread and its cosine are
+ * computed once so scans can test targets without trig calls.
+ */
 public class RadarDegreeBound
 {
+    private static final RadarDegreeBound NO_BOUNDS = new RadarDegreeBound(180.0);
 
-    private double spread;
+    private final double spread;
+    private final double spreadRadians;
+    private final double cosHalfSpread;
     
     public RadarDegreeBound(double spread)
     {
-        this.setSpread(spread);
+        this.spread = spread;
+        this.spreadRadians = Math.toRadians(spread);
+        this.cosHalfSpread = RadarScanAngleRange.cosThreshold(0.5 * spreadRadians);
     }
 
     public static RadarDegreeBound NoBounds() {
-        return new RadarDegreeBound(180.0);
+        return NO_BOUNDS;
     }
 
     /**
@@ -27,12 +36,16 @@ public class RadarDegreeBound
      */
     public double getSpreadRadians()
     {
-        return Math.toRadians(getSpread());
+        return spreadRadians;
     }
 
-    public void setSpread(double spread)
+    /**
+     * Cosine threshold for half of the spread, see 
+     * {@link RadarScanAngleRange#cosThreshold(double)}.
+     */
+    public double getCosHalfSpread()
     {
-        this.spread = spread;
+        return cosHalfSpread;
     }
     
 }
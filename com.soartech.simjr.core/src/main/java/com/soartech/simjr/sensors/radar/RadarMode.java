@@ -9,6 +9,10 @@ import java.util.Set;
 
 import com.soartech.simjr.sim.Entity;
 
+/**
+ * A radar mode along with the targets designated in it. The mode's limits
+ * and bounds come from a shared, immutable {@link RadarModeDefinition}.
+ */
 public abstract class RadarMode
 {
     @SuppressWarnings("serial")
@@ -24,16 +28,23 @@ public abstract class RadarMode
     // is added when the mode is already at its maximum allowed number of targets
     private LinkedHashSet<Entity> targets = new LinkedHashSet<Entity>();
     
+    private final RadarModeDefinition definition;
+    
     public static Set<String> getModes()
     {
-        return radarModes.keySet();
+        return RadarModeDefinition.getNames();
     }
     
     public static RadarMode factory(String mode)
     {
         try
         {
-            Constructor<? extends RadarMode> c = radarModes.get(mode).getConstructor();
+            Class<? extends RadarMode> klass = radarModes.get(mode);
+            if(klass == null)
+            {
+                return new Configured(RadarModeDefinition.get(mode));
+            }
+            Constructor<? extends RadarMode> c = klass.getConstructor();
             return c.newInstance();
         }
         catch (Exception e)
@@ -44,9 +55,17 @@ public abstract class RadarMode
         return null;
     }
     
-    public RadarMode()
+    public RadarMode(RadarModeDefinition definition)
+    {
+        this.definition = definition;
+    }
+    
+    /**
+     * @return the shared definition of this mode
+     */
+    public RadarModeDefinition getDefinition()
     {
-        // Intentionally left blank
+        return definition;
     }
 
     public void addTarget(Entity e)
@@ -84,25 +103,69 @@ public abstract class RadarMode
         targets.remove(e);
     }
     
-    public abstract int getAllowedTargetCount();
-    public abstract DetectionMode getTargetDetectionMode();
-    public abstract DetectionMode getRegularDetectionMode();
+    public int getAllowedTargetCount()
+    {
+        return definition.getAllowedTargetCount();
+    }
+    
+    public DetectionMode getTargetDetectionMode()
+    {
+        return definition.getTargetDetectionMode();
+    }
+    
+    public DetectionMode getRegularDetectionMode()
+    {
+        return definition.getRegularDetectionMode();
+    }
 
     public void clearTargets()
     {
         targets.clear();
     }
     
-    public abstract boolean onlyShowTargets();
-    public abstract boolean switchToRWSWhenNoTargets();
+    public boolean onlyShowTargets()
+    {
+        return definition.onlyShowTargets();
+    }
+    
+    public boolean switchToRWSWhenNoTargets()
+    {
+        return definition.switchToRWSWhenNoTargets();
+    }
 
     public Set<Entity> getTargets()
     {
         return Collections.unmodifiableSet(targets);
     }
 
+    public RadarBound getRangeBounds()
+    {
+        return definition.getRangeBounds();
+    }
+    
+    public RadarDegreeBound getAzimuthBounds()
+    {
+        return definition.getAzimuthBounds();
+    }
+    
+    public RadarDegreeBound getInclinationBounds()
+    {
+        return definition.getInclinationBounds();
+    }
+    
+    public String toString()
+    {
+        return definition.getName();
+    }
     
-    public abstract RadarBound getRangeBounds();
-    public abstract RadarDegreeBound getAzimuthBounds();
-    public abstract RadarDegreeBound getInclinationBounds();
+    /**
+     * Mode that exists only in the mode table, without a class of its own.
+     */
+    private static class Configured extends RadarMode
+    {
+        public Configured(RadarModeDefinition definition)
+        {
+            super(definition);
+        }
+    }
 }
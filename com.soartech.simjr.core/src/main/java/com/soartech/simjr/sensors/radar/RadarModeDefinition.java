@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors.radar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.soartech.simjr.util.ExtendedProperties;
+
+/**
+ * Immutable description of a radar mode: target limits, detection modes and
+ * physical bounds. Definitions are loaded once from simjr.radarmodes.properties
+ * and shared by every {@link RadarMode} instance of that mode; only the target
+ * list lives in the mode instance itself.
+ * 
+ * <p>Each mode is a set of keys prefixed with the mode name, e.g.
+ * <pre>
+ * TWS.allowedTargets=16
+ * TWS.targetDetectionMode=TRACK_WHILE_SCAN
+ * TWS.regularDetectionMode=NONE
+ * TWS.switchToRWSWhenNoTargets=true
+ * TWS.onlyShowTargets=true
+ * TWS.range.low=0
+ * TWS.range.high=140000
+ * TWS.azimuth=60
+ * TWS.inclination=90
+ * </pre>
+ * Omitted bounds default to {@link RadarBound#NoBounds()} and 
+ * {@link RadarDegreeBound#NoBounds()}.
+ * 
+ * @author ray
+ */
+public class RadarModeDefinition
+{
+    private static final Logger logger = LoggerFactory.getLogger(RadarModeDefinition.class);
+    
+    private static final String PROPFILENAME = "/simjr.radarmodes.properties";
+    private static final Map<String, RadarModeDefinition> definitions;
+    static
+    {
+        ExtendedProperties properties = new ExtendedProperties();
+        InputStream stream = RadarModeDefinition.class.getResourceAsStream(PROPFILENAME);
+        if(stream != null)
+        {
+            try
+            {
+                properties.load(stream);
+            }
+            catch (IOException e)
+            {
+                logger.error(e.toString());
+            }
+            finally
+            {
+                try
+                {
+                    stream.close();
+                }
+                catch (IOException e)
+                {
+                }
+            }
+        }
+        else
+        {
+            logger.error("Failed to load radar mode properties file "+PROPFILENAME);
+        }
+        definitions = Collections.unmodifiableMap(parse(properties));
+    }
+    
+    private final String name;
+    private final int allowedTargetCount;
+    private final DetectionMode targetDetectionMode;
+    private final DetectionMode regularDetectionMode;
+    private final boolean switchToRWSWhenNoTargets;
+    private final boolean onlyShowTargets;
+    private final RadarBound rangeBounds;
+    private final RadarDegreeBound azimuthBounds;
+    private final RadarDegreeBound inclinationBounds;
+    
+    public RadarModeDefinition(String name, int allowedTargetCount, 
+                               DetectionMode targetDetectionMode, DetectionMode regularDetectionMode,
+                               boolean switchToRWSWhenNoTargets, boolean onlyShowTargets,
+                               RadarBound rangeBounds, RadarDegreeBound azimuthBounds, 
+                               RadarDegreeBound inclinationBounds)
+    {
+        this.name = name;
+        this.allowedTargetCount = allowedTargetCount;
+        this.targetDetectionMode = targetDetectionMode;
+        this.regularDetectionMode = regularDetectionMode;
+        this.switchToRWSWhenNoTargets = switchToRWSWhenNoTargets;
+        this.onlyShowTargets = onlyShowTargets;
+        this.rangeBounds = rangeBounds;
+        this.azimuthBounds = azimuthBounds;
+        this.inclinationBounds = inclinationBounds;
+    }
+    
+    /**
+     * @param name the mode name, e.g. "RWS"
+     * @return the shared definition of the named mode
+     * @throws IllegalArgumentException if there is no such mode
+     */
+    public static RadarModeDefinition get(String name)
+    {
+        RadarModeDefinition def = definitions.get(name);
+        if(def == null)
+        {
+            throw new IllegalArgumentException("Unknown radar mode '" + name + "'");
+        }
+        return def;
+    }
+    
+    /**
+     * @param name the mode name
+     * @return true if the mode table defines the named mode
+     */
+    public static boolean isDefined(String name)
+    {
+        return definitions.containsKey(name);
+    }
+    
+    /**
+     * @return the names of all modes in the mode table
+     */
+    public static Set<String> getNames()
+    {
+        return definitions.keySet();
+    }
+    
+    /**
+     * Build mode definitions from a mode table. 
+     * 
+     * @param props the mode table
+     * @return definitions by name, in name order
+     * @throws IllegalArgumentException if a detection mode is not a 
+     *      {@link DetectionMode} name
+     */
+    static Map<String, RadarModeDefinition> parse(ExtendedProperties props)
+    {
+        Set<String> names = new TreeSet<String>();
+        for(String key : props.getKeys())
+        {
+            int dot = key.indexOf('.');
+            if(dot > 0)
+            {
+                names.add(key.substring(0, dot));
+            }
+        }
+        
+        Map<String, RadarModeDefinition> result = new LinkedHashMap<String, RadarModeDefinition>();
+        for(String name : names)
+        {
+            RadarBound range = RadarBound.NoBounds();
+            if(props.getProperty(name + ".range.low") != null || props.getProperty(name + ".range.high") != null)
+            {
+                range = new RadarBound(props.getDouble(name + ".range.low", range.getLow()), 
+                                       props.getDouble(name + ".range.high", range.getHigh()));
+            }
+            
+            result.put(name, new RadarModeDefinition(name, 
+                    props.getInteger(name + ".allowedTargets", 0), 
+                    parseDetectionMode(props, name + ".targetDetectionMode"), 
+                    parseDetectionMode(props, name + ".regularDetectionMode"), 
+                    props.getBoolean(name + ".switchToRWSWhenNoTargets", false), 
+                    props.getBoolean(name + ".onlyShowTargets", false), 
+                    range,
+                    parseDegreeBound(props, name + ".azimuth"), 
+                    parseDegreeBound(props, name + ".inclination")));
+        }
+        return result;
+    }
+    
+    private static DetectionMode parseDetectionMode(ExtendedProperties props, String key)
+    {
+        String value = props.getProperty(key, DetectionMode.NONE.name());
+        try
+        {
+            return DetectionMode.valueOf(value.trim());
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IllegalArgumentException("Invalid detection mode '" + value + "' for " + key);
+        }
+    }
+    
+    private static RadarDegreeBound parseDegreeBound(ExtendedProperties props, String key)
+    {
+        if(props.getProperty(key) == null)
+        {
+            return RadarDegreeBound.NoBounds();
+        }
+        return new RadarDegreeBound(props.getDouble(key, 180.0));
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public int getAllowedTargetCount()
+    {
+        return allowedTargetCount;
+    }
+
+    public DetectionMode getTargetDetectionMode()
+    {
+        return targetDetectionMode;
+    }
+
+    public DetectionMode getRegularDetectionMode()
+    {
+        return regularDetectionMode;
+    }
+
+    public boolean switchToRWSWhenNoTargets()
+    {
+        return switchToRWSWhenNoTargets;
+    }
+
+    public boolean onlyShowTargets()
+    {
+        return onlyShowTargets;
+    }
+
+    public RadarBound getRangeBounds()
+    {
+        return rangeBounds;
+    }
+
+    public RadarDegreeBound getAzimuthBounds()
+    {
+        return azimuthBounds;
+    }
+
+    public RadarDegreeBound getInclinationBounds()
+    {
+        return inclinationBounds;
+    }
+    
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
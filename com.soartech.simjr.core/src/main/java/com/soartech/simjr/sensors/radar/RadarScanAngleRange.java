@@ -4,6 +4,12 @@ import com.soartech.math.Angles;
 
 public class RadarScanAngleRange
 {
+    /**
+     * Slack added to cosine thresholds so that targets sitting exactly on a 
+     * bound are still inside it, as they are with {@link #contains}.
+     */
+    public static final double COS_TOLERANCE = 1e-12;
+    
     /**
      * 
      * @param physicalBounds physical bounds of the radar
@@ -27,4 +33,17 @@ public class RadarScanAngleRange
         
         return inPhysicalBounds && inCurrentView;
     }
+    
+    /**
+     * Converts a half angle into a cosine threshold. An angle a from the 
+     * center is within the half angle iff cos(a) >= the threshold. Half
+     * angles of PI or more accept every direction.
+     * 
+     * @param halfAngle half of the angular spread (in radians)
+     * @return the cosine threshold
+     */
+    public static double cosThreshold(double halfAngle)
+    {
+        return Math.cos(Math.min(Math.abs(halfAngle), Math.PI)) - COS_TOLERANCE;
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors.radar;
+
+import com.soartech.math.Angles;
+
+/**
+ * Azimuth scan of a radar beam. Each tick the beam advances across the 
+ * azimuth slew so that it covers the whole slew once per revisit time, and
+ * only the sector it swept during the tick is examined. Sector slews are 
+ * scanned back and forth, a full circle is scanned continuously.
+ * 
+ * <p>Angles are offsets from the radar's azimuth center. A revisit time of
+ * zero, or one shorter than the tick, covers the whole slew every tick.
+ * 
+ * @author ray
+ */
+public class RadarScanPattern
+{
+    private double revisitTime;
+    private double beamOffset = 0.0;
+    private int direction = 1;
+    
+    private boolean sectorActive = false;
+    private double sectorCenter = 0.0;
+    private double sectorHalfWidth = Math.PI;
+    
+    /**
+     * @param revisitTime seconds for the beam to cover the azimuth slew, 
+     *      or zero to cover it every tick
+     */
+    public RadarScanPattern(double revisitTime)
+    {
+        setRevisitTime(revisitTime);
+    }
+    
+    public double getRevisitTime()
+    {
+        return revisitTime;
+    }
+    
+    /**
+     * @param revisitTime seconds for the beam to cover the azimuth slew, 
+     *      or zero to cover it every tick
+     * @throws IllegalArgumentException if revisitTime is negative
+     */
+    public void setRevisitTime(double revisitTime)
+    {
+        if(!(revisitTime >= 0.0))
+        {
+            throw new IllegalArgumentException("Invalid radar revisit time " + revisitTime);
+        }
+        this.revisitTime = revisitTime;
+        if(revisitTime == 0.0)
+        {
+            sectorActive = false;
+        }
+    }
+    
+    /**
+     * Advance the beam and compute the sector it swept.
+     * 
+     * @param slew the azimuth slew in radians
+     * @param dt the tick length in seconds
+     */
+    public void advance(double slew, double dt)
+    {
+        slew = Math.min(slew, 2 * Math.PI);
+        double sweep = revisitTime > 0.0 ? slew * dt / revisitTime : slew;
+        if(!(sweep < slew) || sweep <= 0.0)
+        {
+            sectorActive = false;
+            return;
+        }
+        
+        double start = beamOffset;
+        double lo, hi;
+        if(slew >= 2 * Math.PI)
+        {
+            lo = start;
+            hi = start + sweep;
+            beamOffset = Angles.boundedAngleRadians(hi);
+        }
+        else
+        {
+            double half = 0.5 * slew;
+            start = Math.max(-half, Math.min(half, start));
+            double end = start + direction * sweep;
+            if(end > half)
+            {
+                // Bounced off the right edge, everything beyond the lower of 
+                // the two positions was covered
+                end = 2 * half - end;
+                direction = -1;
+                lo = Math.min(start, end);
+                hi = half;
+            }
+            else if(end < -half)
+            {
+                end = -2 * half - end;
+                direction = 1;
+                lo = -half;
+                hi = Math.max(start, end);
+            }
+            else
+            {
+                lo = Math.min(start, end);
+                hi = Math.max(start, end);
+            }
+            beamOffset = end;
+        }
+        
+        sectorActive = true;
+        sectorCenter = 0.5 * (lo + hi);
+        sectorHalfWidth = 0.5 * (hi - lo);
+    }
+    
+    /**
+     * @return true if only the sector is being examined this tick, false if
+     *      the whole slew is
+     */
+    public boolean isSectorActive()
+    {
+        return sectorActive;
+    }
+    
+    /**
+     * @return center of the swept sector, relative to the azimuth center (radians)
+     */
+    public double getSectorCenter()
+    {
+        return sectorCenter;
+    }
+    
+    /**
+     * @return half the width of the swept sector (radians)
+     */
+    public double getSectorHalfWidth()
+    {
+        return sectorHalfWidth;
+    }
+    
+    /**
+     * @return current beam position, relative to the azimuth center (radians)
+     */
+    public double getBeamOffset()
+    {
+        return beamOffset;
+    }
+}
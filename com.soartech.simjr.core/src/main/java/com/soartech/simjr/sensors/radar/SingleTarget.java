@@ -1,62 +1,13 @@
 package com.soartech.simjr.sensors.radar;
 
-
+/**
+ * Single target track mode. Limits and bounds are defined in simjr.radarmodes.properties.
+ */
 public class SingleTarget extends RadarMode
 {
-    @Override
-    public int getAllowedTargetCount()
-    {
-        return 1;
-    }
-
-    @Override
-    public DetectionMode getTargetDetectionMode()
-    {
-        return DetectionMode.FULL;
-    }
-
-    @Override
-    public DetectionMode getRegularDetectionMode()
-    {
-        return DetectionMode.NONE;
-    }
-
-    @Override
-    public boolean switchToRWSWhenNoTargets()
-    {
-        return false;
-    }
-
-    @Override
-    public boolean onlyShowTargets()
-    {
-        return true;
-    }
-    
-    @Override
-    public RadarDegreeBound getAzimuthBounds()
-    {
-        // TODO: This need to be configurable
-        return new RadarDegreeBound(15);
-    }
-
-    @Override
-    public RadarBound getRangeBounds()
-    {
-        // TODO: This need to be configurable
-        return new RadarBound(0.0, 140000.0);
-    }
-
-    @Override
-    public RadarDegreeBound getInclinationBounds()
-    {
-        // TODO: This need to be configurable
-        return new RadarDegreeBound(30);
-    }
-
-    public String toString()
+    public SingleTarget()
     {
-        return getRadarName();
+        super(RadarModeDefinition.get(getRadarName()));
     }
     
     public static String getRadarName()
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import com.soartech.math.Vector3;
+
+/**
+ * Base class for motion integrators that work on primitive scratch buffers
+ * rather than {@link Vector3}s. The only allocations per update are the new
+ * position and velocity vectors handed to the entity, plus whatever the 
+ * acceleration provider allocates if it isn't a {@link PrimitiveAccelerationProvider}.
+ * 
+ * <p>State is laid out as position x, y, z followed by velocity x, y, z. 
+ * Scratch buffers are per-thread, so one instance can be shared by all 
+ * entities, including entities ticked in parallel.
+ * 
+ * @author ray
+ */
+public abstract class AbstractPrimitiveMotionIntegrator implements EntityMotionIntegrator, ParallelTickSafe
+{
+    /**
+     * Number of doubles in a state: position and velocity
+     */
+    protected static final int STATE_SIZE = 6;
+    
+    /**
+     * Number of state-sized blocks in each scratch buffer
+     */
+    protected static final int SCRATCH_BLOCKS = 12;
+    
+    private static final ThreadLocal<double[]> scratch = new ThreadLocal<double[]>()
+    {
+        @Override
+        protected double[] initialValue()
+        {
+            return new double[STATE_SIZE * SCRATCH_BLOCKS];
+        }
+    };
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.EntityMotionIntegrator#updateEntity(com.soartech.simjr.sim.Entity, com.soartech.simjr.sim.EntityAccelerationProvider, double)
+     */
+    @Override
+    public final void updateEntity(Entity e, EntityAccelerationProvider accel, double dt)
+    {
+        final Vector3 p = e.getPosition();
+        final Vector3 v = e.getVelocity();
+        if(EntityAccelerationProvider.NO_ACCELERATION_MODEL == accel)
+        {
+            // Constant velocity is exact with any method
+            e.setPosition(new Vector3(p.x + v.x * dt, p.y + v.y * dt, p.z + v.z * dt));
+            return;
+        }
+        
+        final double[] s = scratch.get();
+        s[0] = p.x; s[1] = p.y; s[2] = p.z;
+        s[3] = v.x; s[4] = v.y; s[5] = v.z;
+        
+        integrate(accel, s, e.getSimulation().getTime(), dt);
+        
+        e.setPosition(new Vector3(s[0], s[1], s[2]));
+        e.setVelocity(new Vector3(s[3], s[4], s[5]));
+    }
+    
+    /**
+     * Advance the state in s[0..5] by dt
+     * 
+     * @param accel the acceleration provider
+     * @param s scratch buffer of {@link #STATE_SIZE} * {@link #SCRATCH_BLOCKS}
+     *      doubles. On entry the first block holds the initial state. On 
+     *      exit it must hold the final state. The rest may be used freely.
+     * @param t the simulation time at the start of the step
+     * @param dt the time step
+     */
+    protected abstract void integrate(EntityAccelerationProvider accel, double[] s, double t, double dt);
+    
+    /**
+     * Evaluate the derivative of a state, i.e. velocity and acceleration
+     * 
+     * @param accel the acceleration provider
+     * @param s buffer holding the state
+     * @param stateOffset offset of the state
+     * @param t the time
+     * @param out buffer to receive the derivative
+     * @param outOffset offset of the derivative
+     */
+    protected static void derivative(EntityAccelerationProvider accel, double[] s, int stateOffset, double t, double[] out, int outOffset)
+    {
+        out[outOffset] = s[stateOffset + 3];
+        out[outOffset + 1] = s[stateOffset + 4];
+        out[outOffset + 2] = s[stateOffset + 5];
+        if(accel instanceof PrimitiveAccelerationProvider)
+        {
+            ((PrimitiveAccelerationProvider) accel).getAcceleration(s, stateOffset, t, out, outOffset + 3);
+        }
+        else
+        {
+            final Vector3 a = accel.getAcceleration(new Vector3(s[stateOffset], s[stateOffset + 1], s[stateOffset + 2]),
+                                                    new Vector3(s[stateOffset + 3], s[stateOffset + 4], s[stateOffset + 5]), 
+                                                    t);
+            out[outOffset + 3] = a.x;
+            out[outOffset + 4] = a.y;
+            out[outOffset + 5] = a.z;
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.ParallelTickSafe#isParallelTickSafe()
+     */
+    @Override
+    public boolean isParallelTickSafe()
+    {
+        // Stateless apart from per-thread scratch buffers
+        return true;
+    }
+}
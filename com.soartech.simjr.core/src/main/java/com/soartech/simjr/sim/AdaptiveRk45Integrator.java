@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+/**
+ * Adaptive Runge-Kutta integration using the Dormand-Prince 5(4) pair. Each
+ * tick is covered by as many sub-steps as are needed to keep the estimated
+ * local error of every state component under the tolerance. Useful for 
+ * entities with stiff or rapidly changing acceleration, where a single RK4
+ * step per tick isn't accurate enough.
+ * 
+ * @author ray
+ */
+public class AdaptiveRk45Integrator extends AbstractPrimitiveMotionIntegrator
+{
+    /**
+     * Default absolute error tolerance, in meters and meters per second
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-3;
+    
+    /**
+     * Maximum number of sub-steps per tick. If the tolerance can't be met
+     * within this many steps, the remainder of the tick is taken in one step.
+     */
+    public static final int MAX_STEPS = 64;
+    
+    private static final int K1 = STATE_SIZE;
+    private static final int K2 = 2 * STATE_SIZE;
+    private static final int K3 = 3 * STATE_SIZE;
+    private static final int K4 = 4 * STATE_SIZE;
+    private static final int K5 = 5 * STATE_SIZE;
+    private static final int K6 = 6 * STATE_SIZE;
+    private static final int K7 = 7 * STATE_SIZE;
+    private static final int TEMP = 8 * STATE_SIZE;
+    private static final int NEXT = 9 * STATE_SIZE;
+    
+    // Dormand-Prince coefficients
+    private static final double C2 = 1.0 / 5.0, C3 = 3.0 / 10.0, C4 = 4.0 / 5.0, C5 = 8.0 / 9.0;
+    
+    private static final double A21 = 1.0 / 5.0;
+    private static final double A31 = 3.0 / 40.0, A32 = 9.0 / 40.0;
+    private static final double A41 = 44.0 / 45.0, A42 = -56.0 / 15.0, A43 = 32.0 / 9.0;
+    private static final double A51 = 19372.0 / 6561.0, A52 = -25360.0 / 2187.0, A53 = 64448.0 / 6561.0, A54 = -212.0 / 729.0;
+    private static final double A61 = 9017.0 / 3168.0, A62 = -355.0 / 33.0, A63 = 46732.0 / 5247.0, A64 = 49.0 / 176.0, A65 = -5103.0 / 18656.0;
+    
+    // Fifth order weights (also the last row of A)
+    private static final double B1 = 35.0 / 384.0, B3 = 500.0 / 1113.0, B4 = 125.0 / 192.0, B5 = -2187.0 / 6784.0, B6 = 11.0 / 84.0;
+    
+    // Difference between fifth and fourth order weights
+    private static final double E1 = 71.0 / 57600.0, E3 = -71.0 / 16695.0, E4 = 71.0 / 1920.0, 
+                                E5 = -17253.0 / 339200.0, E6 = 22.0 / 525.0, E7 = -1.0 / 40.0;
+    
+    private final double tolerance;
+    
+    /**
+     * Construct an integrator with {@link #DEFAULT_TOLERANCE}
+     */
+    public AdaptiveRk45Integrator()
+    {
+        this(DEFAULT_TOLERANCE);
+    }
+    
+    /**
+     * @param tolerance absolute local error tolerance per sub-step for each 
+     *      position (meters) and velocity (meters per second) component. 
+     *      Must be positive.
+     */
+    public AdaptiveRk45Integrator(double tolerance)
+    {
+        if(!(tolerance > 0.0))
+        {
+            throw new IllegalArgumentException("tolerance must be positive, got " + tolerance);
+        }
+        this.tolerance = tolerance;
+    }
+    
+    /**
+     * @return the error tolerance
+     */
+    public double getTolerance()
+    {
+        return tolerance;
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.AbstractPrimitiveMotionIntegrator#integrate(com.soartech.simjr.sim.EntityAccelerationProvider, double[], double, double)
+     */
+    @Override
+    protected void integrate(EntityAccelerationProvider accel, double[] s, double t, double dt)
+    {
+        if(dt <= 0.0)
+        {
+            return;
+        }
+        
+        double remaining = dt;
+        double h = dt;
+        int steps = 0;
+        derivative(accel, s, 0, t, s, K1);
+        while(remaining > 0.0)
+        {
+            final boolean last = h >= remaining;
+            if(last)
+            {
+                h = remaining;
+            }
+            
+            final double error = step(accel, s, t, h);
+            steps++;
+            if(error <= tolerance || steps >= MAX_STEPS)
+            {
+                // Accept. The derivative at the end of the step is the first
+                // derivative of the next one.
+                System.arraycopy(s, NEXT, s, 0, STATE_SIZE);
+                System.arraycopy(s, K7, s, K1, STATE_SIZE);
+                t += h;
+                remaining = last ? 0.0 : remaining - h;
+                if(steps >= MAX_STEPS)
+                {
+                    h = remaining;
+                    continue;
+                }
+            }
+            
+            final double factor = error == 0.0 ? 5.0 : 0.9 * Math.pow(tolerance / error, 0.2);
+            h *= Math.max(0.2, Math.min(5.0, factor));
+        }
+    }
+    
+    /**
+     * Take one Dormand-Prince step of size h from the state in block 0 with
+     * its derivative in K1. The new state is left in NEXT and its derivative
+     * in K7.
+     * 
+     * @return the estimated local error, the largest over all components
+     */
+    private double step(EntityAccelerationProvider accel, double[] s, double t, double h)
+    {
+        for(int i = 0; i < STATE_SIZE; ++i)
+        {
+            s[TEMP + i] = s[i] + h * (A21 * s[K1 + i]);
+        }
+        derivative(accel, s, TEMP, t + C2 * h, s, K2);
+        
+        for(int i = 0; i < STATE_SIZE; ++i)
+        {
+            s[TEMP + i] = s[i] + h * (A31 * s[K1 + i] + A32 * s[K2 + i]);
+        }
+        derivative(accel, s, TEMP, t + C3 * h, s, K3);
+        
+        for(int i = 0; i < STATE_SIZE; ++i)
+        {
+            s[TEMP + i] = s[i] + h * (A41 * s[K1 + i] + A42 * s[K2 + i] + A43 * s[K3 + i]);
+        }
+        derivative(accel, s, TEMP, t + C4 * h, s, K4);
+        
+        for(int i = 0; i < STATE_SIZE; ++i)
+        {
+            s[TEMP + i] = s[i] + h * (A51 * s[K1 + i] + A52 * s[K2 + i] + A53 * s[K3 + i] + A54 * s[K4 + i]);
+        }
+        derivative(accel, s, TEMP, t + C5 * h, s, K5);
+        
+        for(int i = 0; i < STATE_SIZE; ++i)
+        {
+            s[TEMP + i] = s[i] + h * (A61 * s[K1 + i] + A62 * s[K2 + i] + A63 * s[K3 + i] + A64 * s[K4 + i] + A65 * s[K5 + i]);
+        }
+        derivative(accel, s, TEMP, t + h, s, K6);
+        
+        for(int i = 0; i < STATE_SIZE; ++i)
+        {
+            s[NEXT + i] = s[i] + h * (B1 * s[K1 + i] + B3 * s[K3 + i] + B4 * s[K4 + i] + B5 * s[K5 + i] + B6 * s[K6 + i]);
+        }
+        derivative(accel, s, NEXT, t + h, s, K7);
+        
+        double error = 0.0;
+        for(int i = 0; i < STATE_SIZE; ++i)
+        {
+            final double e = h * (E1 * s[K1 + i] + E3 * s[K3 + i] + E4 * s[K4 + i] + 
+                                  E5 * s[K5 + i] + E6 * s[K6 + i] + E7 * s[K7 + i]);
+            error = Math.max(error, Math.abs(e));
+        }
+        return error;
+    }
+}
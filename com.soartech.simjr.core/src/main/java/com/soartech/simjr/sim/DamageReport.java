@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.soartech.simjr.sim.entities.DamageStatus;
+
+/**
+ * The combined result of the detonations resolved together at the end of a 
+ * tick. See {@link SimulationListener#onDamage(DamageReport)}.
+ * 
+ * @author ray
+ */
+public class DamageReport
+{
+    private final double time;
+    private final List<Detonation> detonations;
+    private final Map<Entity, DamageStatus> damage;
+    
+    DamageReport(double time, List<Detonation> detonations, Map<Entity, DamageStatus> damage)
+    {
+        this.time = time;
+        this.detonations = Collections.unmodifiableList(detonations);
+        this.damage = Collections.unmodifiableMap(damage);
+    }
+    
+    /**
+     * @return the simulation time the detonations were resolved at
+     */
+    public double getTime()
+    {
+        return time;
+    }
+    
+    /**
+     * @return the detonations, in the order they happened
+     */
+    public List<Detonation> getDetonations()
+    {
+        return detonations;
+    }
+    
+    /**
+     * @return the new damage status of each entity whose damage changed. 
+     *      Each entity appears once, with the worst damage it took from any 
+     *      of the detonations.
+     */
+    public Map<Entity, DamageStatus> getDamage()
+    {
+        return damage;
+    }
+}
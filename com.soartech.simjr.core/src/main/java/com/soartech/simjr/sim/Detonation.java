@@ -34,12 +34,8 @@ package com.soartech.simjr.sim;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import com.soartech.math.Vector3;
 import com.soartech.simjr.sim.entities.DamageStatus;
-import com.soartech.simjr.sim.entities.Vulnerability;
 import com.soartech.simjr.weapons.Weapon;
 
 /**
@@ -49,12 +45,17 @@ import com.soartech.simjr.weapons.Weapon;
  */
 public class Detonation
 {
-    private static final Logger logger = LoggerFactory.getLogger(Detonation.class);
+    /**
+     * Blast radius, in meters, of a detonation at a location when its weapon
+     * doesn't have one
+     */
+    public static final double DEFAULT_BLAST_RADIUS = 100.0;
     
     private Simulation sim;
     private Weapon weapon;
     private Entity target;
     private Vector3 location;
+    private double time;
     private List<Entity> damagedEntities = new ArrayList<Entity>();
     
     /**
@@ -66,8 +67,24 @@ public class Detonation
      *      target is non-null.
      */
     public Detonation(Simulation sim, Weapon weapon, Entity target, Vector3 location)
+    {
+        this(sim, weapon, target, location, sim != null ? sim.getTime() : 0.0);
+    }
+    
+    /**
+     * Construct a new detonation that happened at a particular time, e.g. 
+     * part way through a tick
+     * 
+     * @param weapon The weapon
+     * @param target The target of the detonation, or null
+     * @param location The location of the detonation. May be null only if
+     *      target is non-null.
+     * @param time The simulation time of the detonation in seconds
+     */
+    public Detonation(Simulation sim, Weapon weapon, Entity target, Vector3 location, double time)
     {
         this.sim = sim;
+        this.time = time;
         this.weapon = weapon;
         this.target = target;
         if(location != null)
@@ -92,6 +109,14 @@ public class Detonation
         return location;
     }
 
+    /**
+     * @return The simulation time of the detonation, in seconds
+     */
+    public double getTime()
+    {
+        return time;
+    }
+
     /**
      * @return The target of the detonation, or null if no specific target was
      *      given.
@@ -109,33 +134,62 @@ public class Detonation
         return weapon;
     }
     
-    public void detonate()
+    /**
+     * @return radius, in meters, within which the detonation damages 
+     *      entities other than its target. This is the weapon's blast radius
+     *      if it has one. Otherwise it is 0 for a detonation on a target and
+     *      {@link #DEFAULT_BLAST_RADIUS} for one at a location.
+     */
+    public double getBlastRadius()
     {
-        if(target != null)
+        final double radius = weapon != null ? weapon.getBlastRadius() : Double.NaN;
+        if(!Double.isNaN(radius))
         {
-            // Just hit the exact target they were firing at
-            logger.info("Weapon '" + weapon.getName() + "' hit target '" + target.getName() + "'");
-            if (target.getProperty(EntityConstants.PROPERTY_VULNERABILITY) == Vulnerability.invulnerable) {
-                logger.info("No damage change because target '" + target.getName() + "' has invulnerability");
-            } else {
-                target.setProperty(EntityConstants.PROPERTY_DAMAGE, DamageStatus.destroyed);
-            }
-            
-            damagedEntities.add(target);
+            return radius;
         }
-        else
+        return target != null ? 0.0 : DEFAULT_BLAST_RADIUS;
+    }
+    
+    /**
+     * Returns the damage the blast does at some distance from the 
+     * detonation. Within the weapon's falloff band at the edge of the blast 
+     * radius, damage drops from moderate to slight.
+     * 
+     * @param distance distance from the location of the detonation
+     * @return the damage, or null if distance is outside the blast radius
+     */
+    public DamageStatus getBlastDamage(double distance)
+    {
+        final double radius = getBlastRadius();
+        if(distance > radius)
         {
-            // Destroy anything near the impact point
-            damagedEntities = sim.getEntities(location, 100.0);
-            for(Entity t : damagedEntities)
-            {
-                // TODO: Maybe add a more general "damagable" property or something?
-                if(t.getPrototype().hasSubcategory("control")) continue;
-                
-                logger.info("Weapon '" + weapon.getName() + "' hit target '" + t.getName() + "' (indirect)");
-                t.setProperty(EntityConstants.PROPERTY_DAMAGE, DamageStatus.destroyed);
-            }
+            return null;
         }
+        final double falloff = weapon != null ? Math.max(0.0, Math.min(1.0, weapon.getBlastFalloff())) : 0.0;
+        final double band = radius * falloff;
+        final double depth = radius - distance;
+        if(depth >= band)
+        {
+            return DamageStatus.destroyed;
+        }
+        return depth > 0.5 * band ? DamageStatus.moderate : DamageStatus.slight;
+    }
+    
+    /**
+     * Apply the detonation's damage right away. {@link Simulation#detonate(Detonation)}
+     * normally does this, batched with the tick's other detonations. If the
+     * detonation has no simulation, only its target is damaged.
+     */
+    public void detonate()
+    {
+        final DetonationBatch batch = new DetonationBatch();
+        batch.add(this);
+        batch.resolve(sim);
+    }
+    
+    void addDamagedEntity(Entity entity)
+    {
+        damagedEntities.add(entity);
     }
     
     /**
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.soartech.simjr.sim.entities.DamageStatus;
+import com.soartech.simjr.sim.entities.Vulnerability;
+
+/**
+ * Detonations waiting to be resolved together. Damage from all of them is 
+ * combined first, so each entity's damage property is set at most once, to 
+ * the worst damage it took.
+ * 
+ * @author ray
+ */
+class DetonationBatch
+{
+    private static final Logger logger = LoggerFactory.getLogger(Detonation.class);
+    
+    private final List<Detonation> detonations = new ArrayList<Detonation>();
+    
+    void add(Detonation detonation)
+    {
+        detonations.add(detonation);
+    }
+    
+    boolean isEmpty()
+    {
+        return detonations.isEmpty();
+    }
+    
+    /**
+     * Apply the damage from every detonation in the batch and clear it.
+     * Blast victims are found with the simulation's spatial index.
+     * 
+     * @param sim the simulation, or null if the detonations aren't in one.
+     *      Then only their targets are damaged, and the report is stamped
+     *      with the latest detonation time.
+     * @return report of the resolved detonations
+     */
+    DamageReport resolve(Simulation sim)
+    {
+        final Map<Entity, DamageStatus> worst = new LinkedHashMap<Entity, DamageStatus>();
+        for(Detonation d : detonations)
+        {
+            final Entity target = d.getTarget();
+            final String weaponName = d.getWeapon().getName();
+            if(target != null)
+            {
+                // Just hit the exact target they were firing at
+                logger.info("Weapon '" + weaponName + "' hit target '" + target.getName() + "'");
+                d.addDamagedEntity(target);
+                accumulate(worst, target, DamageStatus.destroyed);
+            }
+            
+            final double radius = d.getBlastRadius();
+            if(radius <= 0.0 || sim == null)
+            {
+                continue;
+            }
+            for(Entity e : sim.getEntitiesInRadius(d.getLocation(), radius))
+            {
+                // TODO: Maybe add a more general "damagable" property or something?
+                if(e == target || e.getPrototype().hasSubcategory("control")) continue;
+                
+                final DamageStatus damage = d.getBlastDamage(d.getLocation().distance(e.getPosition()));
+                if(damage != null)
+                {
+                    logger.info("Weapon '" + weaponName + "' hit target '" + e.getName() + "' (indirect)");
+                    d.addDamagedEntity(e);
+                    accumulate(worst, e, damage);
+                }
+            }
+        }
+        
+        final Map<Entity, DamageStatus> changed = new LinkedHashMap<Entity, DamageStatus>();
+        for(Map.Entry<Entity, DamageStatus> entry : worst.entrySet())
+        {
+            final Entity e = entry.getKey();
+            if(e.getProperty(EntityConstants.PROPERTY_VULNERABILITY) == Vulnerability.invulnerable)
+            {
+                logger.info("No damage change because target '" + e.getName() + "' has invulnerability");
+                continue;
+            }
+            final Object current = e.getProperty(EntityConstants.PROPERTY_DAMAGE);
+            if(!(current instanceof DamageStatus) || getSeverity(entry.getValue()) > getSeverity((DamageStatus) current))
+            {
+                e.setProperty(EntityConstants.PROPERTY_DAMAGE, entry.getValue());
+                changed.put(e, entry.getValue());
+            }
+        }
+        
+        final DamageReport report = new DamageReport(sim != null ? sim.getTime() : getLatestTime(), 
+                                                     new ArrayList<Detonation>(detonations), changed);
+        detonations.clear();
+        return report;
+    }
+    
+    private double getLatestTime()
+    {
+        double latest = 0.0;
+        for(Detonation d : detonations)
+        {
+            latest = Math.max(latest, d.getTime());
+        }
+        return latest;
+    }
+    
+    private static void accumulate(Map<Entity, DamageStatus> worst, Entity e, DamageStatus damage)
+    {
+        final DamageStatus previous = worst.get(e);
+        if(previous == null || getSeverity(damage) > getSeverity(previous))
+        {
+            worst.put(e, damage);
+        }
+    }
+    
+    /**
+     * @param status a damage status
+     * @return the status' rank from intact (0) to destroyed (3)
+     */
+    static int getSeverity(DamageStatus status)
+    {
+        switch(status)
+        {
+        case destroyed: return 3;
+        case moderate: return 2;
+        case slight: return 1;
+        default: return 0;
+        }
+    }
+}
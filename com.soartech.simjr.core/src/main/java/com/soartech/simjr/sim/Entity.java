@@ -58,6 +58,24 @@ public interface Entity extends Adaptable
      */
     void setSimulation(Simulation sim);
     
+    /**
+     * Returns the compact integer id assigned to this entity by the simulation
+     * it was added to. Ids are unique among the entities currently in a 
+     * simulation and are reused after an entity is removed, so an id should
+     * only be held while the entity is known to be in the simulation.
+     * 
+     * @return The entity's id, or -1 if it is not in a simulation
+     * @see Simulation#getEntityById(int)
+     */
+    int getId();
+    
+    /**
+     * Set the entity's id. This method should only be called by Simulation.
+     * 
+     * @param id The new id, or -1 when the entity is removed
+     */
+    void setId(int id);
+    
     /**
      * @return The unique name of the entity
      */
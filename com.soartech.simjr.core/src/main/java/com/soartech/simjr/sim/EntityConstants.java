@@ -100,6 +100,17 @@ public interface EntityConstants
     public static final String PROPERTY_RADAR_VISIBLE = "radar.visible";
 
     public static final String PROPERTY_ENFORCE_AGL = "enforce-agl";
+    
+    /**
+     * Name of the motion integrator used to move the entity. See 
+     * {@link MotionIntegrators}.
+     */
+    public static final String PROPERTY_MOTION_INTEGRATOR = "motion.integrator";
+    
+    /**
+     * Error tolerance for adaptive motion integrators
+     */
+    public static final String PROPERTY_MOTION_INTEGRATOR_TOLERANCE = "motion.integrator.tolerance";
 
     public static final String PROPERTY_VOICE = "voice";
     public static final String PROPERTY_FREQUENCY = "frequency";
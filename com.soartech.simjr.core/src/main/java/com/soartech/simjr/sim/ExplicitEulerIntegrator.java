@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+/**
+ * Explicit (forward) Euler integration. Position is advanced with the 
+ * velocity at the start of the step. Cheapest, but least accurate and 
+ * gains energy in oscillating systems.
+ * 
+ * @author ray
+ */
+public class ExplicitEulerIntegrator extends AbstractPrimitiveMotionIntegrator
+{
+    private static final ExplicitEulerIntegrator instance = new ExplicitEulerIntegrator();
+    
+    public static ExplicitEulerIntegrator getInstance() { return instance; }
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.AbstractPrimitiveMotionIntegrator#integrate(com.soartech.simjr.sim.EntityAccelerationProvider, double[], double, double)
+     */
+    @Override
+    protected void integrate(EntityAccelerationProvider accel, double[] s, double t, double dt)
+    {
+        final int k = STATE_SIZE;
+        derivative(accel, s, 0, t, s, k);
+        for(int i = 0; i < STATE_SIZE; ++i)
+        {
+            s[i] += s[k + i] * dt;
+        }
+    }
+}
@@ -0,0 +1,569 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.soartech.math.Vector3;
+import com.soartech.math.geotrans.Geodetic;
+import com.soartech.simjr.SimJrProps;
+
+/**
+ * Terrain backed by a regular grid of elevation samples. Elevations are 
+ * interpolated bilinearly between samples and are in meters in the 
+ * simulation's local frame (the same frame as entity z). Coordinate 
+ * conversions are inherited from {@link SimpleTerrain}.
+ * 
+ * <p>Sample (column, row) is located at 
+ * (x0 + column * cellSize, y0 + row * cellSize), so row 0 is the southern
+ * edge of the raster. Outside the raster the edge samples are extended.
+ * 
+ * <p>Line of sight queries are exact against the bilinear surface. They walk
+ * a pyramid of per-block maximum elevations from the top down, so only the
+ * cells where the segment passes close to the ground are tested. Results 
+ * are kept in an LRU cache keyed on the exact end points, so repeated 
+ * queries between points that haven't moved, e.g. a ground sensor and a
+ * parked target, are answered from the cache. Cached results are the same
+ * as computed ones, whatever order queries are made in. The cache is sized 
+ * with simjr.terrain.los.cacheSize.
+ * 
+ * @author ray
+ */
+public class HeightmapTerrain extends SimpleTerrain
+{
+    /**
+     * Segments may pass this far (meters) below the surface before they're 
+     * considered blocked, so end points sitting on the ground stay visible.
+     */
+    private static final double GROUND_TOLERANCE = 1e-6;
+    
+    private final FloatBuffer samples;
+    private final int columns;
+    private final int rows;
+    private final double cellSize;
+    private final double x0;
+    private final double y0;
+    
+    /**
+     * pyramid[k] holds the maximum sample of each block of 2^(k+1) x 2^(k+1)
+     * cells. The last level is a single block covering the whole raster.
+     */
+    private final float[][] pyramid;
+    private final int[] pyramidWidths;
+    
+    private final LineOfSightCache losCache;
+    
+    /**
+     * Construct a heightmap terrain from an in-memory raster.
+     * 
+     * @param origin The lat/lon location of (0, 0, 0)
+     * @param elevations columns * rows samples, row by row starting at the south edge
+     * @param columns number of samples in x
+     * @param rows number of samples in y
+     * @param cellSize distance between samples in meters
+     * @param x0 x of the first sample
+     * @param y0 y of the first sample
+     */
+    public HeightmapTerrain(Geodetic.Point origin, float[] elevations, 
+                            int columns, int rows, double cellSize, double x0, double y0)
+    {
+        this(origin, FloatBuffer.wrap(elevations), columns, rows, cellSize, x0, y0);
+    }
+    
+    private HeightmapTerrain(Geodetic.Point origin, FloatBuffer samples, 
+                             int columns, int rows, double cellSize, double x0, double y0)
+    {
+        super(origin);
+        
+        if(columns < 2 || rows < 2)
+        {
+            throw new IllegalArgumentException("Heightmap must be at least 2x2 samples, got " + columns + "x" + rows);
+        }
+        if(!(cellSize > 0.0))
+        {
+            throw new IllegalArgumentException("Invalid heightmap cell size " + cellSize);
+        }
+        if(samples.capacity() != (long) columns * rows)
+        {
+            throw new IllegalArgumentException("Expected " + ((long) columns * rows) + 
+                                               " heightmap samples, got " + samples.capacity());
+        }
+        
+        this.samples = samples;
+        this.columns = columns;
+        this.rows = rows;
+        this.cellSize = cellSize;
+        this.x0 = x0;
+        this.y0 = y0;
+        
+        int levels = 0;
+        for(int w = columns - 1, h = rows - 1; w > 1 || h > 1; w = (w + 1) / 2, h = (h + 1) / 2)
+        {
+            ++levels;
+        }
+        levels = Math.max(levels, 1);
+        this.pyramid = new float[levels][];
+        this.pyramidWidths = new int[levels];
+        buildPyramid();
+        
+        int cacheSize = SimJrProps.get("simjr.terrain.los.cacheSize", 4096);
+        this.losCache = cacheSize > 0 ? new LineOfSightCache(cacheSize) : null;
+    }
+    
+    /**
+     * Load a heightmap from a raw raster file of 32-bit floats, row by row 
+     * starting at the south edge. The file is memory-mapped rather than read
+     * onto the heap, so large rasters only page in the parts that are used.
+     * 
+     * @param origin The lat/lon location of (0, 0, 0)
+     * @param file the raster file
+     * @param order byte order of the samples in the file
+     * @param columns number of samples in x
+     * @param rows number of samples in y
+     * @param cellSize distance between samples in meters
+     * @param x0 x of the first sample
+     * @param y0 y of the first sample
+     * @return the new terrain
+     * @throws IOException if the file can't be mapped
+     * @throws IllegalArgumentException if the file size doesn't match 
+     *      columns * rows samples
+     */
+    public static HeightmapTerrain load(Geodetic.Point origin, File file, ByteOrder order, 
+                                        int columns, int rows, double cellSize, double x0, double y0) throws IOException
+    {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try
+        {
+            FileChannel channel = raf.getChannel();
+            long expected = (long) columns * rows * 4;
+            if(channel.size() != expected)
+            {
+                throw new IllegalArgumentException("Heightmap " + file + " is " + channel.size() + 
+                                                   " bytes, expected " + expected);
+            }
+            if(expected > Integer.MAX_VALUE)
+            {
+                throw new IllegalArgumentException("Heightmap " + file + " is larger than 2GB");
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, expected);
+            buffer.order(order);
+            return new HeightmapTerrain(origin, buffer.asFloatBuffer(), columns, rows, cellSize, x0, y0);
+        }
+        finally
+        {
+            raf.close();
+        }
+    }
+
+    public int getColumns()
+    {
+        return columns;
+    }
+    
+    public int getRows()
+    {
+        return rows;
+    }
+    
+    public double getCellSize()
+    {
+        return cellSize;
+    }
+    
+    /**
+     * Drop all cached line of sight results
+     */
+    public void clearLineOfSightCache()
+    {
+        if(losCache != null)
+        {
+            synchronized(losCache)
+            {
+                losCache.clear();
+            }
+        }
+    }
+    
+    /**
+     * @param x x position in meters
+     * @param y y position in meters
+     * @return bilinearly interpolated elevation at (x, y)
+     */
+    public double getElevation(double x, double y)
+    {
+        double gx = clamp((x - x0) / cellSize, columns - 1);
+        double gy = clamp((y - y0) / cellSize, rows - 1);
+        int i = Math.min((int) gx, columns - 2);
+        int j = Math.min((int) gy, rows - 2);
+        return bilinear(i, j, gx - i, gy - j);
+    }
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimpleTerrain#getElevationAtPoint(com.soartech.math.Vector3)
+     */
+    @Override
+    public double getElevationAtPoint(Vector3 point)
+    {
+        return getElevation(point.x, point.y);
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimpleTerrain#getElevationAtPoint(com.soartech.math.geotrans.Geodetic.Point)
+     */
+    @Override
+    public double getElevationAtPoint(Geodetic.Point point)
+    {
+        return getElevationAtPoint(fromGeodetic(point));
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimpleTerrain#clampPointToGround(com.soartech.math.Vector3, double)
+     */
+    @Override
+    public Vector3 clampPointToGround(Vector3 point, double agl)
+    {
+        return new Vector3(point.x, point.y, getElevation(point.x, point.y) + agl);
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimpleTerrain#hasLineOfSight(com.soartech.math.Vector3, com.soartech.math.Vector3)
+     */
+    @Override
+    public boolean hasLineOfSight(Vector3 a, Vector3 b)
+    {
+        // Line of sight is symmetric, but always compute it in the same 
+        // direction so rounding can't make the answer depend on order.
+        if(compare(a, b) > 0)
+        {
+            Vector3 t = a;
+            a = b;
+            b = t;
+        }
+        if(losCache == null)
+        {
+            return computeLineOfSight(a, b);
+        }
+        
+        EndPoints key = new EndPoints(a, b);
+        Boolean cached;
+        synchronized(losCache)
+        {
+            cached = losCache.get(key);
+        }
+        if(cached != null)
+        {
+            return cached.booleanValue();
+        }
+        
+        boolean result = computeLineOfSight(a, b);
+        synchronized(losCache)
+        {
+            losCache.put(key, Boolean.valueOf(result));
+        }
+        return result;
+    }
+    
+    /**
+     * Line of sight without consulting the cache.
+     * 
+     * @param a first end point
+     * @param b second end point
+     * @return true if no part of the terrain raster rises above the segment
+     */
+    public boolean computeLineOfSight(Vector3 a, Vector3 b)
+    {
+        // Work in grid units where cell (i, j) spans [i, i+1] x [j, j+1]
+        Segment s = new Segment();
+        s.ax = (a.x - x0) / cellSize;
+        s.ay = (a.y - y0) / cellSize;
+        s.az = a.z;
+        s.dx = (b.x - x0) / cellSize - s.ax;
+        s.dy = (b.y - y0) / cellSize - s.ay;
+        s.dz = b.z - a.z;
+        
+        return isClear(s, pyramid.length, 0, 0, 0.0, 1.0);
+    }
+    
+    /**
+     * Test the part of the segment within [t0, t1] against block (i, j) of 
+     * the given level, where level 0 is a single cell and level k > 0 is
+     * pyramid[k - 1].
+     */
+    private boolean isClear(Segment s, int level, int i, int j, double t0, double t1)
+    {
+        // Clip the segment to the block (Liang-Barsky)
+        int span = 1 << level;
+        double xmin = (double) i * span, xmax = Math.min((double) (i + 1) * span, columns - 1);
+        double ymin = (double) j * span, ymax = Math.min((double) (j + 1) * span, rows - 1);
+        
+        double lo = t0, hi = t1;
+        if(s.dx == 0.0)
+        {
+            if(s.ax < xmin || s.ax > xmax) return true;
+        }
+        else
+        {
+            double ta = (xmin - s.ax) / s.dx, tb = (xmax - s.ax) / s.dx;
+            lo = Math.max(lo, Math.min(ta, tb));
+            hi = Math.min(hi, Math.max(ta, tb));
+        }
+        if(s.dy == 0.0)
+        {
+            if(s.ay < ymin || s.ay > ymax) return true;
+        }
+        else
+        {
+            double ta = (ymin - s.ay) / s.dy, tb = (ymax - s.ay) / s.dy;
+            lo = Math.max(lo, Math.min(ta, tb));
+            hi = Math.min(hi, Math.max(ta, tb));
+        }
+        if(lo > hi)
+        {
+            return true;
+        }
+        
+        if(level == 0)
+        {
+            return isClearInCell(s, i, j, lo, hi);
+        }
+        
+        // Early out if the segment stays above everything in the block
+        double zmin = Math.min(s.az + s.dz * lo, s.az + s.dz * hi);
+        if(zmin >= pyramid[level - 1][j * pyramidWidths[level - 1] + i])
+        {
+            return true;
+        }
+        
+        int childColumns = level == 1 ? columns - 1 : pyramidWidths[level - 2];
+        int childRows = level == 1 ? rows - 1 : pyramid[level - 2].length / childColumns;
+        for(int cj = 2 * j; cj <= 2 * j + 1 && cj < childRows; ++cj)
+        {
+            for(int ci = 2 * i; ci <= 2 * i + 1 && ci < childColumns; ++ci)
+            {
+                if(!isClear(s, level - 1, ci, cj, lo, hi))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Exact test against the bilinear patch of cell (i, j). Along the 
+     * segment the patch is a quadratic in t, as is the height of the segment
+     * over it, so three samples determine it.
+     */
+    private boolean isClearInCell(Segment s, int i, int j, double lo, double hi)
+    {
+        double f0 = heightAbove(s, i, j, lo);
+        double f1 = heightAbove(s, i, j, hi);
+        if(f0 < -GROUND_TOLERANCE || f1 < -GROUND_TOLERANCE)
+        {
+            return false;
+        }
+        double fm = heightAbove(s, i, j, 0.5 * (lo + hi));
+        
+        // f(u) = A u^2 + B u + f0 for u in [0, 1]
+        double A = 2.0 * f1 + 2.0 * f0 - 4.0 * fm;
+        double B = f1 - f0 - A;
+        if(A > 0.0)
+        {
+            double u = -B / (2.0 * A);
+            if(u > 0.0 && u < 1.0)
+            {
+                return A * u * u + B * u + f0 >= -GROUND_TOLERANCE;
+            }
+        }
+        return true;
+    }
+    
+    private double heightAbove(Segment s, int i, int j, double t)
+    {
+        double u = Math.max(0.0, Math.min(1.0, s.ax + s.dx * t - i));
+        double v = Math.max(0.0, Math.min(1.0, s.ay + s.dy * t - j));
+        return s.az + s.dz * t - bilinear(i, j, u, v);
+    }
+    
+    private double bilinear(int i, int j, double u, double v)
+    {
+        int index = j * columns + i;
+        double h00 = samples.get(index);
+        double h10 = samples.get(index + 1);
+        double h01 = samples.get(index + columns);
+        double h11 = samples.get(index + columns + 1);
+        return (h00 * (1.0 - u) + h10 * u) * (1.0 - v) + (h01 * (1.0 - u) + h11 * u) * v;
+    }
+    
+    private void buildPyramid()
+    {
+        // Level 1 blocks cover 2x2 cells, i.e. 3x3 samples, read straight
+        // from the raster. There are ceil((columns - 1) / 2) of them across.
+        int width = columns / 2;
+        int height = rows / 2;
+        float[] level = new float[width * height];
+        for(int j = 0; j < height; ++j)
+        {
+            for(int i = 0; i < width; ++i)
+            {
+                float max = Float.NEGATIVE_INFINITY;
+                for(int r = 2 * j; r <= Math.min(2 * j + 2, rows - 1); ++r)
+                {
+                    for(int c = 2 * i; c <= Math.min(2 * i + 2, columns - 1); ++c)
+                    {
+                        max = Math.max(max, samples.get(r * columns + c));
+                    }
+                }
+                level[j * width + i] = max;
+            }
+        }
+        pyramid[0] = level;
+        pyramidWidths[0] = width;
+        
+        for(int k = 1; k < pyramid.length; ++k)
+        {
+            float[] child = pyramid[k - 1];
+            int childWidth = pyramidWidths[k - 1];
+            int childHeight = child.length / childWidth;
+            width = (childWidth + 1) / 2;
+            height = (childHeight + 1) / 2;
+            level = new float[width * height];
+            for(int j = 0; j < height; ++j)
+            {
+                for(int i = 0; i < width; ++i)
+                {
+                    float max = Float.NEGATIVE_INFINITY;
+                    for(int r = 2 * j; r <= Math.min(2 * j + 1, childHeight - 1); ++r)
+                    {
+                        for(int c = 2 * i; c <= Math.min(2 * i + 1, childWidth - 1); ++c)
+                        {
+                            max = Math.max(max, child[r * childWidth + c]);
+                        }
+                    }
+                    level[j * width + i] = max;
+                }
+            }
+            pyramid[k] = level;
+            pyramidWidths[k] = width;
+        }
+    }
+    
+    private static int compare(Vector3 a, Vector3 b)
+    {
+        int c = Double.compare(a.x, b.x);
+        if(c == 0)
+        {
+            c = Double.compare(a.y, b.y);
+        }
+        return c != 0 ? c : Double.compare(a.z, b.z);
+    }
+    
+    private static double clamp(double v, double max)
+    {
+        return v < 0.0 ? 0.0 : (v > max ? max : v);
+    }
+    
+    private static class Segment
+    {
+        double ax, ay, az;
+        double dx, dy, dz;
+    }
+    
+    /**
+     * Cache key. The end points are in the order given by 
+     * {@link HeightmapTerrain#compare(Vector3, Vector3)}.
+     */
+    private static class EndPoints
+    {
+        private final double ax, ay, az, bx, by, bz;
+        
+        EndPoints(Vector3 a, Vector3 b)
+        {
+            this.ax = a.x;
+            this.ay = a.y;
+            this.az = a.z;
+            this.bx = b.x;
+            this.by = b.y;
+            this.bz = b.z;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            long h = Double.doubleToLongBits(ax);
+            h = 31 * h + Double.doubleToLongBits(ay);
+            h = 31 * h + Double.doubleToLongBits(az);
+            h = 31 * h + Double.doubleToLongBits(bx);
+            h = 31 * h + Double.doubleToLongBits(by);
+            h = 31 * h + Double.doubleToLongBits(bz);
+            return (int) (h ^ (h >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if(!(obj instanceof EndPoints))
+            {
+                return false;
+            }
+            EndPoints o = (EndPoints) obj;
+            return ax == o.ax && ay == o.ay && az == o.az && bx == o.bx && by == o.by && bz == o.bz;
+        }
+    }
+    
+    @SuppressWarnings("serial")
+    private static class LineOfSightCache extends LinkedHashMap<EndPoints, Boolean>
+    {
+        private final int capacity;
+        
+        LineOfSightCache(int capacity)
+        {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<EndPoints, Boolean> eldest)
+        {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.util.Arrays;
+
+import com.soartech.math.Vector3;
+
+/**
+ * Struct-of-arrays storage for entity position, velocity and orientation. 
+ * Each entity attached to the store is assigned a slot, and its state is
+ * kept in contiguous <code>double</code> columns indexed by that slot. 
+ * {@link Vector3} views of position and velocity are rebuilt whenever the
+ * underlying columns change, and are never written by readers.
+ * 
+ * <p>Entities with no acceleration model move at constant velocity with
+ * {@link #advance(int, double)}. When they're ticked in parallel, they
+ * {@link #scheduleAdvance(int) schedule} the move instead, and the 
+ * simulation moves the whole batch in a single pass with 
+ * {@link #advance(double)} before any other entity is ticked. Either way,
+ * the owner's calculated properties are invalidated once it has moved.
+ * 
+ * <p>The store is owned by a {@link Simulation} and is only modified with 
+ * the simulation lock held (or, during parallel ticks, by the thread 
+ * ticking the entity that owns the slot). Other threads should read entity
+ * state through {@link Simulation#getSnapshot()}. A thread that reads 
+ * {@link #getPosition(int)} or {@link #getVelocity(int)} without the lock 
+ * anyway gets a complete, if possibly stale, vector. The primitive column
+ * getters make no such promise.
+ * 
+ * @author ray
+ */
+public class KinematicStore
+{
+    private static final int INITIAL_CAPACITY = 64;
+    
+    private double[] x, y, z;
+    private double[] vx, vy, vz;
+    private double[] heading, pitch, roll;
+    
+    /**
+     * Vector3 views of the position and velocity columns. Volatile so the
+     * arrays are safely published when the columns grow.
+     */
+    private volatile Vector3[] positions;
+    private volatile Vector3[] velocities;
+    private boolean[] advance;
+    private Entity[] owners;
+    
+    private int size = 0;
+    private int[] freeSlots = new int[16];
+    private int freeCount = 0;
+    
+    public KinematicStore()
+    {
+        allocateColumns(INITIAL_CAPACITY);
+    }
+    
+    /**
+     * @return the number of slots currently in use
+     */
+    public synchronized int getSlotCount()
+    {
+        return size - freeCount;
+    }
+    
+    /**
+     * @return the number of slots the columns can hold without growing
+     */
+    public synchronized int getCapacity()
+    {
+        return x.length;
+    }
+    
+    /**
+     * Allocate a slot with no owner
+     * 
+     * @see #allocate(Entity, Vector3, Vector3, double, double, double)
+     */
+    public int allocate(Vector3 position, Vector3 velocity, double heading, double pitch, double roll)
+    {
+        return allocate(null, position, velocity, heading, pitch, roll);
+    }
+    
+    /**
+     * Allocate a slot. Freed slots are reused before the columns grow.
+     * 
+     * @param owner the entity whose state is kept in the slot, or null. Its
+     *      properties are updated when the slot is advanced.
+     * @param position initial position, not null
+     * @param velocity initial velocity, not null
+     * @param heading initial heading in radians
+     * @param pitch initial pitch in radians
+     * @param roll initial roll in radians
+     * @return the new slot
+     */
+    public synchronized int allocate(Entity owner, Vector3 position, Vector3 velocity, double heading, double pitch, double roll)
+    {
+        final int slot;
+        if(freeCount > 0)
+        {
+            slot = freeSlots[--freeCount];
+        }
+        else
+        {
+            if(size == x.length)
+            {
+                allocateColumns(size * 2);
+            }
+            slot = size++;
+        }
+        setPosition(slot, position);
+        setVelocity(slot, velocity);
+        this.heading[slot] = heading;
+        this.pitch[slot] = pitch;
+        this.roll[slot] = roll;
+        this.advance[slot] = false;
+        this.owners[slot] = owner;
+        return slot;
+    }
+    
+    /**
+     * Release a slot previously returned by {@link #allocate(Vector3, Vector3, double, double, double)}
+     * 
+     * @param slot the slot
+     */
+    public synchronized void release(int slot)
+    {
+        checkSlot(slot);
+        advance[slot] = false;
+        owners[slot] = null;
+        if(freeCount == freeSlots.length)
+        {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+    
+    public Vector3 getPosition(int slot)
+    {
+        return positions[slot];
+    }
+    
+    public void setPosition(int slot, Vector3 p)
+    {
+        x[slot] = p.x;
+        y[slot] = p.y;
+        z[slot] = p.z;
+        positions[slot] = p;
+    }
+    
+    public Vector3 getVelocity(int slot)
+    {
+        return velocities[slot];
+    }
+    
+    public void setVelocity(int slot, Vector3 v)
+    {
+        vx[slot] = v.x;
+        vy[slot] = v.y;
+        vz[slot] = v.z;
+        velocities[slot] = v;
+    }
+    
+    public double getX(int slot) { return x[slot]; }
+    public double getY(int slot) { return y[slot]; }
+    public double getZ(int slot) { return z[slot]; }
+    public double getVelocityX(int slot) { return vx[slot]; }
+    public double getVelocityY(int slot) { return vy[slot]; }
+    public double getVelocityZ(int slot) { return vz[slot]; }
+    
+    public double getHeading(int slot) { return heading[slot]; }
+    public void setHeading(int slot, double radians) { heading[slot] = radians; }
+    public double getPitch(int slot) { return pitch[slot]; }
+    public void setPitch(int slot, double radians) { pitch[slot] = radians; }
+    public double getRoll(int slot) { return roll[slot]; }
+    public void setRoll(int slot, double radians) { roll[slot] = radians; }
+    
+    /**
+     * Move a slot by velocity * dt right away. The arithmetic matches 
+     * {@link DefaultEntityMotionIntegrator} with no acceleration model.
+     * 
+     * @param slot the slot
+     * @param dt the time step
+     */
+    public void advance(int slot, double dt)
+    {
+        x[slot] += vx[slot] * dt;
+        y[slot] += vy[slot] * dt;
+        z[slot] += vz[slot] * dt;
+        positions[slot] = new Vector3(x[slot], y[slot], z[slot]);
+        final Entity owner = owners[slot];
+        if(owner != null)
+        {
+            owner.updateProperties();
+        }
+    }
+    
+    /**
+     * Mark a slot to be moved at its current velocity by the next call to
+     * {@link #advance(double)}. May be called concurrently for distinct slots.
+     * 
+     * @param slot the slot
+     */
+    public void scheduleAdvance(int slot)
+    {
+        advance[slot] = true;
+    }
+    
+    /**
+     * Move every scheduled slot by velocity * dt and clear the schedule. The
+     * arithmetic matches {@link DefaultEntityMotionIntegrator} with no 
+     * acceleration model. The calculated properties of each moved slot's 
+     * owner are invalidated, so nothing read before the move is kept.
+     * 
+     * @param dt the time step
+     * @return the number of slots moved
+     */
+    public synchronized int advance(double dt)
+    {
+        final double[] x = this.x, y = this.y, z = this.z;
+        final double[] vx = this.vx, vy = this.vy, vz = this.vz;
+        final boolean[] advance = this.advance;
+        final Vector3[] positions = this.positions;
+        final Entity[] owners = this.owners;
+        int moved = 0;
+        for(int i = 0; i < size; ++i)
+        {
+            if(advance[i])
+            {
+                advance[i] = false;
+                x[i] += vx[i] * dt;
+                y[i] += vy[i] * dt;
+                z[i] += vz[i] * dt;
+                positions[i] = new Vector3(x[i], y[i], z[i]);
+                if(owners[i] != null)
+                {
+                    owners[i].updateProperties();
+                }
+                ++moved;
+            }
+        }
+        return moved;
+    }
+    
+    private void checkSlot(int slot)
+    {
+        if(slot < 0 || slot >= size)
+        {
+            throw new IllegalArgumentException("Invalid kinematic slot " + slot);
+        }
+    }
+    
+    private void allocateColumns(int capacity)
+    {
+        if(x == null)
+        {
+            x = new double[capacity]; y = new double[capacity]; z = new double[capacity];
+            vx = new double[capacity]; vy = new double[capacity]; vz = new double[capacity];
+            heading = new double[capacity]; pitch = new double[capacity]; roll = new double[capacity];
+            positions = new Vector3[capacity];
+            velocities = new Vector3[capacity];
+            advance = new boolean[capacity];
+            owners = new Entity[capacity];
+        }
+        else
+        {
+            x = Arrays.copyOf(x, capacity); y = Arrays.copyOf(y, capacity); z = Arrays.copyOf(z, capacity);
+            vx = Arrays.copyOf(vx, capacity); vy = Arrays.copyOf(vy, capacity); vz = Arrays.copyOf(vz, capacity);
+            heading = Arrays.copyOf(heading, capacity); pitch = Arrays.copyOf(pitch, capacity); roll = Arrays.copyOf(roll, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            velocities = Arrays.copyOf(velocities, capacity);
+            advance = Arrays.copyOf(advance, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+        }
+    }
+}
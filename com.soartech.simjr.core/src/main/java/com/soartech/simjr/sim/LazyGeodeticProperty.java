@@ -44,10 +44,30 @@ import com.soartech.math.geotrans.Geodetic;
 public class LazyGeodeticProperty
 {
     private final Entity entity;
-    private Vector3 lastPosition;
-    private double lastLatitude;
-    private double lastLongitude;
-    private double lastAltitude;
+    
+    /**
+     * Last computed coordinates. Replaced as a unit so readers on other 
+     * threads never see a mix of old and new values without locking the sim.
+     */
+    private static final class Coordinates
+    {
+        final Vector3 position;
+        final double latitude;
+        final double longitude;
+        final double altitude;
+        
+        Coordinates(Vector3 position, Geodetic.Point lla)
+        {
+            this.position = position;
+            this.latitude = Math.toDegrees(lla.latitude);
+            this.longitude = Math.toDegrees(lla.longitude);
+            this.altitude = lla.altitude;
+        }
+    }
+    
+    private static final Coordinates NONE = new Coordinates(null, new Geodetic.Point());
+    
+    private volatile Coordinates last = NONE;
     
     /**
      * @return a lazy property value for latitude
@@ -56,7 +76,7 @@ public class LazyGeodeticProperty
     {
         return new LazyEntityPropertyValue()
         {
-            public Object getValue(){  return update().lastLatitude;  }
+            public Object getValue(){  return update().latitude;  }
             public String toString() { return getValue().toString(); }
         };
     }
@@ -68,7 +88,7 @@ public class LazyGeodeticProperty
     {
         return new LazyEntityPropertyValue()
         {
-            public Object getValue(){ return update().lastLongitude; }
+            public Object getValue(){ return update().longitude; }
             public String toString() { return getValue().toString(); }
         };
     }
@@ -80,7 +100,7 @@ public class LazyGeodeticProperty
     {
         return new LazyEntityPropertyValue()
         {
-            public Object getValue() { return update().lastAltitude; }
+            public Object getValue() { return update().altitude; }
             public String toString() { return getValue().toString(); }
         };
     }
@@ -90,25 +110,24 @@ public class LazyGeodeticProperty
         this.entity = entity;
     }
     
-    private LazyGeodeticProperty update()
+    private Coordinates update()
     {
         final Simulation sim = entity.getSimulation();
+        final Coordinates current = last;
         
-        if(sim == null) { return this; }
+        if(sim == null) { return current; }
         
-        synchronized(sim.getLock())
+        final Vector3 newPos = entity.getPosition();
+        if(newPos.equals(current.position))
         {
-            final Vector3 newPos = entity.getPosition();
-            if(!newPos.equals(lastPosition))
-            {
-                lastPosition = newPos;
-                Geodetic.Point lla = sim.getTerrain().toGeodetic(lastPosition);
-                lastLatitude = Math.toDegrees(lla.latitude);
-                lastLongitude = Math.toDegrees(lla.longitude);
-                lastAltitude = lla.altitude;
-            }
+            return current;
         }
-        return this;
+        
+        // Terrain conversions are thread-safe, so there's no need to hold the
+        // sim lock here. If two threads race, they compute the same answer.
+        final Coordinates updated = new Coordinates(newPos, sim.getTerrain().toGeodetic(newPos));
+        last = updated;
+        return updated;
     }
 
     /* (non-Javadoc)
@@ -116,7 +135,7 @@ public class LazyGeodeticProperty
      */
     public String toString()
     {
-        update();
-        return lastLatitude + "/" + lastLongitude + "/" + lastAltitude;
+        final Coordinates c = update();
+        return c.latitude + "/" + c.longitude + "/" + c.altitude;
     }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+/**
+ * Looks up motion integrators by name for the 
+ * {@link EntityConstants#PROPERTY_MOTION_INTEGRATOR} prototype property.
+ * 
+ * @author ray
+ */
+public class MotionIntegrators
+{
+    public static final String DEFAULT = "default";
+    public static final String EULER = "euler";
+    public static final String SEMI_IMPLICIT_EULER = "semi-implicit-euler";
+    public static final String RK4 = "rk4";
+    public static final String RK45 = "rk45";
+    
+    /**
+     * Returns the integrator with the given name. 
+     * 
+     * @param name one of {@link #DEFAULT}, {@link #EULER}, {@link #SEMI_IMPLICIT_EULER},
+     *      {@link #RK4} or {@link #RK45}
+     * @param tolerance error tolerance used by adaptive integrators, or null
+     *      for the integrator's default
+     * @return the integrator
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static EntityMotionIntegrator forName(String name, Double tolerance)
+    {
+        if(DEFAULT.equals(name))
+        {
+            return DefaultEntityMotionIntegrator.getInstance();
+        }
+        else if(EULER.equals(name))
+        {
+            return ExplicitEulerIntegrator.getInstance();
+        }
+        else if(SEMI_IMPLICIT_EULER.equals(name))
+        {
+            return SemiImplicitEulerIntegrator.getInstance();
+        }
+        else if(RK4.equals(name))
+        {
+            return Rk4Integrator.getInstance();
+        }
+        else if(RK45.equals(name))
+        {
+            return tolerance != null ? new AdaptiveRk45Integrator(tolerance) : new AdaptiveRk45Integrator();
+        }
+        throw new IllegalArgumentException("Unknown motion integrator '" + name + "'");
+    }
+    
+    private MotionIntegrators()
+    {
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+/**
+ * Implemented by entities and {@link Tickable} capabilities that can be
+ * ticked concurrently with other entities when parallel ticking is enabled
+ * with {@link Simulation#setParallelTickEnabled(boolean)}.
+ * 
+ * <p>Returning true is a promise that {@code tick()} only reads and writes
+ * the state of the owning entity (position, velocity, orientation, properties
+ * and the capability's own fields) plus shared read-only state such as the
+ * terrain. In particular, it must not:
+ * <ul>
+ * <li>read the position or properties of any other entity,
+ * <li>add or remove entities or set timers,
+ * <li>synchronize on the simulation lock. The simulation thread holds the
+ *     lock while worker threads tick entities, so this will deadlock.
+ * </ul>
+ * 
+ * <p>Property listeners registered on a parallel-safe entity may be called from
+ * a worker thread.
+ * 
+ * @author ray
+ */
+public interface ParallelTickSafe
+{
+    /**
+     * @return true if this object may currently be ticked concurrently with
+     *      other entities
+     */
+    boolean isParallelTickSafe();
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+/**
+ * Optional extension of {@link EntityAccelerationProvider} for providers
+ * that can compute acceleration from primitive state. Integrators derived 
+ * from {@link AbstractPrimitiveMotionIntegrator} call this method instead of
+ * {@link #getAcceleration(com.soartech.math.Vector3, com.soartech.math.Vector3, double)},
+ * which avoids allocating vectors at every integration stage.
+ * 
+ * @author ray
+ */
+public interface PrimitiveAccelerationProvider extends EntityAccelerationProvider
+{
+    /**
+     * Compute acceleration at the given state
+     * 
+     * @param state state array. Position x, y, z followed by velocity x, y, z
+     *      starting at stateOffset. Must not be modified.
+     * @param stateOffset offset of the state in state
+     * @param time the simulation time
+     * @param out array to receive acceleration x, y, z
+     * @param outOffset offset in out to write to
+     */
+    void getAcceleration(double[] state, int stateOffset, double time, double[] out, int outOffset);
+}
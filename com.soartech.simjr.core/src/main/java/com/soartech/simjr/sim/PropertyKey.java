@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An interned entity property name. Each distinct name gets a small integer
+ * slot used to index {@link PropertyStore}s, so property lookups are an 
+ * array access rather than a hash of the name. Keys are never released; 
+ * there are only as many as there are distinct property names.
+ * 
+ * <p>Code that reads a property on a hot path should hold on to the key
+ * rather than looking it up by name each time:
+ * 
+ * <pre>
+ * private static final PropertyKey MAX_SPEED = PropertyKey.of(EntityConstants.PROPERTY_MAXSPEED);
+ * </pre>
+ * 
+ * @author ray
+ */
+public final class PropertyKey
+{
+    private static final ConcurrentMap<String, PropertyKey> keys = new ConcurrentHashMap<String, PropertyKey>();
+    private static volatile PropertyKey[] bySlot = new PropertyKey[128];
+    private static int nextSlot = 0;
+    
+    private final String name;
+    private final int slot;
+    
+    /**
+     * Returns the key for the given property name, creating it if necessary.
+     * 
+     * @param name the property name
+     * @return the key, never null
+     */
+    public static PropertyKey of(String name)
+    {
+        final PropertyKey key = keys.get(name);
+        return key != null ? key : create(name);
+    }
+    
+    /**
+     * Returns the key for the given property name if it has been created.
+     * Use this for lookups so that querying unknown names doesn't create
+     * new keys.
+     * 
+     * @param name the property name
+     * @return the key, or null if no property with this name has ever been
+     *      stored
+     */
+    public static PropertyKey find(String name)
+    {
+        return keys.get(name);
+    }
+    
+    /**
+     * @param slot a slot index
+     * @return the key with the given slot, or null if there isn't one
+     */
+    public static PropertyKey forSlot(int slot)
+    {
+        final PropertyKey[] temp = bySlot;
+        return slot < temp.length ? temp[slot] : null;
+    }
+    
+    private static synchronized PropertyKey create(String name)
+    {
+        PropertyKey key = keys.get(name);
+        if(key != null)
+        {
+            return key;
+        }
+        key = new PropertyKey(name, nextSlot++);
+        PropertyKey[] temp = bySlot;
+        if(key.slot >= temp.length)
+        {
+            temp = Arrays.copyOf(temp, temp.length * 2);
+        }
+        temp[key.slot] = key;
+        bySlot = temp;
+        keys.put(name, key);
+        return key;
+    }
+    
+    private PropertyKey(String name, int slot)
+    {
+        this.name = name;
+        this.slot = slot;
+    }
+    
+    /**
+     * @return the property name
+     */
+    public String getName()
+    {
+        return name;
+    }
+    
+    /**
+     * @return the slot index of this key
+     */
+    public int getSlot()
+    {
+        return slot;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
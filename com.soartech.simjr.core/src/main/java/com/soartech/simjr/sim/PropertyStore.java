@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Property values indexed by {@link PropertyKey} slot. Reads are lock-free
+ * and allocation-free; writes are synchronized. Null values are not stored,
+ * so storing null removes a property.
+ * 
+ * @author ray
+ */
+public final class PropertyStore
+{
+    private volatile AtomicReferenceArray<Object> values;
+    private final Map<String, Object> map = new MapView();
+    
+    /**
+     * Construct an empty store
+     */
+    public PropertyStore()
+    {
+        this(16);
+    }
+    
+    /**
+     * Construct an empty store with room for the given number of slots
+     * 
+     * @param capacity initial capacity
+     */
+    public PropertyStore(int capacity)
+    {
+        this.values = new AtomicReferenceArray<Object>(Math.max(1, capacity));
+    }
+    
+    /**
+     * @param key the key
+     * @return the value of the property, or null if not set
+     */
+    public Object get(PropertyKey key)
+    {
+        final AtomicReferenceArray<Object> temp = values;
+        final int slot = key.getSlot();
+        return slot < temp.length() ? temp.get(slot) : null;
+    }
+    
+    /**
+     * @param name the property name
+     * @return the value of the property, or null if not set
+     */
+    public Object get(String name)
+    {
+        final PropertyKey key = PropertyKey.find(name);
+        return key != null ? get(key) : null;
+    }
+    
+    /**
+     * Set a property value
+     * 
+     * @param key the key
+     * @param value the new value. If null, the property is removed.
+     * @return the previous value, or null
+     */
+    public synchronized Object put(PropertyKey key, Object value)
+    {
+        AtomicReferenceArray<Object> temp = values;
+        final int slot = key.getSlot();
+        if(slot >= temp.length())
+        {
+            if(value == null)
+            {
+                return null;
+            }
+            temp = grow(slot + 1);
+        }
+        return temp.getAndSet(slot, value);
+    }
+    
+    /**
+     * Set a property value
+     * 
+     * @param name the property name
+     * @param value the new value. If null, the property is removed.
+     * @return the previous value, or null
+     */
+    public Object put(String name, Object value)
+    {
+        if(value == null)
+        {
+            return remove(name);
+        }
+        return put(PropertyKey.of(name), value);
+    }
+    
+    /**
+     * Copy all entries of the given map into this store
+     * 
+     * @param other the map to copy
+     */
+    public synchronized void putAll(Map<String, ?> other)
+    {
+        for(Map.Entry<String, ?> e : other.entrySet())
+        {
+            put(e.getKey(), e.getValue());
+        }
+    }
+    
+    /**
+     * Remove a property
+     * 
+     * @param key the key
+     * @return the previous value, or null
+     */
+    public Object remove(PropertyKey key)
+    {
+        return put(key, null);
+    }
+    
+    /**
+     * Remove a property
+     * 
+     * @param name the property name
+     * @return the previous value, or null
+     */
+    public Object remove(String name)
+    {
+        final PropertyKey key = PropertyKey.find(name);
+        return key != null ? remove(key) : null;
+    }
+    
+    /**
+     * @return one more than the highest slot this store has room for. Slots
+     *      at or above this value are always empty.
+     */
+    public int capacity()
+    {
+        return values.length();
+    }
+    
+    /**
+     * @return a live, modifiable map view of this store. 
+     */
+    public Map<String, Object> asMap()
+    {
+        return map;
+    }
+    
+    private AtomicReferenceArray<Object> grow(int minCapacity)
+    {
+        final AtomicReferenceArray<Object> old = values;
+        final AtomicReferenceArray<Object> temp = new AtomicReferenceArray<Object>(Math.max(minCapacity, old.length() * 2));
+        for(int i = 0; i < old.length(); ++i)
+        {
+            temp.set(i, old.get(i));
+        }
+        values = temp;
+        return temp;
+    }
+    
+    private class MapView extends AbstractMap<String, Object>
+    {
+        @Override
+        public Object get(Object key)
+        {
+            return key instanceof String ? PropertyStore.this.get((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return get(key) != null;
+        }
+
+        @Override
+        public Object put(String key, Object value)
+        {
+            return PropertyStore.this.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key)
+        {
+            return key instanceof String ? PropertyStore.this.remove((String) key) : null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet()
+        {
+            return new AbstractSet<Map.Entry<String,Object>>()
+            {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator()
+                {
+                    return new SlotIterator(values);
+                }
+
+                @Override
+                public int size()
+                {
+                    int size = 0;
+                    for(Iterator<?> it = iterator(); it.hasNext(); it.next())
+                    {
+                        size++;
+                    }
+                    return size;
+                }
+            };
+        }
+    }
+    
+    /**
+     * Iterates over the non-empty slots of a values array. The iterator sees
+     * the store as of when it was created, modulo concurrent writes to 
+     * existing slots.
+     */
+    private class SlotIterator implements Iterator<Map.Entry<String, Object>>
+    {
+        private final AtomicReferenceArray<Object> array;
+        private int slot = -1;
+        private PropertyKey nextKey;
+        private Object nextValue;
+        private PropertyKey lastKey;
+        
+        SlotIterator(AtomicReferenceArray<Object> array)
+        {
+            this.array = array;
+            advance();
+        }
+        
+        private void advance()
+        {
+            nextKey = null;
+            nextValue = null;
+            while(++slot < array.length())
+            {
+                final Object value = array.get(slot);
+                if(value != null)
+                {
+                    nextKey = PropertyKey.forSlot(slot);
+                    nextValue = value;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return nextKey != null;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next()
+        {
+            if(nextKey == null)
+            {
+                throw new NoSuchElementException();
+            }
+            final Map.Entry<String, Object> e = new AbstractMap.SimpleImmutableEntry<String, Object>(nextKey.getName(), nextValue);
+            lastKey = nextKey;
+            advance();
+            return e;
+        }
+
+        @Override
+        public void remove()
+        {
+            if(lastKey == null)
+            {
+                throw new IllegalStateException();
+            }
+            PropertyStore.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.soartech.simjr.SimJrProps;
+
+/**
+ * Decides which members of a rate group are due each simulation tick. A 
+ * member's period comes from {@link PeriodicTickable#getTickPeriod()} or,
+ * failing that, from the simjr.scheduler.period.&lt;class name&gt; property.
+ * Members with no period are due every tick.
+ * 
+ * <p>Members with the same period are spread over {@link #PHASES} phase 
+ * offsets, chosen from a phase key such as the owning entity's id, so that
+ * e.g. every 2 Hz radar doesn't run on the same tick. On average a member 
+ * is ticked once per period. It's ticked with the time that actually passed
+ * since its previous tick, so it doesn't need to know its period.
+ * 
+ * <p>A scheduler holds per-member state and isn't thread-safe. Entities and
+ * sensor platforms each own one.
+ * 
+ * @author ray
+ */
+public class RateGroupScheduler
+{
+    /**
+     * Number of phase offsets members of a rate group are spread over
+     */
+    public static final int PHASES = 16;
+    
+    private static final ClassValue<Double> classPeriods = new ClassValue<Double>()
+    {
+        @Override
+        protected Double computeValue(Class<?> type)
+        {
+            return SimJrProps.get("simjr.scheduler.period." + type.getName(), 0.0);
+        }
+    };
+    
+    private final Map<Object, Slot> slots = new IdentityHashMap<Object, Slot>();
+    private int generation = 0;
+    
+    /**
+     * @param member a tickable
+     * @return the member's tick period in seconds, zero if it should be 
+     *      ticked every simulation tick
+     */
+    public static double getPeriod(Object member)
+    {
+        if(member instanceof PeriodicTickable)
+        {
+            final double period = ((PeriodicTickable) member).getTickPeriod();
+            if(!Double.isNaN(period))
+            {
+                return period;
+            }
+        }
+        return classPeriods.get(member.getClass());
+    }
+    
+    /**
+     * @param phaseKey phase key of a member
+     * @return phase offset of the member, in [0, {@link #PHASES})
+     */
+    public static int getPhase(int phaseKey)
+    {
+        // Fibonacci hashing, so consecutive keys land on different phases
+        return (phaseKey * 0x9E3779B9) >>> (32 - 4);
+    }
+    
+    /**
+     * Advance a member by one simulation tick.
+     * 
+     * @param member the member
+     * @param phaseKey used to choose the member's phase the first time it's seen
+     * @param period the member's period, see {@link #getPeriod(Object)}
+     * @param dt the simulation tick length
+     * @return the time to tick the member with, or zero if it isn't due
+     */
+    public double advance(Object member, int phaseKey, double period, double dt)
+    {
+        if(!(period > 0.0))
+        {
+            if(!slots.isEmpty())
+            {
+                slots.remove(member);
+            }
+            return dt;
+        }
+        
+        Slot slot = slots.get(member);
+        if(slot == null)
+        {
+            slot = new Slot();
+            // Phase 0 is due immediately, the rest over the first period
+            slot.credit = period * (1.0 - (double) getPhase(phaseKey) / PHASES) - dt;
+            slots.put(member, slot);
+        }
+        slot.generation = generation;
+        return slot.advance(period, dt);
+    }
+    
+    /**
+     * Forget members that weren't advanced since the last call. Owners call
+     * this after each pass over their members, so members that have gone 
+     * away don't hold on to state.
+     */
+    public void sweep()
+    {
+        for(Iterator<Slot> it = slots.values().iterator(); it.hasNext();)
+        {
+            if(it.next().generation != generation)
+            {
+                it.remove();
+            }
+        }
+        ++generation;
+    }
+    
+    private static class Slot
+    {
+        double credit;
+        double elapsed;
+        int generation;
+        
+        double advance(double period, double dt)
+        {
+            elapsed += dt;
+            credit += dt;
+            // Tolerate rounding, e.g. five 0.2 second ticks per second
+            if(credit < period * (1.0 - 1e-9))
+            {
+                return 0.0;
+            }
+            // Keep the remainder so the average rate is right, but don't
+            // let a long tick or a shorter period queue up a burst
+            credit = Math.max(0.0, Math.min(credit - period, period * (1.0 - 1e-9) - dt));
+            final double result = elapsed;
+            elapsed = 0.0;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+/**
+ * Classic fourth order Runge-Kutta integration. Produces the same results 
+ * as {@link DefaultEntityMotionIntegrator} without allocating intermediate
+ * vectors.
+ * 
+ * @author ray
+ */
+public class Rk4Integrator extends AbstractPrimitiveMotionIntegrator
+{
+    private static final Rk4Integrator instance = new Rk4Integrator();
+    
+    public static Rk4Integrator getInstance() { return instance; }
+    
+    private static final int K1 = STATE_SIZE;
+    private static final int K2 = 2 * STATE_SIZE;
+    private static final int K3 = 3 * STATE_SIZE;
+    private static final int K4 = 4 * STATE_SIZE;
+    private static final int TEMP = 5 * STATE_SIZE;
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.AbstractPrimitiveMotionIntegrator#integrate(com.soartech.simjr.sim.EntityAccelerationProvider, double[], double, double)
+     */
+    @Override
+    protected void integrate(EntityAccelerationProvider accel, double[] s, double t, double dt)
+    {
+        final double half = dt * 0.5;
+        
+        derivative(accel, s, 0, t, s, K1);
+        stage(s, K1, half);
+        derivative(accel, s, TEMP, t + half, s, K2);
+        stage(s, K2, half);
+        derivative(accel, s, TEMP, t + half, s, K3);
+        stage(s, K3, dt);
+        derivative(accel, s, TEMP, t + dt, s, K4);
+        
+        // weighted average of derivatives: (k1 + 2 * (k2 + k3) + k4)/6
+        for(int i = 0; i < STATE_SIZE; ++i)
+        {
+            final double d = ((s[K2 + i] + s[K3 + i]) * 2.0 + s[K1 + i] + s[K4 + i]) * (1.0 / 6.0);
+            s[i] = s[i] + d * dt;
+        }
+    }
+    
+    /**
+     * TEMP = y + k * h
+     */
+    private static void stage(double[] s, int k, double h)
+    {
+        for(int i = 0; i < STATE_SIZE; ++i)
+        {
+            s[TEMP + i] = s[i] + s[k + i] * h;
+        }
+    }
+}
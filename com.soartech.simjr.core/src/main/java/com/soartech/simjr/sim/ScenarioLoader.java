@@ -300,12 +300,25 @@ public class ScenarioLoader
     private void loadEntities(ProgressMonitor progress) throws SimulationException
     {
         final List<EntityElement> entities = model.getModel().getEntities().getEntities();
-        int current = 1;
-        for(EntityElement ee : entities)
+        final Simulation sim = services.findService(Simulation.class);
+        
+        // Append all of the entities to the sim's entity list in one go. 
+        // Otherwise each one is added, and found by name and range, as it's
+        // loaded, so later init scripts and listeners see it.
+        sim.beginEntityBatch();
+        try
+        {
+            int current = 1;
+            for(EntityElement ee : entities)
+            {
+                progress.subTask(String.format("Loading entity '%s' (%d / %d)", ee.getName(), current, entities.size()));
+                loadEntity(ee);
+                current++;
+            }
+        }
+        finally
         {
-            progress.subTask(String.format("Loading entity '%s' (%d / %d)", ee.getName(), current, entities.size()));
-            loadEntity(ee);
-            current++;
+            sim.endEntityBatch();
         }
     }
     
@@ -142,6 +142,15 @@ public class SimpleTerrain implements Terrain
         return new Vector3(x, y, z + agl);
     }
     
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.Terrain#hasLineOfSight(com.soartech.math.Vector3, com.soartech.math.Vector3)
+     */
+    public boolean hasLineOfSight(Vector3 a, Vector3 b)
+    {
+        // Flat terrain never blocks
+        return true;
+    }
+    
     /* (non-Javadoc)
      * @see com.soartech.simjr.Terrain#getGeodeticPoint(com.soartech.spatr.math.Vector3)
      */
@@ -33,23 +33,36 @@ package com.soartech.simjr.sim;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.soartech.math.Vector3;
 import com.soartech.simjr.ProgressMonitor;
+import com.soartech.simjr.SimJrProps;
 import com.soartech.simjr.SimulationException;
 import com.soartech.simjr.adaptables.AbstractAdaptable;
 import com.soartech.simjr.adaptables.Adaptables;
 import com.soartech.simjr.services.ServiceManager;
 import com.soartech.simjr.services.SimulationService;
+import com.soartech.simjr.sim.entities.AbstractEntity;
 
 /**
  * The main simulation class
@@ -68,7 +81,7 @@ public class Simulation extends AbstractAdaptable implements SimulationService
     private Object lock = new String("Simulation lock");
     
     private final AtomicReference<Double> time = new AtomicReference<Double>(0.0);
-    private boolean paused = true;
+    private volatile boolean paused = true;
     private SimulationThread thread;
     private List<SimulationListener> listeners = new CopyOnWriteArrayList<SimulationListener>();
     private Terrain terrain;
@@ -86,16 +99,140 @@ public class Simulation extends AbstractAdaptable implements SimulationService
     private List<Entity> entities = new CopyOnWriteArrayList<Entity>();
     private Map<String, Entity> entitiesByName = new HashMap<String, Entity>();
     
-    private static class TimerEntry
+    /**
+     * Entity adds and removes collected during a tick or an entity batch, 
+     * applied together by applyEntityChanges(). Only accessed with the lock
+     * held.
+     */
+    private final Set<Entity> pendingAdds = new LinkedHashSet<Entity>();
+    private final Set<Entity> pendingRemoves = new LinkedHashSet<Entity>();
+    private int entityBatchDepth = 0;
+    
+    /**
+     * Entities added during an entity batch, outside of a tick. They're 
+     * already indexed and their onEntityAdded() events fired, but they're
+     * appended to the entity list all at once when the batch ends, or a tick
+     * starts. Only accessed with the lock held.
+     */
+    private final List<Entity> batchAdded = new ArrayList<Entity>();
+    
+    /**
+     * Entities indexed by id. Replaced when it grows, otherwise only modified
+     * with the lock held. Ids of removed entities are pushed onto freeIds and
+     * reused before new ids are handed out.
+     */
+    private volatile AtomicReferenceArray<Entity> entitiesById = new AtomicReferenceArray<Entity>(64);
+    private int nextId = 0;
+    private int[] freeIds = new int[16];
+    private int freeIdCount = 0;
+    
+    /**
+     * Grid of entity positions used for range queries. Refreshed at the end 
+     * of each tick, and lazily before a query if an entity has moved since.
+     * Only accessed with the lock held.
+     */
+    private final SpatialIndex spatialIndex = new SpatialIndex(SimJrProps.get("simjr.simulation.spatialIndex.cellSize", 1000.0));
+    private volatile boolean spatialIndexDirty = false;
+    
+    /**
+     * Pool used to tick parallel-safe entities, or null if parallel ticking
+     * is disabled. 
+     */
+    private ForkJoinPool tickPool;
+    private final int parallelTickMinBatch = SimJrProps.get("simjr.simulation.parallelTick.minBatch", 64);
+    private final List<Entity> parallelTickBatch = new ArrayList<Entity>();
+    
+    /**
+     * Most recently published snapshot of entity state. A snapshot is 
+     * captured at the end of every tick, and on demand while the sim is 
+     * paused after entities were added, removed, moved or changed. 
+     */
+    private volatile WorldSnapshot snapshot = WorldSnapshot.EMPTY;
+    private volatile boolean snapshotStale = false;
+    
+    /**
+     * Entities whose properties have changed since the last snapshot. Other
+     * entities that haven't moved keep their state from the last snapshot.
+     * Filled in from any thread by {@link #snapshotListener}.
+     */
+    private final Set<Entity> changedEntities = Collections.newSetFromMap(new ConcurrentHashMap<Entity, Boolean>());
+    private final EntityPropertyListener snapshotListener = new EntityPropertyListener()
     {
-        double time;
-        Runnable runnable;
-        public boolean repeat;
-        public double period;
-    }
+        public void onPropertyChanged(Entity entity, String propertyName)
+        {
+            changedEntities.add(entity);
+            snapshotStale = true;
+        }
+    };
+    private final List<String> snapshotProperties = parsePropertyList(
+            SimJrProps.get("simjr.simulation.snapshot.properties", "force,visible,damage,agl"));
+    
+    /**
+     * Pending timers ordered by fire time, then by the order they were set.
+     * Cancelled timers are left in the queue and dropped when they reach the
+     * head, or all at once when they're more than half of it, so cancelling
+     * doesn't cost a linear search (see {@link #timerCancelled(SimulationTimer)}).
+     * Guarded by its own monitor rather than the sim lock so that setting a
+     * timer never waits on a tick.
+     */
+    private final PriorityQueue<SimulationTimer> timers = new PriorityQueue<SimulationTimer>(64, new Comparator<SimulationTimer>()
+    {
+        public int compare(SimulationTimer a, SimulationTimer b)
+        {
+            final int c = Double.compare(a.time, b.time);
+            if(c != 0)
+            {
+                return c;
+            }
+            return a.sequence < b.sequence ? -1 : (a.sequence == b.sequence ? 0 : 1);
+        }
+    });
+    private long nextTimerSequence = 0;
+    private int cancelledTimers = 0;
+    
+    /**
+     * The active profiler, or null if profiling is disabled
+     */
+    private volatile SimulationProfiler profiler;
+    
+    /**
+     * Column store for entity kinematic state, or null if entities keep
+     * their own state.
+     */
+    private final KinematicStore kinematics;
+    
+    /**
+     * Ticked before the entities, with the lock held. See 
+     * {@link #addTickable(Tickable)}.
+     */
+    private final List<Tickable> tickables = new CopyOnWriteArrayList<Tickable>();
+    
+    /**
+     * Ticked after motion, with the lock held. See 
+     * {@link #addPostMotionTickable(Tickable)}.
+     */
+    private final List<Tickable> postMotionTickables = new CopyOnWriteArrayList<Tickable>();
+    
+    /**
+     * Detonations waiting for the end of the tick's motion. See 
+     * {@link #detonate(Detonation)}.
+     */
+    private final DetonationBatch pendingDetonations = new DetonationBatch();
+    
+    /**
+     * True while entities are ticked and moved, so detonations and entity 
+     * adds and removes are queued.
+     * Guarded by the lock.
+     */
+    private boolean ticking = false;
+    
+    /**
+     * True while post-motion tickables run. Entities don't move and the
+     * spatial index doesn't change in that window, so range queries from
+     * worker threads don't need the lock.
+     */
+    private volatile boolean frozen = false;
     
-    private List<TimerEntry> timers = new ArrayList<TimerEntry>();
-    private List<TimerEntry> newTimers = new ArrayList<TimerEntry>();
     /**
      * Construct a new simulation and start a {@link SimulationThread} to run it.
      * The simulation is initially paused.
@@ -116,9 +253,26 @@ public class Simulation extends AbstractAdaptable implements SimulationService
      *  the sim.
      */
     public Simulation(Terrain terrain, boolean startThread)
+    {
+        this(terrain, startThread, SimJrProps.get("simjr.simulation.kinematicStore.enabled", false));
+    }
+    
+    /**
+     * Construct a new simulation.
+     * 
+     * @param terrain the terrain to use
+     * @param startThread if true, a {@link SimulationThread} is also created and started.
+     *  If false, no thread is created and the caller must manually {@link #tick(double)}
+     *  the sim.
+     * @param useKinematicStore if true, entities keep their position, velocity
+     *  and orientation in a {@link KinematicStore} owned by the simulation
+     */
+    public Simulation(Terrain terrain, boolean startThread, boolean useKinematicStore)
     {
         this.terrain = terrain;
+        this.kinematics = useKinematicStore ? new KinematicStore() : null;
         this.thread = startThread ? new SimulationThread(this) : null;
+        setParallelTickEnabled(SimJrProps.get("simjr.simulation.parallelTick.enabled", false));
     }
     
     /**
@@ -152,6 +306,61 @@ public class Simulation extends AbstractAdaptable implements SimulationService
             this.thread.shutdown();
             this.thread = null;
         }
+        setParallelTickEnabled(false);
+    }
+    
+    /**
+     * Enable or disable parallel ticking of entities. When enabled, each run of
+     * consecutive entities (in the order they were added) that report 
+     * {@link ParallelTickSafe#isParallelTickSafe()} is ticked on a thread pool,
+     * while all other entities are still ticked in order on the simulation
+     * thread. Since parallel-safe entities only touch their own state, the
+     * results are identical to serial ticking.
+     * 
+     * <p>The pool size is controlled by the {@code simjr.simulation.parallelTick.threads}
+     * property, which defaults to the number of available processors.
+     * 
+     * @param enabled true to enable parallel ticking
+     */
+    public void setParallelTickEnabled(boolean enabled)
+    {
+        synchronized(lock)
+        {
+            if(enabled && tickPool == null)
+            {
+                final int threads = SimJrProps.get("simjr.simulation.parallelTick.threads", 
+                                                   Runtime.getRuntime().availableProcessors());
+                logger.info("Enabling parallel entity ticking with " + threads + " threads");
+                tickPool = new ForkJoinPool(threads);
+            }
+            else if(!enabled && tickPool != null)
+            {
+                logger.info("Disabling parallel entity ticking");
+                tickPool.shutdown();
+                tickPool = null;
+            }
+        }
+    }
+    
+    /**
+     * @return true if parallel ticking is enabled
+     * @see #setParallelTickEnabled(boolean)
+     */
+    public boolean isParallelTickEnabled()
+    {
+        synchronized(lock)
+        {
+            return tickPool != null;
+        }
+    }
+    
+    /**
+     * @return the store holding entity kinematic state, or null if this
+     *      simulation doesn't use one
+     */
+    public KinematicStore getKinematicStore()
+    {
+        return kinematics;
     }
     
     public Terrain getTerrain()
@@ -187,6 +396,15 @@ public class Simulation extends AbstractAdaptable implements SimulationService
     /**
      * Add an entity to the simulation. An onEntityAdded() event will be fired.
      * 
+     * <p>During a tick, the entity can be found by name right away but isn't
+     * added to the entity list or found by range queries, and the event isn't
+     * fired, until the tick's entities have moved.
+     * 
+     * <p>Between {@link #beginEntityBatch()} and {@link #endEntityBatch()}, 
+     * outside of a tick, the entity is added and the event is fired right 
+     * away as usual, except that the entity isn't appended to the list 
+     * returned by {@link #getEntitiesFast()} until the batch ends.
+     * 
      * @param e The entity to add
      * @return The entity
      * @throws IllegalArgumentException If an entity with the same name is
@@ -201,14 +419,32 @@ public class Simulation extends AbstractAdaptable implements SimulationService
                 throw new IllegalArgumentException("Sim already contains an entity named " + e.getName());
             }
             
+            if(pendingRemoves.remove(e))
+            {
+                // Removed and added back before the removal was applied
+                entitiesByName.put(e.getName(), e);
+                return e;
+            }
+            
             e.setSimulation(this);
-            if(!entities.contains(e))
+            if(!isMember(e))
             {
-                entities.add(e);
+                assignId(e);
                 entitiesByName.put(e.getName(), e);
-                for(SimulationListener listener : listeners)
+                if(entityBatchDepth > 0 && !ticking)
+                {
+                    // Everything but the entity list is updated right away
+                    batchAdded.add(e);
+                    addToWorld(e);
+                    fireEntityAdded(e);
+                }
+                else
                 {
-                    listener.onEntityAdded(e);
+                    pendingAdds.add(e);
+                    if(!ticking)
+                    {
+                        applyEntityChanges();
+                    }
                 }
             }
         }
@@ -216,227 +452,742 @@ public class Simulation extends AbstractAdaptable implements SimulationService
     }
     
     /**
-     * Remove an entity from the simulation. An onEntityRemoved() event will
-     * be fired.
+     * Add several entities to the simulation with a single update of the 
+     * entity list, see {@link #beginEntityBatch()}. onEntityAdded() events 
+     * are fired for each of them, in order.
      * 
-     * @param e The entity to remove.
+     * @param toAdd The entities to add
+     * @throws IllegalArgumentException If an entity has the same name as 
+     *      another one, or one already in the simulation. No entities are 
+     *      added in that case.
      */
-    public void removeEntity(Entity e)
+    public void addEntities(Collection<? extends Entity> toAdd)
     {
         synchronized (lock)
         {
-            if(entities.remove(e))
+            final Set<String> names = new HashSet<String>();
+            for(Entity e : toAdd)
             {
-                entitiesByName.remove(e.getName());
-                for(SimulationListener listener : listeners)
+                if(!names.add(e.getName()) || null != getEntity(e.getName()))
                 {
-                    listener.onEntityRemoved(e);
+                    throw new IllegalArgumentException("Sim already contains an entity named " + e.getName());
                 }
-                e.setSimulation(null);
+            }
+            
+            beginEntityBatch();
+            try
+            {
+                for(Entity e : toAdd)
+                {
+                    addEntity(e);
+                }
+            }
+            finally
+            {
+                endEntityBatch();
             }
         }
     }
     
     /**
-     * @return A list (copy) of all entities in the simulation
+     * Remove an entity from the simulation. An onEntityRemoved() event will
+     * be fired.
+     * 
+     * <p>During a tick, or between {@link #beginEntityBatch()} and 
+     * {@link #endEntityBatch()}, the entity can't be found by name right away
+     * but stays in the entity list, and the event isn't fired, until the 
+     * tick's entities have moved or the batch ends. An entity that is added
+     * and removed before it's applied never fires either event.
+     * 
+     * @param e The entity to remove.
      */
-    public List<Entity> getEntities()
+    public void removeEntity(Entity e)
     {
-        // Lock and return a copy to avoid synchronization issues.
         synchronized (lock)
         {
-            return new ArrayList<Entity>(entities);
+            if(!isMember(e) || pendingRemoves.contains(e))
+            {
+                return;
+            }
+            
+            entitiesByName.remove(e.getName());
+            if(pendingAdds.remove(e))
+            {
+                releaseId(e);
+                e.setSimulation(null);
+                return;
+            }
+            
+            pendingRemoves.add(e);
+            if(!isDeferringEntityChanges())
+            {
+                applyEntityChanges();
+            }
         }
     }
     
     /**
-     * @return The list of all entities. It is assumed that the returned list
-     *       will not be modified and will only be used while the sim lock
-     *       is held.
+     * Start a batch of entity adds and removes, e.g. while loading a 
+     * scenario, so the entity list is only copied once, by the matching call
+     * to {@link #endEntityBatch()}. Added entities are otherwise added right
+     * away, see {@link #addEntity(Entity)}, while removes are collected and
+     * applied when the batch ends. Batches may be nested. A tick that 
+     * happens during the batch applies the changes collected so far.
      */
-    public List<Entity> getEntitiesFast()
+    public void beginEntityBatch()
     {
-        return entities;
+        synchronized (lock)
+        {
+            ++entityBatchDepth;
+        }
     }
-
+    
     /**
-     * Lookup an entity by name
-     * 
-     * @param name The name of the entity
-     * @return The entity or null if not found
+     * End a batch started with {@link #beginEntityBatch()}. When the 
+     * outermost batch ends, the collected adds and removes are applied.
      */
-    public Entity getEntity(String name)
+    public void endEntityBatch()
     {
         synchronized (lock)
         {
-            return entitiesByName.get(name);
+            if(entityBatchDepth == 0)
+            {
+                throw new IllegalStateException("endEntityBatch() without beginEntityBatch()");
+            }
+            if(--entityBatchDepth == 0 && !ticking)
+            {
+                applyEntityChanges();
+            }
         }
     }
     
     /**
-     * Looks up an entity by name, and assumes that the simulation lock is held.
+     * Must be called with the lock held.
      * 
-     * @param name The name of the entity
-     * @return The entity with the corresponding name or null if none exists
+     * @return true if entity adds and removes are currently collected rather
+     *      than applied immediately
      */
-    public Entity getEntityFast(String name)
+    private boolean isDeferringEntityChanges()
     {
-        return entitiesByName.get(name);
+        return ticking || entityBatchDepth > 0;
     }
     
     /**
-     * Returns all entities within a certain distance of the given X/Y point.
-     * 
-     * @param x The x coordinate
-     * @param y The y coordinate
-     * @param tolerance The search radius
-     * @return List of entities within "tolerance" of (x, y)
+     * @return true if the entity has been added, or is waiting to be added, 
+     *      to this simulation and hasn't been removed since
      */
-    public List<Entity> getEntities(double x, double y, double tolerance)
+    private boolean isMember(Entity e)
     {
-        final Vector3 searchPos = new Vector3(x, y, 0.0);
-        final List<Entity> r = new ArrayList<Entity>();
-        final double toleranceSquared = tolerance * tolerance;
-        synchronized(lock)
-        {
-            for(Entity e : entities)
-            {
-                Vector3 pos = e.getPosition();
-                Vector3 xyPos = new Vector3(pos.x, pos.y, 0.0);
-                
-                if(xyPos.distanceSquared(searchPos) < toleranceSquared)
-                {
-                    r.add(e);
-                }
-            }
-        }
-        return r;
+        return e.getId() >= 0 && getEntityById(e.getId()) == e;
     }
     
-    public List<Entity> getEntities(Vector3 location, double tolerance)
+    /**
+     * Apply collected entity removes and then adds, each with one update of
+     * the entity list, and fire their events. Must be called with the lock 
+     * held.
+     */
+    private void applyEntityChanges()
     {
-        final List<Entity> r = new ArrayList<Entity>();
-        final double toleranceSquared = tolerance * tolerance;
-        synchronized(lock)
+        appendBatchAdded();
+        if(!pendingRemoves.isEmpty())
         {
-            for(Entity e : entities)
+            final List<Entity> removed = new ArrayList<Entity>(pendingRemoves);
+            entities.removeAll(pendingRemoves);
+            pendingRemoves.clear();
+            for(Entity e : removed)
+            {
+                spatialIndex.remove(e);
+                e.removePropertyListener(snapshotListener);
+                changedEntities.remove(e);
+            }
+            snapshotStale = true;
+            for(Entity e : removed)
             {
-                if(location.distanceSquared(e.getPosition()) < toleranceSquared)
+                for(SimulationListener listener : listeners)
                 {
-                    r.add(e);
+                    listener.onEntityRemoved(e);
                 }
+                releaseId(e);
+                e.setSimulation(null);
             }
         }
-        return r;
         
+        if(!pendingAdds.isEmpty())
+        {
+            final List<Entity> added = new ArrayList<Entity>(pendingAdds);
+            pendingAdds.clear();
+            entities.addAll(added);
+            for(Entity e : added)
+            {
+                addToWorld(e);
+            }
+            for(Entity e : added)
+            {
+                fireEntityAdded(e);
+            }
+        }
     }
     
     /**
-     * @return The current simulation time
+     * Append the entities added by an entity batch to the entity list. Must
+     * be called with the lock held.
      */
-    public double getTime()
+    private void appendBatchAdded()
     {
-        return time.get();
+        if(!batchAdded.isEmpty())
+        {
+            entities.addAll(batchAdded);
+            batchAdded.clear();
+        }
     }
     
     /**
-     * Set the current simulation time. Fires {@link SimulationListener#onTimeSet(double)}.
-     * 
-     * @param time the new simulation time
-     * @throws IllegalArgumentException if time is negative
+     * Index a newly added entity and start tracking its changes. Must be 
+     * called with the lock held.
      */
-    public void setTime(double time)
+    private void addToWorld(Entity e)
+    {
+        spatialIndex.add(e);
+        spatialIndex.setUnbounded(e, hasDerivedPosition(e));
+        e.addPropertyListener(snapshotListener);
+        snapshotStale = true;
+    }
+    
+    private void fireEntityAdded(Entity e)
     {
-        if(time < 0.0)
-        {
-            throw new IllegalArgumentException("Simulation time must be zero or positive, got " + time);
-        }
-        logger.info("Manually setting simulation time to " + time);
-        final double oldTime = getTime();
-        this.time.set(time);
         for(SimulationListener listener : listeners)
         {
-            listener.onTimeSet(oldTime);
+            listener.onEntityAdded(e);
         }
     }
     
     /**
-     * @return True if the simulation is currently paused
+     * Give an entity an id, reusing a freed one if possible. Must be called
+     * with the lock held.
      */
-    public boolean isPaused()
+    private void assignId(Entity e)
     {
-        synchronized(lock)
+        final int id = freeIdCount > 0 ? freeIds[--freeIdCount] : nextId++;
+        AtomicReferenceArray<Entity> byId = entitiesById;
+        if(id >= byId.length())
         {
-            return paused;
+            final AtomicReferenceArray<Entity> grown = new AtomicReferenceArray<Entity>(byId.length() * 2);
+            for(int i = 0; i < byId.length(); ++i)
+            {
+                grown.set(i, byId.get(i));
+            }
+            entitiesById = byId = grown;
         }
+        byId.set(id, e);
+        e.setId(id);
     }
     
     /**
-     * Set the pause state of the simulation. If the simulation was created
-     * with a thread, it will start running when it is unpaused.
-     * 
-     * @param paused The pause state of the simulation
+     * Return an entity's id to the free list. Must be called with the lock held.
      */
-    public void setPaused(boolean paused)
+    private void releaseId(Entity e)
     {
-        synchronized(lock)
+        final int id = e.getId();
+        if(id < 0 || entitiesById.get(id) != e)
         {
-            this.paused = paused;
+            return;
         }
-        
-        // Listeners are notified outside with the sim unlocked
-        // in case they need to do a synchronous interaction with a thread
-        // that needs to lock the sim.
-        for(SimulationListener listener : listeners)
+        entitiesById.set(id, null);
+        e.setId(-1);
+        if(freeIdCount == freeIds.length)
         {
-            if(paused)
-            {
-                listener.onPause();
-            }
-            else
-            {
-                listener.onStart();
-            }
+            freeIds = Arrays.copyOf(freeIds, freeIdCount * 2);
         }
+        freeIds[freeIdCount++] = id;
     }
     
     /**
-     * Set a timer in the simulation.
-     * 
-     * <p>The timer callback is called after the simulation tick has completed.
-     * The simulation lock is <b>not</b> held while the timer is called, but
-     * the simulation thread (the code calling {@link #tick(double)}) will not
-     * proceed until the timer callback returns. 
+     * Look up an entity by the id assigned when it was added to the 
+     * simulation. This method does not lock the simulation.
      * 
-     * @param period The period in seconds (simulation time) of the timer.
-     * @param repeat If true, the timer will be called repeatedly. Otherwise,
-     *      it will be called once after the timeout has expired
-     * @param runnable The code to run
+     * @param id The entity id
+     * @return The entity with that id, or null if there is none
+     * @see Entity#getId()
      */
-    public void setTimer(double period, boolean repeat, Runnable runnable)
+    public Entity getEntityById(int id)
     {
-        synchronized(getLock())
-        {
-            logger.info(String.format("Adding %s timer with period %8.2f: %s", repeat ? "repeating" : "one-shot", period, runnable));
-            final TimerEntry e = new TimerEntry();
-            e.time = time.get() + period;
-            e.period = period;
-            e.runnable = runnable;
-            e.repeat = repeat;
-          
-            newTimers.add(e);
-        }
+        final AtomicReferenceArray<Entity> byId = entitiesById;
+        return id >= 0 && id < byId.length() ? byId.get(id) : null;
     }
     
-    public void detonate(Detonation detonation)
+    /**
+     * @return A list (copy) of all entities in the simulation
+     */
+    public List<Entity> getEntities()
     {
-        synchronized(lock)
+        // Lock and return a copy to avoid synchronization issues.
+        synchronized (lock)
         {
-            detonation.detonate();
-            for(SimulationListener listener : listeners)
-            {
-                listener.onDetonation(detonation);
+            final List<Entity> result = new ArrayList<Entity>(entities.size() + batchAdded.size());
+            result.addAll(entities);
+            result.addAll(batchAdded);
+            return result;
+        }
+    }
+    
+    /**
+     * @return The list of all entities. It is assumed that the returned list
+     *       will not be modified and will only be used while the sim lock
+     *       is held. Entities added during an unfinished entity batch 
+     *       aren't in it yet, see {@link #addEntity(Entity)}.
+     */
+    public List<Entity> getEntitiesFast()
+    {
+        return entities;
+    }
+
+    /**
+     * Lookup an entity by name
+     * 
+     * @param name The name of the entity
+     * @return The entity or null if not found
+     */
+    public Entity getEntity(String name)
+    {
+        synchronized (lock)
+        {
+            return entitiesByName.get(name);
+        }
+    }
+    
+    /**
+     * Looks up an entity by name, and assumes that the simulation lock is held.
+     * 
+     * @param name The name of the entity
+     * @return The entity with the corresponding name or null if none exists
+     */
+    public Entity getEntityFast(String name)
+    {
+        return entitiesByName.get(name);
+    }
+    
+    /**
+     * Returns every entity that might be within a certain X/Y distance of a
+     * point, inclusive of the boundary, in the order they were added. This is
+     * a broad phase for callers, like sensors, that apply their own exact 
+     * test to each candidate: the result is all entities in the spatial index
+     * cells overlapping the search area, plus entities whose position is 
+     * derived from other entities.
+     * 
+     * <p>This is meant to be called from within a tick. While post-motion
+     * tickables run it doesn't take the lock, so their worker threads can
+     * use it.
+     * 
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param radius The search radius
+     * @return List of candidate entities
+     */
+    public List<Entity> getEntityCandidates(double x, double y, double radius)
+    {
+        if(frozen)
+        {
+            return spatialIndex.getCandidates(x, y, radius);
+        }
+        synchronized(lock)
+        {
+            refreshSpatialIndexIfDirty();
+            return spatialIndex.getCandidates(x, y, radius);
+        }
+    }
+    
+    /**
+     * Returns all entities within a certain distance of the given X/Y point.
+     * 
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param tolerance The search radius
+     * @return List of entities within "tolerance" of (x, y)
+     */
+    public List<Entity> getEntities(double x, double y, double tolerance)
+    {
+        synchronized(lock)
+        {
+            refreshSpatialIndexIfDirty();
+            return spatialIndex.getEntitiesInRadius(x, y, tolerance);
+        }
+    }
+    
+    /**
+     * Returns all entities within a certain distance of the given point.
+     * Equivalent to {@link #getEntitiesInRadius(Vector3, double)}.
+     * 
+     * @param location The center of the search
+     * @param tolerance The search radius
+     * @return List of entities within "tolerance" of location
+     */
+    public List<Entity> getEntities(Vector3 location, double tolerance)
+    {
+        return getEntitiesInRadius(location, tolerance);
+    }
+    
+    /**
+     * Returns all entities within a certain distance of the given point.
+     * 
+     * @param center The center of the search
+     * @param radius The search radius
+     * @return List of entities within radius of center, in the order they were
+     *      added to the simulation
+     */
+    public List<Entity> getEntitiesInRadius(Vector3 center, double radius)
+    {
+        synchronized(lock)
+        {
+            refreshSpatialIndexIfDirty();
+            return spatialIndex.getEntitiesInRadius(center, radius);
+        }
+    }
+    
+    /**
+     * Returns all entities inside an axis-aligned box. Bounds are inclusive.
+     * 
+     * @param min The minimum corner of the box
+     * @param max The maximum corner of the box
+     * @return List of entities in the box, in the order they were added to 
+     *      the simulation
+     */
+    public List<Entity> getEntitiesInBox(Vector3 min, Vector3 max)
+    {
+        synchronized(lock)
+        {
+            refreshSpatialIndexIfDirty();
+            return spatialIndex.getEntitiesInBox(min, max);
+        }
+    }
+    
+    /**
+     * Returns the k entities nearest to the given point.
+     * 
+     * @param point The point to search from
+     * @param k Maximum number of entities to return
+     * @return Up to k entities, nearest first
+     */
+    public List<Entity> getNearestEntities(Vector3 point, int k)
+    {
+        synchronized(lock)
+        {
+            refreshSpatialIndexIfDirty();
+            return spatialIndex.getNearestEntities(point, k);
+        }
+    }
+    
+    /**
+     * Notify the simulation that an entity has moved. The spatial index used by
+     * the range queries is refreshed at the end of every tick. Entities that
+     * are moved between ticks (by scripts, the UI, etc) call this so the next
+     * query sees their new position. This method does not lock the simulation.
+     */
+    public void invalidateSpatialIndex()
+    {
+        spatialIndexDirty = true;
+        snapshotStale = true;
+    }
+    
+    /**
+     * Notify the simulation that an entity has moved. On a thread that holds
+     * the lock, e.g. while ticking entities serially, the entity is moved in 
+     * the spatial index right away so range queries made later in the same 
+     * tick don't have to rebuild it. Otherwise this is the same as
+     * {@link #invalidateSpatialIndex()}.
+     * 
+     * @param e The entity that moved
+     */
+    public void entityMoved(Entity e)
+    {
+        snapshotStale = true;
+        if(!spatialIndexDirty && Thread.holdsLock(lock))
+        {
+            spatialIndex.update(e);
+        }
+        else
+        {
+            spatialIndexDirty = true;
+        }
+    }
+    
+    /**
+     * @return true if an entity's position may change without it calling
+     *      {@link #entityMoved(Entity)}
+     */
+    private static boolean hasDerivedPosition(Entity e)
+    {
+        return !(e instanceof AbstractEntity) || ((AbstractEntity) e).hasPositionProvider();
+    }
+    
+    /**
+     * Returns a snapshot of entity state as of the end of the most recent 
+     * tick. The snapshot is published at the end of each tick, and this 
+     * method returns it without locking the simulation, so this is the 
+     * preferred way for the UI, web services and other observers to read 
+     * the world. While the sim is paused, changes made since the last tick 
+     * are captured in a new snapshot on demand.
+     * 
+     * <p>The set of properties copied into the snapshot is controlled by the
+     * <code>simjr.simulation.snapshot.properties</code> property. Only 
+     * entities that moved, turned or had a property set since the last 
+     * snapshot are captured again, so a calculated property of an entity 
+     * that does neither keeps its last captured value.
+     * 
+     * @return the most recent snapshot, never null
+     */
+    public WorldSnapshot getSnapshot()
+    {
+        if(snapshotStale && paused)
+        {
+            synchronized (lock)
+            {
+                if(snapshotStale && paused)
+                {
+                    captureSnapshot();
+                }
+            }
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Capture and publish a new snapshot. Must be called with the lock held.
+     */
+    private void captureSnapshot()
+    {
+        snapshotStale = false;
+        snapshot = WorldSnapshot.capture(time.get(), entities, snapshotProperties, snapshot, changedEntities);
+    }
+    
+    private static List<String> parsePropertyList(String list)
+    {
+        final List<String> result = new ArrayList<String>();
+        for(String p : list.split(","))
+        {
+            p = p.trim();
+            if(p.length() > 0)
+            {
+                result.add(p);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Move every entity to its current cell in the spatial index. Must be
+     * called with the lock held.
+     */
+    private void refreshSpatialIndex()
+    {
+        spatialIndexDirty = false;
+        for(Entity e : entities)
+        {
+            spatialIndex.setUnbounded(e, hasDerivedPosition(e));
+            spatialIndex.update(e);
+        }
+        for(Entity e : batchAdded)
+        {
+            spatialIndex.setUnbounded(e, hasDerivedPosition(e));
+            spatialIndex.update(e);
+        }
+    }
+    
+    private void refreshSpatialIndexIfDirty()
+    {
+        if(spatialIndexDirty)
+        {
+            refreshSpatialIndex();
+        }
+    }
+    
+    /**
+     * @return The current simulation time
+     */
+    public double getTime()
+    {
+        return time.get();
+    }
+    
+    /**
+     * Set the current simulation time. Fires {@link SimulationListener#onTimeSet(double)}.
+     * 
+     * @param time the new simulation time
+     * @throws IllegalArgumentException if time is negative
+     */
+    public void setTime(double time)
+    {
+        if(time < 0.0)
+        {
+            throw new IllegalArgumentException("Simulation time must be zero or positive, got " + time);
+        }
+        logger.info("Manually setting simulation time to " + time);
+        final double oldTime = getTime();
+        this.time.set(time);
+        for(SimulationListener listener : listeners)
+        {
+            listener.onTimeSet(oldTime);
+        }
+    }
+    
+    /**
+     * @return True if the simulation is currently paused
+     */
+    public boolean isPaused()
+    {
+        synchronized(lock)
+        {
+            return paused;
+        }
+    }
+    
+    /**
+     * Set the pause state of the simulation. If the simulation was created
+     * with a thread, it will start running when it is unpaused.
+     * 
+     * @param paused The pause state of the simulation
+     */
+    public void setPaused(boolean paused)
+    {
+        synchronized(lock)
+        {
+            this.paused = paused;
+        }
+        
+        // Listeners are notified outside with the sim unlocked
+        // in case they need to do a synchronous interaction with a thread
+        // that needs to lock the sim.
+        for(SimulationListener listener : listeners)
+        {
+            if(paused)
+            {
+                listener.onPause();
+            }
+            else
+            {
+                listener.onStart();
+            }
+        }
+    }
+    
+    /**
+     * Set a timer in the simulation.
+     * 
+     * <p>The timer callback is called after the simulation tick has completed.
+     * The simulation lock is <b>not</b> held while the timer is called, but
+     * the simulation thread (the code calling {@link #tick(double)}) will not
+     * proceed until the timer callback returns. Timers due in the same tick
+     * are called in order of their due time, and then in the order they were
+     * set. A repeating timer is called at most once per tick. Timers set from
+     * within a timer callback are first considered on the next tick.
+     * 
+     * @param period The period in seconds (simulation time) of the timer.
+     * @param repeat If true, the timer will be called repeatedly. Otherwise,
+     *      it will be called once after the timeout has expired
+     * @param runnable The code to run
+     * @return handle that can be used to cancel the timer
+     */
+    public SimulationTimer setTimer(double period, boolean repeat, Runnable runnable)
+    {
+        synchronized(timers)
+        {
+            final SimulationTimer timer = new SimulationTimer(this, nextTimerSequence++, time.get() + period, period, repeat, runnable);
+            timer.queued = true;
+            timers.add(timer);
+            if(logger.isDebugEnabled())
+            {
+                logger.debug("Added " + timer);
+            }
+            return timer;
+        }
+    }
+    
+    /**
+     * Count a cancelled timer that's still in the queue, and purge the queue
+     * if cancelled timers make up more than half of it. Called by 
+     * {@link SimulationTimer#cancel()}.
+     * 
+     * @param timer the timer
+     */
+    void timerCancelled(SimulationTimer timer)
+    {
+        synchronized(timers)
+        {
+            if(!timer.queued || timer.dead)
+            {
+                return;
+            }
+            timer.dead = true;
+            if(++cancelledTimers > timers.size() / 2)
+            {
+                final List<SimulationTimer> live = new ArrayList<SimulationTimer>(timers.size() - cancelledTimers);
+                for(SimulationTimer t : timers)
+                {
+                    if(t.dead)
+                    {
+                        t.queued = false;
+                    }
+                    else
+                    {
+                        live.add(t);
+                    }
+                }
+                timers.clear();
+                timers.addAll(live);
+                cancelledTimers = 0;
+            }
+        }
+    }
+    
+    /**
+     * @return the number of timers waiting in the queue, not counting 
+     *      cancelled ones
+     */
+    int getPendingTimerCount()
+    {
+        synchronized(timers)
+        {
+            return timers.size() - cancelledTimers;
+        }
+    }
+    
+    /**
+     * Detonate a weapon. During a tick the detonation is queued and resolved
+     * with the tick's other detonations once everything has moved. Otherwise
+     * it's resolved right away. Listeners are notified of each detonation and
+     * then of the combined damage.
+     * 
+     * @param detonation the detonation
+     */
+    public void detonate(Detonation detonation)
+    {
+        synchronized(lock)
+        {
+            pendingDetonations.add(detonation);
+            if(!ticking)
+            {
+                resolveDetonations();
+            }
+        }
+    }
+    
+    /**
+     * Resolve queued detonations in one pass and notify listeners. Must be 
+     * called with the lock held.
+     */
+    private void resolveDetonations()
+    {
+        if(pendingDetonations.isEmpty())
+        {
+            return;
+        }
+        final DamageReport report = pendingDetonations.resolve(this);
+        for(SimulationListener listener : listeners)
+        {
+            for(Detonation d : report.getDetonations())
+            {
+                listener.onDetonation(d);
             }
+            listener.onDamage(report);
         }
     }
     
@@ -448,54 +1199,421 @@ public class Simulation extends AbstractAdaptable implements SimulationService
      */
     public void tick(double dt)
     {
+        final SimulationProfiler profiler = this.profiler;
+        final long start = profiler != null ? System.nanoTime() : 0;
+        long mark = start;
         synchronized (lock)
         {
+            if(profiler != null) { mark = profiler.record(SimulationProfiler.Phase.LOCK_WAIT, mark); }
+            
             time.set(time.get() + dt);
-            // Entities may be removed/added during this loop, but we're using
-            // CopyOnWrite array list so it's ok.
-            for(Entity e : entities)
+            // Entities added by an unfinished entity batch are ticked too
+            appendBatchAdded();
+            ticking = true;
+            try
+            {
+                for(Tickable t : tickables)
+                {
+                    t.tick(dt);
+                }
+                // Entities added or removed during the tick are collected and
+                // applied once everything has moved
+                if(tickPool != null)
+                {
+                    tickEntitiesInParallel(dt, profiler);
+                }
+                else
+                {
+                    for(Entity e : entities)
+                    {
+                        tickEntity(e, dt, profiler);
+                    }
+                }
+                if(profiler != null) { mark = profiler.record(SimulationProfiler.Phase.ENTITIES, mark); }
+                
+                // Move anything still scheduled in the store. Parallel batches
+                // are normally moved as soon as they finish.
+                if(kinematics != null && kinematics.advance(dt) > 0)
+                {
+                    spatialIndexDirty = true;
+                }
+                if(profiler != null) { mark = profiler.record(SimulationProfiler.Phase.MOTION, mark); }
+                
+                refreshSpatialIndex();
+                if(profiler != null) { mark = profiler.record(SimulationProfiler.Phase.SPATIAL_INDEX, mark); }
+            }
+            finally
             {
-                e.tick(dt);
+                ticking = false;
             }
+            
+            applyEntityChanges();
+            if(profiler != null) { mark = profiler.record(SimulationProfiler.Phase.ENTITY_CHANGES, mark); }
+            
+            resolveDetonations();
+            if(profiler != null) { mark = profiler.record(SimulationProfiler.Phase.DETONATIONS, mark); }
+            
+            tickPostMotion(dt);
+            if(profiler != null) { mark = profiler.record(SimulationProfiler.Phase.POST_MOTION, mark); }
+            
+            captureSnapshot();
+            if(profiler != null) { mark = profiler.record(SimulationProfiler.Phase.SNAPSHOT, mark); }
         }
         
         updateTimers();
+        if(profiler != null) { mark = profiler.record(SimulationProfiler.Phase.TIMERS, mark); }
         
         for(SimulationListener listener : listeners)
         {
-            listener.onTick(dt);
+            if(profiler != null)
+            {
+                final long listenerStart = System.nanoTime();
+                listener.onTick(dt);
+                profiler.recordListener(listener, System.nanoTime() - listenerStart);
+            }
+            else
+            {
+                listener.onTick(dt);
+            }
+        }
+        if(profiler != null) 
+        { 
+            profiler.record(SimulationProfiler.Phase.LISTENERS, mark); 
+            profiler.record(SimulationProfiler.Phase.TOTAL, start); 
         }
     }
-
+    
     /**
-     * Update timers during a tick
+     * Add an object to be ticked each tick right before the entities, with
+     * the lock held, so it sees every entity where it was at the start of 
+     * the tick. Unlike post-motion tickables, these may add, remove and
+     * modify entities, e.g. to simulate things that aren't worth being 
+     * entities themselves.
+     * 
+     * <p>Tickables are also available through {@link #getAdapter(Class)}.
+     * 
+     * @param tickable the object to tick
      */
-    private void updateTimers()
+    public void addTickable(Tickable tickable)
     {
         synchronized(lock)
         {
-            timers.addAll(newTimers);
-            newTimers.clear();
-            final Iterator<TimerEntry> it = timers.iterator();
-            while(it.hasNext())
+            if(!tickables.contains(tickable))
+            {
+                tickables.add(tickable);
+            }
+        }
+    }
+    
+    /**
+     * Remove an object added with {@link #addTickable(Tickable)}.
+     * 
+     * @param tickable the object to remove
+     */
+    public void removeTickable(Tickable tickable)
+    {
+        synchronized(lock)
+        {
+            tickables.remove(tickable);
+        }
+    }
+    
+    /**
+     * Find a tickable added with {@link #addTickable(Tickable)} by class. 
+     * Doesn't take the lock.
+     * 
+     * @param klass the desired class
+     * @return the first tickable that is an instance of klass, or null if 
+     *      there is none
+     */
+    public <T> T getTickable(Class<T> klass)
+    {
+        for(Tickable t : tickables)
+        {
+            if(klass.isInstance(t))
             {
-                final TimerEntry te = it.next();
-                if(time.get() >= te.time)
+                return klass.cast(t);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Tick post-motion tickables against the settled world. Must be called 
+     * with the lock held.
+     * 
+     * @param dt The time that has passed
+     */
+    private void tickPostMotion(double dt)
+    {
+        if(postMotionTickables.isEmpty())
+        {
+            return;
+        }
+        frozen = true;
+        try
+        {
+            for(Tickable t : postMotionTickables)
+            {
+                t.tick(dt);
+            }
+        }
+        finally
+        {
+            frozen = false;
+        }
+    }
+    
+    /**
+     * Add an object to be ticked each tick after all entities have been 
+     * ticked and moved and the spatial index refreshed, but before timers
+     * and listeners are called. The lock is held while it is ticked.
+     * 
+     * <p>Post-motion tickables observe the world, they must not add, remove
+     * or move entities. In exchange they may hand work off to other threads,
+     * which can read entity state and call {@link #getEntityCandidates(double, double, double)}
+     * without taking the lock.
+     * 
+     * <p>Post-motion tickables are also available through {@link #getAdapter(Class)}.
+     * 
+     * @param tickable the object to tick
+     */
+    public void addPostMotionTickable(Tickable tickable)
+    {
+        synchronized(lock)
+        {
+            if(!postMotionTickables.contains(tickable))
+            {
+                postMotionTickables.add(tickable);
+            }
+        }
+    }
+    
+    /**
+     * Remove an object added with {@link #addPostMotionTickable(Tickable)}.
+     * 
+     * @param tickable the object to remove
+     */
+    public void removePostMotionTickable(Tickable tickable)
+    {
+        synchronized(lock)
+        {
+            postMotionTickables.remove(tickable);
+        }
+    }
+    
+    /**
+     * Find a post-motion tickable by class. Doesn't take the lock.
+     * 
+     * @param klass the desired class
+     * @return the first post-motion tickable that is an instance of klass,
+     *      or null if there is none
+     */
+    public <T> T getPostMotionTickable(Class<T> klass)
+    {
+        for(Tickable t : postMotionTickables)
+        {
+            if(klass.isInstance(t))
+            {
+                return klass.cast(t);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Tick a single entity, timing it if the profiler is enabled
+     * 
+     * @param e the entity
+     * @param dt the time that has passed
+     * @param profiler the active profiler, or null
+     */
+    private static void tickEntity(Entity e, double dt, SimulationProfiler profiler)
+    {
+        if(profiler == null)
+        {
+            e.tick(dt);
+        }
+        else
+        {
+            final long start = System.nanoTime();
+            e.tick(dt);
+            profiler.recordEntity(e, System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Install the active profiler. Called by {@link SimulationProfiler} when
+     * it is enabled or disabled. 
+     * 
+     * @param profiler the profiler, or null to disable profiling
+     */
+    void setProfiler(SimulationProfiler profiler)
+    {
+        this.profiler = profiler;
+    }
+    
+    /**
+     * @return the active profiler, or null if profiling is disabled. Entities
+     *      use this to time their capabilities.
+     */
+    public SimulationProfiler getProfiler()
+    {
+        return profiler;
+    }
+
+    /**
+     * Tick entities in order, batching runs of consecutive parallel-safe 
+     * entities onto the tick pool. Entities in a batch can't see each other's
+     * state, so the order they run in doesn't matter. Anything else is ticked
+     * on this thread after the preceding batch has finished, exactly where it 
+     * would have been ticked serially. Must be called with the lock held.
+     * 
+     * @param dt The time that has passed
+     * @param profiler The active profiler, or null
+     */
+    private void tickEntitiesInParallel(double dt, SimulationProfiler profiler)
+    {
+        final List<Entity> batch = parallelTickBatch;
+        try
+        {
+            for(Entity e : entities)
+            {
+                if(e instanceof ParallelTickSafe && ((ParallelTickSafe) e).isParallelTickSafe())
                 {
-                    if(!te.repeat)
-                    {
-                        it.remove();
-                    }
-                    else
-                    {
-                        te.time = te.time + te.period;
-                    }
-                    te.runnable.run();
+                    batch.add(e);
+                }
+                else
+                {
+                    tickBatch(batch, dt, profiler);
+                    tickEntity(e, dt, profiler);
                 }
             }
+            tickBatch(batch, dt, profiler);
+        }
+        finally
+        {
+            batch.clear();
         }
     }
+    
+    private void tickBatch(List<Entity> batch, double dt, SimulationProfiler profiler)
+    {
+        if(batch.size() < parallelTickMinBatch)
+        {
+            for(Entity e : batch)
+            {
+                tickEntity(e, dt, profiler);
+            }
+        }
+        else
+        {
+            tickPool.invoke(new EntityTickTask(batch, 0, batch.size(), dt, profiler));
+            // Move the batch before anything that could see it is ticked
+            if(kinematics != null && kinematics.advance(dt) > 0)
+            {
+                spatialIndexDirty = true;
+            }
+            if(profiler != null)
+            {
+                profiler.mergeWorkerSamples();
+            }
+        }
+        batch.clear();
+    }
+    
+    /**
+     * Fork/join task that ticks a range of a batch of parallel-safe entities
+     */
+    private static class EntityTickTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        private static final int LEAF_SIZE = 16;
+        
+        private final List<Entity> batch;
+        private final int start;
+        private final int end;
+        private final double dt;
+        private final SimulationProfiler profiler;
+        
+        EntityTickTask(List<Entity> batch, int start, int end, double dt, SimulationProfiler profiler)
+        {
+            this.batch = batch;
+            this.start = start;
+            this.end = end;
+            this.dt = dt;
+            this.profiler = profiler;
+        }
 
+        /* (non-Javadoc)
+         * @see java.util.concurrent.RecursiveAction#compute()
+         */
+        @Override
+        protected void compute()
+        {
+            if(end - start <= LEAF_SIZE)
+            {
+                for(int i = start; i < end; ++i)
+                {
+                    tickEntity(batch.get(i), dt, profiler);
+                }
+            }
+            else
+            {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new EntityTickTask(batch, start, middle, dt, profiler),
+                          new EntityTickTask(batch, middle, end, dt, profiler));
+            }
+        }
+    }
+
+    /**
+     * Call timers that are due after a tick. Due timers are removed from the
+     * queue (and repeating timers rescheduled) first, along with cancelled
+     * timers at the head of the queue, then called with no locks held. A timer cancelled in between is skipped, and a repeating
+     * one isn't rescheduled since cancelling sets the flag before taking 
+     * the queue's monitor.
+     */
+    private void updateTimers()
+    {
+        final double now = time.get();
+        final List<SimulationTimer> due = new ArrayList<SimulationTimer>();
+        synchronized(timers)
+        {
+            SimulationTimer head;
+            while((head = timers.peek()) != null && (head.dead || now >= head.time))
+            {
+                timers.poll();
+                head.queued = false;
+                if(head.dead)
+                {
+                    --cancelledTimers;
+                }
+                else
+                {
+                    due.add(head);
+                }
+            }
+            for(SimulationTimer timer : due)
+            {
+                if(timer.repeat && !timer.isCancelled())
+                {
+                    timer.time = timer.time + timer.period;
+                    timer.queued = true;
+                    timers.add(timer);
+                }
+            }
+        }
+        
+        for(SimulationTimer timer : due)
+        {
+            if(!timer.isCancelled())
+            {
+                timer.runnable.run();
+            }
+        }
+    }
+    
     /* (non-Javadoc)
      * @see com.soartech.simjr.adaptables.AbstractAdaptable#getAdapter(java.lang.Class)
      */
@@ -515,6 +1633,18 @@ public class Simulation extends AbstractAdaptable implements SimulationService
             return fromThread;
         }
         
+        final Object tickable = getTickable(klass);
+        if(tickable != null)
+        {
+            return tickable;
+        }
+        
+        final Object postMotion = getPostMotionTickable(klass);
+        if(postMotion != null)
+        {
+            return postMotion;
+        }
+        
         return super.getAdapter(klass);
     }
     
@@ -84,4 +84,14 @@ public interface SimulationListener
      * @param detonation The detonation event
      */
     void onDetonation(Detonation detonation);
+    
+    /**
+     * Called once detonations have been resolved, after 
+     * {@link #onDetonation(Detonation)} is called for each of them, with the
+     * combined damage they did. Detonations during a tick are resolved 
+     * together, so this is called at most once per tick for them.
+     * 
+     * @param report The combined damage
+     */
+    void onDamage(DamageReport report);
 }
@@ -89,4 +89,11 @@ public class SimulationListenerAdapter implements SimulationListener
     {
     }
 
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimulationListener#onDamage(com.soartech.simjr.sim.DamageReport)
+     */
+    public void onDamage(DamageReport report)
+    {
+    }
+
 }
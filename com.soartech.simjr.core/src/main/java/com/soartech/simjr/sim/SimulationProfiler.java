@@ -0,0 +1,658 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.soartech.simjr.ProgressMonitor;
+import com.soartech.simjr.SimJrProps;
+import com.soartech.simjr.SimulationException;
+import com.soartech.simjr.console.ConsoleManager;
+import com.soartech.simjr.console.ConsoleParticipant;
+import com.soartech.simjr.services.AbstractSimulationService;
+import com.soartech.simjr.services.ConstructOnDemand;
+import com.soartech.simjr.services.ServiceManager;
+
+/**
+ * Records how long each phase of {@link Simulation#tick(double)} takes, 
+ * along with the time spent ticking each class of entity, each class of 
+ * {@link Tickable} capability and each {@link SimulationListener}. Timings
+ * are kept in rolling windows of the most recent samples so p50, p99 and
+ * max reflect recent behavior.
+ * 
+ * <p>The profiler is disabled by default (see <code>simjr.profiler.enabled</code>).
+ * While disabled the simulation doesn't reference it at all, so the only
+ * cost is a null check per entity. It can be turned on and off and 
+ * reported through the "profiler" console or over JMX as 
+ * <code>com.soartech.simjr:type=SimulationProfiler</code>.
+ * 
+ * <p>Entity and capability timings recorded by the parallel tick pool's
+ * workers go into a buffer owned by each worker, so workers never contend
+ * on a {@link Timing}. The simulation thread folds them in with 
+ * {@link #mergeWorkerSamples()} once each parallel batch has finished.
+ * 
+ * @author ray
+ */
+@ConstructOnDemand
+public class SimulationProfiler extends AbstractSimulationService implements SimulationProfilerMBean
+{
+    private static final Logger logger = LoggerFactory.getLogger(SimulationProfiler.class);
+    
+    private static final String OBJECT_NAME = "com.soartech.simjr:type=SimulationProfiler";
+    
+    public static SimulationProfiler findService(ServiceManager services)
+    {
+        return services.findService(SimulationProfiler.class);
+    }
+    
+    /**
+     * The phases of a simulation tick
+     */
+    public static enum Phase
+    {
+        /** Time spent waiting to acquire the sim lock */
+        LOCK_WAIT,
+        /** Ticking all entities */
+        ENTITIES,
+        /** Moving constant-velocity entities in the {@link KinematicStore} */
+        MOTION,
+        /** Refreshing the spatial index */
+        SPATIAL_INDEX,
+        /** Applying entity adds and removes collected during the tick */
+        ENTITY_CHANGES,
+        /** Resolving the tick's detonations */
+        DETONATIONS,
+        /** Ticking post-motion tickables, e.g. sensors */
+        POST_MOTION,
+        /** Capturing the world snapshot */
+        SNAPSHOT,
+        /** Running due timers */
+        TIMERS,
+        /** Calling {@link SimulationListener#onTick(double)} */
+        LISTENERS,
+        /** The whole tick */
+        TOTAL
+    }
+    
+    /**
+     * A rolling window of nanosecond timing samples. Thread-safe.
+     */
+    public static class Timing
+    {
+        private final String name;
+        private final long[] samples;
+        private int next = 0;
+        private long count = 0;
+        private long total = 0;
+        
+        Timing(String name, int window)
+        {
+            this.name = name;
+            this.samples = new long[window];
+        }
+        
+        synchronized void record(long nanos)
+        {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count++;
+            total += nanos;
+        }
+        
+        /**
+         * @return name of the phase, class or listener being timed
+         */
+        public String getName()
+        {
+            return name;
+        }
+        
+        /**
+         * @return the number of samples recorded since the last reset
+         */
+        public synchronized long getCount()
+        {
+            return count;
+        }
+        
+        /**
+         * @return the total of all samples recorded since the last reset
+         */
+        public synchronized long getTotalNanos()
+        {
+            return total;
+        }
+        
+        /**
+         * @param p percentile in [0, 1]
+         * @return the given percentile of the samples in the current window,
+         *      or 0 if no samples have been recorded
+         */
+        public long getPercentileNanos(double p)
+        {
+            final long[] sorted = getSortedWindow();
+            if(sorted.length == 0)
+            {
+                return 0;
+            }
+            final int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+        
+        /**
+         * @return the largest sample in the current window
+         */
+        public long getMaxNanos()
+        {
+            return getPercentileNanos(1.0);
+        }
+        
+        private long[] getSortedWindow()
+        {
+            final long[] window;
+            synchronized(this)
+            {
+                window = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+            }
+            Arrays.sort(window);
+            return window;
+        }
+    }
+    
+    private final Simulation sim;
+    private final ConsoleManager consoles;
+    private final ConsoleParticipant console = new Console();
+    private final int window = SimJrProps.get("simjr.profiler.window", 1024);
+    private volatile boolean enabled = false;
+    
+    private final Map<Phase, Timing> phases = new EnumMap<Phase, Timing>(Phase.class);
+    private final ConcurrentMap<Class<?>, Timing> entities = new ConcurrentHashMap<Class<?>, Timing>();
+    private final ConcurrentMap<Class<?>, Timing> tickables = new ConcurrentHashMap<Class<?>, Timing>();
+    private final ConcurrentMap<Class<?>, Timing> listeners = new ConcurrentHashMap<Class<?>, Timing>();
+    private final List<WorkerSamples> workerSamples = new CopyOnWriteArrayList<WorkerSamples>();
+    private final ThreadLocal<WorkerSamples> localWorkerSamples = new ThreadLocal<WorkerSamples>()
+    {
+        @Override
+        protected WorkerSamples initialValue()
+        {
+            final WorkerSamples samples = new WorkerSamples(Thread.currentThread());
+            workerSamples.add(samples);
+            return samples;
+        }
+    };
+    private ObjectName objectName;
+    
+    /**
+     * Constructed on demand by ServiceManager.findService()
+     * 
+     * @param services the service manager
+     */
+    public SimulationProfiler(ServiceManager services)
+    {
+        this.sim = Simulation.findService(services);
+        if(sim == null)
+        {
+            throw new IllegalStateException("SimulationProfiler requires a Simulation service");
+        }
+        this.consoles = services.findService(ConsoleManager.class);
+        resetPhases();
+    }
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.services.AbstractSimulationService#start(com.soartech.simjr.ProgressMonitor)
+     */
+    @Override
+    public void start(ProgressMonitor progress) throws SimulationException
+    {
+        if(consoles != null)
+        {
+            consoles.addParticipant(console);
+        }
+        registerMBean();
+        setEnabled(SimJrProps.get("simjr.profiler.enabled", false));
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.services.AbstractSimulationService#shutdown()
+     */
+    @Override
+    public void shutdown() throws SimulationException
+    {
+        setEnabled(false);
+        if(consoles != null)
+        {
+            consoles.removeParticipant(console);
+        }
+        unregisterMBean();
+    }
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimulationProfilerMBean#isEnabled()
+     */
+    @Override
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimulationProfilerMBean#setEnabled(boolean)
+     */
+    @Override
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+        sim.setProfiler(enabled ? this : null);
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimulationProfilerMBean#reset()
+     */
+    @Override
+    public synchronized void reset()
+    {
+        resetPhases();
+        entities.clear();
+        tickables.clear();
+        listeners.clear();
+    }
+    
+    private synchronized void resetPhases()
+    {
+        for(Phase phase : Phase.values())
+        {
+            phases.put(phase, new Timing(phase.name(), window));
+        }
+    }
+    
+    /**
+     * @param phase the phase
+     * @return timings for the given phase
+     */
+    public synchronized Timing getTiming(Phase phase)
+    {
+        return phases.get(phase);
+    }
+    
+    /**
+     * @return timings of individual entity ticks, by entity class
+     */
+    public List<Timing> getEntityTimings()
+    {
+        return sortByTotal(entities.values());
+    }
+    
+    /**
+     * @return timings of individual {@link Tickable} capability ticks, by class
+     */
+    public List<Timing> getTickableTimings()
+    {
+        return sortByTotal(tickables.values());
+    }
+    
+    /**
+     * @return timings of {@link SimulationListener#onTick(double)} calls, by
+     *      listener class
+     */
+    public List<Timing> getListenerTimings()
+    {
+        return sortByTotal(listeners.values());
+    }
+    
+    /**
+     * Record the end of a tick phase.
+     * 
+     * @param phase the phase
+     * @param start {@link System#nanoTime()} when the phase started
+     * @return {@link System#nanoTime()} now, i.e. the start of the next phase
+     */
+    public long record(Phase phase, long start)
+    {
+        final long now = System.nanoTime();
+        getTiming(phase).record(now - start);
+        return now;
+    }
+    
+    /**
+     * Record the time taken to tick an entity. May be called from any thread.
+     * Samples from tick pool workers show up once their batch is merged.
+     * 
+     * @param entity the entity
+     * @param nanos the elapsed time
+     */
+    public void recordEntity(Entity entity, long nanos)
+    {
+        record(getOrCreate(entities, entity.getClass()), nanos);
+    }
+    
+    /**
+     * Record the time taken to tick a capability. May be called from any 
+     * thread. Samples from tick pool workers show up once their batch is 
+     * merged.
+     * 
+     * @param tickable the capability
+     * @param nanos the elapsed time
+     */
+    public void recordTickable(Tickable tickable, long nanos)
+    {
+        record(getOrCreate(tickables, tickable.getClass()), nanos);
+    }
+    
+    /**
+     * Record the time taken by a listener's onTick() method
+     * 
+     * @param listener the listener
+     * @param nanos the elapsed time
+     */
+    public void recordListener(SimulationListener listener, long nanos)
+    {
+        getOrCreate(listeners, listener.getClass()).record(nanos);
+    }
+    
+    private void record(Timing timing, long nanos)
+    {
+        if(Thread.currentThread() instanceof ForkJoinWorkerThread)
+        {
+            localWorkerSamples.get().add(timing, nanos);
+        }
+        else
+        {
+            timing.record(nanos);
+        }
+    }
+    
+    /**
+     * Fold samples buffered by tick pool workers into their timings. Called
+     * by the simulation thread after a parallel batch has been ticked, when
+     * no worker is recording. Buffers of workers that have since exited are
+     * dropped.
+     */
+    void mergeWorkerSamples()
+    {
+        for(WorkerSamples samples : workerSamples)
+        {
+            samples.drain();
+            if(!samples.owner.isAlive())
+            {
+                workerSamples.remove(samples);
+            }
+        }
+    }
+    
+    /**
+     * Samples recorded by one worker thread since the last merge. Only 
+     * written by its owner, and only drained while the owner is idle.
+     */
+    private static class WorkerSamples
+    {
+        private final Thread owner;
+        private Timing[] timings = new Timing[64];
+        private long[] nanos = new long[64];
+        private int size = 0;
+        
+        WorkerSamples(Thread owner)
+        {
+            this.owner = owner;
+        }
+        
+        void add(Timing timing, long elapsed)
+        {
+            if(size == timings.length)
+            {
+                timings = Arrays.copyOf(timings, size * 2);
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            timings[size] = timing;
+            nanos[size] = elapsed;
+            ++size;
+        }
+        
+        void drain()
+        {
+            for(int i = 0; i < size; ++i)
+            {
+                timings[i].record(nanos[i]);
+                timings[i] = null;
+            }
+            size = 0;
+        }
+    }
+    
+    private Timing getOrCreate(ConcurrentMap<Class<?>, Timing> timings, Class<?> klass)
+    {
+        Timing t = timings.get(klass);
+        if(t == null)
+        {
+            final Timing newTiming = new Timing(klass.getName(), window);
+            t = timings.putIfAbsent(klass, newTiming);
+            if(t == null)
+            {
+                t = newTiming;
+            }
+        }
+        return t;
+    }
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimulationProfilerMBean#getTickCount()
+     */
+    @Override
+    public long getTickCount()
+    {
+        return getTiming(Phase.TOTAL).getCount();
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimulationProfilerMBean#getTickP50Micros()
+     */
+    @Override
+    public double getTickP50Micros()
+    {
+        return getTiming(Phase.TOTAL).getPercentileNanos(0.5) / 1000.0;
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimulationProfilerMBean#getTickP99Micros()
+     */
+    @Override
+    public double getTickP99Micros()
+    {
+        return getTiming(Phase.TOTAL).getPercentileNanos(0.99) / 1000.0;
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimulationProfilerMBean#getTickMaxMicros()
+     */
+    @Override
+    public double getTickMaxMicros()
+    {
+        return getTiming(Phase.TOTAL).getMaxNanos() / 1000.0;
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.SimulationProfilerMBean#getReport()
+     */
+    @Override
+    public String getReport()
+    {
+        final StringBuilder b = new StringBuilder();
+        b.append(String.format("Simulation profile (%s, window of %d samples, times in microseconds)%n", 
+                               enabled ? "enabled" : "disabled", window));
+        final List<Timing> phaseTimings = new ArrayList<Timing>();
+        for(Phase phase : Phase.values())
+        {
+            phaseTimings.add(getTiming(phase));
+        }
+        appendSection(b, "Tick phases", phaseTimings);
+        appendSection(b, "Entities", getEntityTimings());
+        appendSection(b, "Tickable capabilities", getTickableTimings());
+        appendSection(b, "Listeners", getListenerTimings());
+        return b.toString();
+    }
+    
+    private static void appendSection(StringBuilder b, String title, List<Timing> timings)
+    {
+        b.append(String.format("%n%-50s %10s %10s %10s %10s%n", title, "count", "p50", "p99", "max"));
+        for(Timing t : timings)
+        {
+            b.append(String.format("%-50s %10d %10.1f %10.1f %10.1f%n", 
+                                   t.getName(), t.getCount(), 
+                                   t.getPercentileNanos(0.5) / 1000.0, 
+                                   t.getPercentileNanos(0.99) / 1000.0, 
+                                   t.getMaxNanos() / 1000.0));
+        }
+    }
+    
+    private static List<Timing> sortByTotal(Iterable<Timing> timings)
+    {
+        final List<Timing> result = new ArrayList<Timing>();
+        for(Timing t : timings)
+        {
+            result.add(t);
+        }
+        Collections.sort(result, new Comparator<Timing>()
+        {
+            public int compare(Timing a, Timing b)
+            {
+                final long ta = a.getTotalNanos();
+                final long tb = b.getTotalNanos();
+                return ta > tb ? -1 : (ta == tb ? 0 : 1);
+            }
+        });
+        return result;
+    }
+    
+    private void registerMBean()
+    {
+        try
+        {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if(server.isRegistered(name))
+            {
+                logger.warn("Another simulation profiler is already registered with JMX as " + OBJECT_NAME);
+                return;
+            }
+            server.registerMBean(this, name);
+            objectName = name;
+        }
+        catch (JMException e)
+        {
+            logger.warn("Failed to register simulation profiler with JMX: " + e.getMessage(), e);
+        }
+    }
+    
+    private void unregisterMBean()
+    {
+        if(objectName == null)
+        {
+            return;
+        }
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        }
+        catch (JMException e)
+        {
+            logger.warn("Failed to unregister simulation profiler from JMX: " + e.getMessage(), e);
+        }
+        objectName = null;
+    }
+    
+    private class Console implements ConsoleParticipant
+    {
+        /* (non-Javadoc)
+         * @see com.soartech.simjr.console.ConsoleParticipant#getName()
+         */
+        @Override
+        public String getName()
+        {
+            return "profiler";
+        }
+
+        /* (non-Javadoc)
+         * @see com.soartech.simjr.console.ConsoleParticipant#executeCommand(java.lang.String)
+         */
+        @Override
+        public String executeCommand(String command)
+        {
+            final String c = command.trim();
+            if(c.length() == 0 || c.equals("report"))
+            {
+                return getReport();
+            }
+            else if(c.equals("on"))
+            {
+                setEnabled(true);
+                return "Profiler enabled";
+            }
+            else if(c.equals("off"))
+            {
+                setEnabled(false);
+                return "Profiler disabled";
+            }
+            else if(c.equals("reset"))
+            {
+                reset();
+                return "Profiler reset";
+            }
+            return "Usage: on | off | reset | report";
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString()
+        {
+            return getName();
+        }
+    }
+}
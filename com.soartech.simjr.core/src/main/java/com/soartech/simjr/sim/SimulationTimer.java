@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+/**
+ * Handle to a timer registered with {@link Simulation#setTimer(double, boolean, Runnable)}.
+ * The handle can be used to cancel the timer.
+ * 
+ * @author ray
+ */
+public final class SimulationTimer
+{
+    private final Simulation sim;
+    final long sequence;
+    final double period;
+    final boolean repeat;
+    final Runnable runnable;
+    
+    /**
+     * Simulation time when the timer next fires. Only accessed by the 
+     * simulation with its timer queue locked.
+     */
+    double time;
+    
+    /**
+     * True while the timer is in the simulation's queue. Only accessed by 
+     * the simulation with its timer queue locked.
+     */
+    boolean queued;
+    
+    /**
+     * True if the timer was cancelled while in the queue, and is waiting to
+     * be dropped from it. Only accessed by the simulation with its timer 
+     * queue locked.
+     */
+    boolean dead;
+    private volatile boolean cancelled = false;
+    
+    SimulationTimer(Simulation sim, long sequence, double time, double period, boolean repeat, Runnable runnable)
+    {
+        this.sim = sim;
+        this.sequence = sequence;
+        this.time = time;
+        this.period = period;
+        this.repeat = repeat;
+        this.runnable = runnable;
+    }
+    
+    /**
+     * Cancel the timer. It will not be called again, even if it is due in
+     * the current tick and hasn't been called yet. May be called from any
+     * thread, including from within the timer callback itself. Cancelling
+     * takes constant time, the simulation drops the timer from its queue
+     * later.
+     */
+    public void cancel()
+    {
+        if(!cancelled)
+        {
+            cancelled = true;
+            sim.timerCancelled(this);
+        }
+    }
+    
+    /**
+     * @return true if {@link #cancel()} has been called
+     */
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+    
+    /**
+     * @return the period of the timer in seconds
+     */
+    public double getPeriod()
+    {
+        return period;
+    }
+    
+    /**
+     * @return true if this is a repeating timer
+     */
+    public boolean isRepeating()
+    {
+        return repeat;
+    }
+    
+    /**
+     * @return the timer's callback
+     */
+    public Runnable getRunnable()
+    {
+        return runnable;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return (repeat ? "repeating" : "one-shot") + " timer with period " + period + ": " + runnable;
+    }
+}
@@ -0,0 +1,613 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.soartech.math.Vector3;
+
+/**
+ * A uniform grid over the X/Y plane used to answer range queries against
+ * entity positions without scanning every entity in the simulation.
+ * 
+ * <p>Entities are bucketed by the grid cell containing their position when
+ * they were last updated. Queries gather candidates from the overlapping cells
+ * and then test each candidate against its <em>current</em> position. Results
+ * are returned in the order entities were added to the index so they match
+ * what a linear scan of the simulation's entity list would produce.
+ * 
+ * <p>Entities whose position can change without the index being told, such
+ * as those positioned by an {@link EntityPositionProvider}, can be marked
+ * {@link #setUnbounded(Entity, boolean) unbounded}. They are kept out of the
+ * grid and tested by every query, as are entities whose position is NaN.
+ * 
+ * <p>This class is not thread-safe. {@link Simulation} only accesses its index
+ * with the simulation lock held.
+ * 
+ * @author ray
+ */
+public class SpatialIndex
+{
+    private static class Entry
+    {
+        final Entity entity;
+        final long order;
+        Cell cell;
+        int slot;
+        boolean unbounded;
+        
+        Entry(Entity entity, long order)
+        {
+            this.entity = entity;
+            this.order = order;
+        }
+    }
+    
+    private static class Cell
+    {
+        final long key;
+        Entry[] entries = new Entry[4];
+        int size;
+        
+        Cell(long key)
+        {
+            this.key = key;
+        }
+        
+        void add(Entry e)
+        {
+            if(size == entries.length)
+            {
+                final Entry[] bigger = new Entry[size * 2];
+                System.arraycopy(entries, 0, bigger, 0, size);
+                entries = bigger;
+            }
+            e.cell = this;
+            e.slot = size;
+            entries[size++] = e;
+        }
+        
+        void remove(Entry e)
+        {
+            // Swap the last entry into the vacated slot
+            final Entry last = entries[--size];
+            entries[e.slot] = last;
+            last.slot = e.slot;
+            entries[size] = null;
+            e.cell = null;
+        }
+    }
+    
+    private static final Comparator<Entry> ORDER = new Comparator<Entry>()
+    {
+        public int compare(Entry a, Entry b)
+        {
+            return a.order < b.order ? -1 : (a.order == b.order ? 0 : 1);
+        }
+    };
+    
+    private final double cellSize;
+    private final Map<Long, Cell> cells = new HashMap<Long, Cell>();
+    private final Map<Entity, Entry> entries = new HashMap<Entity, Entry>();
+    private final List<Entry> unboundedEntries = new ArrayList<Entry>();
+    private long nextOrder = 0;
+    
+    /**
+     * @param cellSize the width and height, in meters, of each grid cell
+     * @throws IllegalArgumentException if cellSize is not positive
+     */
+    public SpatialIndex(double cellSize)
+    {
+        if(!(cellSize > 0.0))
+        {
+            throw new IllegalArgumentException("cellSize must be positive, got " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+    
+    /**
+     * @return the width and height, in meters, of each grid cell
+     */
+    public double getCellSize()
+    {
+        return cellSize;
+    }
+    
+    /**
+     * @return the number of entities in the index
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+    
+    /**
+     * @param e an entity
+     * @return true if the entity is in the index
+     */
+    public boolean contains(Entity e)
+    {
+        return entries.containsKey(e);
+    }
+    
+    /**
+     * Add an entity to the index at its current position. Has no effect if the
+     * entity is already in the index.
+     * 
+     * @param e the entity to add
+     */
+    public void add(Entity e)
+    {
+        if(entries.containsKey(e))
+        {
+            return;
+        }
+        final Entry entry = new Entry(e, nextOrder++);
+        entries.put(e, entry);
+        place(entry);
+    }
+    
+    /**
+     * Mark an entity as unbounded, meaning its position may change without
+     * a call to {@link #update(Entity)}. Unbounded entities are tested by
+     * every query. Has no effect if the entity is not in the index.
+     * 
+     * @param e the entity
+     * @param unbounded true if the entity is unbounded
+     */
+    public void setUnbounded(Entity e, boolean unbounded)
+    {
+        final Entry entry = entries.get(e);
+        if(entry == null || entry.unbounded == unbounded)
+        {
+            return;
+        }
+        unplace(entry);
+        entry.unbounded = unbounded;
+        place(entry);
+    }
+    
+    /**
+     * Move an entity to the cell containing its current position. Has no
+     * effect if the entity is not in the index. This does not allocate unless
+     * the entity changes cells.
+     * 
+     * @param e the entity to update
+     */
+    public void update(Entity e)
+    {
+        final Entry entry = entries.get(e);
+        if(entry == null || entry.unbounded)
+        {
+            return;
+        }
+        final Vector3 p = e.getPosition();
+        if(entry.cell == null || isNaN(p))
+        {
+            // Moving into or out of the unbounded list
+            unplace(entry);
+            place(entry);
+            return;
+        }
+        final long key = keyOf(p);
+        if(key != entry.cell.key)
+        {
+            removeFromCell(entry);
+            getOrCreateCell(key).add(entry);
+        }
+    }
+    
+    /**
+     * Remove an entity from the index
+     * 
+     * @param e the entity to remove
+     */
+    public void remove(Entity e)
+    {
+        final Entry entry = entries.remove(e);
+        if(entry != null)
+        {
+            unplace(entry);
+        }
+    }
+    
+    /**
+     * Remove all entities from the index
+     */
+    public void clear()
+    {
+        entries.clear();
+        cells.clear();
+        unboundedEntries.clear();
+    }
+    
+    /**
+     * Find every entity that might be within the given X/Y distance of a 
+     * point, inclusive: all entities in grid cells that overlap the square
+     * around the point, plus all unbounded entities. Callers are expected to
+     * apply their own exact test to the result.
+     * 
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param radius the search radius
+     * @return list of entities, in the order they were added
+     */
+    public List<Entity> getCandidates(double x, double y, double radius)
+    {
+        final List<Entry> hits = new ArrayList<Entry>();
+        for(Cell cell : getCells(x - radius, y - radius, x + radius, y + radius))
+        {
+            for(int i = 0; i < cell.size; ++i)
+            {
+                hits.add(cell.entries[i]);
+            }
+        }
+        hits.addAll(unboundedEntries);
+        return toEntities(hits);
+    }
+    
+    /**
+     * Find all entities whose X/Y position is strictly within the given
+     * distance of an X/Y point. Altitude is ignored.
+     * 
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param radius the search radius
+     * @return list of entities, in the order they were added
+     */
+    public List<Entity> getEntitiesInRadius(double x, double y, double radius)
+    {
+        final double radiusSquared = radius * radius;
+        final List<Entry> hits = new ArrayList<Entry>();
+        for(Cell cell : getCells(x - radius, y - radius, x + radius, y + radius))
+        {
+            for(int i = 0; i < cell.size; ++i)
+            {
+                final Entry entry = cell.entries[i];
+                if(inRadius(entry, x, y, radiusSquared))
+                {
+                    hits.add(entry);
+                }
+            }
+        }
+        for(Entry entry : unboundedEntries)
+        {
+            if(inRadius(entry, x, y, radiusSquared))
+            {
+                hits.add(entry);
+            }
+        }
+        return toEntities(hits);
+    }
+    
+    /**
+     * Find all entities strictly within the given distance of a point.
+     * 
+     * @param center the center of the search
+     * @param radius the search radius
+     * @return list of entities, in the order they were added
+     */
+    public List<Entity> getEntitiesInRadius(Vector3 center, double radius)
+    {
+        final double radiusSquared = radius * radius;
+        final List<Entry> hits = new ArrayList<Entry>();
+        for(Cell cell : getCells(center.x - radius, center.y - radius, center.x + radius, center.y + radius))
+        {
+            for(int i = 0; i < cell.size; ++i)
+            {
+                final Entry entry = cell.entries[i];
+                if(center.distanceSquared(entry.entity.getPosition()) < radiusSquared)
+                {
+                    hits.add(entry);
+                }
+            }
+        }
+        for(Entry entry : unboundedEntries)
+        {
+            if(center.distanceSquared(entry.entity.getPosition()) < radiusSquared)
+            {
+                hits.add(entry);
+            }
+        }
+        return toEntities(hits);
+    }
+    
+    /**
+     * Find all entities inside an axis-aligned box. The bounds are inclusive.
+     * 
+     * @param min the minimum corner of the box
+     * @param max the maximum corner of the box
+     * @return list of entities, in the order they were added
+     */
+    public List<Entity> getEntitiesInBox(Vector3 min, Vector3 max)
+    {
+        final List<Entry> hits = new ArrayList<Entry>();
+        for(Cell cell : getCells(min.x, min.y, max.x, max.y))
+        {
+            for(int i = 0; i < cell.size; ++i)
+            {
+                final Entry entry = cell.entries[i];
+                if(inBox(entry, min, max))
+                {
+                    hits.add(entry);
+                }
+            }
+        }
+        for(Entry entry : unboundedEntries)
+        {
+            if(inBox(entry, min, max))
+            {
+                hits.add(entry);
+            }
+        }
+        return toEntities(hits);
+    }
+    
+    /**
+     * Find the k entities closest to a point. The search expands outward one
+     * ring of cells at a time and stops as soon as no unvisited cell can
+     * contain anything closer than the current k-th candidate.
+     * 
+     * @param point the point to search from
+     * @param k the maximum number of entities to return
+     * @return up to k entities, nearest first
+     */
+    public List<Entity> getNearestEntities(final Vector3 point, int k)
+    {
+        final List<Entity> result = new ArrayList<Entity>();
+        if(k <= 0 || entries.isEmpty())
+        {
+            return result;
+        }
+        
+        final Map<Entity, Double> distances = new HashMap<Entity, Double>();
+        final List<Entity> candidates = new ArrayList<Entity>();
+        final Comparator<Entity> byDistance = new Comparator<Entity>()
+        {
+            public int compare(Entity a, Entity b)
+            {
+                final int c = Double.compare(distances.get(a), distances.get(b));
+                return c != 0 ? c : ORDER.compare(entries.get(a), entries.get(b));
+            }
+        };
+        
+        for(Entry entry : unboundedEntries)
+        {
+            final Entity e = entry.entity;
+            distances.put(e, point.distanceSquared(e.getPosition()));
+            candidates.add(e);
+        }
+        
+        final int cx = cellIndex(point.x);
+        final int cy = cellIndex(point.y);
+        int visited = 0;
+        for(int ring = 0; visited < cells.size(); ++ring)
+        {
+            // Nothing outside this ring can be closer than this
+            final double ringDistance = (ring - 1) * cellSize;
+            if(candidates.size() >= k && ring > 0)
+            {
+                Collections.sort(candidates, byDistance);
+                final double kth = distances.get(candidates.get(k - 1));
+                if(kth <= ringDistance * ringDistance)
+                {
+                    break;
+                }
+            }
+
+            if(ring > 0 && 8L * ring > cells.size())
+            {
+                // The grid is sparse around this point. Just check everything.
+                candidates.clear();
+                for(Entry entry : entries.values())
+                {
+                    final Entity e = entry.entity;
+                    distances.put(e, point.distanceSquared(e.getPosition()));
+                    candidates.add(e);
+                }
+                break;
+            }
+
+            for(int i = cx - ring; i <= cx + ring; ++i)
+            {
+                for(int j = cy - ring; j <= cy + ring; ++j)
+                {
+                    if(Math.abs(i - cx) != ring && Math.abs(j - cy) != ring)
+                    {
+                        continue; // interior, already visited
+                    }
+                    final Cell cell = cells.get(key(i, j));
+                    if(cell == null)
+                    {
+                        continue;
+                    }
+                    ++visited;
+                    for(int n = 0; n < cell.size; ++n)
+                    {
+                        final Entity e = cell.entries[n].entity;
+                        distances.put(e, point.distanceSquared(e.getPosition()));
+                        candidates.add(e);
+                    }
+                }
+            }
+        }
+        
+        Collections.sort(candidates, byDistance);
+        result.addAll(candidates.subList(0, Math.min(k, candidates.size())));
+        return result;
+    }
+    
+    private List<Cell> getCells(double minX, double minY, double maxX, double maxY)
+    {
+        final int minI = cellIndex(minX);
+        final int minJ = cellIndex(minY);
+        final int maxI = cellIndex(maxX);
+        final int maxJ = cellIndex(maxY);
+        final double span = ((double) maxI - minI + 1) * ((double) maxJ - minJ + 1);
+        if(span > cells.size())
+        {
+            // Cheaper to check every occupied cell than every cell in range
+            final List<Cell> r = new ArrayList<Cell>(cells.size());
+            for(Cell cell : cells.values())
+            {
+                final int i = (int) (cell.key >> 32);
+                final int j = (int) cell.key;
+                if(i >= minI && i <= maxI && j >= minJ && j <= maxJ)
+                {
+                    r.add(cell);
+                }
+            }
+            return r;
+        }
+        
+        final List<Cell> r = new ArrayList<Cell>();
+        for(int i = minI; i <= maxI; ++i)
+        {
+            for(int j = minJ; j <= maxJ; ++j)
+            {
+                final Cell cell = cells.get(key(i, j));
+                if(cell != null)
+                {
+                    r.add(cell);
+                }
+            }
+        }
+        return r;
+    }
+    
+    private static List<Entity> toEntities(List<Entry> hits)
+    {
+        Collections.sort(hits, ORDER);
+        final List<Entity> r = new ArrayList<Entity>(hits.size());
+        for(Entry e : hits)
+        {
+            r.add(e.entity);
+        }
+        return r;
+    }
+    
+    private static boolean inRadius(Entry entry, double x, double y, double radiusSquared)
+    {
+        final Vector3 p = entry.entity.getPosition();
+        final double dx = p.x - x;
+        final double dy = p.y - y;
+        return dx * dx + dy * dy < radiusSquared;
+    }
+    
+    private static boolean inBox(Entry entry, Vector3 min, Vector3 max)
+    {
+        final Vector3 p = entry.entity.getPosition();
+        return p.x >= min.x && p.x <= max.x &&
+               p.y >= min.y && p.y <= max.y &&
+               p.z >= min.z && p.z <= max.z;
+    }
+    
+    private static boolean isNaN(Vector3 p)
+    {
+        return Double.isNaN(p.x) || Double.isNaN(p.y);
+    }
+    
+    /**
+     * Put an entry in the cell for its current position, or in the unbounded
+     * list if it's unbounded or its position is NaN.
+     */
+    private void place(Entry entry)
+    {
+        final Vector3 p = entry.entity.getPosition();
+        if(entry.unbounded || isNaN(p))
+        {
+            unboundedEntries.add(entry);
+        }
+        else
+        {
+            getOrCreateCell(keyOf(p)).add(entry);
+        }
+    }
+    
+    private void unplace(Entry entry)
+    {
+        if(entry.cell != null)
+        {
+            removeFromCell(entry);
+        }
+        else
+        {
+            unboundedEntries.remove(entry);
+        }
+    }
+    
+    private Cell getOrCreateCell(long key)
+    {
+        Cell cell = cells.get(key);
+        if(cell == null)
+        {
+            cell = new Cell(key);
+            cells.put(key, cell);
+        }
+        return cell;
+    }
+    
+    private void removeFromCell(Entry entry)
+    {
+        final Cell cell = entry.cell;
+        cell.remove(entry);
+        if(cell.size == 0)
+        {
+            cells.remove(cell.key);
+        }
+    }
+    
+    private int cellIndex(double v)
+    {
+        final double i = Math.floor(v / cellSize);
+        if(Double.isNaN(i))
+        {
+            return 0;
+        }
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, i));
+    }
+    
+    private long keyOf(Vector3 p)
+    {
+        return key(cellIndex(p.x), cellIndex(p.y));
+    }
+    
+    private static long key(int i, int j)
+    {
+        return ((long) i << 32) | (j & 0xffffffffL);
+    }
+}
@@ -108,4 +108,14 @@ public interface Terrain
      */
     Vector3 clampPointToGround(Vector3 point, double agl);
     
+    /**
+     * Test whether the straight segment between two points clears the 
+     * terrain. This may be called concurrently from sensor threads.
+     * 
+     * @param a The first point
+     * @param b The second point
+     * @return True if no terrain rises above the segment
+     */
+    boolean hasLineOfSight(Vector3 a, Vector3 b);
+    
 }
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.soartech.math.Vector3;
+
+/**
+ * An immutable copy of the state of every entity in the simulation at the
+ * end of a tick. Snapshots are published by {@link Simulation#getSnapshot()}
+ * and may be read from any thread without holding the sim lock. 
+ * 
+ * <p>Only the entity's name, position, velocity, heading and a selected set
+ * of properties are copied. The {@link Entity} itself is also available from
+ * each {@link EntityState}, but anything read from it directly is live state
+ * and not part of the snapshot.
+ * 
+ * @author ray
+ */
+public final class WorldSnapshot
+{
+    /**
+     * The snapshot of an empty simulation at time zero
+     */
+    public static final WorldSnapshot EMPTY = new WorldSnapshot(0.0, Collections.<EntityState>emptyList());
+    
+    /**
+     * The state of a single entity at the time of the snapshot
+     */
+    public static final class EntityState
+    {
+        private final Entity entity;
+        private final String name;
+        private final boolean hasPosition;
+        private final Vector3 position;
+        private final Vector3 velocity;
+        private final double heading;
+        private final Map<String, Object> properties;
+        
+        private EntityState(Entity entity, List<String> propertyNames)
+        {
+            this.entity = entity;
+            this.name = entity.getName();
+            this.hasPosition = entity.hasPosition();
+            this.position = entity.getPosition();
+            this.velocity = entity.getVelocity();
+            this.heading = entity.getHeading();
+            
+            final Map<String, Object> props = new HashMap<String, Object>();
+            for(String p : propertyNames)
+            {
+                final Object value = entity.getProperty(p);
+                if(value != null)
+                {
+                    props.put(p, value);
+                }
+            }
+            this.properties = Collections.unmodifiableMap(props);
+        }
+        
+        /**
+         * @param e the entity this state was captured from
+         * @return true if the entity is still where this state says it is,
+         *      moving the same way
+         */
+        private boolean isCurrent(Entity e)
+        {
+            return hasPosition == e.hasPosition() && heading == e.getHeading() &&
+                   equal(position, e.getPosition()) && equal(velocity, e.getVelocity());
+        }
+        
+        private static boolean equal(Vector3 a, Vector3 b)
+        {
+            return a == b || (a != null && a.equals(b));
+        }
+
+        /**
+         * @return the entity. Calling methods on the entity reads live 
+         *      state, not the snapshot.
+         */
+        public Entity getEntity()
+        {
+            return entity;
+        }
+        
+        /**
+         * @return the name of the entity
+         */
+        public String getName()
+        {
+            return name;
+        }
+        
+        /**
+         * @return true if the entity had a position when the snapshot was taken
+         */
+        public boolean hasPosition()
+        {
+            return hasPosition;
+        }
+
+        /**
+         * @return the position of the entity
+         */
+        public Vector3 getPosition()
+        {
+            return position;
+        }
+
+        /**
+         * @return the velocity of the entity
+         */
+        public Vector3 getVelocity()
+        {
+            return velocity;
+        }
+
+        /**
+         * @return the heading of the entity in radians
+         */
+        public double getHeading()
+        {
+            return heading;
+        }
+        
+        /**
+         * @param name the property name
+         * @return the value of the property, or null if it was not set or 
+         *      is not one of the properties captured in snapshots.
+         */
+        public Object getProperty(String name)
+        {
+            return properties.get(name);
+        }
+        
+        /**
+         * @return unmodifiable map of captured property values
+         */
+        public Map<String, Object> getProperties()
+        {
+            return properties;
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString()
+        {
+            return name + "@" + position;
+        }
+    }
+    
+    private final double time;
+    private final List<EntityState> entities;
+    private final Map<Entity, EntityState> byEntity;
+    private final Map<String, EntityState> byName;
+    
+    /**
+     * Capture the current state of the given entities. Must be called with
+     * the sim lock held. An entity's state is copied from the previous 
+     * snapshot, rather than captured again, if it hasn't moved or turned and
+     * isn't in the changed set. Entities are removed from the changed set 
+     * as they're captured.
+     * 
+     * @param time the current simulation time
+     * @param entities the entities to capture, in simulation order
+     * @param propertyNames names of properties to copy into the snapshot
+     * @param previous the previous snapshot
+     * @param changed entities whose properties have changed since the 
+     *      previous snapshot
+     * @return new snapshot
+     */
+    static WorldSnapshot capture(double time, List<Entity> entities, List<String> propertyNames,
+                                 WorldSnapshot previous, Set<Entity> changed)
+    {
+        final List<EntityState> states = new ArrayList<EntityState>(entities.size());
+        for(Entity e : entities)
+        {
+            final EntityState old = previous.byEntity.get(e);
+            if(!changed.remove(e) && old != null && old.isCurrent(e))
+            {
+                states.add(old);
+            }
+            else
+            {
+                states.add(new EntityState(e, propertyNames));
+            }
+        }
+        return new WorldSnapshot(time, states);
+    }
+    
+    private WorldSnapshot(double time, List<EntityState> states)
+    {
+        this.time = time;
+        this.entities = Collections.unmodifiableList(states);
+        this.byEntity = new IdentityHashMap<Entity, EntityState>(states.size());
+        this.byName = new HashMap<String, EntityState>(states.size());
+        for(EntityState s : states)
+        {
+            byEntity.put(s.entity, s);
+            byName.put(s.name, s);
+        }
+    }
+    
+    /**
+     * @return the simulation time when the snapshot was taken
+     */
+    public double getTime()
+    {
+        return time;
+    }
+    
+    /**
+     * @return unmodifiable list of entity states, in the same order as 
+     *      {@link Simulation#getEntities()}
+     */
+    public List<EntityState> getEntities()
+    {
+        return entities;
+    }
+    
+    /**
+     * @param entity the entity
+     * @return the state of the entity, or null if it was not in the 
+     *      simulation when the snapshot was taken
+     */
+    public EntityState getEntity(Entity entity)
+    {
+        return byEntity.get(entity);
+    }
+    
+    /**
+     * @param name the entity name
+     * @return the state of the named entity, or null if not found
+     */
+    public EntityState getEntity(String name)
+    {
+        return byName.get(name);
+    }
+}
@@ -31,14 +31,19 @@
  */
 package com.soartech.simjr.sim.entities;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
@@ -48,6 +53,7 @@ import com.soartech.math.Angles;
 import com.soartech.math.Vector3;
 import com.soartech.simjr.adaptables.AbstractAdaptable;
 import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.sim.AbstractPrimitiveMotionIntegrator;
 import com.soartech.simjr.sim.DefaultEntityMotionIntegrator;
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityAccelerationProvider;
@@ -60,10 +66,17 @@ import com.soartech.simjr.sim.EntityPropertyAdapters;
 import com.soartech.simjr.sim.EntityPropertyListener;
 import com.soartech.simjr.sim.EntityPrototype;
 import com.soartech.simjr.sim.EntityTools;
+import com.soartech.simjr.sim.KinematicStore;
 import com.soartech.simjr.sim.LazyEntityPropertyValue;
 import com.soartech.simjr.sim.LazyGeodeticProperty;
 import com.soartech.simjr.sim.LazyMgrsProperty;
+import com.soartech.simjr.sim.MotionIntegrators;
+import com.soartech.simjr.sim.ParallelTickSafe;
+import com.soartech.simjr.sim.PropertyKey;
+import com.soartech.simjr.sim.PropertyStore;
+import com.soartech.simjr.sim.RateGroupScheduler;
 import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.SimulationProfiler;
 import com.soartech.simjr.sim.Tickable;
 
 /**
@@ -73,22 +86,66 @@ import com.soartech.simjr.sim.Tickable;
  *
  * @author ray
  */
-public abstract class AbstractEntity extends AbstractAdaptable implements Entity
+public abstract class AbstractEntity extends AbstractAdaptable implements Entity, ParallelTickSafe
 {
     private static final Logger logger = LoggerFactory.getLogger(AbstractEntity.class);
+    
+    /**
+     * Cache of whether a sub-class overrides any of the tick methods, see 
+     * {@link #isParallelTickSafe()}.
+     */
+    private static final ConcurrentMap<Class<?>, Boolean> overridesTick = new ConcurrentHashMap<Class<?>, Boolean>();
+    
+    private static final PropertyKey MAX_ALTITUDE = PropertyKey.of(EntityConstants.PROPERTY_MAX_ALTITUDE);
+    private static final PropertyKey MAX_SPEED = PropertyKey.of(EntityConstants.PROPERTY_MAXSPEED);
+    private static final PropertyKey CONTAINER = PropertyKey.of(EntityConstants.PROPERTY_CONTAINER);
 
     private final AtomicReference<Simulation> sim = new AtomicReference<Simulation>();
     private final String name;
     private final EntityPrototype prototype;
+    private volatile int id = -1;
     private Vector3 position = Vector3.ZERO;
     private Vector3 velocity = Vector3.ZERO;
     
     private double heading = Angles.navRadiansToMathRadians(0);
     private double pitch = 0.;
     private double roll = 0;
+    
+    /**
+     * Store holding position, velocity and orientation while the entity is 
+     * in a simulation that uses one, or null if the fields above are used.
+     */
+    private volatile KinematicStore kinematics;
+    private int kinematicSlot = -1;
 
     private final List<EntityCapability> capabilities = new CopyOnWriteArrayList<EntityCapability>();
     private final List<Tickable> tickableCaps = new CopyOnWriteArrayList<Tickable>();
+    
+    /**
+     * Schedule of tickable capabilities with a tick period, created when the
+     * first one is seen. Only used from processTick.
+     */
+    private RateGroupScheduler rateGroups;
+    
+    /**
+     * Results of {@link #getAdapter(Class)} and {@link #getCapabilityAdapters(Class)}
+     * by class. Replaced with an empty cache whenever capabilities are added
+     * or removed, after the capability list has been updated, so a lookup 
+     * racing with the change can only fill in a cache that's already been 
+     * dropped.
+     */
+    private volatile AdapterCache adapterCache = new AdapterCache();
+    
+    private static class AdapterCache
+    {
+        final ConcurrentMap<Class<?>, Object> adapters = new ConcurrentHashMap<Class<?>, Object>();
+        final ConcurrentMap<Class<?>, List<?>> capabilityAdapters = new ConcurrentHashMap<Class<?>, List<?>>();
+    }
+    
+    /**
+     * Marks a cached lookup that found no adapter
+     */
+    private static final Object NO_ADAPTER = new Object();
 
     private final Stack<EntityPositionProvider> positionProviderStack = new Stack<EntityPositionProvider>();
     private EntityPositionProvider positionProvider;
@@ -103,13 +160,20 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
     /**
      * The base properties of the entity, i.e. those that are not calculated.
      */
-    private final Map<String, Object> baseProperties = new ConcurrentHashMap<String, Object>();
+    private final PropertyStore baseProperties = new PropertyStore();
 
     /**
-     * The final properties of the entity including calculated properties.
-     * Set to null if when properties need to be recalculated.
+     * The calculated properties of the entity, filled in by 
+     * {@link #updateProperties(Map)}. These take precedence over base 
+     * properties. Set to null when properties need to be recalculated.
+     */
+    private volatile PropertyStore calculatedProperties;
+    
+    /**
+     * Read-only view of base and calculated properties returned by 
+     * {@link #getProperties()}
      */
-    private final AtomicReference<Map<String, Object>> finalProperties = new AtomicReference<Map<String,Object>>();
+    private final Map<String, Object> propertiesView = new PropertiesView();
 
     private final Map<String, EntityPropertyAdapter> propertyAdapters = new ConcurrentHashMap<String, EntityPropertyAdapter>();
 
@@ -134,12 +198,33 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
         baseProperties.put(EntityConstants.PROPERTY_MGRS, new LazyMgrsProperty(this));
 
         baseProperties.remove("capabilities"); // caps is a special property of the prototype
+        
+        initializeMotionIntegrator();
 
         setProperty(EntityConstants.PROPERTY_CLASS, getClass().getCanonicalName());
         setProperty(EntityConstants.PROPERTY_NAME, name);
         setProperty(EntityConstants.PROPERTY_PROTOTYPE, this.prototype);
     }
 
+    private void initializeMotionIntegrator()
+    {
+        final Object integratorName = baseProperties.get(EntityConstants.PROPERTY_MOTION_INTEGRATOR);
+        if(integratorName == null)
+        {
+            return;
+        }
+        final Object toleranceValue = baseProperties.get(EntityConstants.PROPERTY_MOTION_INTEGRATOR_TOLERANCE);
+        final Double tolerance = toleranceValue != null ? Double.valueOf(toleranceValue.toString()) : null;
+        try
+        {
+            motionIntegrator = MotionIntegrators.forName(integratorName.toString(), tolerance);
+        }
+        catch (IllegalArgumentException e)
+        {
+            logger.error("Entity '" + name + "': " + e.getMessage() + ". Using default integrator.");
+        }
+    }
+
     /**
      * Method overloaded by sub-classes to add properties to the entity's
      * property set. This approach is taken rather than overriding
@@ -151,11 +236,11 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
     protected void updateProperties(Map<String, Object> properties)
     {
         properties.put(EntityConstants.PROPERTY_POSITION, getPosition());
-        properties.put(EntityConstants.PROPERTY_VELOCITY, velocity);
-        properties.put(EntityConstants.PROPERTY_ORIENTATION, heading);
-        properties.put(EntityConstants.PROPERTY_YAW, heading);
-        properties.put(EntityConstants.PROPERTY_PITCH, pitch);
-        properties.put(EntityConstants.PROPERTY_ROLL, roll);
+        properties.put(EntityConstants.PROPERTY_VELOCITY, getVelocity());
+        properties.put(EntityConstants.PROPERTY_ORIENTATION, getHeading());
+        properties.put(EntityConstants.PROPERTY_YAW, getHeading());
+        properties.put(EntityConstants.PROPERTY_PITCH, getPitch());
+        properties.put(EntityConstants.PROPERTY_ROLL, getRoll());
     }
 
     public void firePropertyChanged(String name)
@@ -190,7 +275,12 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
      */
     public Vector3 getPosition()
     {
-        return positionProvider != null ? positionProvider.getPosition() : position;
+        if(positionProvider != null)
+        {
+            return positionProvider.getPosition();
+        }
+        final KinematicStore k = kinematics;
+        return k != null ? k.getPosition(kinematicSlot) : position;
     }
     
     /* (non-Javadoc)
@@ -206,7 +296,8 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
      */
     public Vector3 getVelocity()
     {
-        return velocity;
+        final KinematicStore k = kinematics;
+        return k != null ? k.getVelocity(kinematicSlot) : velocity;
     }
 
     @Override
@@ -220,26 +311,7 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
      */
     final public Map<String, Object> getProperties()
     {
-        // Since updateProperties() often relies on the sim, we only return
-        // the base properties until the entity is added to the sim.
-        if(sim.get() == null)
-        {
-            return baseProperties;
-        }
-
-        final Map<String, Object> temp = finalProperties.get();
-        if(temp != null)
-        {
-            return new HashMap<String, Object>(temp);
-        }
-
-        // Recalculate properties
-        final Map<String, Object> newFinalProps = new ConcurrentHashMap<String, Object>(baseProperties);
-        finalProperties.set(newFinalProps);
-
-        updateProperties(newFinalProps);
-
-        return new HashMap<String, Object>(newFinalProps);
+        return propertiesView;
     }
 
     /* (non-Javadoc)
@@ -247,20 +319,67 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
      */
     final public Object getProperty(String name)
     {
-        final Object value = getProperties().get(name);
+        final PropertyKey key = PropertyKey.find(name);
+        return key != null ? getProperty(key) : null;
+    }
+    
+    /**
+     * Faster version of {@link #getProperty(String)} for callers that keep
+     * the key around.
+     * 
+     * @param key the property key
+     * @return the value of the property, or null if not set
+     */
+    final public Object getProperty(PropertyKey key)
+    {
+        final Object value = getRawProperty(key);
         if(value instanceof LazyEntityPropertyValue)
         {
             return ((LazyEntityPropertyValue) value).getValue();
         }
         return value;
     }
+    
+    /**
+     * Look up a property value without evaluating lazy values. Calculated
+     * properties take precedence over base properties. 
+     */
+    private Object getRawProperty(PropertyKey key)
+    {
+        // Since updateProperties() often relies on the sim, we only return
+        // the base properties until the entity is added to the sim.
+        if(sim.get() != null)
+        {
+            final Object value = getCalculatedProperties().get(key);
+            if(value != null)
+            {
+                return value;
+            }
+        }
+        return baseProperties.get(key);
+    }
+    
+    private PropertyStore getCalculatedProperties()
+    {
+        PropertyStore calculated = calculatedProperties;
+        if(calculated == null)
+        {
+            // Publish before filling in so that properties computed in 
+            // updateProperties() can look at the other properties without
+            // recursing.
+            calculated = new PropertyStore(baseProperties.capacity());
+            calculatedProperties = calculated;
+            updateProperties(calculated.asMap());
+        }
+        return calculated;
+    }
 
     /* (non-Javadoc)
      * @see com.soartech.simjr.Entity#updateProperties()
      */
     public final void updateProperties()
     {
-        finalProperties.set(null);
+        calculatedProperties = null;
     }
 
     private EntityPropertyAdapter getPropertyAdapter(String name)
@@ -275,7 +394,6 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
      */
     public void setProperty(String name, Object value)
     {
-        final Map<String, Object> tempFinalProps = finalProperties.get();
         if(value != null)
         {
             final EntityPropertyAdapter adapter = getPropertyAdapter(name);
@@ -284,20 +402,15 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
                 adapter.setValue(this, value);
                 return;
             }
-
-            baseProperties.put(name, value);
-            if(tempFinalProps != null)
-            {
-                tempFinalProps.put(name, value);
-            }
         }
-        else
+        
+        // The new base value is visible until calculated properties are
+        // next recalculated.
+        baseProperties.put(name, value);
+        final PropertyStore calculated = calculatedProperties;
+        if(calculated != null)
         {
-            baseProperties.remove(name);
-            if(tempFinalProps != null)
-            {
-                tempFinalProps.remove(name);
-            }
+            calculated.remove(name);
         }
 
         firePropertyChanged(name);
@@ -352,6 +465,7 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
         {
             if (sim == null)
             {
+                attachKinematics(null);
                 this.sim.set(sim);
                 return;
             }
@@ -360,17 +474,88 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
                 throw new IllegalStateException("sim is already set");
             }
         }
+        attachKinematics(sim != null ? sim.getKinematicStore() : null);
 
         // Once the sim is set, reset the position in case enforce-agl is on.
         setPosition(this.getPosition());
     }
 
+    /**
+     * Move this entity's kinematic state into a store, or back into its own 
+     * fields if the store is null.
+     * 
+     * @param store the new store, or null
+     */
+    private void attachKinematics(KinematicStore store)
+    {
+        final KinematicStore old = kinematics;
+        if(old == store)
+        {
+            return;
+        }
+        if(old != null)
+        {
+            position = old.getPosition(kinematicSlot);
+            velocity = old.getVelocity(kinematicSlot);
+            heading = old.getHeading(kinematicSlot);
+            pitch = old.getPitch(kinematicSlot);
+            roll = old.getRoll(kinematicSlot);
+            kinematics = null;
+            old.release(kinematicSlot);
+            kinematicSlot = -1;
+        }
+        if(store != null)
+        {
+            kinematicSlot = store.allocate(this, position, velocity, heading, pitch, roll);
+            kinematics = store;
+        }
+    }
+    
+    /**
+     * @return this entity's slot in its simulation's {@link KinematicStore},
+     *      or -1 if its state isn't kept in a store
+     */
+    public int getKinematicSlot()
+    {
+        return kinematics != null ? kinematicSlot : -1;
+    }
+    
+    private void storePosition(Vector3 position)
+    {
+        final KinematicStore k = kinematics;
+        if(k != null)
+        {
+            k.setPosition(kinematicSlot, position);
+        }
+        else
+        {
+            this.position = position;
+        }
+    }
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.Entity#getId()
+     */
+    public int getId()
+    {
+        return id;
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.Entity#setId(int)
+     */
+    public void setId(int id)
+    {
+        this.id = id;
+    }
+
     /* (non-Javadoc)
      * @see com.soartech.simjr.Entity#getOrientation()
      */
     public double getHeading()
     {
-        return heading;
+        final KinematicStore k = kinematics;
+        return k != null ? k.getHeading(kinematicSlot) : heading;
     }
 
     /* (non-Javadoc)
@@ -381,7 +566,16 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
         if(canUpdatePosition())
         {
             double rotations = radians/(2.*Math.PI);
-            this.heading = (rotations - Math.floor(rotations))*2.*Math.PI;
+            final double heading = (rotations - Math.floor(rotations))*2.*Math.PI;
+            final KinematicStore k = kinematics;
+            if(k != null)
+            {
+                k.setHeading(kinematicSlot, heading);
+            }
+            else
+            {
+                this.heading = heading;
+            }
         }
     }
 
@@ -400,7 +594,8 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
      * @see com.soartech.simjr.sim.Entity#getPitch()
      */
     public double getPitch() {
-        return pitch;
+        final KinematicStore k = kinematics;
+        return k != null ? k.getPitch(kinematicSlot) : pitch;
     }
 
     /*
@@ -411,10 +606,19 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
         if(canUpdatePosition())
         {
             double rotations = radians/(2.*Math.PI);
-            this.pitch = (rotations - Math.floor(rotations))*2.*Math.PI;
-            if ( this.pitch > Math.PI ) 
+            double pitch = (rotations - Math.floor(rotations))*2.*Math.PI;
+            if ( pitch > Math.PI ) 
+            {
+                pitch -= 2.*Math.PI;
+            }
+            final KinematicStore k = kinematics;
+            if(k != null)
+            {
+                k.setPitch(kinematicSlot, pitch);
+            }
+            else
             {
-                this.pitch -= 2.*Math.PI;
+                this.pitch = pitch;
             }
         }
     }
@@ -424,7 +628,8 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
      * @see com.soartech.simjr.sim.Entity#getRoll()
      */
     public double getRoll() {
-        return roll;
+        final KinematicStore k = kinematics;
+        return k != null ? k.getRoll(kinematicSlot) : roll;
     }
 
     /*
@@ -435,10 +640,19 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
         if(canUpdatePosition())
         {
             double rotations = radians/(2.*Math.PI);
-            this.roll = (rotations - Math.floor(rotations))*2.*Math.PI;
-            if ( this.roll > Math.PI ) 
+            double roll = (rotations - Math.floor(rotations))*2.*Math.PI;
+            if ( roll > Math.PI ) 
             {
-                this.roll -= 2.*Math.PI;
+                roll -= 2.*Math.PI;
+            }
+            final KinematicStore k = kinematics;
+            if(k != null)
+            {
+                k.setRoll(kinematicSlot, roll);
+            }
+            else
+            {
+                this.roll = roll;
             }
         }
     }
@@ -448,9 +662,10 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
      */
     public void setPosition(Vector3 position)
     {
-        if(getProperty(EntityConstants.PROPERTY_MAX_ALTITUDE) != null)
+        final Object maxAltitudeValue = getProperty(MAX_ALTITUDE);
+        if(maxAltitudeValue != null)
         {
-            double maxAltitude = (Double) getProperty(EntityConstants.PROPERTY_MAX_ALTITUDE);
+            double maxAltitude = (Double) maxAltitudeValue;
             if(!Double.isNaN(maxAltitude) && position.z > maxAltitude)
             {
                 position = new Vector3(position.x, position.y, maxAltitude);
@@ -459,11 +674,17 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
         Double forceAgl = EntityTools.getEnforcedAboveGroundLevel(this);
         if(forceAgl == null)
         {
-            this.position = position;
+            storePosition(position);
         }
         else
         {
-            this.position = sim.get().getTerrain().clampPointToGround(position, forceAgl);
+            storePosition(sim.get().getTerrain().clampPointToGround(position, forceAgl));
+        }
+        
+        final Simulation s = sim.get();
+        if(s != null)
+        {
+            s.entityMoved(this);
         }
     }
 
@@ -472,9 +693,10 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
      */
     public void setVelocity(Vector3 velocity)
     {
-        if(getProperty(EntityConstants.PROPERTY_MAXSPEED) != null)
+        final Object maxSpeedValue = getProperty(MAX_SPEED);
+        if(maxSpeedValue != null)
         {
-            double maxSpeed = (Double) getProperty(EntityConstants.PROPERTY_MAXSPEED);
+            double maxSpeed = (Double) maxSpeedValue;
             if(!Double.isNaN(maxSpeed))
             {
                 Vector3 v = new Vector3(velocity.x, velocity.y, 0);
@@ -486,7 +708,15 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
             }
             
         }
-        this.velocity = velocity;
+        final KinematicStore k = kinematics;
+        if(k != null)
+        {
+            k.setVelocity(kinematicSlot, velocity);
+        }
+        else
+        {
+            this.velocity = velocity;
+        }
     }
 
     /* (non-Javadoc)
@@ -497,7 +727,7 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
         processTick(dt);
 
         // Force recalculation of properties
-        finalProperties.set(null);
+        calculatedProperties = null;
     }
 
     /**
@@ -509,16 +739,54 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
      */
     protected void processTick(double dt)
     {
+        final Simulation s = sim.get();
+        final SimulationProfiler profiler = s != null ? s.getProfiler() : null;
+        int phaseKey = getId() * 31;
         for(Tickable tickable : tickableCaps)
         {
-            tickable.tick(dt);
+            // Capabilities with a tick period are only ticked when due, with
+            // the time since their last tick
+            final int key = phaseKey++;
+            double tickDt = dt;
+            final double period = RateGroupScheduler.getPeriod(tickable);
+            if(period > 0.0 || rateGroups != null)
+            {
+                if(rateGroups == null)
+                {
+                    rateGroups = new RateGroupScheduler();
+                }
+                tickDt = rateGroups.advance(tickable, key, period, dt);
+                if(tickDt == 0.0)
+                {
+                    continue;
+                }
+            }
+            
+            if(profiler == null)
+            {
+                tickable.tick(tickDt);
+            }
+            else
+            {
+                final long start = System.nanoTime();
+                tickable.tick(tickDt);
+                profiler.recordTickable(tickable, System.nanoTime() - start);
+            }
+        }
+        if(rateGroups != null)
+        {
+            rateGroups.sweep();
         }
 
-        Entity container = (Entity) baseProperties.get(EntityConstants.PROPERTY_CONTAINER);
+        Entity container = (Entity) baseProperties.get(CONTAINER);
         if(container != null)
         {
             // Set position directly, ignoring enforced AGL while in container
-            position = container.getPosition();
+            storePosition(container.getPosition());
+            if(s != null)
+            {
+                s.entityMoved(this);
+            }
         }
         else if(canUpdatePosition())
         {
@@ -526,6 +794,85 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
         }
     }
 
+    /**
+     * Returns true if this entity can be ticked on a worker thread. The default
+     * implementation requires that every tickable capability, the 
+     * acceleration model and any non-default motion integrator implement 
+     * {@link ParallelTickSafe} and return true,
+     * that the entity is not in a container or positioned by a position
+     * provider, and that the class does not override {@link #processTick(double)}
+     * or {@link #updatePosition(double)}. Overrides of {@link #canUpdatePosition()}
+     * are assumed to only inspect this entity.
+     * 
+     * <p>Sub-classes that override the tick methods may override this method
+     * if their additions satisfy the {@link ParallelTickSafe} contract.
+     * 
+     * @see com.soartech.simjr.sim.ParallelTickSafe#isParallelTickSafe()
+     */
+    @Override
+    public boolean isParallelTickSafe()
+    {
+        if(overridesTick(getClass()))
+        {
+            return false;
+        }
+        if(positionProvider != null || baseProperties.get(CONTAINER) != null)
+        {
+            return false;
+        }
+        if(accelerationProvider != EntityAccelerationProvider.NO_ACCELERATION_MODEL && 
+           !isParallelTickSafe(accelerationProvider))
+        {
+            return false;
+        }
+        if(motionIntegrator != DefaultEntityMotionIntegrator.getInstance() && !isParallelTickSafe(motionIntegrator))
+        {
+            return false;
+        }
+        for(Tickable tickable : tickableCaps)
+        {
+            if(!isParallelTickSafe(tickable))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isParallelTickSafe(Object o)
+    {
+        return o instanceof ParallelTickSafe && ((ParallelTickSafe) o).isParallelTickSafe();
+    }
+    
+    private static boolean overridesTick(Class<?> klass)
+    {
+        Boolean result = overridesTick.get(klass);
+        if(result == null)
+        {
+            result = false;
+            for(Class<?> c = klass; c != AbstractEntity.class && !result; c = c.getSuperclass())
+            {
+                result = declaresMethod(c, "processTick", double.class) ||
+                         declaresMethod(c, "updatePosition", double.class);
+            }
+            overridesTick.put(klass, result);
+        }
+        return result;
+    }
+    
+    private static boolean declaresMethod(Class<?> c, String name, Class<?>... parameterTypes)
+    {
+        try
+        {
+            c.getDeclaredMethod(name, parameterTypes);
+            return true;
+        }
+        catch (NoSuchMethodException e)
+        {
+            return false;
+        }
+    }
+
     /**
      * Returns true if the entity can currently move. This is called by tick() to
      * decide whether {@link #updatePosition(double)} is called. The default
@@ -539,7 +886,7 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
     protected boolean canUpdatePosition()
     {
         // Only update position if we're not destroyed
-        return DamageStatus.destroyed != EntityTools.getDamage(baseProperties);
+        return DamageStatus.destroyed != EntityTools.getDamage(baseProperties.asMap());
     }
 
     /**
@@ -556,8 +903,79 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
      */
     protected void updatePosition(double dt)
     {
+        final KinematicStore k = kinematics;
+        if(k != null && canAdvanceInBulk())
+        {
+            if(Thread.currentThread() instanceof ForkJoinWorkerThread)
+            {
+                // Ticked in a parallel batch, which the simulation moves in
+                // one pass before anything else is ticked
+                k.scheduleAdvance(kinematicSlot);
+            }
+            else
+            {
+                k.advance(kinematicSlot, dt);
+                final Simulation s = sim.get();
+                if(s != null)
+                {
+                    s.entityMoved(this);
+                }
+            }
+            return;
+        }
         motionIntegrator.updateEntity(this, accelerationProvider, dt);
     }
+    
+    /**
+     * Returns true if constant-velocity motion can be left to the 
+     * {@link KinematicStore}. This requires that there's no acceleration 
+     * model, that the integrator is a standard one, that 
+     * {@link #setPosition(Vector3)} would not clamp the result, and that no
+     * sub-class tick code runs after {@link #updatePosition(double)}.
+     */
+    private boolean canAdvanceInBulk()
+    {
+        if(accelerationProvider != EntityAccelerationProvider.NO_ACCELERATION_MODEL || overridesTick(getClass()))
+        {
+            return false;
+        }
+        if(motionIntegrator != DefaultEntityMotionIntegrator.getInstance() && 
+           !(motionIntegrator instanceof AbstractPrimitiveMotionIntegrator))
+        {
+            return false;
+        }
+        final Object maxAltitude = getProperty(MAX_ALTITUDE);
+        if(maxAltitude != null && !Double.isNaN((Double) maxAltitude))
+        {
+            return false;
+        }
+        return EntityTools.getEnforcedAboveGroundLevel(this) == null;
+    }
+    
+    /**
+     * @return the integrator used to update this entity's position and 
+     *      velocity
+     */
+    public EntityMotionIntegrator getMotionIntegrator()
+    {
+        return motionIntegrator;
+    }
+    
+    /**
+     * Set the integrator used to update this entity's position and velocity.
+     * The default is set from the prototype's {@link EntityConstants#PROPERTY_MOTION_INTEGRATOR}
+     * property, or {@link DefaultEntityMotionIntegrator} if not set.
+     * 
+     * @param motionIntegrator the new integrator, not null
+     */
+    public void setMotionIntegrator(EntityMotionIntegrator motionIntegrator)
+    {
+        if(motionIntegrator == null)
+        {
+            throw new IllegalArgumentException("motionIntegrator must not be null");
+        }
+        this.motionIntegrator = motionIntegrator;
+    }
 
     /* (non-Javadoc)
      * @see com.soartech.simjr.sim.Entity#addCapability(com.soartech.simjr.sim.EntityCapability)
@@ -572,6 +990,7 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
         {
             tickableCaps.add((Tickable) capability);
         }
+        adapterCache = new AdapterCache();
 
         logger.debug("Added capability " + (tickable? "tickable " : " ") + "'" + capability + "' to entity '" + name + "'");
 
@@ -583,6 +1002,7 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
                 positionProviderStack.push(this.positionProvider);
             }
             positionProvider = posProvider;
+            invalidateSpatialIndex();
         }
         
         final EntityAccelerationProvider accelProvider = Adaptables.adapt(capability, EntityAccelerationProvider.class);
@@ -602,12 +1022,14 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
         tickableCaps.remove(capability);
         if(capabilities.remove(capability))
         {
+            adapterCache = new AdapterCache();
             capability.detach();
             logger.info("Removed capability '" + capability + "' from entity '" + name + "'");
         }
         if(capability == positionProvider)
         {
             positionProvider = !this.positionProviderStack.empty() ? this.positionProviderStack.pop() : null;
+            invalidateSpatialIndex();
         }
         if(capability == accelerationProvider)
         {
@@ -615,6 +1037,25 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
         }
     }
     
+    /**
+     * @return true if this entity's position comes from an 
+     *      {@link EntityPositionProvider} capability rather than 
+     *      {@link #setPosition(Vector3)}
+     */
+    public boolean hasPositionProvider()
+    {
+        return positionProvider != null;
+    }
+    
+    private void invalidateSpatialIndex()
+    {
+        final Simulation s = sim.get();
+        if(s != null)
+        {
+            s.invalidateSpatialIndex();
+        }
+    }
+    
     /* (non-Javadoc)
      * @see com.soartech.simjr.sim.Entity#getCapabilities()
      */
@@ -630,8 +1071,15 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
     @Override
     public Object getAdapter(Class<?> klass)
     {
+        final AdapterCache cache = adapterCache;
+        Object o = cache.adapters.get(klass);
+        if(o != null)
+        {
+            return o != NO_ADAPTER ? o : null;
+        }
+        
         // First check "this"
-        Object o = super.getAdapter(klass);
+        o = super.getAdapter(klass);
 
         // Next check capabilities
         if(o == null)
@@ -639,8 +1087,31 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
             o = Adaptables.findAdapter(capabilities, klass);
         }
 
+        cache.adapters.put(klass, o != null ? o : NO_ADAPTER);
         return o;
     }
+    
+    /**
+     * Returns every capability of this entity that is adaptable to the given
+     * class, in the order they were added. Equivalent to 
+     * <code>Adaptables.adaptCollection(getCapabilities(), klass)</code>, but 
+     * the result is cached until capabilities are added or removed.
+     * 
+     * @param klass the desired class
+     * @return unmodifiable list of adapters, possibly empty
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getCapabilityAdapters(Class<T> klass)
+    {
+        final AdapterCache cache = adapterCache;
+        List<?> result = cache.capabilityAdapters.get(klass);
+        if(result == null)
+        {
+            result = Collections.unmodifiableList(Adaptables.adaptCollection(capabilities, klass));
+            cache.capabilityAdapters.put(klass, result);
+        }
+        return (List<T>) result;
+    }
 
     /* (non-Javadoc)
      * @see java.lang.Object#toString()
@@ -662,4 +1133,69 @@ public abstract class AbstractEntity extends AbstractAdaptable implements Entity
     {
         return parent;
     }
+    
+    /**
+     * Read-only view of the entity's properties. Lookups go straight to the
+     * property stores without copying. Iteration builds a list of the 
+     * entries present at the time.
+     */
+    private class PropertiesView extends AbstractMap<String, Object>
+    {
+        @Override
+        public Object get(Object key)
+        {
+            if(!(key instanceof String))
+            {
+                return null;
+            }
+            final PropertyKey k = PropertyKey.find((String) key);
+            return k != null ? getRawProperty(k) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet()
+        {
+            return new AbstractSet<Map.Entry<String, Object>>()
+            {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator()
+                {
+                    return Collections.unmodifiableList(getEntries()).iterator();
+                }
+
+                @Override
+                public int size()
+                {
+                    return getEntries().size();
+                }
+            };
+        }
+        
+        private List<Map.Entry<String, Object>> getEntries()
+        {
+            final PropertyStore calculated = sim.get() != null ? getCalculatedProperties() : null;
+            final int capacity = Math.max(baseProperties.capacity(), calculated != null ? calculated.capacity() : 0);
+            final List<Map.Entry<String, Object>> entries = new ArrayList<Map.Entry<String, Object>>();
+            for(int slot = 0; slot < capacity; ++slot)
+            {
+                final PropertyKey key = PropertyKey.forSlot(slot);
+                if(key == null)
+                {
+                    continue;
+                }
+                final Object value = getRawProperty(key);
+                if(value != null)
+                {
+                    entries.add(new AbstractMap.SimpleImmutableEntry<String, Object>(key.getName(), value));
+                }
+            }
+            return entries;
+        }
+    }
 }
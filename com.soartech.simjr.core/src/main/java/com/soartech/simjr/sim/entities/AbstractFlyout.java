@@ -39,9 +39,11 @@ import org.slf4j.LoggerFactory;
 
 import com.soartech.math.Angles;
 import com.soartech.math.Vector3;
+import com.soartech.simjr.SimJrProps;
 import com.soartech.simjr.sim.Detonation;
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityPrototype;
+import com.soartech.simjr.sim.Simulation;
 import com.soartech.simjr.weapons.AbstractFlyoutWeapon;
 import com.soartech.simjr.weapons.Weapon;
 
@@ -60,12 +62,28 @@ public abstract class AbstractFlyout extends AbstractEntity
     // agent's "splash" call to sync up.
     public static final double DEFAULT_SPEED = 600.0;
 
+    /**
+     * Default distance from the target, in meters, at which a flyout 
+     * detonates
+     */
+    public static final double DEFAULT_IMPACT_RADIUS = 5.0;
+
     private AbstractFlyoutWeapon weapon;
     private Entity target, shooter;
     private Vector3 staticTarget;
 
     private double speed = DEFAULT_SPEED;
+    private double impactRadius = DEFAULT_IMPACT_RADIUS;
+    private boolean leadPursuit = SimJrProps.get("simjr.weapons.flyouts.leadPursuit", false);
     private boolean hit = false;
+    
+    /**
+     * The target's position and velocity at the start of the tick, recorded
+     * by {@link FlyoutTargetSampler}, and the sim time they are valid for
+     */
+    private Vector3 sampledTargetPos;
+    private Vector3 sampledTargetVel;
+    private double sampleTime = Double.NaN;
 
     private static final Map<String, Integer> flyoutIds = new HashMap<String, Integer>();
 
@@ -121,6 +139,42 @@ public abstract class AbstractFlyout extends AbstractEntity
         this.speed = speed;
     }
     
+    /**
+     * @return distance from the target, in meters, at which the flyout 
+     *      detonates
+     */
+    public double getImpactRadius()
+    {
+        return impactRadius;
+    }
+
+    /**
+     * @param impactRadius distance from the target, in meters, at which the 
+     *      flyout detonates
+     */
+    public void setImpactRadius(double impactRadius)
+    {
+        this.impactRadius = impactRadius;
+    }
+    
+    /**
+     * @return true if the flyout leads a moving target, flying at where it
+     *      will meet it, rather than straight at where it is
+     */
+    public boolean isLeadPursuit()
+    {
+        return leadPursuit;
+    }
+
+    /**
+     * @param leadPursuit true if the flyout should lead a moving target, 
+     *      false to fly straight at it (pure pursuit)
+     */
+    public void setLeadPursuit(boolean leadPursuit)
+    {
+        this.leadPursuit = leadPursuit;
+    }
+    
     public double getClosingSpeed()
     {
         if (target==null)
@@ -176,6 +230,39 @@ public abstract class AbstractFlyout extends AbstractEntity
     {
         return shooter;
     }
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.entities.AbstractEntity#setSimulation(com.soartech.simjr.sim.Simulation)
+     */
+    @Override
+    public void setSimulation(Simulation sim)
+    {
+        final Simulation oldSim = getSimulation();
+        super.setSimulation(sim);
+        if(oldSim != null && oldSim != sim)
+        {
+            FlyoutTargetSampler.get(oldSim).remove(this);
+        }
+        if(sim != null && oldSim != sim)
+        {
+            FlyoutTargetSampler.get(sim).add(this);
+        }
+    }
+    
+    /**
+     * Record the target's state at the start of a tick
+     * 
+     * @param time the simulation time of the tick
+     */
+    void sampleTarget(double time)
+    {
+        if(target != null)
+        {
+            sampledTargetPos = target.getPosition();
+            sampledTargetVel = target.getVelocity();
+            sampleTime = time;
+        }
+    }
 
     /* (non-Javadoc)
      * @see com.soartech.simjr.sim.entities.AbstractEntity#tick(double)
@@ -188,27 +275,152 @@ public abstract class AbstractFlyout extends AbstractEntity
             return;
         }
 
-        Vector3 targetPos = target != null ? target.getPosition() : staticTarget;
-        Vector3 dir = targetPos.subtract(getPosition()).normalized();
-
-        setHeading(Math.atan2(dir.y, dir.x));
-        setVelocity(dir.multiply(speed));
+        // The target is assumed to keep its start of tick velocity for the 
+        // tick. Its start of tick state is sampled before any entity moves, 
+        // so it doesn't matter whether it has already been ticked.
+        final Simulation sim = getSimulation();
+        final boolean sampled = target != null && sim != null && sampleTime == sim.getTime();
+        final Vector3 start = getPosition();
+        final Vector3 targetPos = target != null ? (sampled ? sampledTargetPos : target.getPosition()) : staticTarget;
+        final Vector3 targetVel = target != null ? (sampled ? sampledTargetVel : target.getVelocity()) : Vector3.ZERO;
+        
+        if(start.distance(targetPos) > impactRadius)
+        {
+            // Fly at the target, or where it will be if leading it
+            final Vector3 aimPoint = leadPursuit ? getInterceptPoint(start, speed, targetPos, targetVel) : targetPos;
+            Vector3 dir = aimPoint.subtract(start).normalized();
 
-        super.processTick(dt);
+            setHeading(Math.atan2(dir.y, dir.x));
+            setVelocity(dir.multiply(speed));
 
-        Vector3 newPos = getPosition();
-        if(newPos.subtract(targetPos).length() < speed * dt * 1.5)
+            super.processTick(dt);
+        }
+        
+        // Sweep the tick's motion, relative to the target, for the first 
+        // moment the flyout is within the impact radius, so nothing is 
+        // missed no matter how long the tick is
+        final Vector3 velocity = dt > 0.0 ? getPosition().subtract(start).multiply(1.0 / dt) : Vector3.ZERO;
+        final double t = getTimeOfImpact(start.subtract(targetPos), velocity.subtract(targetVel), impactRadius, dt);
+        if(!Double.isNaN(t))
         {
             hit = true;
 
-            getSimulation().detonate(new Detonation(getSimulation(), weapon, target, staticTarget));
+            // A static target is hit where it was aimed
+            final Vector3 impactPoint = target != null ? start.add(velocity.multiply(t)) : staticTarget;
+            sim.detonate(new Detonation(sim, weapon, target, impactPoint, sim.getTime() - dt + t));
             //if (shooter != null) 
             //{
             //    removeFlyOut(shooter, this);
             //}
             weapon.removeFlyout(this);
-            getSimulation().removeEntity(this);
+            sim.removeEntity(this);
+        }
+    }
+    
+    /**
+     * Find the point where a flyout flying straight at a constant speed 
+     * meets a target moving at constant velocity.
+     * 
+     * @param position the flyout's position
+     * @param speed the flyout's speed
+     * @param targetPos the target's position
+     * @param targetVel the target's velocity
+     * @return the earliest intercept point, or the target position if the 
+     *      flyout can't catch the target
+     */
+    static Vector3 getInterceptPoint(Vector3 position, double speed, Vector3 targetPos, Vector3 targetVel)
+    {
+        final double t = getInterceptTime(targetPos.x - position.x, targetPos.y - position.y, targetPos.z - position.z, 
+                                          targetVel.x, targetVel.y, targetVel.z, speed);
+        return Double.isNaN(t) ? targetPos : targetPos.add(targetVel.multiply(t));
+    }
+    
+    /**
+     * Find when a flyout flying straight at a constant speed meets a target
+     * moving at constant velocity.
+     * 
+     * @param rx x of the target's position relative to the flyout
+     * @param ry y of the target's position relative to the flyout
+     * @param rz z of the target's position relative to the flyout
+     * @param vx x of the target's velocity
+     * @param vy y of the target's velocity
+     * @param vz z of the target's velocity
+     * @param speed the flyout's speed
+     * @return the earliest intercept time, or NaN if the flyout can't catch
+     *      the target
+     */
+    public static double getInterceptTime(double rx, double ry, double rz, 
+                                          double vx, double vy, double vz, double speed)
+    {
+        // Solve |r + v t| = speed * t for the smallest t > 0
+        final double a = vx * vx + vy * vy + vz * vz - speed * speed;
+        final double b = 2.0 * (rx * vx + ry * vy + rz * vz);
+        final double c = rx * rx + ry * ry + rz * rz;
+        
+        if(Math.abs(a) < 1e-9)
+        {
+            return b < 0.0 ? -c / b : Double.NaN;
+        }
+        final double disc = b * b - 4.0 * a * c;
+        if(disc < 0.0)
+        {
+            return Double.NaN;
+        }
+        final double root = Math.sqrt(disc);
+        final double t1 = (-b - root) / (2.0 * a);
+        final double t2 = (-b + root) / (2.0 * a);
+        final double lo = Math.min(t1, t2), hi = Math.max(t1, t2);
+        return lo > 0.0 ? lo : (hi > 0.0 ? hi : Double.NaN);
+    }
+    
+    /**
+     * Find when a point moving at constant velocity relative to a sphere 
+     * first comes within the sphere's radius.
+     * 
+     * @param relativePos position of the point relative to the sphere center
+     * @param relativeVel velocity of the point relative to the sphere
+     * @param radius the sphere radius
+     * @param maxTime end of the time interval to search, starting at 0
+     * @return the time of impact in [0, maxTime], or NaN if there is none
+     */
+    static double getTimeOfImpact(Vector3 relativePos, Vector3 relativeVel, double radius, double maxTime)
+    {
+        return getTimeOfImpact(relativePos.x, relativePos.y, relativePos.z, 
+                               relativeVel.x, relativeVel.y, relativeVel.z, radius, maxTime);
+    }
+    
+    /**
+     * Primitive version of {@link #getTimeOfImpact(Vector3, Vector3, double, double)}
+     * 
+     * @param px x of the point's position relative to the sphere center
+     * @param py y of the point's position relative to the sphere center
+     * @param pz z of the point's position relative to the sphere center
+     * @param wx x of the point's velocity relative to the sphere
+     * @param wy y of the point's velocity relative to the sphere
+     * @param wz z of the point's velocity relative to the sphere
+     * @param radius the sphere radius
+     * @param maxTime end of the time interval to search, starting at 0
+     * @return the time of impact in [0, maxTime], or NaN if there is none
+     */
+    public static double getTimeOfImpact(double px, double py, double pz, 
+                                         double wx, double wy, double wz, 
+                                         double radius, double maxTime)
+    {
+        // Solve |p + w t| = radius for the entry time
+        final double c = px * px + py * py + pz * pz - radius * radius;
+        if(c <= 0.0)
+        {
+            return 0.0;
+        }
+        final double a = wx * wx + wy * wy + wz * wz;
+        final double b = 2.0 * (px * wx + py * wy + pz * wz);
+        final double disc = b * b - 4.0 * a * c;
+        if(a == 0.0 || b >= 0.0 || disc < 0.0)
+        {
+            return Double.NaN;
         }
+        final double t = (-b - Math.sqrt(disc)) / (2.0 * a);
+        return t <= maxTime ? t : Double.NaN;
     }
     
     /**
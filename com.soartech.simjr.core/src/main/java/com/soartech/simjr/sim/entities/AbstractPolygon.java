@@ -32,6 +32,7 @@
 package com.soartech.simjr.sim.entities;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -55,6 +56,13 @@ public abstract class AbstractPolygon extends AbstractEntityCapability implement
 {
     private final String defaultName;
     protected List<String> points = Collections.synchronizedList(new ArrayList<String>());
+    
+    /**
+     * Ids of the point entities last resolved by {@link #getPoints()}, by 
+     * index. Only a hint: each is checked against the point name before use
+     * so it doesn't matter how the point list was changed.
+     */
+    private volatile int[] pointIds = new int[0];
 
     public static final Comparator<AbstractPolygon> NAME_COMPARATOR = new Comparator<AbstractPolygon>() {
 
@@ -212,10 +220,25 @@ public abstract class AbstractPolygon extends AbstractEntityCapability implement
 
     public List<Entity> getPoints()
     {
-        List<Entity> r = new ArrayList<Entity>();
-        for(String p : getPointNames())
+        final Simulation sim = getEntity().getSimulation();
+        final List<String> names = getPointNames();
+        int[] ids = pointIds;
+        if(ids.length < names.size())
         {
-            Entity e = getEntity().getSimulation().getEntity(p);
+            final int oldLength = ids.length;
+            ids = pointIds = Arrays.copyOf(ids, names.size());
+            Arrays.fill(ids, oldLength, ids.length, -1);
+        }
+        List<Entity> r = new ArrayList<Entity>(names.size());
+        for(int i = 0; i < names.size(); ++i)
+        {
+            final String p = names.get(i);
+            Entity e = sim.getEntityById(ids[i]);
+            if(e == null || !e.getName().equals(p))
+            {
+                e = sim.getEntity(p);
+                ids[i] = e != null ? e.getId() : -1;
+            }
             if(e != null)
             {
                 r.add(e);
@@ -38,6 +38,7 @@ import com.soartech.simjr.sim.AbstractEntityCapability;
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityConstants;
 import com.soartech.simjr.sim.EntityTools;
+import com.soartech.simjr.sim.ParallelTickSafe;
 import com.soartech.simjr.sim.Tickable;
 
 /**
@@ -46,7 +47,7 @@ import com.soartech.simjr.sim.Tickable;
  * 
  * @author ray
  */
-public class DisableRadarWhenDestroyed extends AbstractEntityCapability implements Tickable
+public class DisableRadarWhenDestroyed extends AbstractEntityCapability implements Tickable, ParallelTickSafe
 {
     private static final Logger logger = LoggerFactory.getLogger(DisableRadarWhenDestroyed.class);
     
@@ -57,6 +58,16 @@ public class DisableRadarWhenDestroyed extends AbstractEntityCapability implemen
     {
     }
 
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.ParallelTickSafe#isParallelTickSafe()
+     */
+    @Override
+    public boolean isParallelTickSafe()
+    {
+        // Only touches the radar range of the owning entity
+        return true;
+    }
+
     /* (non-Javadoc)
      * @see com.soartech.simjr.sim.Tickable#tick(double)
      */
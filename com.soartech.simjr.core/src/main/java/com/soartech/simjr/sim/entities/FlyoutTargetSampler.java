@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.Tickable;
+
+/**
+ * Records where the target of each flyout in a simulation is at the start
+ * of each tick, before any entity has moved. Entities are ticked one at a
+ * time, so without this a flyout ticked after its target would sweep 
+ * against the target's next tick instead of this one.
+ * 
+ * @author ray
+ */
+class FlyoutTargetSampler implements Tickable
+{
+    /**
+     * Get the sampler for a simulation, creating it if necessary
+     * 
+     * @param sim the simulation
+     * @return the sampler
+     */
+    static FlyoutTargetSampler get(Simulation sim)
+    {
+        FlyoutTargetSampler sampler = sim.getTickable(FlyoutTargetSampler.class);
+        if(sampler == null)
+        {
+            synchronized(sim.getLock())
+            {
+                sampler = sim.getTickable(FlyoutTargetSampler.class);
+                if(sampler == null)
+                {
+                    sampler = new FlyoutTargetSampler(sim);
+                    sim.addTickable(sampler);
+                }
+            }
+        }
+        return sampler;
+    }
+    
+    private final Simulation sim;
+    private final List<AbstractFlyout> flyouts = new ArrayList<AbstractFlyout>();
+    
+    private FlyoutTargetSampler(Simulation sim)
+    {
+        this.sim = sim;
+    }
+    
+    /**
+     * Must be called with the simulation lock held
+     * 
+     * @param flyout the flyout to sample the target of
+     */
+    void add(AbstractFlyout flyout)
+    {
+        flyouts.add(flyout);
+    }
+    
+    /**
+     * Must be called with the simulation lock held
+     * 
+     * @param flyout the flyout to stop sampling the target of
+     */
+    void remove(AbstractFlyout flyout)
+    {
+        flyouts.remove(flyout);
+    }
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.Tickable#tick(double)
+     */
+    public void tick(double dt)
+    {
+        final double time = sim.getTime();
+        for(int i = 0; i < flyouts.size(); ++i)
+        {
+            flyouts.get(i).sampleTarget(time);
+        }
+    }
+}
@@ -35,6 +35,7 @@ import com.soartech.simjr.adaptables.Adaptables;
 import com.soartech.simjr.sim.AbstractEntityCapability;
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityConstants;
+import com.soartech.simjr.sim.ParallelTickSafe;
 import com.soartech.simjr.sim.Tickable;
 
 /**
@@ -42,7 +43,7 @@ import com.soartech.simjr.sim.Tickable;
  * 
  * @author ray
  */
-public class FuelModel extends AbstractEntityCapability implements Tickable
+public class FuelModel extends AbstractEntityCapability implements Tickable, ParallelTickSafe
 {
     private String units;
     private double capacity;
@@ -164,6 +165,16 @@ public class FuelModel extends AbstractEntityCapability implements Tickable
         super.detach();
     }
 
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.ParallelTickSafe#isParallelTickSafe()
+     */
+    @Override
+    public boolean isParallelTickSafe()
+    {
+        // Only updates the fuel level
+        return true;
+    }
+
     /* (non-Javadoc)
      * @see com.soartech.simjr.sim.Tickable#tick(double)
      */
@@ -114,6 +114,7 @@ import com.soartech.simjr.ui.actions.RunAction;
 import com.soartech.simjr.ui.actions.SaveDockingLayoutAction;
 import com.soartech.simjr.ui.actions.ShowAllAction;
 import com.soartech.simjr.ui.actions.ShowGridAction;
+import com.soartech.simjr.ui.actions.ShowSensorCoverageAction;
 import com.soartech.simjr.ui.actions.ToggleCategoryLabelsAction;
 import com.soartech.simjr.ui.actions.UnloadContainerAction;
 import com.soartech.simjr.ui.actions.ZoomInAction;
@@ -741,6 +742,10 @@ public class SimulationMainFrame extends JFrame implements SimulationService, Pl
         new ShowGridAction(am, showGridMenuItem);
         piece1.add(showGridMenuItem);
         
+        JCheckBoxMenuItem showCoverageMenuItem = new JCheckBoxMenuItem();
+        new ShowSensorCoverageAction(am, showCoverageMenuItem);
+        piece1.add(showCoverageMenuItem);
+        
         JCheckBoxMenuItem lockMenuItem = new JCheckBoxMenuItem();
         new LockViewToEntityAction(am, lockMenuItem);
         piece1.add(lockMenuItem);
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.ui.actions;
+
+import java.awt.event.ActionEvent;
+
+import javax.swing.AbstractButton;
+
+import com.soartech.simjr.sensors.coverage.SensorCoverageService;
+import com.soartech.simjr.ui.pvd.CoverageOverlay;
+import com.soartech.simjr.ui.pvd.PvdView;
+
+/**
+ * @author ray
+ */
+public class ShowSensorCoverageAction extends AbstractSimulationAction
+{
+    private static final long serialVersionUID = 6177409355016830412L;
+
+    private AbstractButton menu;
+    
+    /**
+     * 
+     * @param actionManager
+     * @param menu
+     */
+    public ShowSensorCoverageAction(ActionManager actionManager, AbstractButton menu)
+    {
+        super(actionManager, "Show sensor coverage");
+        
+        this.menu = menu;
+        
+        this.setToolTip("Toggle display of sensor coverage in the active PVD");
+        
+        this.menu.setAction(this);
+    }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.ui.actions.AbstractSimulationAction#update()
+     */
+    @Override
+    public void update()
+    {
+        PvdView pvd = getPvdView();
+        
+        menu.setEnabled(pvd != null);
+        menu.setSelected(pvd != null && pvd.getCoverageOverlay().getRaster() != null && 
+                         pvd.getCoverageOverlay().isVisible());
+    }
+
+    /* (non-Javadoc)
+     * @see java.awt.event.ActionListener#actionPerformed(java.awt.event.ActionEvent)
+     */
+    public void actionPerformed(ActionEvent arg0)
+    {
+        PvdView pvd = getPvdView();
+        if(pvd != null)
+        {
+            CoverageOverlay overlay = pvd.getCoverageOverlay();
+            if(menu.isSelected() && overlay.getRaster() == null)
+            {
+                // Starts computing coverage the first time it's shown
+                overlay.setRaster(findService(SensorCoverageService.class).getRaster());
+            }
+            overlay.setVisible(menu.isSelected());
+        }
+    }
+
+}
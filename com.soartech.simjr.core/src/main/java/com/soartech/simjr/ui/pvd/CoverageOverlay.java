@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.ui.pvd;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import com.soartech.shapesystem.Scalar;
+import com.soartech.shapesystem.ScalarUnit;
+import com.soartech.shapesystem.SimplePosition;
+import com.soartech.shapesystem.swing.SwingCoordinateTransformer;
+import com.soartech.simjr.sensors.coverage.CoverageRaster;
+
+/**
+ * Draws a {@link CoverageRaster} under the entity shapes, one pixel per cell,
+ * tinted by how many sensors cover the cell. The image is only rebuilt when 
+ * the raster's version changes.
+ * 
+ * @author ray
+ */
+public class CoverageOverlay
+{
+    // ARGB by coverage count, the last entry for that count and up
+    private static final int[] COLORS = { 0x00000000, 0x5000a0ff, 0x6400c878, 0x78ffc800, 0x8cff5000 };
+    
+    private final SwingCoordinateTransformer transformer;
+    private volatile CoverageRaster raster;
+    private volatile boolean visible = true;
+    
+    private BufferedImage image;
+    private int imageVersion;
+    
+    /**
+     * @param transformer
+     */
+    public CoverageOverlay(SwingCoordinateTransformer transformer)
+    {
+        this.transformer = transformer;
+    }
+    
+    /**
+     * @return the raster being drawn, or null
+     */
+    public CoverageRaster getRaster()
+    {
+        return raster;
+    }
+    
+    /**
+     * @param raster the raster to draw, or null for none
+     */
+    public void setRaster(CoverageRaster raster)
+    {
+        this.raster = raster;
+    }
+    
+    /**
+     * @return True if the overlay is visible
+     */
+    public boolean isVisible()
+    {
+        return visible;
+    }
+    
+    /**
+     * Enable or disable drawing of the overlay
+     * 
+     * @param visible true to draw the overlay, false otherwise
+     */
+    public void setVisible(boolean visible)
+    {
+        this.visible = visible;
+    }
+    
+    /**
+     * Draw the overlay on the given graphics context
+     * 
+     * @param g2d graphics context
+     */
+    public void draw(Graphics2D g2d)
+    {
+        final CoverageRaster raster = this.raster;
+        if(!visible || raster == null)
+        {
+            return;
+        }
+        
+        final BufferedImage image = getImage(raster);
+        final double width = raster.getColumns() * raster.getCellSize();
+        final double height = raster.getRows() * raster.getCellSize();
+        final SimplePosition center = transformer.metersToScreen(raster.getMinX() + width / 2, raster.getMinY() + height / 2);
+        final double widthInPixels = transformer.scalarToPixels(new Scalar(width, ScalarUnit.Meters));
+        final double heightInPixels = transformer.scalarToPixels(new Scalar(height, ScalarUnit.Meters));
+        
+        final Graphics2D g = (Graphics2D) g2d.create();
+        try
+        {
+            // Blocky cells rather than a blur
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g.rotate(-transformer.getRotation(), center.x, center.y);
+            g.drawImage(image,
+                        (int) (center.x - widthInPixels / 2),
+                        (int) (center.y - heightInPixels / 2),
+                        (int) widthInPixels, (int) heightInPixels,
+                        null);
+        }
+        finally
+        {
+            g.dispose();
+        }
+    }
+    
+    private BufferedImage getImage(CoverageRaster raster)
+    {
+        final int version = raster.getVersion();
+        if(image != null && image.getWidth() == raster.getColumns() && image.getHeight() == raster.getRows() && 
+           imageVersion == version)
+        {
+            return image;
+        }
+        if(image == null || image.getWidth() != raster.getColumns() || image.getHeight() != raster.getRows())
+        {
+            image = new BufferedImage(raster.getColumns(), raster.getRows(), BufferedImage.TYPE_INT_ARGB);
+        }
+        
+        // Image rows go down, raster rows go up
+        final int[] line = new int[raster.getColumns()];
+        for(int row = 0; row < raster.getRows(); ++row)
+        {
+            for(int column = 0; column < line.length; ++column)
+            {
+                line[column] = COLORS[Math.min(raster.getCount(column, row), COLORS.length - 1)];
+            }
+            image.setRGB(0, raster.getRows() - 1 - row, line.length, 1, line, 0, line.length);
+        }
+        imageVersion = version;
+        return image;
+    }
+}
@@ -36,6 +36,7 @@ import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityConstants;
 import com.soartech.simjr.sim.Simulation;
 import com.soartech.simjr.sim.Terrain;
+import com.soartech.simjr.sim.WorldSnapshot;
 import com.soartech.simjr.ui.SelectionManager;
 import com.soartech.simjr.ui.SelectionManagerListener;
 import com.soartech.simjr.ui.actions.ActionManager;
@@ -46,6 +47,7 @@ import com.soartech.simjr.ui.shapes.SpeechBubbleManager;
 import com.soartech.simjr.ui.shapes.TimedShapeManager;
 import com.soartech.simjr.util.StringTools;
 import com.soartech.simjr.util.SwingTools;
+import com.soartech.simjr.weapons.ProjectileManager;
 
 /**
  * @author mjquist
@@ -77,6 +79,7 @@ class DefaultPvdView extends JPanel implements PvdView
     private DetonationShapeManager detonationShapes;
     private SpeechBubbleManager speechBubbles;
     private final GridManager grid = new GridManager(transformer);
+    private final CoverageOverlay coverage = new CoverageOverlay(transformer);
 
     private MapImage mapBackgroundImage;
     private final CoordinatesPanel coordinatesPanel;
@@ -136,6 +139,9 @@ class DefaultPvdView extends JPanel implements PvdView
         this.detonationShapes = new DetonationShapeManager(sim, timedShapes);
         this.speechBubbles = new SpeechBubbleManager(sim, this.app.findService(RadioHistory.class), shapeAdapter);
         
+        // Draw every missile and bomb, even if rounds are pooled
+        ProjectileManager.get(sim).addObserver(this);
+        
         setToolTipText(""); // Enable tooltips
         setFocusable(true);
         setBackground(Color.WHITE);
@@ -197,6 +203,7 @@ class DefaultPvdView extends JPanel implements PvdView
         shapeAdapter.dispose();
         speechBubbles.dispose();
         detonationShapes.dispose();
+        ProjectileManager.get(sim).removeObserver(this);
     }
 
     @Override
@@ -279,6 +286,12 @@ class DefaultPvdView extends JPanel implements PvdView
         return grid;
     }
     
+    @Override
+    public CoverageOverlay getCoverageOverlay()
+    {
+        return coverage;
+    }
+    
     @Override
     public DistanceToolManager getDistanceTools()
     {
@@ -548,25 +561,22 @@ class DefaultPvdView extends JPanel implements PvdView
         double maxY = Double.MIN_VALUE;
         
         boolean visibleEntities = false;
-        synchronized(sim.getLock())
+        final List<WorldSnapshot.EntityState> entities = sim.getSnapshot().getEntities();
+        if(entities.isEmpty()) {
+            return;
+        }
+        
+        for(WorldSnapshot.EntityState e : entities)
         {
-            List<Entity> entities = sim.getEntitiesFast();
-            if(entities.isEmpty()) {
-                return;
-            }
-            
-            for(Entity e : entities)
+            if(e.hasPosition())
             {
-                if(e.hasPosition())
-                {
-                    Vector3 p = e.getPosition();
-                    minX = Math.min(minX, p.x);
-                    minY = Math.min(minY, p.y);
-                    maxX = Math.max(maxX, p.x);
-                    maxY = Math.max(maxY, p.y);
-                    
-                    visibleEntities = true;
-                }
+                Vector3 p = e.getPosition();
+                minX = Math.min(minX, p.x);
+                minY = Math.min(minY, p.y);
+                maxX = Math.max(maxX, p.x);
+                maxY = Math.max(maxY, p.y);
+                
+                visibleEntities = true;
             }
         }
         
@@ -631,24 +641,23 @@ class DefaultPvdView extends JPanel implements PvdView
             return;
         }
         
-        // Briefly lock the sim to update entity shapes and stuff.
-        double time = 0.0;
-        synchronized (sim.getLock())
+        // Update entity shapes and stuff from the latest snapshot. This
+        // doesn't need the sim lock, so painting never stalls the sim.
+        final WorldSnapshot snapshot = sim.getSnapshot();
+        final double time = snapshot.getTime();
+        final WorldSnapshot.EntityState lockState = lockEntity != null ? snapshot.getEntity(lockEntity) : null;
+        if (lockState != null)
         {
-            if (lockEntity != null)
-            {
-                Double agl = (Double) lockEntity.getProperty(EntityConstants.PROPERTY_AGL);
-                transformer.setRotation(-lockEntity.getHeading() + Math.PI/2);
-                jumpToPosition(EntityShape.adjustPositionForShadow(lockEntity.getPosition(), agl), false);
-            }
-            
-            time = sim.getTime();
-            shapeAdapter.update();
-            detonationShapes.update();
-            speechBubbles.update();
-            shapeSystem.update(transformer);
+            Double agl = (Double) lockState.getProperty(EntityConstants.PROPERTY_AGL);
+            transformer.setRotation(-lockState.getHeading() + Math.PI/2);
+            jumpToPosition(EntityShape.adjustPositionForShadow(lockState.getPosition(), agl), false);
         }
         
+        shapeAdapter.update(snapshot);
+        detonationShapes.update(time);
+        speechBubbles.update(snapshot);
+        shapeSystem.update(transformer);
+        
         // Set up the graphics contexts...
         Graphics2D g2d = (Graphics2D) g;
         SwingTools.enableAntiAliasing(g2d);
@@ -667,6 +676,7 @@ class DefaultPvdView extends JPanel implements PvdView
         }
         
         grid.draw(g2d);
+        coverage.draw(g2d);
         factory.setGraphics2D(g2dCopy, getWidth(), getHeight());
         
         timedShapes.update(time);
@@ -65,6 +65,8 @@ public interface PvdView
 
     GridManager getGrid();
 
+    CoverageOverlay getCoverageOverlay();
+
     DistanceToolManager getDistanceTools();
 
     void highlightEntity(Entity e);
@@ -81,13 +81,19 @@ public class DetonationShapeManager
         sim.addListener(listener);
     }
 
-    public void update()
+    /**
+     * Show detonations reported since the last update. The sim lock does not
+     * need to be held.
+     * 
+     * @param now the simulation time being displayed
+     */
+    public void update(double now)
     {
         synchronized(pendingDetonations)
         {
             for(Detonation d : pendingDetonations)
             {
-                handleDetonation(d);
+                handleDetonation(d, now);
             }
             pendingDetonations.clear();
         }
@@ -98,7 +104,7 @@ public class DetonationShapeManager
         this.sim.removeListener(listener);
     }
     
-    private void handleDetonation(Detonation d)
+    private void handleDetonation(Detonation d, double now)
     {
         Vector3 pos = d.getLocation();
         pos = EntityShape.adjustPositionForShadow(pos, sim.getTerrain().toGeodetic(pos).altitude);
@@ -114,7 +120,7 @@ public class DetonationShapeManager
                 Scalar.createPixel(EntityShapeManager.explosion.getIconHeight()), 
                 "explosion", null);
         
-        double time = sim.getTime() + 5.0;
+        double time = now + 5.0;
         timedShapes.addShape(time, frame);
         timedShapes.addShape(time, image);
         
@@ -51,6 +51,7 @@ import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityConstants;
 import com.soartech.simjr.sim.EntityPropertyListener;
 import com.soartech.simjr.sim.EntityTools;
+import com.soartech.simjr.sim.WorldSnapshot;
 import com.soartech.simjr.sim.entities.DamageStatus;
 
 /**
@@ -63,6 +64,7 @@ import com.soartech.simjr.sim.entities.DamageStatus;
 public class EntityShape implements EntityPropertyListener
 {
     private Entity entity;
+    private WorldSnapshot.EntityState state;
     private ShapeSystem system;
     protected Frame frame;
     private Frame bodyFrame;
@@ -138,6 +140,25 @@ public class EntityShape implements EntityPropertyListener
         return entity;
     }
     
+    /**
+     * @return The entity's state in the snapshot the shape was last updated 
+     *      from, or null if it hasn't been updated from a snapshot yet
+     */
+    public WorldSnapshot.EntityState getState()
+    {
+        return state;
+    }
+    
+    /**
+     * Set the entity's state to draw on the next call to {@link #update()}.
+     * 
+     * @param state The entity's state in the latest snapshot
+     */
+    public void setState(WorldSnapshot.EntityState state)
+    {
+        this.state = state;
+    }
+    
     /**
      * Return true if the given point is within this shape.
      * 
@@ -349,11 +370,16 @@ public class EntityShape implements EntityPropertyListener
     {
         if(frame != null)
         {
-            Vector3 pos = entity.getPosition();
+            // Position the shape from the snapshot so the sim doesn't have
+            // to be locked
+            final Vector3 pos = state != null ? state.getPosition() : entity.getPosition();
+            final double heading = state != null ? state.getHeading() : entity.getHeading();
+            final Double agl = (Double) (state != null ? state.getProperty(EntityConstants.PROPERTY_AGL) : 
+                                                         entity.getProperty(EntityConstants.PROPERTY_AGL));
             frame.setPosition(Position.createWorldMeters(pos.x, pos.y));
-            frame.setRotation(Rotation.fromRadians(entity.getHeading(), RotationType.WORLD));
+            frame.setRotation(Rotation.fromRadians(heading, RotationType.WORLD));
             
-            updateBodyFrame();
+            updateBodyFrame(pos, heading, agl);
         }
         
         if(updateColor)
@@ -431,9 +457,8 @@ public class EntityShape implements EntityPropertyListener
         ccip.update();
     }
     
-    private void updateBodyFrame()
+    private void updateBodyFrame(Vector3 pos, double heading, Double agl)
     {
-        Double agl = (Double) getEntity().getProperty(EntityConstants.PROPERTY_AGL);
         double z = 0.0;
         if(agl != null)
         {
@@ -441,15 +466,15 @@ public class EntityShape implements EntityPropertyListener
         }
         else
         {
-            z = getEntity().getPosition().z;
+            z = pos.z;
         }
 
-        Vector3 position = adjustPositionForShadow(getEntity().getPosition(), z);
+        Vector3 position = adjustPositionForShadow(pos, z);
         bodyFrame.setPosition(Position.createWorldMeters(position.x, position.y));
-        bodyFrame.setRotation(Rotation.fromRadians(getEntity().getHeading(), RotationType.WORLD));
+        bodyFrame.setRotation(Rotation.fromRadians(heading, RotationType.WORLD));
         if(shadowFrame != null)
         {
-            shadowFrame.setRotation(Rotation.fromRadians(getEntity().getHeading(), RotationType.WORLD));
+            shadowFrame.setRotation(Rotation.fromRadians(heading, RotationType.WORLD));
         }
     }
     
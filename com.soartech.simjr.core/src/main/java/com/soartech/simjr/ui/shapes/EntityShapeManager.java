@@ -59,6 +59,7 @@ import com.soartech.simjr.sim.EntityPrototype;
 import com.soartech.simjr.sim.EntityTools;
 import com.soartech.simjr.sim.Simulation;
 import com.soartech.simjr.sim.SimulationListenerAdapter;
+import com.soartech.simjr.sim.WorldSnapshot;
 import com.soartech.simjr.ui.SimulationImages;
 
 /**
@@ -169,10 +170,21 @@ public class EntityShapeManager
     }
     
     /**
-     * Assumes that the sim lock is held when this called.
-     * 
+     * Update entity shapes from the simulation's most recent 
+     * {@link WorldSnapshot}. The sim lock does not need to be held.
      */
     public void update()
+    {
+        update(simulation.getSnapshot());
+    }
+    
+    /**
+     * Update entity shapes for the entities in the given snapshot. The sim 
+     * lock does not need to be held.
+     * 
+     * @param snapshot the snapshot to update from
+     */
+    public void update(WorldSnapshot snapshot)
     {
         String selectionRemoved = "";
         synchronized(removedEntities)
@@ -218,13 +230,12 @@ public class EntityShapeManager
             addedEntities.clear();
         }
         
-        // This assumes that the sim lock is held when update() is called
-        for(Entity e : simulation.getEntitiesFast())
+        for(WorldSnapshot.EntityState state : snapshot.getEntities())
         {
-            updateEntity(e);
+            updateEntity(state);
         }
         
-        timedShapes.update(simulation.getTime());    
+        timedShapes.update(snapshot.getTime());    
     }
     
     public void updateSelection(List<Entity> entities)
@@ -375,14 +386,15 @@ public class EntityShapeManager
         return ret;
     }
     
-    private void updateEntity(Entity e)
+    private void updateEntity(WorldSnapshot.EntityState state)
     {
-        EntityShape shape = shapes.get(e);
+        EntityShape shape = shapes.get(state.getEntity());
         if(shape == null)
         {
             return;
         }
         
+        shape.setState(state);
         shape.update();
     }
     
@@ -52,9 +52,9 @@ import com.soartech.shapesystem.shapes.Text;
 import com.soartech.simjr.radios.RadioHistory;
 import com.soartech.simjr.radios.RadioHistoryListener;
 import com.soartech.simjr.radios.RadioMessage;
-import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityConstants;
 import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.WorldSnapshot;
 import com.soartech.simjr.ui.SimulationImages;
 
 /**
@@ -88,24 +88,40 @@ public class SpeechBubbleManager
         this.history.addListener(radioListener);
     }
 
-    public void update()
+    /**
+     * Show radio messages sent since the last update. Entities are looked up
+     * in the given snapshot, so the sim lock does not need to be held. The
+     * pending list's monitor is only held long enough to copy it.
+     * 
+     * @param snapshot the snapshot being displayed
+     */
+    public void update(WorldSnapshot snapshot)
     {
+        final List<RadioMessage> messages;
         synchronized (pendingRadioMessages)
         {
-            for(RadioMessage message : pendingRadioMessages)
+            if(pendingRadioMessages.isEmpty())
+            {
+                return;
+            }
+            messages = new ArrayList<RadioMessage>(pendingRadioMessages);
+            pendingRadioMessages.clear();
+        }
+        
+        for(RadioMessage message : messages)
+        {
+            WorldSnapshot.EntityState source = snapshot.getEntity(message.getSource());
+            WorldSnapshot.EntityState target = snapshot.getEntity(message.getTarget());
+            if(source != null)
             {
-                Entity sourceEntity = sim.getEntity(message.getSource());
-                Entity targetEntity = sim.getEntity(message.getTarget());
-                if(sourceEntity != null)
+                EntityShape es = shapes.getEntityShape(source.getEntity());
+                if(es != null)
                 {
-                    EntityShape es = shapes.getEntityShape(sourceEntity);
-                    if(es != null)
-                    {
-                        createRadioMessageIndicator(message, es, shapes.getEntityShape(targetEntity));
-                    }
+                    createRadioMessageIndicator(message, es, 
+                            target != null ? shapes.getEntityShape(target.getEntity()) : null, 
+                            snapshot.getTime());
                 }
             }
-            pendingRadioMessages.clear();
         }
     }
     
@@ -114,7 +130,7 @@ public class SpeechBubbleManager
         history.removeListener(radioListener);
     }
     
-    private void createRadioMessageIndicator(RadioMessage message, EntityShape source, EntityShape target)
+    private void createRadioMessageIndicator(RadioMessage message, EntityShape source, EntityShape target, double now)
     {
         final String name = source.getRootFrame().getName();
         if(shapes.getShapeSystem().getShape(name + ".speechFrame") != null)
@@ -134,7 +150,7 @@ public class SpeechBubbleManager
                                 "speechBubble",
                                 speechBubbleStyle);
         
-        double time = sim.getTime() + 5.0;
+        double time = now + 5.0;
         shapes.getTimedShapes().addShape(time, frame, image);
         
         if(target != null)
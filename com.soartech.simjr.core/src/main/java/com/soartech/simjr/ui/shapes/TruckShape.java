@@ -43,6 +43,7 @@ import com.soartech.shapesystem.shapes.Box;
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityConstants;
 import com.soartech.simjr.sim.EntityTools;
+import com.soartech.simjr.sim.WorldSnapshot;
 
 /**
  * @author glenn
@@ -118,7 +119,8 @@ public class TruckShape extends EntityShape
        super.update();
        //hack to fix the error with rotating truck shape
        //TODO: properly fix the cab rotation
-       double heading = parent.getHeading() *2;
+       final WorldSnapshot.EntityState state = getState();
+       double heading = (state != null ? state.getHeading() : parent.getHeading()) *2;
        cab.setPosition(Position.createRelativePixel(TRUCK_WIDTH * Math.cos(heading), TRUCK_WIDTH * Math.sin(heading),getRootFrame().getName()));
     }
 }
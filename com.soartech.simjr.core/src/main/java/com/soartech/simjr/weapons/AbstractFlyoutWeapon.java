@@ -38,6 +38,7 @@ import com.soartech.math.Vector3;
 import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityPrototype;
 import com.soartech.simjr.sim.EntityPrototypeDatabase;
+import com.soartech.simjr.sim.Simulation;
 import com.soartech.simjr.sim.entities.AbstractFlyout;
 
 /**
@@ -64,7 +65,15 @@ public abstract class AbstractFlyoutWeapon extends Weapon
             return;
         }
         
-        this.launchFlyout(createFlyoutEntity(target));
+        final ProjectileManager projectiles = ProjectileManager.get(getEntity().getSimulation());
+        if(projectiles.isPooling())
+        {
+            projectiles.launch(this, target, null);
+        }
+        else
+        {
+            this.launchFlyout(createFlyoutEntity(target), getEntity().getPosition());
+        }
     }
     
     /* (non-Javadoc)
@@ -77,12 +86,20 @@ public abstract class AbstractFlyoutWeapon extends Weapon
             return;
         }
 
-        this.launchFlyout(createFlyoutEntity(target));
+        final ProjectileManager projectiles = ProjectileManager.get(getEntity().getSimulation());
+        if(projectiles.isPooling())
+        {
+            projectiles.launch(this, null, target);
+        }
+        else
+        {
+            this.launchFlyout(createFlyoutEntity(target), getEntity().getPosition());
+        }
     }
     
-    private void launchFlyout(AbstractFlyout flyout)
+    void launchFlyout(AbstractFlyout flyout, Vector3 position)
     {
-        flyout.setPosition(getEntity().getPosition());
+        flyout.setPosition(position);
         flyout.setShooter(getEntity());
         this.addFlyout(flyout);
         
@@ -92,8 +109,30 @@ public abstract class AbstractFlyoutWeapon extends Weapon
     protected abstract AbstractFlyout createFlyoutEntity(Entity target);
     protected abstract AbstractFlyout createFlyoutEntity(Vector3 staticTarget);
     
+    /**
+     * @return the speed of a newly launched flyout, in meters per second
+     */
+    protected double getFlyoutSpeed()
+    {
+        return AbstractFlyout.DEFAULT_SPEED;
+    }
+    
+    /**
+     * Returns the weapon's flyouts in flight. Rounds the weapon launched into
+     * the {@link ProjectileManager} are promoted to flyout entities first, so
+     * the list is complete.
+     * 
+     * @return the flyouts in flight
+     */
     public List<AbstractFlyout> getFlyouts()
     {
+        final Entity entity = getEntity();
+        final Simulation sim = entity != null ? entity.getSimulation() : null;
+        final ProjectileManager projectiles = sim != null ? sim.getTickable(ProjectileManager.class) : null;
+        if(projectiles != null)
+        {
+            projectiles.promoteAll(this);
+        }
         return flyouts;
     }
     
@@ -75,4 +75,12 @@ public class BombWeapon extends AbstractFlyoutWeapon
         return bomb;
     }
 
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.weapons.AbstractFlyoutWeapon#getFlyoutSpeed()
+     */
+    @Override
+    protected double getFlyoutSpeed()
+    {
+        return EntityTools.getSpeed(getEntity());
+    }
 }
@@ -92,4 +92,13 @@ public class MissileWeapon extends AbstractFlyoutWeapon
         missile.setSpeed(getMaxSpeed());
         return missile;
     }
+
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.weapons.AbstractFlyoutWeapon#getFlyoutSpeed()
+     */
+    @Override
+    protected double getFlyoutSpeed()
+    {
+        return getMaxSpeed();
+    }
 }
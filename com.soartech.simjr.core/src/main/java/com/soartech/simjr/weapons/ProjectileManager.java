@@ -0,0 +1,496 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.weapons;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.SimJrProps;
+import com.soartech.simjr.sim.Detonation;
+import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.Tickable;
+import com.soartech.simjr.sim.entities.AbstractFlyout;
+
+/**
+ * Per-simulation manager for missile and bomb rounds that are simulated 
+ * without being entities. Each round is a slot in a set of parallel arrays
+ * that are reused as rounds detonate, so firing a round doesn't create an
+ * entity, copy prototype properties, generate a name or touch the 
+ * simulation's entity list. Rounds fly and detonate like an 
+ * {@link AbstractFlyout}: both fly at their target, leading it if lead 
+ * pursuit is on, and sweep for the impact from where the target was at the
+ * start of the tick.
+ * 
+ * <p>Since rounds aren't entities, they aren't drawn, sensed or found by
+ * name or range. A round is promoted, i.e. handed off to a regular flyout 
+ * entity from its weapon, when something asks for it:
+ * <ul>
+ * <li>{@link AbstractFlyoutWeapon#getFlyouts()} promotes the weapon's rounds,
+ *     so agents and scripts that look at a weapon's flyouts see them all.
+ * <li>While an observer, e.g. a PVD, is registered with 
+ *     {@link #addObserver(Object)}, every round is promoted and weapons 
+ *     launch flyout entities as usual.
+ * <li>{@link #promote(int)} and {@link #promoteAll()} promote rounds 
+ *     directly.
+ * </ul>
+ * 
+ * <p>Weapons use the manager when {@link #isPooling()} is true, i.e. when
+ * it's {@link #isEnabled() enabled} and nothing is observing. Enabled 
+ * defaults to the simjr.weapons.projectiles.pooled property. The manager is
+ * ticked right before the entities (see {@link Simulation#addTickable(Tickable)}).
+ * Unless noted, other methods must be called with the simulation lock held.
+ * 
+ * @author ray
+ */
+public class ProjectileManager implements Tickable
+{
+    private static final int INITIAL_CAPACITY = 64;
+    
+    /**
+     * Returns the manager for a simulation, creating it if necessary.
+     * 
+     * @param sim the simulation
+     * @return the manager
+     */
+    public static ProjectileManager get(Simulation sim)
+    {
+        ProjectileManager manager = sim.getTickable(ProjectileManager.class);
+        if(manager == null)
+        {
+            synchronized(sim.getLock())
+            {
+                manager = sim.getTickable(ProjectileManager.class);
+                if(manager == null)
+                {
+                    manager = new ProjectileManager(sim);
+                    sim.addTickable(manager);
+                }
+            }
+        }
+        return manager;
+    }
+    
+    private final Simulation sim;
+    private boolean enabled = SimJrProps.get("simjr.weapons.projectiles.pooled", false);
+    private boolean leadPursuit = SimJrProps.get("simjr.weapons.flyouts.leadPursuit", false);
+    private final List<Object> observers = new CopyOnWriteArrayList<Object>();
+    
+    private int count = 0;
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] z = new double[INITIAL_CAPACITY];
+    private double[] speeds = new double[INITIAL_CAPACITY];
+    private double[] impactRadii = new double[INITIAL_CAPACITY];
+    private AbstractFlyoutWeapon[] weapons = new AbstractFlyoutWeapon[INITIAL_CAPACITY];
+    private Entity[] shooters = new Entity[INITIAL_CAPACITY];
+    private Entity[] targets = new Entity[INITIAL_CAPACITY];
+    private Vector3[] staticTargets = new Vector3[INITIAL_CAPACITY];
+    
+    private ProjectileManager(Simulation sim)
+    {
+        this.sim = sim;
+    }
+    
+    /**
+     * @return true if weapons should launch their rounds into this manager
+     *      rather than as entities
+     */
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+    
+    /**
+     * @param enabled true if weapons should launch their rounds into this
+     *      manager rather than as entities. Rounds already in flight are
+     *      unaffected.
+     */
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+    
+    /**
+     * @return true if rounds lead moving targets, see 
+     *      {@link AbstractFlyout#isLeadPursuit()}
+     */
+    public boolean isLeadPursuit()
+    {
+        return leadPursuit;
+    }
+    
+    /**
+     * @param leadPursuit true if rounds, and the flyouts they're promoted 
+     *      to, should lead moving targets
+     */
+    public void setLeadPursuit(boolean leadPursuit)
+    {
+        this.leadPursuit = leadPursuit;
+    }
+    
+    /**
+     * @return true if weapons should launch their rounds into this manager
+     *      now, i.e. it's enabled and no observer is registered
+     */
+    public boolean isPooling()
+    {
+        return enabled && observers.isEmpty();
+    }
+    
+    /**
+     * Register an observer that needs every round as an entity, e.g. a PVD.
+     * Rounds in flight are promoted right away, and weapons launch flyout 
+     * entities until the observer is removed. May be called from any thread.
+     * 
+     * @param observer the observer
+     */
+    public void addObserver(Object observer)
+    {
+        synchronized(sim.getLock())
+        {
+            observers.add(observer);
+            promoteAll();
+        }
+    }
+    
+    /**
+     * Remove an observer added with {@link #addObserver(Object)}. May be 
+     * called from any thread.
+     * 
+     * @param observer the observer
+     */
+    public void removeObserver(Object observer)
+    {
+        observers.remove(observer);
+    }
+    
+    /**
+     * @return number of rounds in flight
+     */
+    public int size()
+    {
+        return count;
+    }
+    
+    /**
+     * @param i index of a round
+     * @return current position of the round
+     */
+    public Vector3 getPosition(int i)
+    {
+        checkIndex(i);
+        return new Vector3(x[i], y[i], z[i]);
+    }
+    
+    /**
+     * @param i index of a round
+     * @return the weapon that fired the round
+     */
+    public AbstractFlyoutWeapon getWeapon(int i)
+    {
+        checkIndex(i);
+        return weapons[i];
+    }
+    
+    /**
+     * @param i index of a round
+     * @return the entity the round was fired at, or null if it was fired at
+     *      a position
+     */
+    public Entity getTarget(int i)
+    {
+        checkIndex(i);
+        return targets[i];
+    }
+    
+    /**
+     * @param i index of a round
+     * @return the position the round was fired at, or null if it was fired
+     *      at an entity
+     */
+    public Vector3 getStaticTarget(int i)
+    {
+        checkIndex(i);
+        return staticTargets[i];
+    }
+    
+    /**
+     * Launch a round from the weapon's entity. Exactly one of target and
+     * staticTarget must be non-null.
+     * 
+     * @param weapon the weapon
+     * @param target the target entity, or null
+     * @param staticTarget the target position, or null
+     * @return index of the new round
+     */
+    public int launch(AbstractFlyoutWeapon weapon, Entity target, Vector3 staticTarget)
+    {
+        if((target == null) == (staticTarget == null))
+        {
+            throw new IllegalArgumentException("One of target and staticTarget must be non-null");
+        }
+        if(count == x.length)
+        {
+            grow();
+        }
+        final Entity shooter = weapon.getEntity();
+        final Vector3 position = shooter.getPosition();
+        final int i = count++;
+        x[i] = position.x;
+        y[i] = position.y;
+        z[i] = position.z;
+        speeds[i] = weapon.getFlyoutSpeed();
+        impactRadii[i] = AbstractFlyout.DEFAULT_IMPACT_RADIUS;
+        weapons[i] = weapon;
+        shooters[i] = shooter;
+        targets[i] = target;
+        staticTargets[i] = staticTarget;
+        return i;
+    }
+    
+    /**
+     * Turn a round into a flyout entity created by its weapon, continuing
+     * from the round's current position, and add it to the simulation. The
+     * last round takes the promoted round's index.
+     * 
+     * @param i index of the round
+     * @return the new flyout entity
+     */
+    public AbstractFlyout promote(int i)
+    {
+        checkIndex(i);
+        final AbstractFlyoutWeapon weapon = weapons[i];
+        final AbstractFlyout flyout = targets[i] != null ? 
+                                        weapon.createFlyoutEntity(targets[i]) : 
+                                        weapon.createFlyoutEntity(staticTargets[i]);
+        flyout.setSpeed(speeds[i]);
+        flyout.setImpactRadius(impactRadii[i]);
+        flyout.setLeadPursuit(leadPursuit);
+        flyout.setShooter(shooters[i]);
+        final Vector3 position = new Vector3(x[i], y[i], z[i]);
+        remove(i);
+        
+        weapon.launchFlyout(flyout, position);
+        return flyout;
+    }
+    
+    /**
+     * Promote every round in flight, see {@link #promote(int)}
+     * 
+     * @return the new flyout entities
+     */
+    public List<AbstractFlyout> promoteAll()
+    {
+        final List<AbstractFlyout> result = new ArrayList<AbstractFlyout>(count);
+        while(count > 0)
+        {
+            result.add(promote(count - 1));
+        }
+        return result;
+    }
+    
+    /**
+     * Promote every round in flight that was fired by the given weapon, see 
+     * {@link #promote(int)}. May be called from any thread.
+     * 
+     * @param weapon the weapon
+     */
+    public void promoteAll(AbstractFlyoutWeapon weapon)
+    {
+        synchronized(sim.getLock())
+        {
+            // Walk backwards since promoting moves the last round into the
+            // promoted round's index
+            for(int i = count - 1; i >= 0; --i)
+            {
+                if(weapons[i] == weapon)
+                {
+                    promote(i);
+                }
+            }
+        }
+    }
+    
+    /* (non-Javadoc)
+     * @see com.soartech.simjr.sim.Tickable#tick(double)
+     */
+    @Override
+    public void tick(double dt)
+    {
+        if(count == 0)
+        {
+            return;
+        }
+        
+        // Detonations are handed to the simulation after the arrays have 
+        // been walked, so nothing a detonation triggers can change them 
+        // mid-walk
+        final double now = sim.getTime();
+        List<Detonation> detonations = null;
+        int i = 0;
+        while(i < count)
+        {
+            final Detonation detonation = advance(i, dt, now);
+            if(detonation != null)
+            {
+                remove(i);
+                if(detonations == null)
+                {
+                    detonations = new ArrayList<Detonation>();
+                }
+                detonations.add(detonation);
+            }
+            else
+            {
+                ++i;
+            }
+        }
+        if(detonations != null)
+        {
+            for(Detonation detonation : detonations)
+            {
+                sim.detonate(detonation);
+            }
+        }
+    }
+    
+    /**
+     * Move a round for one tick, like {@link AbstractFlyout#processTick(double)}.
+     * 
+     * @param i index of the round
+     * @param dt the time step
+     * @param now the simulation time at the end of the tick
+     * @return the round's detonation, or null if it didn't hit anything
+     */
+    private Detonation advance(int i, double dt, double now)
+    {
+        final Entity target = targets[i];
+        final Vector3 targetPos = target != null ? target.getPosition() : staticTargets[i];
+        final Vector3 targetVel = target != null ? target.getVelocity() : Vector3.ZERO;
+        final double radius = impactRadii[i];
+        final double speed = speeds[i];
+        
+        // Target relative to the round at the start of the tick
+        final double rx = targetPos.x - x[i];
+        final double ry = targetPos.y - y[i];
+        final double rz = targetPos.z - z[i];
+        
+        double vx = 0.0, vy = 0.0, vz = 0.0;
+        if(rx * rx + ry * ry + rz * rz > radius * radius)
+        {
+            // Fly at the target, or lead it if it can be caught
+            final double t = leadPursuit ? 
+                    AbstractFlyout.getInterceptTime(rx, ry, rz, targetVel.x, targetVel.y, targetVel.z, speed) :
+                    Double.NaN;
+            double dx = rx, dy = ry, dz = rz;
+            if(!Double.isNaN(t))
+            {
+                dx += targetVel.x * t;
+                dy += targetVel.y * t;
+                dz += targetVel.z * t;
+            }
+            final double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            if(length > 0.0)
+            {
+                vx = dx * speed / length;
+                vy = dy * speed / length;
+                vz = dz * speed / length;
+            }
+        }
+        
+        final double t = AbstractFlyout.getTimeOfImpact(-rx, -ry, -rz, 
+                                                        vx - targetVel.x, vy - targetVel.y, vz - targetVel.z, 
+                                                        radius, dt);
+        if(Double.isNaN(t))
+        {
+            x[i] += vx * dt;
+            y[i] += vy * dt;
+            z[i] += vz * dt;
+            return null;
+        }
+        
+        // A static target is hit where it was aimed
+        final Vector3 impactPoint = target != null ? 
+                new Vector3(x[i] + vx * t, y[i] + vy * t, z[i] + vz * t) : staticTargets[i];
+        return new Detonation(sim, weapons[i], target, impactPoint, now - dt + t);
+    }
+    
+    /**
+     * Free a round's slot by moving the last round into it
+     * 
+     * @param i index of the round
+     */
+    private void remove(int i)
+    {
+        final int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        z[i] = z[last];
+        speeds[i] = speeds[last];
+        impactRadii[i] = impactRadii[last];
+        weapons[i] = weapons[last];
+        shooters[i] = shooters[last];
+        targets[i] = targets[last];
+        staticTargets[i] = staticTargets[last];
+        
+        weapons[last] = null;
+        shooters[last] = null;
+        targets[last] = null;
+        staticTargets[last] = null;
+    }
+    
+    private void grow()
+    {
+        final int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+        speeds = Arrays.copyOf(speeds, capacity);
+        impactRadii = Arrays.copyOf(impactRadii, capacity);
+        weapons = Arrays.copyOf(weapons, capacity);
+        shooters = Arrays.copyOf(shooters, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        staticTargets = Arrays.copyOf(staticTargets, capacity);
+    }
+    
+    private void checkIndex(int i)
+    {
+        if(i < 0 || i >= count)
+        {
+            throw new IndexOutOfBoundsException("Projectile index " + i + ", size " + count);
+        }
+    }
+}
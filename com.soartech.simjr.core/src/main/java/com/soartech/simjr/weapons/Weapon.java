@@ -83,6 +83,8 @@ public abstract class Weapon
     private String name;
     private int count;
     private int maxCount;
+    private double blastRadius;
+    private double blastFalloff;
     
     /**
      * Given the name of a weapon in the weapon "database", construct a new weapon
@@ -136,6 +138,8 @@ public abstract class Weapon
         this.name = name;
         this.count = count;
         this.maxCount = maxCount;
+        this.blastRadius = getOptionalProperty(name + ".blastRadius", Double.NaN);
+        this.blastFalloff = getOptionalProperty(name + ".blastFalloff", 0.0);
     }
 
     /**
@@ -205,6 +209,45 @@ public abstract class Weapon
         return name;
     }
 
+    /**
+     * @return radius, in meters, within which this weapon's detonations 
+     *      damage entities, or NaN to use the {@link com.soartech.simjr.sim.Detonation}
+     *      default. From the &lt;name&gt;.blastRadius weapon property.
+     */
+    public double getBlastRadius()
+    {
+        return blastRadius;
+    }
+
+    /**
+     * @param blastRadius radius, in meters, within which this weapon's 
+     *      detonations damage entities, or NaN for the default
+     */
+    public void setBlastRadius(double blastRadius)
+    {
+        this.blastRadius = blastRadius;
+    }
+
+    /**
+     * @return fraction, 0 to 1, of the blast radius, measured in from its 
+     *      edge, over which damage falls off from destroyed to slight. 0 
+     *      destroys everything in the radius. From the &lt;name&gt;.blastFalloff
+     *      weapon property.
+     */
+    public double getBlastFalloff()
+    {
+        return blastFalloff;
+    }
+
+    /**
+     * @param blastFalloff fraction, 0 to 1, of the blast radius over which
+     *      damage falls off
+     */
+    public void setBlastFalloff(double blastFalloff)
+    {
+        this.blastFalloff = blastFalloff;
+    }
+
     /* (non-Javadoc)
      * @see java.lang.Object#toString()
      */
@@ -235,6 +278,15 @@ public abstract class Weapon
         return def;
     }
     
+    /**
+     * Like {@link #getProperty(String, double)}, but doesn't warn about 
+     * missing properties
+     */
+    private static double getOptionalProperty(String name, double def)
+    {
+        return properties.containsKey(name) ? getProperty(name, def) : def;
+    }
+    
     protected static String getProperty(String name, String def)
     {
         String value = properties.getProperty(name, def);
@@ -91,6 +91,36 @@ function setOrigin(props)
     }
 }
 
+/**
+    Replace the simulation terrain with a HeightmapTerrain loaded from a raw
+    raster of 32-bit float elevations (meters), stored row by row starting at
+    the south edge. The origin of the current terrain is kept, so call 
+    setOrigin() first. x and y give the location of the first sample in 
+    meters. For example:
+    
+    <pre>
+    loadHeightmap({"path":"data/elevation.raw", "columns":1024, "rows":1024,
+                   "cellSize":30.0, "x":-15360.0, "y":-15360.0, 
+                   "littleEndian":true});
+    </pre>
+    
+    @param props The raster description
+*/
+function loadHeightmap(props)
+{
+    var sim = getSimulation();
+    if(sim == null)
+    {
+        return;
+    }
+    
+    var origin = sim.getTerrain().toGeodetic(new Vector3(0, 0, 0));
+    var order = props.littleEndian ? java.nio.ByteOrder.LITTLE_ENDIAN : java.nio.ByteOrder.BIG_ENDIAN;
+    sim.setTerrain(HeightmapTerrain.load(origin, new java.io.File(props.path), order,
+                                         props.columns, props.rows, props.cellSize, 
+                                         props.x || 0.0, props.y || 0.0));
+}
+
 function toGeocentric(props)
 {
     var sim = getSimulation();
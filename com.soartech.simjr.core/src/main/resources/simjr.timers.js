@@ -39,7 +39,7 @@ if(typeof(simjr) == 'undefined')
 
 simjr.timers = new (function() {
 	function set(period, repeat, func) {
-		getSimulation().setTimer(period, repeat, new java.lang.Runnable({ 
+		return getSimulation().setTimer(period, repeat, new java.lang.Runnable({ 
 		    run: function() { 
 	        	func();
 	    	} 
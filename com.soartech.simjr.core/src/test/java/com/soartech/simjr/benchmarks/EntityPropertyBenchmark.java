@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.sim.EntityConstants;
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.EntityTools;
+import com.soartech.simjr.sim.PropertyKey;
+import com.soartech.simjr.sim.SimpleTerrain;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.entities.Vehicle;
+
+/**
+ * Measures the cost of reading entity properties. {@link #copiedMapGetProperty()}
+ * reproduces the old behavior of copying the property map on every lookup
+ * for comparison. Run {@link #main(String[])} to include the GC profiler, 
+ * which reports allocation per operation (gc.alloc.rate.norm).
+ * 
+ * @author ray
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityPropertyBenchmark
+{
+    private static final PropertyKey MAX_SPEED = PropertyKey.of(EntityConstants.PROPERTY_MAXSPEED);
+    
+    private Simulation sim;
+    private Vehicle vehicle;
+    
+    @Setup
+    public void setUp()
+    {
+        sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        vehicle = new Vehicle("v", EntityPrototypes.NULL);
+        vehicle.setProperty(EntityConstants.PROPERTY_MAXSPEED, 250.0);
+        sim.addEntity(vehicle);
+        vehicle.setVelocity(new Vector3(100, 0, 0));
+        
+        // Make sure calculated properties are in place
+        vehicle.getProperty(EntityConstants.PROPERTY_POSITION);
+    }
+    
+    @TearDown
+    public void tearDown()
+    {
+        sim.shutdown();
+    }
+    
+    @Benchmark
+    public Object getPropertyByName()
+    {
+        return vehicle.getProperty(EntityConstants.PROPERTY_MAXSPEED);
+    }
+    
+    @Benchmark
+    public Object getPropertyByKey()
+    {
+        return vehicle.getProperty(MAX_SPEED);
+    }
+    
+    @Benchmark
+    public boolean isVisible()
+    {
+        return EntityTools.isVisible(vehicle);
+    }
+    
+    @Benchmark
+    public Vector3 setVelocity()
+    {
+        vehicle.setVelocity(new Vector3(100, 0, 0));
+        return vehicle.getVelocity();
+    }
+    
+    @Benchmark
+    public Object copiedMapGetProperty()
+    {
+        return new HashMap<String, Object>(vehicle.getProperties()).get(EntityConstants.PROPERTY_MAXSPEED);
+    }
+    
+    @Benchmark
+    public Object getPropertiesView()
+    {
+        final Map<String, Object> props = vehicle.getProperties();
+        return props.get(EntityConstants.PROPERTY_VISIBLE);
+    }
+    
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(EntityPropertyBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build()).run();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.soartech.math.Vector3;
+import com.soartech.math.geotrans.Geodetic;
+import com.soartech.simjr.sim.HeightmapTerrain;
+
+/**
+ * Measures line of sight queries between observers 2m above rolling terrain,
+ * as made by visual sensors with occlusion enabled. The same pairs are 
+ * queried each invocation, as they would be on consecutive ticks, so the 
+ * cached query shows the steady state hit rate.
+ * 
+ * @author ray
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HeightmapLineOfSightBenchmark
+{
+    @Param({"1000", "5000"})
+    public double range;
+    
+    private static final int SIZE = 1025;
+    private static final int PAIRS = 1000;
+    
+    private HeightmapTerrain terrain;
+    private Vector3[] from = new Vector3[PAIRS];
+    private Vector3[] to = new Vector3[PAIRS];
+    
+    @Setup
+    public void setUp()
+    {
+        // 30m cells, hills a few kilometers across
+        float[] samples = new float[SIZE * SIZE];
+        for(int j = 0; j < SIZE; ++j)
+        {
+            for(int i = 0; i < SIZE; ++i)
+            {
+                samples[j * SIZE + i] = (float) (100.0 * Math.sin(i * 0.02) * Math.cos(j * 0.015) + 
+                                                 20.0 * Math.sin(i * 0.11 + j * 0.07));
+            }
+        }
+        terrain = new HeightmapTerrain(new Geodetic.Point(), samples, SIZE, SIZE, 30.0, 0.0, 0.0);
+        
+        Random random = new Random(42);
+        double extent = (SIZE - 1) * 30.0;
+        for(int k = 0; k < PAIRS; ++k)
+        {
+            double x = range + random.nextDouble() * (extent - 2 * range);
+            double y = range + random.nextDouble() * (extent - 2 * range);
+            double a = random.nextDouble() * 2 * Math.PI;
+            double d = random.nextDouble() * range;
+            from[k] = terrain.clampPointToGround(new Vector3(x, y, 0.0), 2.0);
+            to[k] = terrain.clampPointToGround(new Vector3(x + d * Math.cos(a), y + d * Math.sin(a), 0.0), 2.0);
+        }
+    }
+    
+    @Benchmark
+    public int uncached()
+    {
+        int visible = 0;
+        for(int k = 0; k < PAIRS; ++k)
+        {
+            if(terrain.computeLineOfSight(from[k], to[k])) ++visible;
+        }
+        return visible;
+    }
+    
+    @Benchmark
+    public int cached()
+    {
+        int visible = 0;
+        for(int k = 0; k < PAIRS; ++k)
+        {
+            if(terrain.hasLineOfSight(from[k], to[k])) ++visible;
+        }
+        return visible;
+    }
+    
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(HeightmapLineOfSightBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build()).run();
+    }
+}
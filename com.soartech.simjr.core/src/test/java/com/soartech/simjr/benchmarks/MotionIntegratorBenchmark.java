@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.sim.EntityAccelerationProvider;
+import com.soartech.simjr.sim.EntityMotionIntegrator;
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.MotionIntegrators;
+import com.soartech.simjr.sim.PrimitiveAccelerationProvider;
+import com.soartech.simjr.sim.SimpleTerrain;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.entities.Vehicle;
+
+/**
+ * Measures the cost of integrating motion for 10,000 entities under a 
+ * simple drag model, for each integrator and for both the {@link Vector3}
+ * and primitive acceleration interfaces. Run {@link #main(String[])} to 
+ * include the GC profiler, which reports allocation per operation 
+ * (gc.alloc.rate.norm).
+ * 
+ * @author ray
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MotionIntegratorBenchmark
+{
+    private static final int ENTITIES = 10000;
+    private static final double DT = 0.05;
+    private static final double DRAG = 0.01;
+    
+    private static final EntityAccelerationProvider VECTOR_DRAG = new EntityAccelerationProvider()
+    {
+        @Override
+        public Vector3 getAcceleration(Vector3 position, Vector3 velocity, double time)
+        {
+            return new Vector3(-DRAG * velocity.x, -DRAG * velocity.y, -9.8 - DRAG * velocity.z);
+        }
+    };
+    
+    private static final PrimitiveAccelerationProvider PRIMITIVE_DRAG = new PrimitiveAccelerationProvider()
+    {
+        @Override
+        public Vector3 getAcceleration(Vector3 position, Vector3 velocity, double time)
+        {
+            return VECTOR_DRAG.getAcceleration(position, velocity, time);
+        }
+
+        @Override
+        public void getAcceleration(double[] state, int stateOffset, double time, double[] out, int outOffset)
+        {
+            out[outOffset] = -DRAG * state[stateOffset + 3];
+            out[outOffset + 1] = -DRAG * state[stateOffset + 4];
+            out[outOffset + 2] = -9.8 - DRAG * state[stateOffset + 5];
+        }
+    };
+    
+    @Param({ MotionIntegrators.DEFAULT, MotionIntegrators.EULER, MotionIntegrators.SEMI_IMPLICIT_EULER, 
+             MotionIntegrators.RK4, MotionIntegrators.RK45 })
+    public String integrator;
+    
+    @Param({ "vector", "primitive" })
+    public String accelerationModel;
+    
+    private Simulation sim;
+    private final List<Vehicle> vehicles = new ArrayList<Vehicle>();
+    private EntityMotionIntegrator motionIntegrator;
+    private EntityAccelerationProvider accel;
+    
+    @Setup
+    public void setUp()
+    {
+        sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        for(int i = 0; i < ENTITIES; ++i)
+        {
+            final Vehicle v = new Vehicle("v" + i, EntityPrototypes.NULL);
+            sim.addEntity(v);
+            v.setPosition(new Vector3(i * 10.0, 0, 5000));
+            v.setVelocity(new Vector3(200, 0, 50));
+            vehicles.add(v);
+        }
+        motionIntegrator = MotionIntegrators.forName(integrator, null);
+        accel = "primitive".equals(accelerationModel) ? PRIMITIVE_DRAG : VECTOR_DRAG;
+    }
+    
+    @TearDown
+    public void tearDown()
+    {
+        sim.shutdown();
+    }
+    
+    @Benchmark
+    public Vector3 integrateAll()
+    {
+        for(int i = 0; i < ENTITIES; ++i)
+        {
+            motionIntegrator.updateEntity(vehicles.get(i), accel, DT);
+        }
+        return vehicles.get(ENTITIES - 1).getPosition();
+    }
+    
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(MotionIntegratorBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build()).run();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.sensors.GenericRadarSensor;
+import com.soartech.simjr.sensors.GenericVisualSensor;
+import com.soartech.simjr.sensors.SensorBroadPhase;
+import com.soartech.simjr.sensors.SensorPlatform;
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.SimpleTerrain;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.entities.Vehicle;
+import com.soartech.simjr.util.ExtendedProperties;
+
+/**
+ * Measures a simulation tick where every other entity carries a visual or 
+ * radar sensor, with and without the sensor broad phase. Entities are spread
+ * over a 100km square so each sensor only covers a small part of the world.
+ * 
+ * @author ray
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SensorBroadPhaseBenchmark
+{
+    @Param({"500", "1000", "2000"})
+    public int entities;
+    
+    @Param({"true", "false"})
+    public boolean broadPhase;
+    
+    private Simulation sim;
+    private boolean oldBroadPhase;
+    
+    @Setup
+    public void setUp()
+    {
+        oldBroadPhase = SensorBroadPhase.isEnabled();
+        SensorBroadPhase.setEnabled(broadPhase);
+        
+        sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        final Random random = new Random(42);
+        for(int i = 0; i < entities; ++i)
+        {
+            final Vehicle v = new Vehicle("v" + i, EntityPrototypes.NULL);
+            v.setPosition(new Vector3(random.nextDouble() * 100000.0, random.nextDouble() * 100000.0, 1000.0));
+            v.setVelocity(new Vector3(random.nextDouble() * 200.0 - 100.0, random.nextDouble() * 200.0 - 100.0, 0.0));
+            
+            final SensorPlatform platform = Adaptables.adapt(v, SensorPlatform.class);
+            if(i % 4 == 0)
+            {
+                platform.addSensor("visual", new GenericVisualSensor("visual", 7500.0));
+            }
+            else if(i % 4 == 2)
+            {
+                final ExtendedProperties props = new ExtendedProperties();
+                props.setProperty("radar.range", "20000");
+                platform.addSensor("radar", new GenericRadarSensor("radar", props));
+            }
+            sim.addEntity(v);
+        }
+    }
+    
+    @TearDown
+    public void tearDown()
+    {
+        sim.shutdown();
+        SensorBroadPhase.setEnabled(oldBroadPhase);
+    }
+    
+    @Benchmark
+    public double tick()
+    {
+        sim.tick(0.2);
+        return sim.getTime();
+    }
+    
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(SensorBroadPhaseBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build()).run();
+    }
+}
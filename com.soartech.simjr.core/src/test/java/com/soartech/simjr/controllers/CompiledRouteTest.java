@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.controllers;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.EntityConstants;
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.SimpleTerrain;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.entities.DefaultPolygon;
+import com.soartech.simjr.sim.entities.Vehicle;
+
+/**
+ * @author ray
+ */
+public class CompiledRouteTest extends TestCase
+{
+    private Simulation sim;
+    private Vehicle p0, p1, p2;
+    private DefaultPolygon route;
+    
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        p0 = point("p0", new Vector3(0.0, 0.0, 0.0));
+        p1 = point("p1", new Vector3(30.0, 40.0, 0.0));
+        p2 = point("p2", new Vector3(30.0, 40.0, 12.0));
+        
+        final Vehicle routeEntity = new Vehicle("route", EntityPrototypes.NULL);
+        route = new DefaultPolygon();
+        routeEntity.addCapability(route);
+        sim.addEntity(routeEntity);
+        route.setPointNames(Arrays.asList("p0", "p1", "p2"));
+    }
+    
+    protected void tearDown() throws Exception
+    {
+        sim.shutdown();
+        sim = null;
+        super.tearDown();
+    }
+    
+    private Vehicle point(String name, Vector3 position)
+    {
+        final Vehicle v = new Vehicle(name, EntityPrototypes.NULL);
+        v.setPosition(position);
+        sim.addEntity(v);
+        return v;
+    }
+    
+    public void testResolvesPointsAndArcLength()
+    {
+        final CompiledRoute compiled = CompiledRoute.compile(sim, route.getPointNames(), null);
+        assertTrue(compiled.isValid());
+        assertEquals(3, compiled.size());
+        assertSame(p1, compiled.getPoint(1));
+        assertEquals(p2.getPosition(), compiled.getTarget(2));
+        assertEquals(0.0, compiled.getDistance(0), 1e-9);
+        assertEquals(50.0, compiled.getDistance(1), 1e-9);
+        assertEquals(62.0, compiled.getDistance(2), 1e-9);
+        assertEquals(62.0, compiled.getLength(), 1e-9);
+    }
+    
+    public void testClampsTargetsToGround()
+    {
+        final CompiledRoute compiled = CompiledRoute.compile(sim, route.getPointNames(), 100.0);
+        for(int i = 0; i < compiled.size(); ++i)
+        {
+            final Vector3 expected = sim.getTerrain().clampPointToGround(compiled.getPoint(i).getPosition(), 100.0);
+            assertEquals(expected, compiled.getTarget(i));
+        }
+        // p1 and p2 clamp to the same point
+        assertEquals(compiled.getDistance(1), compiled.getLength(), 1e-3);
+    }
+    
+    public void testMissingPointsInvalidateRouteWhenAdded()
+    {
+        final CompiledRoute compiled = CompiledRoute.compile(sim, Arrays.asList("p0", "missing", "p2"), null);
+        assertTrue(compiled.isValid());
+        assertFalse(compiled.isComplete());
+        assertEquals(Collections.singleton("missing"), compiled.getMissingPointNames());
+        assertEquals(2, compiled.size());
+        assertSame(p2, compiled.getPoint(1));
+        
+        point("other", Vector3.ZERO);
+        assertTrue(compiled.isValid());
+        point("missing", Vector3.ZERO);
+        assertFalse(compiled.isValid());
+        
+        final CompiledRoute complete = CompiledRoute.compile(sim, Arrays.asList("p0", "missing", "p2"), null);
+        assertTrue(complete.isComplete());
+        assertEquals(3, complete.size());
+    }
+    
+    public void testRouteFollowerDoesNotRecompileRouteWithMissingPoints()
+    {
+        final Vehicle follower = new Vehicle("follower", EntityPrototypes.NULL);
+        follower.setPosition(new Vector3(0.0, -100.0, 0.0));
+        sim.addEntity(follower);
+        final RouteFollower routeFollower = new RouteFollower();
+        follower.addCapability(routeFollower);
+        route.setPointNames(Arrays.asList("p0", "missing", "p2"));
+        routeFollower.setRoute("route");
+        
+        routeFollower.tick(1.0);
+        final CompiledRoute compiled = routeFollower.getCompiledRoute();
+        assertEquals(2, compiled.size());
+        routeFollower.tick(1.0);
+        assertSame(compiled, routeFollower.getCompiledRoute());
+        
+        point("missing", new Vector3(0.0, 50.0, 0.0));
+        routeFollower.tick(1.0);
+        assertNotSame(compiled, routeFollower.getCompiledRoute());
+        assertEquals(3, routeFollower.getCompiledRoute().size());
+    }
+    
+    public void testWatchedPropertyInvalidatesUntilDisposed()
+    {
+        final Entity routeEntity = route.getEntity();
+        CompiledRoute compiled = CompiledRoute.compile(sim, route.getPointNames(), null);
+        compiled.watch(routeEntity, EntityConstants.PROPERTY_POINTS);
+        
+        routeEntity.setProperty("unrelated", 1);
+        assertTrue(compiled.isValid());
+        route.addPoint("p0");
+        assertFalse(compiled.isValid());
+        
+        compiled = CompiledRoute.compile(sim, route.getPointNames(), null);
+        compiled.watch(routeEntity, EntityConstants.PROPERTY_POINTS);
+        compiled.dispose();
+        assertFalse(compiled.isValid());
+        assertTrue(CompiledRoute.compile(sim, route.getPointNames(), null).isValid());
+    }
+    
+    public void testRefreshPicksUpMovedAndRemovedPoints()
+    {
+        final CompiledRoute compiled = CompiledRoute.compile(sim, route.getPointNames(), null);
+        assertEquals(50.0, compiled.getDistance(1), 1e-9);
+        
+        p1.setPosition(new Vector3(60.0, 80.0, 0.0));
+        assertEquals(new Vector3(30.0, 40.0, 0.0), compiled.getTarget(1));
+        assertTrue(compiled.refresh(1));
+        assertEquals(p1.getPosition(), compiled.getTarget(1));
+        assertEquals(100.0, compiled.getDistance(1), 1e-9);
+        
+        sim.removeEntity(p2);
+        assertTrue(compiled.refresh(1));
+        assertFalse(compiled.refresh(2));
+        assertFalse(compiled.isValid());
+    }
+    
+    public void testRouteFollowerRecompilesWhenRouteChanges()
+    {
+        final Vehicle follower = new Vehicle("follower", EntityPrototypes.NULL);
+        follower.setPosition(new Vector3(0.0, -100.0, 0.0));
+        sim.addEntity(follower);
+        final RouteFollower routeFollower = new RouteFollower();
+        follower.addCapability(routeFollower);
+        routeFollower.setSpeed(10.0);
+        routeFollower.setRoute("route");
+        
+        routeFollower.tick(1.0);
+        final CompiledRoute compiled = routeFollower.getCompiledRoute();
+        assertEquals(3, compiled.size());
+        assertEquals(new Vector3(0.0, 10.0, 0.0), follower.getVelocity());
+        
+        routeFollower.tick(1.0);
+        assertSame(compiled, routeFollower.getCompiledRoute());
+        
+        route.setPointNames(Arrays.asList("p1", "p2"));
+        assertFalse(compiled.isValid());
+        routeFollower.tick(1.0);
+        assertNotSame(compiled, routeFollower.getCompiledRoute());
+        assertSame(p1, routeFollower.getCompiledRoute().getPoint(0));
+        final Vector3 expected = new Vector3(30.0, 140.0, 0.0).normalized().multiply(10.0);
+        assertEquals(0.0, expected.distance(follower.getVelocity()), 1e-9);
+    }
+}
@@ -36,6 +36,7 @@ import junit.framework.TestSuite;
 
 import com.soartech.simjr.SimJrPropsTest;
 import com.soartech.simjr.console.ConsoleManagerTest;
+import com.soartech.simjr.controllers.CompiledRouteTest;
 import com.soartech.simjr.controllers.SegmentFollowerTest;
 import com.soartech.simjr.controllers.SegmentInfoTest;
 import com.soartech.simjr.scenario.EntityElementListTest;
@@ -52,27 +53,44 @@ import com.soartech.simjr.scenario.TerrainImageElementTest;
 import com.soartech.simjr.scripting.ScriptRunnerTest;
 import com.soartech.simjr.sensors.ContactManagerTest;
 import com.soartech.simjr.sensors.ContactTest;
+import com.soartech.simjr.sensors.DetectionSetTest;
 import com.soartech.simjr.sensors.DetectionTest;
 import com.soartech.simjr.sensors.EntityFilterTest;
 import com.soartech.simjr.sensors.GenericRadarSensorTest;
+import com.soartech.simjr.sensors.GenericRadarWarningSensorTest;
 import com.soartech.simjr.sensors.GenericVisualSensorTest;
 import com.soartech.simjr.sensors.GodsEyeSensorTest;
 import com.soartech.simjr.sensors.NotchFilterTest;
+import com.soartech.simjr.sensors.SensorBroadPhaseTest;
 import com.soartech.simjr.sensors.SensorFactoryTest;
+import com.soartech.simjr.sensors.SensorWorldTest;
+import com.soartech.simjr.sensors.coverage.SensorCoverageServiceTest;
 import com.soartech.simjr.sensors.radar.AdvancedModalRadarTest;
+import com.soartech.simjr.sensors.radar.RadarControllerTest;
+import com.soartech.simjr.sensors.radar.RadarModeDefinitionTest;
+import com.soartech.simjr.sensors.radar.RadarScanPatternTest;
 import com.soartech.simjr.services.DefaultServiceManagerTest;
 import com.soartech.simjr.sim.AbstractEntityCapabilityTest;
 import com.soartech.simjr.sim.DefaultEntityPrototypeTest;
+import com.soartech.simjr.sim.DetonationTest;
 import com.soartech.simjr.sim.EntityPropertyAdaptersTest;
 import com.soartech.simjr.sim.EntityPrototypeDatabaseTest;
 import com.soartech.simjr.sim.EntityToolsTest;
+import com.soartech.simjr.sim.KinematicStoreTest;
 import com.soartech.simjr.sim.LazyGeodeticPropertyTest;
 import com.soartech.simjr.sim.LazyMgrsPropertyTest;
+import com.soartech.simjr.sim.MotionIntegratorsTest;
+import com.soartech.simjr.sim.PropertyStoreTest;
+import com.soartech.simjr.sim.RateGroupSchedulerTest;
+import com.soartech.simjr.sim.HeightmapTerrainTest;
 import com.soartech.simjr.sim.SimpleTerrainTest;
+import com.soartech.simjr.sim.SimulationProfilerTest;
 import com.soartech.simjr.sim.SimulationTest;
 import com.soartech.simjr.sim.SimulationThreadTest;
+import com.soartech.simjr.sim.SpatialIndexTest;
 import com.soartech.simjr.sim.StrictSimulationTickPolicyTest;
 import com.soartech.simjr.sim.entities.AbstractEntityTest;
+import com.soartech.simjr.sim.entities.AbstractFlyoutTest;
 import com.soartech.simjr.sim.entities.DisableRadarWhenDestroyedTest;
 import com.soartech.simjr.sim.entities.EntityVisibleRangeTest;
 import com.soartech.simjr.sim.entities.MissileTest;
@@ -81,6 +99,7 @@ import com.soartech.simjr.util.ExtendedPropertiesTest;
 import com.soartech.simjr.util.FileToolsTest;
 import com.soartech.simjr.weapons.BombWeaponTest;
 import com.soartech.simjr.weapons.MissileWeaponTest;
+import com.soartech.simjr.weapons.ProjectileManagerTest;
 import com.soartech.simjr.weapons.WeaponTest;
 
 /**
@@ -96,6 +115,7 @@ public class AllTests
         TestSuite suite = new TestSuite(
             SimJrPropsTest.class,
             ConsoleManagerTest.class,
+            CompiledRouteTest.class,
             SegmentFollowerTest.class,
             SegmentInfoTest.class,
             EntityElementListTest.class,
@@ -116,17 +136,26 @@ public class AllTests
             
             AbstractEntityCapabilityTest.class,
             DefaultEntityPrototypeTest.class,
+            DetonationTest.class,
             EntityPropertyAdaptersTest.class,
             EntityPrototypeDatabaseTest.class,
             EntityToolsTest.class,
+            KinematicStoreTest.class,
             LazyGeodeticPropertyTest.class,
             LazyMgrsPropertyTest.class,
+            MotionIntegratorsTest.class,
+            PropertyStoreTest.class,
+            RateGroupSchedulerTest.class,
             SimpleTerrainTest.class,
+            HeightmapTerrainTest.class,
+            SimulationProfilerTest.class,
             SimulationTest.class,
             SimulationThreadTest.class,
+            SpatialIndexTest.class,
             StrictSimulationTickPolicyTest.class,
             
             AbstractEntityTest.class,
+            AbstractFlyoutTest.class,
             DisableRadarWhenDestroyedTest.class,
             EntityVisibleRangeTest.class,
             MissileTest.class,
@@ -137,19 +166,28 @@ public class AllTests
             
             BombWeaponTest.class,
             MissileWeaponTest.class,
+            ProjectileManagerTest.class,
             WeaponTest.class,
             
             ContactManagerTest.class,
             ContactTest.class,
+            DetectionSetTest.class,
             DetectionTest.class,
             EntityFilterTest.class,
             GenericRadarSensorTest.class,
+            GenericRadarWarningSensorTest.class,
             GenericVisualSensorTest.class,
             GodsEyeSensorTest.class,
             NotchFilterTest.class,
+            SensorBroadPhaseTest.class,
             SensorFactoryTest.class,
+            SensorWorldTest.class,
+            SensorCoverageServiceTest.class,
             
-            AdvancedModalRadarTest.class
+            AdvancedModalRadarTest.class,
+            RadarControllerTest.class,
+            RadarModeDefinitionTest.class,
+            RadarScanPatternTest.class
         );
         suite.setName(AllTests.class.getName());
         return suite;
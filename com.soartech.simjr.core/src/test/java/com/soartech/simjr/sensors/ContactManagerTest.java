@@ -1,12 +1,14 @@
 package com.soartech.simjr.sensors;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import junit.framework.TestCase;
 
+import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityPrototypes;
 import com.soartech.simjr.sim.EntityTools;
 import com.soartech.simjr.sim.SimpleTerrain;
@@ -96,6 +98,48 @@ public class ContactManagerTest extends TestCase
         }
     }
     
+    /**
+     * Sensor that reports changes to a set of detections set by the test
+     */
+    private static class TestIncrementalSensor extends AbstractSensor implements VisionSensor, IncrementalSensor
+    {
+        private final DetectionSet detectionSet = new DetectionSet(this);
+        private List<Detection> detections = Collections.emptyList();
+        
+        public TestIncrementalSensor(String name)
+        {
+            super(name);
+        }
+        
+        public void detect(Object... targetsAndTypes)
+        {
+            detectionSet.begin();
+            for(int i = 0; i < targetsAndTypes.length; i += 2)
+            {
+                detectionSet.add((Entity) targetsAndTypes[i], (DetectionType) targetsAndTypes[i + 1]);
+            }
+            detections = detectionSet.commit();
+            fireDetectionChanges();
+        }
+
+        @Override
+        public void tick(double dt)
+        {
+        }
+
+        @Override
+        public void fireDetectionChanges()
+        {
+            fireDetectionChanges(detectionSet);
+        }
+
+        @Override
+        public List<Detection> getDetections()
+        {
+            return detections;
+        }
+    }
+    
     private Vehicle vehicle;
     private ContactManager contactManager;
     private TestListener contactListener;
@@ -401,4 +445,105 @@ public class ContactManagerTest extends TestCase
         contactListener.reset();
     }
 
+    public void testIncrementalSensorChanges()
+    {
+        final TestIncrementalSensor incremental = new TestIncrementalSensor("incremental");
+        EntityTools.getSensorPlatform(vehicle).addSensor("incremental", incremental);
+        final Vehicle v1 = new Vehicle("vehicle-1", EntityPrototypes.NULL);
+        final Vehicle v2 = new Vehicle("vehicle-2", EntityPrototypes.NULL);
+        
+        // Detections made before the manager first updates are picked up
+        incremental.detect(v1, DetectionType.VISIBLE, v2, DetectionType.RADAR);
+        contactManager.update(1.0);
+        
+        Map<String,Contact> contacts = contactManager.getContacts();
+        assertEquals(2, contacts.size());
+        assertEquals(ContactState.VISIBLE, contacts.get("vehicle-1").getState());
+        assertEquals(ContactState.RADAR, contacts.get("vehicle-2").getState());
+        assertEquals(2, contactListener.createdContacts.size());
+        contactListener.reset();
+        
+        simulation.setTime(1.0);
+        incremental.detect(v1, DetectionType.VISIBLE, v2, DetectionType.RADAR);
+        contactManager.update(1.0);
+        assertEquals(0, contactListener.createdContacts.size());
+        assertEquals(0, contactListener.stateChanges.size());
+        
+        simulation.setTime(2.0);
+        incremental.detect(v1, DetectionType.VISIBLE);
+        contactManager.update(1.0);
+        assertEquals(ContactState.VISIBLE, contacts.get("vehicle-1").getState());
+        assertEquals(ContactState.PROJECTED, contacts.get("vehicle-2").getState());
+        assertEquals(2.0 + Contact.projectionDuration, contacts.get("vehicle-2").getExpirationTime());
+        assertEquals(1, contactListener.stateChanges.size());
+        contactListener.reset();
+        
+        // Also detected by the non-incremental sensor. The best state wins.
+        simulation.setTime(3.0);
+        incremental.detect(v1, DetectionType.VISIBLE, v2, DetectionType.RADAR);
+        sensor.getDetections().add(new Detection(sensor, v1, DetectionType.RADAR));
+        contactManager.update(1.0);
+        assertEquals(ContactState.VISIBLE, contacts.get("vehicle-1").getState());
+        assertEquals(ContactState.RADAR, contacts.get("vehicle-2").getState());
+        sensor.getDetections().clear();
+        
+        // Removing the sensor is the same as losing all its detections
+        simulation.setTime(4.0);
+        EntityTools.getSensorPlatform(vehicle).removeSensor("incremental");
+        contactManager.update(1.0);
+        assertEquals(ContactState.PROJECTED, contacts.get("vehicle-1").getState());
+        assertEquals(ContactState.PROJECTED, contacts.get("vehicle-2").getState());
+        assertTrue(incremental.getListeners().isEmpty());
+        
+        simulation.setTime(4.0 + Contact.projectionDuration);
+        contactManager.update(1.0);
+        assertEquals(ContactState.PROJECTED_DISAPPEARING, contacts.get("vehicle-1").getState());
+        simulation.setTime(4.0 + Contact.projectionDuration + Contact.disappearingDuration);
+        contactManager.update(1.0);
+        assertTrue(contacts.isEmpty());
+    }
+    
+    public void testDetectionThatEntersAndExitsBetweenUpdates()
+    {
+        final TestIncrementalSensor incremental = new TestIncrementalSensor("incremental");
+        EntityTools.getSensorPlatform(vehicle).addSensor("incremental", incremental);
+        final Vehicle v1 = new Vehicle("vehicle-1", EntityPrototypes.NULL);
+        contactManager.update(1.0);
+        
+        // Seen and lost again before the manager updates
+        simulation.setTime(1.0);
+        incremental.detect(v1, DetectionType.VISIBLE);
+        incremental.detect();
+        contactManager.update(1.0);
+        
+        // The contact is created from the detection, but isn't left detected
+        Map<String,Contact> contacts = contactManager.getContacts();
+        assertEquals(1, contacts.size());
+        assertEquals(1, contactListener.createdContacts.size());
+        simulation.setTime(1.5);
+        contactManager.update(0.5);
+        assertEquals(ContactState.PROJECTED, contacts.get("vehicle-1").getState());
+        assertEquals(1.5 + Contact.projectionDuration, contacts.get("vehicle-1").getExpirationTime());
+        
+        // Lost and seen again before the manager updates
+        simulation.setTime(2.0);
+        incremental.detect(v1, DetectionType.RADAR);
+        contactManager.update(1.0);
+        assertEquals(ContactState.RADAR, contacts.get("vehicle-1").getState());
+        
+        simulation.setTime(3.0);
+        incremental.detect();
+        incremental.detect(v1, DetectionType.RADAR);
+        contactManager.update(1.0);
+        assertEquals(ContactState.RADAR, contacts.get("vehicle-1").getState());
+        
+        simulation.setTime(4.0);
+        incremental.detect();
+        contactManager.update(1.0);
+        assertEquals(ContactState.PROJECTED, contacts.get("vehicle-1").getState());
+        
+        simulation.setTime(4.0 + Contact.projectionDuration);
+        contactManager.update(1.0);
+        assertEquals(ContactState.PROJECTED_DISAPPEARING, contacts.get("vehicle-1").getState());
+    }
 }
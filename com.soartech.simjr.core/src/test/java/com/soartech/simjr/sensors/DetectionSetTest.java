@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors;
+
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.entities.Vehicle;
+import com.soartech.simjr.util.ExtendedProperties;
+
+/**
+ * @author ray
+ */
+public class DetectionSetTest extends TestCase
+{
+    private final Sensor sensor = new GodsEyeSensor("test", new ExtendedProperties());
+    private final Vehicle a = new Vehicle("a", EntityPrototypes.NULL);
+    private final Vehicle b = new Vehicle("b", EntityPrototypes.NULL);
+    private final Vehicle c = new Vehicle("c", EntityPrototypes.NULL);
+    
+    public void testDetectionsAreReusedWhileTargetStaysDetected()
+    {
+        final DetectionSet set = new DetectionSet(sensor);
+        set.begin();
+        set.add(a, DetectionType.VISIBLE);
+        set.add(b, DetectionType.VISIBLE);
+        final List<Detection> first = set.commit();
+        assertEquals(2, first.size());
+        assertEquals(first, set.getEntered());
+        assertTrue(set.getExited().isEmpty());
+        
+        set.begin();
+        set.add(a, DetectionType.VISIBLE);
+        set.add(b, DetectionType.VISIBLE);
+        assertSame(first, set.commit());
+        assertTrue(set.getEntered().isEmpty());
+        assertTrue(set.getExited().isEmpty());
+        
+        set.begin();
+        set.add(b, DetectionType.VISIBLE);
+        set.add(c, DetectionType.VISIBLE);
+        final List<Detection> third = set.commit();
+        assertSame(first.get(1), third.get(0));
+        assertEquals(Arrays.asList(first.get(0)), set.getExited());
+        assertEquals(Arrays.asList(third.get(1)), set.getEntered());
+    }
+    
+    public void testTypeChangeReplacesDetection()
+    {
+        final DetectionSet set = new DetectionSet(sensor);
+        set.begin();
+        set.add(a, DetectionType.RADAR);
+        final Detection radar = set.commit().get(0);
+        
+        set.begin();
+        set.add(a, DetectionType.VISIBLE);
+        set.add(a, DetectionType.RADAR);
+        final List<Detection> result = set.commit();
+        assertEquals(1, result.size());
+        assertEquals(DetectionType.VISIBLE, result.get(0).getType());
+        assertEquals(Arrays.asList(radar), set.getExited());
+        assertEquals(result, set.getEntered());
+    }
+    
+    public void testExitsAreReportedInDetectionOrder()
+    {
+        final DetectionSet set = new DetectionSet(sensor);
+        set.begin();
+        set.add(c, DetectionType.VISIBLE);
+        set.add(a, DetectionType.VISIBLE);
+        set.add(b, DetectionType.VISIBLE);
+        final List<Detection> first = set.commit();
+        
+        set.begin();
+        assertTrue(set.commit().isEmpty());
+        assertEquals(first, set.getExited());
+        
+        set.clearChanges();
+        assertTrue(set.getExited().isEmpty());
+    }
+}
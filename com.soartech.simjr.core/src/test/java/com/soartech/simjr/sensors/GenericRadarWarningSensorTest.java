@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.SimpleTerrain;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.entities.Vehicle;
+import com.soartech.simjr.util.ExtendedProperties;
+
+/**
+ * @author ray
+ */
+public class GenericRadarWarningSensorTest extends TestCase
+{
+    private Simulation sim;
+    
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#setUp()
+     */
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+    }
+
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#tearDown()
+     */
+    @Override
+    protected void tearDown() throws Exception
+    {
+        sim.shutdown();
+        super.tearDown();
+    }
+    
+    public void testWarningsDoNotDependOnTickOrder()
+    {
+        final GenericRadarWarningSensor before = addWarningReceiver("before", new Vector3(1000.0, 0.0, 0.0));
+        addRadar("emitter", Vector3.ZERO);
+        final GenericRadarWarningSensor after = addWarningReceiver("after", new Vector3(-1000.0, 0.0, 0.0));
+        
+        // Both see the radar detections published at the end of the 
+        // previous tick, whether they're ticked before or after the radar
+        sim.tick(0.1);
+        assertTrue(before.getDetections().isEmpty());
+        assertTrue(after.getDetections().isEmpty());
+        
+        sim.tick(0.1);
+        assertEquals(Arrays.asList("emitter"), getTargets(before));
+        assertEquals(Arrays.asList("emitter"), getTargets(after));
+    }
+    
+    public void testOwnRadarIsIgnored()
+    {
+        final GenericRadarWarningSensor rwr = addWarningReceiver("self", Vector3.ZERO);
+        final ExtendedProperties props = new ExtendedProperties();
+        props.setProperty("radar.angle", Double.toString(2 * Math.PI));
+        Adaptables.adapt(sim.getEntity("self"), SensorPlatform.class).addSensor("radar", new GenericRadarSensor("radar", props));
+        addRadar("a", new Vector3(0.0, 3000.0, 0.0));
+        addRadar("b", new Vector3(0.0, -3000.0, 0.0));
+        
+        sim.tick(0.1);
+        sim.tick(0.1);
+        assertEquals(Arrays.asList("a", "b"), getTargets(rwr));
+    }
+    
+    public void testRemovedEmittersAreDropped()
+    {
+        final GenericRadarWarningSensor rwr = addWarningReceiver("target", Vector3.ZERO);
+        final Vehicle emitter = addRadar("emitter", new Vector3(0.0, 1000.0, 0.0));
+        sim.tick(0.1);
+        sim.tick(0.1);
+        assertEquals(Arrays.asList("emitter"), getTargets(rwr));
+        
+        sim.removeEntity(emitter);
+        sim.tick(0.1);
+        assertTrue(rwr.getDetections().isEmpty());
+    }
+    
+    private GenericRadarWarningSensor addWarningReceiver(String name, Vector3 position)
+    {
+        final Vehicle v = new Vehicle(name, EntityPrototypes.NULL);
+        v.setPosition(position);
+        final GenericRadarWarningSensor rwr = new GenericRadarWarningSensor("rwr", new ExtendedProperties());
+        Adaptables.adapt(v, SensorPlatform.class).addSensor("rwr", rwr);
+        sim.addEntity(v);
+        return rwr;
+    }
+    
+    private Vehicle addRadar(String name, Vector3 position)
+    {
+        final Vehicle v = new Vehicle(name, EntityPrototypes.NULL);
+        v.setPosition(position);
+        final ExtendedProperties props = new ExtendedProperties();
+        props.setProperty("radar.range", "10000");
+        props.setProperty("radar.angle", Double.toString(2 * Math.PI));
+        Adaptables.adapt(v, SensorPlatform.class).addSensor("radar", new GenericRadarSensor("radar", props));
+        sim.addEntity(v);
+        return v;
+    }
+    
+    private static List<String> getTargets(Sensor sensor)
+    {
+        final List<String> result = new ArrayList<String>();
+        for(Detection d : sensor.getDetections())
+        {
+            result.add(d.getTargetEntity().getName());
+        }
+        return result;
+    }
+}
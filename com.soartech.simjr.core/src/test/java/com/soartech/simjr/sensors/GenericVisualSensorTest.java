@@ -34,8 +34,10 @@ package com.soartech.simjr.sensors;
 import junit.framework.TestCase;
 
 import com.soartech.math.Vector3;
+import com.soartech.math.geotrans.Geodetic;
 import com.soartech.simjr.adaptables.Adaptables;
 import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.HeightmapTerrain;
 import com.soartech.simjr.sim.SimpleTerrain;
 import com.soartech.simjr.sim.Simulation;
 import com.soartech.simjr.sim.entities.Vehicle;
@@ -107,5 +109,39 @@ public class GenericVisualSensorTest extends TestCase
         assertEquals(sensor, sensor.getDetections().get(0).getSourceSensor());
         assertEquals(sensor, sensor.getDetections().get(1).getSourceSensor());
     }
-
+    
+    public void testTerrainOcclusion()
+    {
+        // A 100m ridge along y == 250
+        float[] samples = new float[3 * 3];
+        samples[3] = samples[4] = samples[5] = 100.0f;
+        Simulation sim = new Simulation(new HeightmapTerrain(new Geodetic.Point(), samples, 3, 3, 250.0, -250.0, 0.0), false);
+        
+        Vehicle fwa = new Vehicle("fwa", EntityPrototypes.NULL);
+        ExtendedProperties props = new ExtendedProperties();
+        props.setProperty("eyes.occlusion", "true");
+        GenericVisualSensor sensor = new GenericVisualSensor("eyes", props);
+        assertTrue(sensor.isOcclusionEnabled());
+        Adaptables.adapt(fwa, SensorPlatform.class).addSensor("eyes", sensor);
+        sim.addEntity(fwa);
+        
+        Vehicle target = new Vehicle("target", EntityPrototypes.NULL);
+        target.setPosition(new Vector3(0., 500., 0.));
+        sim.addEntity(target);
+        
+        sim.tick(1.0);
+        assertTrue(sensor.getDetections().isEmpty());
+        
+        // Up where it can be seen over the ridge
+        target.setPosition(new Vector3(0., 500., 500.));
+        sim.tick(1.0);
+        assertEquals(1, sensor.getDetections().size());
+        assertEquals(target, sensor.getDetections().get(0).getTargetEntity());
+        
+        // Back behind the ridge, but with occlusion off
+        target.setPosition(new Vector3(0., 500., 0.));
+        sensor.setOcclusionEnabled(false);
+        sim.tick(1.0);
+        assertEquals(1, sensor.getDetections().size());
+    }
 }
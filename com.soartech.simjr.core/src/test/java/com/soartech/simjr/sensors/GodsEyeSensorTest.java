@@ -31,9 +31,14 @@
  */
 package com.soartech.simjr.sensors;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import junit.framework.TestCase;
 
 import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.EntityPrototypes;
 import com.soartech.simjr.sim.EntityTools;
 import com.soartech.simjr.sim.SimpleTerrain;
@@ -81,5 +86,128 @@ public class GodsEyeSensorTest extends TestCase
         sim.tick(1.0);
         assertTrue(sensor.getDetections().isEmpty());
     }
+    
+    public void testSensorsShareOneSnapshot()
+    {
+        Simulation sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        
+        GodsEyeSensor[] sensors = new GodsEyeSensor[3];
+        Vehicle[] vehicles = new Vehicle[sensors.length];
+        for(int i = 0; i < sensors.length; ++i)
+        {
+            vehicles[i] = new Vehicle("v" + i, EntityPrototypes.NULL);
+            sensors[i] = new GodsEyeSensor("gods-eye", new ExtendedProperties());
+            Adaptables.adapt(vehicles[i], SensorPlatform.class).addSensor("main", sensors[i]);
+            sim.addEntity(vehicles[i]);
+        }
+        
+        sim.tick(1.0);
+        VisibleEntitySet.Snapshot snapshot = VisibleEntitySet.get(sim).getSnapshot();
+        assertEquals(3, snapshot.size());
+        for(int i = 0; i < sensors.length; ++i)
+        {
+            // Everyone but itself
+            List<Detection> detections = sensors[i].getDetections();
+            assertEquals(2, detections.size());
+            for(Detection d : detections)
+            {
+                assertNotSame(vehicles[i], d.getTargetEntity());
+                assertSame(sensors[i], d.getSourceSensor());
+            }
+            assertSame(detections.get(0), detections.get(0));
+        }
+        
+        // Nothing changed, so nothing is recomputed
+        List<Detection> before = sensors[0].getDetections();
+        sim.tick(1.0);
+        assertSame(snapshot, VisibleEntitySet.get(sim).getSnapshot());
+        assertSame(before, sensors[0].getDetections());
+    }
+    
+    public void testChangesAreReportedToListeners()
+    {
+        Simulation sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        
+        Vehicle fwa = new Vehicle("fwa", EntityPrototypes.NULL);
+        GodsEyeSensor sensor = new GodsEyeSensor("gods-eye", new ExtendedProperties());
+        Adaptables.adapt(fwa, SensorPlatform.class).addSensor("main", sensor);
+        sim.addEntity(fwa);
+        
+        final List<Entity> generated = new ArrayList<Entity>();
+        final List<Entity> destroyed = new ArrayList<Entity>();
+        sensor.addListener(new SensorListener() {
+
+            @Override
+            public void generatedDetection(Detection detection)
+            {
+                generated.add(detection.getTargetEntity());
+            }
+
+            @Override
+            public void destroyedDetection(Detection detection)
+            {
+                destroyed.add(detection.getTargetEntity());
+            }
+        });
+        
+        Vehicle a = new Vehicle("a", EntityPrototypes.NULL);
+        Vehicle b = new Vehicle("b", EntityPrototypes.NULL);
+        sim.addEntity(a);
+        sim.addEntity(b);
+        sim.tick(1.0);
+        assertEquals(Arrays.asList(a, b), generated);
+        assertTrue(destroyed.isEmpty());
+        
+        generated.clear();
+        sim.removeEntity(a);
+        sim.tick(1.0);
+        assertTrue(generated.isEmpty());
+        assertEquals(Arrays.asList(a), destroyed);
+    }
+    
+    public void testDetectionsAreKeptWhileTargetIsVisible()
+    {
+        Simulation sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        
+        Vehicle fwa = new Vehicle("fwa", EntityPrototypes.NULL);
+        GodsEyeSensor sensor = new GodsEyeSensor("gods-eye", new ExtendedProperties());
+        Adaptables.adapt(fwa, SensorPlatform.class).addSensor("main", sensor);
+        sim.addEntity(fwa);
+        
+        final List<Detection> generated = new ArrayList<Detection>();
+        final List<Detection> destroyed = new ArrayList<Detection>();
+        sensor.addListener(new SensorListener() {
+
+            @Override
+            public void generatedDetection(Detection detection)
+            {
+                generated.add(detection);
+            }
 
+            @Override
+            public void destroyedDetection(Detection detection)
+            {
+                destroyed.add(detection);
+            }
+        });
+        
+        Vehicle a = new Vehicle("a", EntityPrototypes.NULL);
+        sim.addEntity(a);
+        sim.tick(1.0);
+        assertEquals(1, generated.size());
+        Detection detectionOfA = generated.get(0);
+        assertSame(detectionOfA, sensor.getDetections().get(0));
+        
+        // Another target changes the list, but not the detection of a
+        Vehicle b = new Vehicle("b", EntityPrototypes.NULL);
+        sim.addEntity(b);
+        sim.tick(1.0);
+        assertEquals(2, generated.size());
+        assertEquals(Arrays.asList(detectionOfA, generated.get(1)), sensor.getDetections());
+        
+        sim.removeEntity(a);
+        sim.tick(1.0);
+        assertEquals(Arrays.asList(detectionOfA), destroyed);
+        assertEquals(Arrays.asList(generated.get(1)), sensor.getDetections());
+    }
 }
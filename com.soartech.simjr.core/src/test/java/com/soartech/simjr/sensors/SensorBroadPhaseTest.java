@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.controllers.FixedWingFlightController;
+import com.soartech.simjr.sensors.radar.AdvancedModalRadar;
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.SimpleTerrain;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.entities.DefaultPolygon;
+import com.soartech.simjr.sim.entities.Vehicle;
+import com.soartech.simjr.util.ExtendedProperties;
+
+/**
+ * @author ray
+ */
+public class SensorBroadPhaseTest extends TestCase
+{
+    private final List<Simulation> sims = new ArrayList<Simulation>();
+    
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#tearDown()
+     */
+    @Override
+    protected void tearDown() throws Exception
+    {
+        SensorBroadPhase.setEnabled(true);
+        for(Simulation sim : sims)
+        {
+            sim.shutdown();
+        }
+        super.tearDown();
+    }
+    
+    public void testDetectionsMatchFullScan()
+    {
+        final Simulation broad = createScene();
+        final Simulation full = createScene();
+        final List<Sensor> broadSensors = getSensors(broad);
+        final List<Sensor> fullSensors = getSensors(full);
+        assertEquals(fullSensors.size(), broadSensors.size());
+        
+        int totalDetections = 0;
+        for(int tick = 0; tick < 30; ++tick)
+        {
+            SensorBroadPhase.setEnabled(true);
+            broad.tick(0.5);
+            SensorBroadPhase.setEnabled(false);
+            full.tick(0.5);
+            
+            for(int i = 0; i < fullSensors.size(); ++i)
+            {
+                final List<String> expected = getTargetNames(fullSensors.get(i));
+                assertEquals("tick " + tick + ", sensor " + i, expected, getTargetNames(broadSensors.get(i)));
+                totalDetections += expected.size();
+            }
+        }
+        assertTrue(totalDetections > 0);
+    }
+    
+    public void testEntityOnRangeBoundaryIsDetected()
+    {
+        final Simulation sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        sims.add(sim);
+        final Vehicle observer = new Vehicle("observer", EntityPrototypes.NULL);
+        final GenericVisualSensor sensor = new GenericVisualSensor("visual", 1000.0);
+        Adaptables.adapt(observer, SensorPlatform.class).addSensor("visual", sensor);
+        sim.addEntity(observer);
+        
+        final Vehicle edge = new Vehicle("edge", EntityPrototypes.NULL);
+        edge.setPosition(new Vector3(1000.0, 0.0, 0.0));
+        sim.addEntity(edge);
+        final Vehicle outside = new Vehicle("outside", EntityPrototypes.NULL);
+        outside.setPosition(new Vector3(0.0, -1000.001, 0.0));
+        sim.addEntity(outside);
+        
+        sim.tick(0.1);
+        assertEquals(Arrays.asList("edge"), getTargetNames(sensor));
+    }
+    
+    private Simulation createScene()
+    {
+        final Simulation sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        sims.add(sim);
+        
+        final Random random = new Random(1234);
+        for(int i = 0; i < 120; ++i)
+        {
+            final Vehicle v = new Vehicle("v" + i, EntityPrototypes.NULL);
+            final FixedWingFlightController c = new FixedWingFlightController();
+            v.addCapability(c);
+            c.setDesiredSpeed(50.0 + random.nextDouble() * 250.0);
+            c.setDesiredHeading(random.nextDouble() * 2 * Math.PI);
+            c.setDesiredAltitude(random.nextDouble() * 5000.0);
+            v.setPosition(new Vector3(random.nextDouble() * 20000.0, random.nextDouble() * 20000.0, 0.0));
+            v.setHeading(random.nextDouble() * 2 * Math.PI);
+            
+            final SensorPlatform platform = Adaptables.adapt(v, SensorPlatform.class);
+            switch(i % 4)
+            {
+            case 0:
+                platform.addSensor("visual", new GenericVisualSensor("visual", 1500.0 + random.nextDouble() * 3000.0, 
+                                                                     random.nextDouble() * 2 * Math.PI));
+                break;
+            case 1:
+                final ExtendedProperties props = new ExtendedProperties();
+                props.setProperty("radar.range", Double.toString(2000.0 + random.nextDouble() * 6000.0));
+                props.setProperty("radar.angle", Double.toString(Math.PI / 2));
+                platform.addSensor("radar", new GenericRadarSensor("radar", props));
+                break;
+            case 2:
+                platform.addSensor("modal", new AdvancedModalRadar("modal", new ExtendedProperties()));
+                break;
+            default:
+                break;
+            }
+            sim.addEntity(v);
+        }
+        
+        // A vehicle whose position is derived from two others. It moves 
+        // without the spatial index being told.
+        final Vehicle derived = new Vehicle("derived", EntityPrototypes.NULL);
+        final DefaultPolygon polygon = new DefaultPolygon();
+        derived.addCapability(polygon);
+        sim.addEntity(derived);
+        polygon.setPointNames(Arrays.asList("v3", "v7"));
+        return sim;
+    }
+    
+    private static List<Sensor> getSensors(Simulation sim)
+    {
+        final List<Sensor> result = new ArrayList<Sensor>();
+        for(int i = 0; i < 120; ++i)
+        {
+            result.addAll(Adaptables.adapt(sim.getEntity("v" + i), SensorPlatform.class).getSensors());
+        }
+        return result;
+    }
+    
+    private static List<String> getTargetNames(Sensor sensor)
+    {
+        final List<String> result = new ArrayList<String>();
+        for(Detection d : sensor.getDetections())
+        {
+            result.add(d.getTargetEntity().getName());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.NullProgressMonitor;
+import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.sensors.radar.AdvancedModalRadar;
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.SimpleTerrain;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.entities.Vehicle;
+import com.soartech.simjr.util.ExtendedProperties;
+
+/**
+ * @author ray
+ */
+public class SensorWorldTest extends TestCase
+{
+    private Simulation sim;
+    private SensorWorld world;
+    
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#setUp()
+     */
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        world = new SensorWorld(sim, 4, 16);
+        world.start(new NullProgressMonitor());
+    }
+
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#tearDown()
+     */
+    @Override
+    protected void tearDown() throws Exception
+    {
+        world.shutdown();
+        sim.shutdown();
+        super.tearDown();
+    }
+    
+    public void testSensorWorldIsDiscoverableFromSimulation()
+    {
+        assertTrue(SensorWorld.isRunning(sim));
+        assertSame(world, Adaptables.adapt(sim, SensorWorld.class));
+    }
+    
+    public void testSensorsSeePositionsAfterMotion() throws Exception
+    {
+        // The observer is ticked before the target moves into range, so if it
+        // ticked its own sensor it wouldn't see the target until next tick.
+        final Vehicle observer = new Vehicle("observer", EntityPrototypes.NULL);
+        final GenericVisualSensor sensor = new GenericVisualSensor("visual", 1000.0);
+        Adaptables.adapt(observer, SensorPlatform.class).addSensor("visual", sensor);
+        sim.addEntity(observer);
+        
+        final Vehicle target = new Vehicle("target", EntityPrototypes.NULL);
+        target.setPosition(new Vector3(1050.0, 0.0, 0.0));
+        target.setVelocity(new Vector3(-100.0, 0.0, 0.0));
+        sim.addEntity(target);
+        
+        sim.tick(1.0);
+        assertEquals(1, sensor.getDetections().size());
+        assertSame(target, sensor.getDetections().get(0).getTargetEntity());
+        
+        world.shutdown();
+        target.setPosition(new Vector3(1050.0, 0.0, 0.0));
+        sim.tick(1.0);
+        assertTrue(sensor.getDetections().isEmpty());
+    }
+    
+    public void testPlatformsAreParallelSafeWhileRunning() throws Exception
+    {
+        final Vehicle v = new Vehicle("v", EntityPrototypes.NULL);
+        final DefaultSensorPlatform platform = (DefaultSensorPlatform) Adaptables.adapt(v, SensorPlatform.class);
+        platform.addSensor("visual", new GenericVisualSensor("visual"));
+        sim.addEntity(v);
+        assertTrue(platform.isParallelTickSafe());
+        
+        world.shutdown();
+        assertFalse(platform.isParallelTickSafe());
+    }
+    
+    public void testRadarWarningSeesCurrentRadarDetections()
+    {
+        // The target is ticked before the radar, so its RWR only sees this
+        // tick's radar detections if it's evaluated after all radars.
+        final Vehicle target = new Vehicle("target", EntityPrototypes.NULL);
+        final GenericRadarWarningSensor rwr = new GenericRadarWarningSensor("rwr", new ExtendedProperties());
+        Adaptables.adapt(target, SensorPlatform.class).addSensor("rwr", rwr);
+        target.setPosition(new Vector3(5000.0, 0.0, 0.0));
+        sim.addEntity(target);
+        
+        final Vehicle emitter = new Vehicle("emitter", EntityPrototypes.NULL);
+        final ExtendedProperties props = new ExtendedProperties();
+        props.setProperty("radar.range", "10000");
+        props.setProperty("radar.angle", Double.toString(2 * Math.PI));
+        Adaptables.adapt(emitter, SensorPlatform.class).addSensor("radar", new GenericRadarSensor("radar", props));
+        sim.addEntity(emitter);
+        
+        sim.tick(0.1);
+        assertEquals(1, rwr.getDetections().size());
+        assertSame(emitter, rwr.getDetections().get(0).getTargetEntity());
+    }
+    
+    public void testSensorsAreTickedAtTheirPeriod()
+    {
+        final Vehicle target = new Vehicle("target", EntityPrototypes.NULL);
+        final GenericRadarWarningSensor rwr = new GenericRadarWarningSensor("rwr", new ExtendedProperties());
+        Adaptables.adapt(target, SensorPlatform.class).addSensor("rwr", rwr);
+        target.setPosition(new Vector3(5000.0, 0.0, 0.0));
+        sim.addEntity(target);
+        
+        final Vehicle emitter = new Vehicle("emitter", EntityPrototypes.NULL);
+        final ExtendedProperties props = new ExtendedProperties();
+        props.setProperty("radar.range", "10000");
+        props.setProperty("radar.angle", Double.toString(2 * Math.PI));
+        final List<Double> radarTicks = new ArrayList<Double>();
+        final GenericRadarSensor radar = new GenericRadarSensor("radar", props)
+        {
+            @Override
+            public void tick(double dt)
+            {
+                radarTicks.add(dt);
+                super.tick(dt);
+            }
+        };
+        radar.setTickPeriod(1.0);
+        Adaptables.adapt(emitter, SensorPlatform.class).addSensor("radar", radar);
+        sim.addEntity(emitter);
+        
+        for(int i = 0; i < 8; ++i)
+        {
+            sim.tick(0.25);
+            
+            // The RWR ticks every tick and keeps seeing the radar in between
+            // its scans
+            if(!radarTicks.isEmpty())
+            {
+                assertEquals(1, rwr.getDetections().size());
+                assertSame(emitter, rwr.getDetections().get(0).getTargetEntity());
+            }
+        }
+        assertEquals(2, radarTicks.size());
+        assertEquals(1.0, radarTicks.get(1), 1e-9);
+    }
+    
+    public void testParallelPassMatchesSerialEvaluation()
+    {
+        final Random random = new Random(99);
+        final List<Sensor> sensors = new ArrayList<Sensor>();
+        for(int i = 0; i < 200; ++i)
+        {
+            final Vehicle v = new Vehicle("v" + i, EntityPrototypes.NULL);
+            v.setPosition(new Vector3(random.nextDouble() * 30000.0, random.nextDouble() * 30000.0, 0.0));
+            v.setVelocity(new Vector3(random.nextDouble() * 400.0 - 200.0, random.nextDouble() * 400.0 - 200.0, 0.0));
+            v.setHeading(random.nextDouble() * 2 * Math.PI);
+            
+            final Sensor sensor;
+            switch(i % 4)
+            {
+            case 0:
+                sensor = new GenericVisualSensor("s", 5000.0, Math.PI);
+                break;
+            case 1:
+                final ExtendedProperties props = new ExtendedProperties();
+                props.setProperty("s.range", "8000");
+                props.setProperty("s.angle", Double.toString(2 * Math.PI));
+                sensor = new GenericRadarSensor("s", props);
+                break;
+            case 2:
+                sensor = new AdvancedModalRadar("s", new ExtendedProperties());
+                break;
+            default:
+                sensor = new GenericRadarWarningSensor("s", new ExtendedProperties());
+                break;
+            }
+            Adaptables.adapt(v, SensorPlatform.class).addSensor("s", sensor);
+            sensors.add(sensor);
+            sim.addEntity(v);
+        }
+        
+        int total = 0;
+        for(int tick = 0; tick < 5; ++tick)
+        {
+            sim.tick(1.0);
+            
+            final List<List<Detection>> parallel = new ArrayList<List<Detection>>();
+            for(Sensor s : sensors)
+            {
+                parallel.add(s.getDetections());
+            }
+            
+            // Nothing moves in between, so evaluating again on this thread, 
+            // radar warning last, must give the same result
+            for(Sensor s : sensors)
+            {
+                if(!(s instanceof DerivedSensor)) { s.tick(0.0); }
+            }
+            for(Sensor s : sensors)
+            {
+                if(s instanceof DerivedSensor) { s.tick(0.0); }
+            }
+            for(int i = 0; i < sensors.size(); ++i)
+            {
+                assertEquals("sensor " + i, getTargets(parallel.get(i)), getTargets(sensors.get(i).getDetections()));
+                total += parallel.get(i).size();
+            }
+        }
+        assertTrue(total > 0);
+    }
+    
+    private static List<String> getTargets(List<Detection> detections)
+    {
+        final List<String> result = new ArrayList<String>();
+        for(Detection d : detections)
+        {
+            result.add(d.getTargetEntity().getName());
+        }
+        return result;
+    }
+}
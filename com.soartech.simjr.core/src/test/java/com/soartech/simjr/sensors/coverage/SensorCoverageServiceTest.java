@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors.coverage;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+import com.soartech.math.geotrans.Geodetic;
+import com.soartech.simjr.NullProgressMonitor;
+import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.sensors.GenericVisualSensor;
+import com.soartech.simjr.sensors.SensorPlatform;
+import com.soartech.simjr.sensors.radar.AdvancedModalRadar;
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.HeightmapTerrain;
+import com.soartech.simjr.sim.SimpleTerrain;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.Terrain;
+import com.soartech.simjr.sim.entities.Vehicle;
+import com.soartech.simjr.util.ExtendedProperties;
+
+/**
+ * @author ray
+ */
+public class SensorCoverageServiceTest extends TestCase
+{
+    private Simulation sim;
+    private SensorCoverageService service;
+    
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#tearDown()
+     */
+    @Override
+    protected void tearDown() throws Exception
+    {
+        if(service != null)
+        {
+            service.shutdown();
+        }
+        if(sim != null)
+        {
+            sim.shutdown();
+        }
+        super.tearDown();
+    }
+    
+    private void start(Terrain terrain, CoverageRaster raster) throws Exception
+    {
+        sim = new Simulation(terrain, false);
+        service = new SensorCoverageService(sim, raster, 2, 0.0);
+        service.start(new NullProgressMonitor());
+    }
+    
+    private Vehicle addObserver(String name, Vector3 position, double range)
+    {
+        final Vehicle v = new Vehicle(name, EntityPrototypes.NULL);
+        v.setPosition(position);
+        Adaptables.adapt(v, SensorPlatform.class).addSensor("eyes", new GenericVisualSensor("eyes", range));
+        sim.addEntity(v);
+        return v;
+    }
+    
+    public void testCountsOverlappingSensors() throws Exception
+    {
+        start(SimpleTerrain.createExampleTerrain(), new CoverageRaster(-5000.0, -5000.0, 10000.0, 10000.0, 100.0));
+        addObserver("a", new Vector3(0.0, 0.0, 0.0), 1000.0);
+        addObserver("b", new Vector3(1500.0, 0.0, 0.0), 1000.0);
+        
+        service.update();
+        final CoverageRaster raster = service.getRaster();
+        assertEquals(1, raster.getCount(0.0, 0.0));
+        assertEquals(2, raster.getCount(750.0, 0.0));
+        assertEquals(1, raster.getCount(2000.0, 0.0));
+        assertEquals(0, raster.getCount(-3000.0, 0.0));
+        assertFalse(raster.isCovered(-3000.0, 0.0));
+        assertEquals(0, raster.getCount(1e6, 0.0));
+    }
+    
+    public void testOnlyTilesTouchedByChangesAreRecomputed() throws Exception
+    {
+        // 4 x 4 tiles, 6.4km across
+        start(SimpleTerrain.createExampleTerrain(), new CoverageRaster(0.0, 0.0, 25600.0, 25600.0, 100.0));
+        final Vehicle a = addObserver("a", new Vector3(3000.0, 3000.0, 0.0), 1000.0);
+        addObserver("b", new Vector3(20000.0, 20000.0, 0.0), 1000.0);
+        
+        assertEquals(16, service.update());
+        assertEquals(0, service.update());
+        final int version = service.getRaster().getVersion();
+        
+        a.setPosition(new Vector3(3500.0, 3000.0, 0.0));
+        final int recomputed = service.update();
+        assertTrue(recomputed > 0 && recomputed <= 4);
+        assertTrue(service.getRaster().getVersion() != version);
+        assertEquals(1, service.getRaster().getCount(4400.0, 3000.0));
+        assertEquals(0, service.getRaster().getCount(2100.0, 3000.0));
+        assertEquals(1, service.getRaster().getCount(20000.0, 20000.0));
+        
+        // Removed sensors clear their tiles
+        sim.removeEntity(a);
+        assertTrue(service.update() > 0);
+        assertEquals(0, service.getRaster().getCount(3500.0, 3000.0));
+        
+        // Everything, when the target height changes
+        service.setTargetAgl(10.0);
+        assertEquals(16, service.update());
+    }
+    
+    public void testTerrainOcclusion() throws Exception
+    {
+        // A 100m ridge along y == 250
+        float[] samples = new float[3 * 3];
+        samples[3] = samples[4] = samples[5] = 100.0f;
+        start(new HeightmapTerrain(new Geodetic.Point(), samples, 3, 3, 250.0, -250.0, 0.0), 
+              new CoverageRaster(-250.0, 0.0, 500.0, 500.0, 50.0));
+        addObserver("a", new Vector3(0.0, 0.0, 0.0), 1000.0);
+        
+        service.update();
+        assertEquals(0, service.getRaster().getCount(0.0, 450.0));
+        
+        service.setOcclusionEnabled(false);
+        service.update();
+        assertEquals(1, service.getRaster().getCount(0.0, 450.0));
+    }
+    
+    public void testRadarCoverageMatchesController() throws Exception
+    {
+        start(SimpleTerrain.createExampleTerrain(), new CoverageRaster(-10000.0, -10000.0, 20000.0, 20000.0, 250.0));
+        final Vehicle v = new Vehicle("radar", EntityPrototypes.NULL);
+        v.setPosition(new Vector3(0.0, 0.0, 100.0));
+        final AdvancedModalRadar radar = new AdvancedModalRadar("radar", new ExtendedProperties());
+        Adaptables.adapt(v, SensorPlatform.class).addSensor("radar", radar);
+        sim.addEntity(v);
+        service.setOcclusionEnabled(false);
+        service.update();
+        
+        final CoverageRaster raster = service.getRaster();
+        int covered = 0;
+        for(int row = 0; row < raster.getRows(); ++row)
+        {
+            for(int column = 0; column < raster.getColumns(); ++column)
+            {
+                final Vector3 p = new Vector3(raster.getCellCenterX(column), raster.getCellCenterY(row), 0.0);
+                final boolean expected = radar.getRadarController().isInRange(v, p);
+                assertEquals(expected ? 1 : 0, raster.getCount(column, row));
+                covered += expected ? 1 : 0;
+            }
+        }
+        assertTrue(covered > 0 && covered < raster.getRows() * raster.getColumns());
+    }
+}
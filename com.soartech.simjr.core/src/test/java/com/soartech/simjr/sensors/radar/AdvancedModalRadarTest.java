@@ -79,4 +79,47 @@ public class AdvancedModalRadarTest extends TestCase
         assertEquals(sensor, sensor.getDetections().get(0).getSourceSensor());
         assertEquals(sensor, sensor.getDetections().get(1).getSourceSensor());
     }
+    
+    public void testSectorSweep()
+    {
+        Simulation sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        
+        // Heading is +y. Sweep the front 180 degrees in 2 seconds, 90 
+        // degrees a tick
+        Vehicle fwa = new Vehicle("fwa", EntityPrototypes.NULL);
+        ExtendedProperties props = new ExtendedProperties();
+        props.setProperty("amr.revisitTime", "2.0");
+        AdvancedModalRadar sensor = new AdvancedModalRadar("amr", props);
+        assertEquals(2.0, sensor.getRadarController().getRevisitTime());
+        sensor.getRadarController().setAzimuthSlew(Math.PI);
+        Adaptables.adapt(fwa, SensorPlatform.class).addSensor("radar", sensor);
+        sim.addEntity(fwa);
+        
+        // Front left and front right, closing so they're out of the notch
+        Vehicle left = new Vehicle("left", EntityPrototypes.NULL);
+        left.setPosition(new Vector3(-10000., 10000., 0.));
+        left.setVelocity(new Vector3(100., -100., 0.));
+        sim.addEntity(left);
+        Vehicle right = new Vehicle("right", EntityPrototypes.NULL);
+        right.setPosition(new Vector3(10000., 10000., 0.));
+        right.setVelocity(new Vector3(-100., -100., 0.));
+        sim.addEntity(right);
+        
+        // The beam sweeps left and back
+        sim.tick(1.0);
+        assertEquals(1, sensor.getDetections().size());
+        assertEquals(left, sensor.getDetections().get(0).getTargetEntity());
+        sim.tick(1.0);
+        assertEquals(1, sensor.getDetections().size());
+        
+        // Then right, and left is held from the last pass
+        sim.tick(1.0);
+        assertEquals(2, sensor.getDetections().size());
+        
+        // Held detections are dropped once the target leaves the volume
+        left.setPosition(new Vector3(-10000., -10000., 0.));
+        sim.tick(1.0);
+        assertEquals(1, sensor.getDetections().size());
+        assertEquals(right, sensor.getDetections().get(0).getTargetEntity());
+    }
 }
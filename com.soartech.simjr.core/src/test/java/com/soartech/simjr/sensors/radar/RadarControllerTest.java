@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors.radar;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Angles;
+import com.soartech.math.Vector3;
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.entities.Vehicle;
+
+/**
+ * @author ray
+ */
+public class RadarControllerTest extends TestCase
+{
+    /**
+     * The original atan2/asin formulation of {@link RadarController#isInRange(com.soartech.simjr.sim.Entity, Vector3)}.
+     */
+    private static boolean isInRangeReference(RadarController c, Vehicle entity, Vector3 otherPos)
+    {
+        Vector3 displacement = otherPos.subtract(entity.getPosition());
+        double distance = displacement.length();
+        if (!RadarScanDistanceRange.contains(c.getLowRange(), c.getHighRange(), distance))
+            return false;
+        
+        double azimuth = Math.atan2(displacement.y, displacement.x);
+        if (!RadarScanAngleRange.contains(c.getRadarMode().getAzimuthBounds(), entity.getHeading(), 
+                                          c.getAzimuthCenter(), c.getAzimuthSlew(), azimuth))
+            return false;
+        
+        double inclination = Math.asin(displacement.z / distance);
+        return RadarScanAngleRange.contains(c.getRadarMode().getInclinationBounds(), entity.getPitch(), 
+                                            c.getInclinationCenter(), c.getInclinationSlew(), inclination);
+    }
+    
+    /**
+     * Smallest angular distance of a target from any of the angular bounds, 
+     * used to skip samples too close to a bound to compare reliably.
+     */
+    private static double margin(RadarController c, Vehicle entity, Vector3 otherPos)
+    {
+        Vector3 d = otherPos.subtract(entity.getPosition());
+        double azimuth = Math.atan2(d.y, d.x);
+        double inclination = Math.asin(d.z / d.length());
+        double[] edges = {
+            Math.abs(Angles.angleDifference(entity.getHeading(), azimuth)) - 0.5 * c.getRadarMode().getAzimuthBounds().getSpreadRadians(),
+            Math.abs(Angles.angleDifference(entity.getHeading() + c.getAzimuthCenter(), azimuth)) - 0.5 * c.getAzimuthSlew(),
+            Math.abs(Angles.angleDifference(entity.getPitch(), inclination)) - 0.5 * c.getRadarMode().getInclinationBounds().getSpreadRadians(),
+            Math.abs(Angles.angleDifference(entity.getPitch() + c.getInclinationCenter(), inclination)) - 0.5 * c.getInclinationSlew()
+        };
+        double min = Double.MAX_VALUE;
+        for(double e : edges)
+        {
+            min = Math.min(min, Math.abs(e));
+        }
+        return min;
+    }
+    
+    public void testMatchesAngleFormulation()
+    {
+        Random random = new Random(42);
+        RadarMode[] modes = { new RangeWhileSearch(), new TrackWhileScan(), new SingleTarget(), new SAM(), new Full() };
+        Vehicle entity = new Vehicle("radar", EntityPrototypes.NULL);
+        
+        int compared = 0;
+        for(int i = 0; i < 20000; ++i)
+        {
+            RadarController c = new RadarController(modes[i % modes.length]);
+            c.setAzimuthSlew(random.nextDouble() * 2 * Math.PI);
+            c.setInclinationSlew(random.nextDouble() * Math.PI);
+            c.setAzimuthCenter((random.nextDouble() - 0.5) * 0.5);
+            c.setInclinationCenter((random.nextDouble() - 0.5) * 0.5);
+            
+            entity.setPosition(new Vector3(random.nextDouble() * 1000.0, random.nextDouble() * 1000.0, random.nextDouble() * 1000.0));
+            entity.setHeading((random.nextDouble() - 0.5) * 4 * Math.PI);
+            entity.setPitch((random.nextDouble() - 0.5) * Math.PI);
+            
+            Vector3 target = entity.getPosition().add(new Vector3((random.nextDouble() - 0.5) * 200000.0, 
+                                                                  (random.nextDouble() - 0.5) * 200000.0, 
+                                                                  (random.nextDouble() - 0.5) * 40000.0));
+            if(margin(c, entity, target) < 1e-5)
+            {
+                continue;
+            }
+            assertEquals("sample " + i, isInRangeReference(c, entity, target), c.isInRange(entity, target));
+            // The cheap bound never rejects a target that's in range
+            assertTrue("sample " + i, !c.isInRange(entity, target) || c.mayBeInRange(entity, target));
+            ++compared;
+        }
+        assertTrue(compared > 19000);
+    }
+    
+    public void testTargetOnBoundIsInRange()
+    {
+        Vehicle entity = new Vehicle("radar", EntityPrototypes.NULL);
+        entity.setHeading(0.0);
+        RadarController c = new RadarController(new RangeWhileSearch());
+        
+        // RWS has a 180 degree azimuth spread, so straight "left" and "right"
+        // of the heading are exactly on the bound
+        assertTrue(c.isInRange(entity, new Vector3(0.0, 50000.0, 0.0)));
+        assertTrue(c.isInRange(entity, new Vector3(0.0, -50000.0, 0.0)));
+        assertTrue(c.isInRange(entity, new Vector3(50000.0, 0.0, 0.0)));
+        assertFalse(c.isInRange(entity, new Vector3(-50000.0, 1.0, 0.0)));
+        
+        // Beyond the 140km range
+        assertFalse(c.isInRange(entity, new Vector3(150000.0, 0.0, 0.0)));
+    }
+    
+    public void testOrientationChangesAreTracked()
+    {
+        Vehicle entity = new Vehicle("radar", EntityPrototypes.NULL);
+        entity.setHeading(0.0);
+        RadarController c = new RadarController(new TrackWhileScan());
+        Vector3 target = new Vector3(50000.0, 0.0, 0.0);
+        
+        assertTrue(c.isInRange(entity, target));
+        entity.setHeading(Math.PI);
+        assertFalse(c.isInRange(entity, target));
+        entity.setHeading(0.0);
+        assertTrue(c.isInRange(entity, target));
+        
+        // Narrow the slew and move its center away from the target
+        c.setAzimuthSlew(Math.toRadians(10.0));
+        c.setAzimuthCenter(Math.toRadians(20.0));
+        assertFalse(c.isInRange(entity, target));
+        c.setAzimuthCenter(0.0);
+        assertTrue(c.isInRange(entity, target));
+        
+        // TWS has a 90 degree inclination spread
+        entity.setPitch(Math.toRadians(60.0));
+        assertFalse(c.isInRange(entity, target));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors.radar;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.entities.Vehicle;
+import com.soartech.simjr.util.ExtendedProperties;
+
+/**
+ * @author ray
+ */
+public class RadarModeDefinitionTest extends TestCase
+{
+    public void testBuiltInModes()
+    {
+        assertTrue(RadarMode.getModes().containsAll(Arrays.asList("RWS", "TWS", "ST", "SAM", "FULL")));
+        
+        RadarMode tws = new TrackWhileScan();
+        assertEquals(16, tws.getAllowedTargetCount());
+        assertEquals(DetectionMode.TRACK_WHILE_SCAN, tws.getTargetDetectionMode());
+        assertEquals(DetectionMode.NONE, tws.getRegularDetectionMode());
+        assertTrue(tws.switchToRWSWhenNoTargets());
+        assertTrue(tws.onlyShowTargets());
+        assertEquals(0.0, tws.getRangeBounds().getLow());
+        assertEquals(140000.0, tws.getRangeBounds().getHigh());
+        assertEquals(60.0, tws.getAzimuthBounds().getSpread());
+        assertEquals(90.0, tws.getInclinationBounds().getSpread());
+        assertEquals("TWS", tws.toString());
+        
+        RadarMode rws = new RangeWhileSearch();
+        assertSame(RadarDegreeBound.NoBounds(), rws.getAzimuthBounds());
+        assertEquals(10.0, rws.getInclinationBounds().getSpread());
+        
+        RadarMode full = new Full();
+        assertSame(RadarBound.NoBounds(), full.getRangeBounds());
+        assertSame(RadarDegreeBound.NoBounds(), full.getInclinationBounds());
+    }
+    
+    public void testModesShareDefinitions()
+    {
+        RadarMode a = RadarMode.factory("SAM");
+        RadarMode b = new SAM();
+        assertTrue(a instanceof SAM);
+        assertSame(a.getDefinition(), b.getDefinition());
+        assertSame(a.getAzimuthBounds(), a.getAzimuthBounds());
+        
+        // Targets still belong to each mode instance
+        a.addTarget(new Vehicle("t", EntityPrototypes.NULL));
+        assertEquals(1, a.getTargets().size());
+        assertTrue(b.getTargets().isEmpty());
+    }
+    
+    public void testParse()
+    {
+        ExtendedProperties props = new ExtendedProperties();
+        props.setProperty("GMT.allowedTargets", "4");
+        props.setProperty("GMT.targetDetectionMode", "SINGLE_TARGET");
+        props.setProperty("GMT.onlyShowTargets", "true");
+        props.setProperty("GMT.range.high", "80000");
+        props.setProperty("GMT.azimuth", "90");
+        
+        Map<String, RadarModeDefinition> defs = RadarModeDefinition.parse(props);
+        assertEquals(1, defs.size());
+        RadarModeDefinition gmt = defs.get("GMT");
+        assertEquals("GMT", gmt.getName());
+        assertEquals(4, gmt.getAllowedTargetCount());
+        assertEquals(DetectionMode.SINGLE_TARGET, gmt.getTargetDetectionMode());
+        assertEquals(DetectionMode.NONE, gmt.getRegularDetectionMode());
+        assertTrue(gmt.onlyShowTargets());
+        assertFalse(gmt.switchToRWSWhenNoTargets());
+        assertEquals(Double.MIN_NORMAL, gmt.getRangeBounds().getLow());
+        assertEquals(80000.0, gmt.getRangeBounds().getHigh());
+        assertEquals(Math.cos(Math.toRadians(45.0)) - RadarScanAngleRange.COS_TOLERANCE, 
+                     gmt.getAzimuthBounds().getCosHalfSpread(), 1e-15);
+        assertSame(RadarDegreeBound.NoBounds(), gmt.getInclinationBounds());
+        
+        props.setProperty("GMT.regularDetectionMode", "BOGUS");
+        try
+        {
+            RadarModeDefinition.parse(props);
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e)
+        {
+        }
+    }
+    
+    public void testUnknownMode()
+    {
+        try
+        {
+            RadarModeDefinition.get("NOPE");
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e)
+        {
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sensors.radar;
+
+import junit.framework.TestCase;
+
+/**
+ * @author ray
+ */
+public class RadarScanPatternTest extends TestCase
+{
+    private static final double EPS = 1e-9;
+    
+    public void testZeroRevisitTimeScansEverything()
+    {
+        RadarScanPattern p = new RadarScanPattern(0.0);
+        p.advance(Math.PI, 1.0);
+        assertFalse(p.isSectorActive());
+        
+        // A revisit time shorter than the tick also covers the whole slew
+        p.setRevisitTime(0.5);
+        p.advance(Math.PI, 1.0);
+        assertFalse(p.isSectorActive());
+    }
+    
+    public void testSectorSweepsBackAndForth()
+    {
+        // 60 degree slew in 6 seconds, 10 degrees per 1 second tick
+        RadarScanPattern p = new RadarScanPattern(6.0);
+        double slew = Math.toRadians(60.0);
+        
+        p.advance(slew, 1.0);
+        assertTrue(p.isSectorActive());
+        assertEquals(Math.toRadians(5.0), p.getSectorCenter(), EPS);
+        assertEquals(Math.toRadians(5.0), p.getSectorHalfWidth(), EPS);
+        
+        p.advance(slew, 1.0);
+        p.advance(slew, 1.0);
+        assertEquals(Math.toRadians(30.0), p.getBeamOffset(), EPS);
+        assertEquals(Math.toRadians(25.0), p.getSectorCenter(), EPS);
+        
+        // Bounces off the edge and heads back
+        p.advance(slew, 1.0);
+        assertEquals(Math.toRadians(20.0), p.getBeamOffset(), EPS);
+        assertEquals(Math.toRadians(25.0), p.getSectorCenter(), EPS);
+        
+        // A tick that crosses the edge covers everything past the lower of
+        // the start and end positions
+        p.advance(slew, 4.5);
+        assertEquals(Math.toRadians(-25.0), p.getBeamOffset(), EPS);
+        p.advance(slew, 1.5);
+        assertEquals(Math.toRadians(-20.0), p.getBeamOffset(), EPS);
+        assertEquals(Math.toRadians(-25.0), p.getSectorCenter(), EPS);
+        assertEquals(Math.toRadians(5.0), p.getSectorHalfWidth(), EPS);
+    }
+    
+    public void testFullCircleRotates()
+    {
+        RadarScanPattern p = new RadarScanPattern(4.0);
+        for(int i = 0; i < 3; ++i)
+        {
+            p.advance(2 * Math.PI, 1.0);
+        }
+        assertEquals(Math.toRadians(-90.0), p.getBeamOffset(), EPS);
+        assertEquals(Math.toRadians(225.0), p.getSectorCenter(), EPS);
+        assertEquals(Math.toRadians(45.0), p.getSectorHalfWidth(), EPS);
+    }
+    
+    public void testNegativeRevisitTime()
+    {
+        try
+        {
+            new RadarScanPattern(-1.0);
+            fail("Expected IllegalArgumentException");
+        }
+        catch(IllegalArgumentException e)
+        {
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.sim.entities.DamageStatus;
+import com.soartech.simjr.sim.entities.Vehicle;
+import com.soartech.simjr.sim.entities.Vulnerability;
+import com.soartech.simjr.weapons.MissileWeapon;
+import com.soartech.simjr.weapons.Weapon;
+
+/**
+ * @author ray
+ */
+public class DetonationTest extends TestCase
+{
+    private Simulation sim;
+    private Weapon weapon;
+    private final List<Detonation> detonations = new ArrayList<Detonation>();
+    private final List<DamageReport> reports = new ArrayList<DamageReport>();
+    
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#setUp()
+     */
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        
+        sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        sim.addListener(new SimulationListenerAdapter() {
+
+            @Override
+            public void onDetonation(Detonation detonation)
+            {
+                detonations.add(detonation);
+            }
+
+            @Override
+            public void onDamage(DamageReport report)
+            {
+                reports.add(report);
+            }
+        });
+        weapon = new MissileWeapon("test", 10, 10);
+    }
+
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#tearDown()
+     */
+    @Override
+    protected void tearDown() throws Exception
+    {
+        sim.shutdown();
+        
+        super.tearDown();
+    }
+    
+    private Vehicle addVehicle(String name, double x)
+    {
+        Vehicle v = new Vehicle(name, EntityPrototypes.NULL);
+        v.setPosition(new Vector3(x, 0.0, 0.0));
+        sim.addEntity(v);
+        return v;
+    }
+    
+    public void testDetonationOutsideTickIsResolvedImmediately()
+    {
+        Vehicle target = addVehicle("target", 0.0);
+        Vehicle bystander = addVehicle("bystander", 10.0);
+        
+        Detonation d = new Detonation(sim, weapon, target, null);
+        sim.detonate(d);
+        
+        // Without a blast radius, only the target is hit
+        assertEquals(DamageStatus.destroyed, target.getProperty(EntityConstants.PROPERTY_DAMAGE));
+        assertFalse(DamageStatus.destroyed.equals(bystander.getProperty(EntityConstants.PROPERTY_DAMAGE)));
+        assertEquals(1, detonations.size());
+        assertEquals(1, reports.size());
+        assertEquals(1, reports.get(0).getDamage().size());
+        assertEquals(DamageStatus.destroyed, reports.get(0).getDamage().get(target));
+        assertEquals(1, d.getDamagedEntities().size());
+    }
+    
+    public void testTargetedDetonationWithoutSimulation()
+    {
+        Vehicle target = new Vehicle("target", EntityPrototypes.NULL);
+        
+        Detonation d = new Detonation(null, weapon, target, null, 3.0);
+        d.detonate();
+        
+        assertEquals(DamageStatus.destroyed, target.getProperty(EntityConstants.PROPERTY_DAMAGE));
+        assertEquals(1, d.getDamagedEntities().size());
+        assertSame(target, d.getDamagedEntities().get(0));
+    }
+    
+    public void testDetonationsDuringTickAreResolvedTogether()
+    {
+        final Vehicle near = addVehicle("near", 0.0);
+        final Vehicle far = addVehicle("far", 140.0);
+        sim.addTickable(new Tickable() {
+
+            @Override
+            public void tick(double dt)
+            {
+                sim.detonate(new Detonation(sim, weapon, null, new Vector3(-50.0, 0.0, 0.0)));
+                sim.detonate(new Detonation(sim, weapon, null, new Vector3(50.0, 0.0, 0.0)));
+                
+                // Nothing happens until the end of the tick
+                assertEquals(2 * reports.size(), detonations.size());
+                if(reports.isEmpty())
+                {
+                    assertFalse(DamageStatus.destroyed.equals(near.getProperty(EntityConstants.PROPERTY_DAMAGE)));
+                }
+            }
+        });
+        
+        sim.tick(1.0);
+        
+        assertEquals(2, detonations.size());
+        assertEquals(1, reports.size());
+        
+        // Both default 100m blasts reach "near", it's reported once
+        DamageReport report = reports.get(0);
+        assertEquals(1.0, report.getTime());
+        assertEquals(detonations, report.getDetonations());
+        assertEquals(2, report.getDamage().size());
+        assertEquals(DamageStatus.destroyed, report.getDamage().get(near));
+        assertEquals(DamageStatus.destroyed, report.getDamage().get(far));
+        assertEquals(DamageStatus.destroyed, near.getProperty(EntityConstants.PROPERTY_DAMAGE));
+        
+        // Already destroyed entities aren't damaged again
+        sim.tick(1.0);
+        assertEquals(2, reports.size());
+        assertTrue(reports.get(1).getDamage().isEmpty());
+    }
+    
+    public void testBlastDamageFallsOff()
+    {
+        weapon.setBlastRadius(100.0);
+        weapon.setBlastFalloff(0.5);
+        
+        Vehicle target = addVehicle("target", 0.0);
+        Vehicle inner = addVehicle("inner", 20.0);
+        Vehicle middle = addVehicle("middle", 60.0);
+        Vehicle outer = addVehicle("outer", 90.0);
+        Vehicle outside = addVehicle("outside", 120.0);
+        outer.setProperty(EntityConstants.PROPERTY_DAMAGE, DamageStatus.moderate);
+        
+        Detonation d = new Detonation(sim, weapon, target, null);
+        assertEquals(100.0, d.getBlastRadius());
+        assertEquals(DamageStatus.destroyed, d.getBlastDamage(50.0));
+        assertEquals(DamageStatus.moderate, d.getBlastDamage(70.0));
+        assertEquals(DamageStatus.slight, d.getBlastDamage(80.0));
+        assertNull(d.getBlastDamage(100.1));
+        
+        sim.detonate(d);
+        
+        assertEquals(DamageStatus.destroyed, target.getProperty(EntityConstants.PROPERTY_DAMAGE));
+        assertEquals(DamageStatus.destroyed, inner.getProperty(EntityConstants.PROPERTY_DAMAGE));
+        assertEquals(DamageStatus.moderate, middle.getProperty(EntityConstants.PROPERTY_DAMAGE));
+        // Slight damage doesn't repair moderate damage
+        assertEquals(DamageStatus.moderate, outer.getProperty(EntityConstants.PROPERTY_DAMAGE));
+        assertFalse(d.getDamagedEntities().contains(outside));
+        assertEquals(4, d.getDamagedEntities().size());
+        assertEquals(3, reports.get(0).getDamage().size());
+    }
+    
+    public void testInvulnerableEntitiesAreNotDamaged()
+    {
+        Vehicle target = addVehicle("target", 0.0);
+        target.setProperty(EntityConstants.PROPERTY_VULNERABILITY, Vulnerability.invulnerable);
+        
+        sim.detonate(new Detonation(sim, weapon, null, Vector3.ZERO));
+        
+        assertFalse(DamageStatus.destroyed.equals(target.getProperty(EntityConstants.PROPERTY_DAMAGE)));
+        assertTrue(reports.get(0).getDamage().isEmpty());
+    }
+}
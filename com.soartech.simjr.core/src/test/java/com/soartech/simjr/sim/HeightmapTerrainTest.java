@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+import com.soartech.math.geotrans.Geodetic;
+
+/**
+ * @author ray
+ */
+public class HeightmapTerrainTest extends TestCase
+{
+    /**
+     * 5x5 samples, 100m apart, starting at (-200, -200). Flat at 0 except for
+     * a 100m ridge along y == 0.
+     */
+    private static HeightmapTerrain createRidge()
+    {
+        float[] samples = new float[25];
+        for(int i = 0; i < 5; ++i)
+        {
+            samples[2 * 5 + i] = 100.0f;
+        }
+        return new HeightmapTerrain(new Geodetic.Point(), samples, 5, 5, 100.0, -200.0, -200.0);
+    }
+    
+    /**
+     * Reference line of sight: sample the segment densely against the 
+     * bilinear surface.
+     */
+    private static boolean sampledLineOfSight(HeightmapTerrain terrain, Vector3 a, Vector3 b, double minX, double minY, double maxX, double maxY)
+    {
+        int steps = 20000;
+        for(int k = 0; k <= steps; ++k)
+        {
+            Vector3 p = a.add(b.subtract(a).multiply((double) k / steps));
+            if(p.x < minX || p.x > maxX || p.y < minY || p.y > maxY)
+            {
+                continue;
+            }
+            if(p.z < terrain.getElevation(p.x, p.y) - 1e-6)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public void testBilinearElevation()
+    {
+        HeightmapTerrain terrain = createRidge();
+        assertEquals(100.0, terrain.getElevation(0.0, 0.0), 1e-9);
+        assertEquals(50.0, terrain.getElevation(37.0, 50.0), 1e-9);
+        assertEquals(25.0, terrain.getElevation(0.0, -75.0), 1e-9);
+        assertEquals(0.0, terrain.getElevation(150.0, 150.0), 1e-9);
+        assertEquals(100.0, terrain.getElevationAtPoint(new Vector3(10.0, 0.0, 0.0)), 1e-9);
+        
+        // Edges are extended outside the raster
+        assertEquals(100.0, terrain.getElevation(5000.0, 0.0), 1e-9);
+        assertEquals(0.0, terrain.getElevation(0.0, -5000.0), 1e-9);
+        
+        Vector3 clamped = terrain.clampPointToGround(new Vector3(0.0, 50.0, 1000.0), 10.0);
+        assertEquals(60.0, clamped.z, 1e-9);
+    }
+    
+    public void testLineOfSightOverRidge()
+    {
+        HeightmapTerrain terrain = createRidge();
+        
+        // Across the ridge at ground level
+        assertFalse(terrain.hasLineOfSight(new Vector3(0.0, -150.0, 0.0), new Vector3(0.0, 150.0, 0.0)));
+        // High enough to clear it
+        assertTrue(terrain.hasLineOfSight(new Vector3(0.0, -150.0, 101.0), new Vector3(0.0, 150.0, 101.0)));
+        // Along the valley, parallel to the ridge
+        assertTrue(terrain.hasLineOfSight(new Vector3(-150.0, -150.0, 0.0), new Vector3(150.0, -150.0, 0.0)));
+        // End points on the ground of the slope itself are visible
+        assertTrue(terrain.hasLineOfSight(new Vector3(0.0, -100.0, 0.0), new Vector3(0.0, -50.0, 50.0)));
+        // Symmetric, and the same from the cache
+        assertFalse(terrain.hasLineOfSight(new Vector3(0.0, 150.0, 0.0), new Vector3(0.0, -150.0, 0.0)));
+        terrain.clearLineOfSightCache();
+        assertFalse(terrain.hasLineOfSight(new Vector3(0.0, 150.0, 0.0), new Vector3(0.0, -150.0, 0.0)));
+        
+        // Outside the raster nothing blocks
+        assertTrue(terrain.hasLineOfSight(new Vector3(1000.0, -150.0, 0.0), new Vector3(1000.0, 150.0, 0.0)));
+    }
+    
+    public void testCachedLineOfSightIsExact()
+    {
+        HeightmapTerrain terrain = createRidge();
+        
+        // Both targets are in the same cell, just above the same point, but
+        // only the nearer one is visible over the ridge.
+        Vector3 sensor = new Vector3(0.0, -150.0, 0.0);
+        assertFalse(terrain.hasLineOfSight(sensor, new Vector3(0.0, 150.0, 199.5)));
+        assertTrue(terrain.hasLineOfSight(sensor, new Vector3(0.0, 101.0, 199.5)));
+        assertTrue(terrain.hasLineOfSight(new Vector3(0.0, 101.0, 199.5), sensor));
+        assertFalse(terrain.hasLineOfSight(new Vector3(0.0, 150.0, 199.5), sensor));
+    }
+    
+    public void testLineOfSightMatchesSampling()
+    {
+        Random random = new Random(7);
+        int columns = 37, rows = 23;
+        float[] samples = new float[columns * rows];
+        for(int i = 0; i < samples.length; ++i)
+        {
+            samples[i] = (float) (random.nextDouble() * 50.0);
+        }
+        HeightmapTerrain terrain = new HeightmapTerrain(new Geodetic.Point(), samples, columns, rows, 10.0, 0.0, 0.0);
+        double maxX = (columns - 1) * 10.0, maxY = (rows - 1) * 10.0;
+        
+        int blocked = 0;
+        for(int k = 0; k < 500; ++k)
+        {
+            Vector3 a = new Vector3(random.nextDouble() * 400.0 - 20.0, random.nextDouble() * 260.0 - 20.0, random.nextDouble() * 80.0);
+            Vector3 b = new Vector3(random.nextDouble() * 400.0 - 20.0, random.nextDouble() * 260.0 - 20.0, random.nextDouble() * 80.0);
+            boolean expected = sampledLineOfSight(terrain, a, b, 0.0, 0.0, maxX, maxY);
+            boolean actual = terrain.computeLineOfSight(a, b);
+            // Dense sampling can miss a grazing contact, but never finds one that isn't there
+            if(!expected)
+            {
+                assertFalse("segment " + k, actual);
+                ++blocked;
+            }
+            else if(!actual)
+            {
+                assertTrue("segment " + k, grazes(terrain, a, b));
+            }
+        }
+        assertTrue(blocked > 50);
+    }
+    
+    /**
+     * True if the segment is blocked by less than a few centimeters, which
+     * dense sampling may not resolve.
+     */
+    private static boolean grazes(HeightmapTerrain terrain, Vector3 a, Vector3 b)
+    {
+        return terrain.computeLineOfSight(a.add(new Vector3(0, 0, 0.05)), b.add(new Vector3(0, 0, 0.05)));
+    }
+    
+    public void testLoadMappedRaster() throws IOException
+    {
+        File file = File.createTempFile("heightmap", ".raw");
+        file.deleteOnExit();
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+        try
+        {
+            for(int j = 0; j < 3; ++j)
+            {
+                for(int i = 0; i < 4; ++i)
+                {
+                    out.writeFloat(j * 10.0f + i);
+                }
+            }
+        }
+        finally
+        {
+            out.close();
+        }
+        
+        HeightmapTerrain terrain = HeightmapTerrain.load(new Geodetic.Point(), file, ByteOrder.BIG_ENDIAN, 4, 3, 1.0, 0.0, 0.0);
+        assertEquals(4, terrain.getColumns());
+        assertEquals(3, terrain.getRows());
+        assertEquals(23.0, terrain.getElevation(3.0, 2.0), 1e-9);
+        assertEquals(11.5, terrain.getElevation(1.5, 1.0), 1e-9);
+        
+        try
+        {
+            HeightmapTerrain.load(new Geodetic.Point(), file, ByteOrder.BIG_ENDIAN, 4, 4, 1.0, 0.0, 0.0);
+            fail("Expected IllegalArgumentException");
+        }
+        catch(IllegalArgumentException e)
+        {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+
+/**
+ * @author ray
+ */
+public class KinematicStoreTest extends TestCase
+{
+    public void testSlotsAreReusedAfterRelease()
+    {
+        final KinematicStore store = new KinematicStore();
+        final int a = store.allocate(new Vector3(1, 2, 3), Vector3.ZERO, 0, 0, 0);
+        final int b = store.allocate(new Vector3(4, 5, 6), Vector3.ZERO, 0, 0, 0);
+        assertEquals(2, store.getSlotCount());
+        
+        store.release(a);
+        assertEquals(1, store.getSlotCount());
+        final int c = store.allocate(new Vector3(7, 8, 9), Vector3.ZERO, 0, 0, 0);
+        assertEquals(a, c);
+        assertEquals(new Vector3(7, 8, 9), store.getPosition(c));
+        assertEquals(new Vector3(4, 5, 6), store.getPosition(b));
+    }
+    
+    public void testColumnsGrowAndKeepState()
+    {
+        final KinematicStore store = new KinematicStore();
+        final int initialCapacity = store.getCapacity();
+        final int count = initialCapacity * 3;
+        for(int i = 0; i < count; ++i)
+        {
+            assertEquals(i, store.allocate(new Vector3(i, -i, 2 * i), new Vector3(1, 0, i), i, -i, 0.5 * i));
+        }
+        assertTrue(store.getCapacity() >= count);
+        for(int i = 0; i < count; ++i)
+        {
+            assertEquals(new Vector3(i, -i, 2 * i), store.getPosition(i));
+            assertEquals(new Vector3(1, 0, i), store.getVelocity(i));
+            assertEquals((double) i, store.getHeading(i));
+            assertEquals((double) -i, store.getPitch(i));
+            assertEquals(0.5 * i, store.getRoll(i));
+        }
+    }
+    
+    public void testAdvanceOnlyMovesScheduledSlots()
+    {
+        final KinematicStore store = new KinematicStore();
+        final Vector3 p = new Vector3(10.1, 20.2, 30.3);
+        final Vector3 v = new Vector3(0.7, -3.3, 9.1);
+        final int moving = store.allocate(p, v, 0, 0, 0);
+        final int still = store.allocate(p, v, 0, 0, 0);
+        
+        store.scheduleAdvance(moving);
+        assertEquals(1, store.advance(0.2));
+        assertEquals(p.add(v.multiply(0.2)), store.getPosition(moving));
+        assertEquals(store.getX(moving), store.getPosition(moving).x);
+        assertSame(p, store.getPosition(still));
+        
+        // The schedule is cleared by advance
+        assertEquals(0, store.advance(0.2));
+    }
+    
+    public void testViewsAreCachedUntilStateChanges()
+    {
+        final KinematicStore store = new KinematicStore();
+        final int slot = store.allocate(new Vector3(1, 1, 1), new Vector3(1, 0, 0), 0, 0, 0);
+        store.scheduleAdvance(slot);
+        store.advance(1.0);
+        
+        final Vector3 position = store.getPosition(slot);
+        assertSame(position, store.getPosition(slot));
+        assertEquals(new Vector3(2, 1, 1), position);
+    }
+    
+    public void testReleaseRejectsInvalidSlot()
+    {
+        final KinematicStore store = new KinematicStore();
+        try
+        {
+            store.release(0);
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+    }
+}
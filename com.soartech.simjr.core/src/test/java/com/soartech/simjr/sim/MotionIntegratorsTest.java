@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.sim.entities.Vehicle;
+
+/**
+ * @author ray
+ */
+public class MotionIntegratorsTest extends TestCase
+{
+    private static final Vector3 GRAVITY = new Vector3(0, 0, -9.8);
+    
+    private Simulation sim;
+    
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#setUp()
+     */
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+    }
+
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#tearDown()
+     */
+    @Override
+    protected void tearDown() throws Exception
+    {
+        sim.shutdown();
+        super.tearDown();
+    }
+    
+    private Vehicle createVehicle(Vector3 position, Vector3 velocity, EntityPrototype prototype)
+    {
+        final Vehicle v = new Vehicle("v" + sim.getEntities().size(), prototype);
+        sim.addEntity(v);
+        v.setPosition(position);
+        v.setVelocity(velocity);
+        return v;
+    }
+    
+    private static EntityAccelerationProvider constant(final Vector3 a)
+    {
+        return new EntityAccelerationProvider()
+        {
+            @Override
+            public Vector3 getAcceleration(Vector3 position, Vector3 velocity, double time)
+            {
+                return a;
+            }
+        };
+    }
+    
+    /**
+     * Spring with unit angular frequency, a = -x. Implements the primitive 
+     * interface so both code paths give the same answer.
+     */
+    private static final PrimitiveAccelerationProvider SPRING = new PrimitiveAccelerationProvider()
+    {
+        @Override
+        public Vector3 getAcceleration(Vector3 position, Vector3 velocity, double time)
+        {
+            return position.multiply(-1.0);
+        }
+
+        @Override
+        public void getAcceleration(double[] state, int stateOffset, double time, double[] out, int outOffset)
+        {
+            out[outOffset] = -state[stateOffset];
+            out[outOffset + 1] = -state[stateOffset + 1];
+            out[outOffset + 2] = -state[stateOffset + 2];
+        }
+    };
+    
+    private static void assertVectorEquals(Vector3 expected, Vector3 actual, double tolerance)
+    {
+        assertEquals(expected.x, actual.x, tolerance);
+        assertEquals(expected.y, actual.y, tolerance);
+        assertEquals(expected.z, actual.z, tolerance);
+    }
+    
+    public void testConstantVelocityIsExactForAllIntegrators()
+    {
+        final String[] names = { MotionIntegrators.DEFAULT, MotionIntegrators.EULER, 
+                MotionIntegrators.SEMI_IMPLICIT_EULER, MotionIntegrators.RK4, MotionIntegrators.RK45 };
+        for(String name : names)
+        {
+            final Vehicle v = createVehicle(new Vector3(1, 2, 3), new Vector3(10, -5, 2), EntityPrototypes.NULL);
+            MotionIntegrators.forName(name, null).updateEntity(v, EntityAccelerationProvider.NO_ACCELERATION_MODEL, 0.5);
+            assertVectorEquals(new Vector3(6, -0.5, 4), v.getPosition(), 1e-12);
+            assertVectorEquals(new Vector3(10, -5, 2), v.getVelocity(), 1e-12);
+        }
+    }
+    
+    public void testEulerVariantsUnderConstantAcceleration()
+    {
+        final double dt = 2.0;
+        final Vehicle explicit = createVehicle(Vector3.ZERO, new Vector3(10, 0, 0), EntityPrototypes.NULL);
+        ExplicitEulerIntegrator.getInstance().updateEntity(explicit, constant(GRAVITY), dt);
+        assertVectorEquals(new Vector3(20, 0, 0), explicit.getPosition(), 1e-12);
+        assertVectorEquals(new Vector3(10, 0, -19.6), explicit.getVelocity(), 1e-12);
+        
+        final Vehicle semi = createVehicle(Vector3.ZERO, new Vector3(10, 0, 0), EntityPrototypes.NULL);
+        SemiImplicitEulerIntegrator.getInstance().updateEntity(semi, constant(GRAVITY), dt);
+        assertVectorEquals(new Vector3(20, 0, -39.2), semi.getPosition(), 1e-12);
+        assertVectorEquals(new Vector3(10, 0, -19.6), semi.getVelocity(), 1e-12);
+    }
+    
+    public void testRungeKuttaIsExactUnderConstantAcceleration()
+    {
+        final double dt = 2.0;
+        final Vector3 expectedPosition = new Vector3(20, 0, -19.6);
+        final Vector3 expectedVelocity = new Vector3(10, 0, -19.6);
+        
+        final Vehicle rk4 = createVehicle(Vector3.ZERO, new Vector3(10, 0, 0), EntityPrototypes.NULL);
+        Rk4Integrator.getInstance().updateEntity(rk4, constant(GRAVITY), dt);
+        assertVectorEquals(expectedPosition, rk4.getPosition(), 1e-9);
+        assertVectorEquals(expectedVelocity, rk4.getVelocity(), 1e-9);
+        
+        final Vehicle rk45 = createVehicle(Vector3.ZERO, new Vector3(10, 0, 0), EntityPrototypes.NULL);
+        new AdaptiveRk45Integrator().updateEntity(rk45, constant(GRAVITY), dt);
+        assertVectorEquals(expectedPosition, rk45.getPosition(), 1e-9);
+        assertVectorEquals(expectedVelocity, rk45.getVelocity(), 1e-9);
+    }
+    
+    public void testRk4MatchesDefaultIntegrator()
+    {
+        final Vehicle reference = createVehicle(new Vector3(1, 0, 0), new Vector3(0, 1, 0), EntityPrototypes.NULL);
+        final Vehicle legacy = createVehicle(new Vector3(1, 0, 0), new Vector3(0, 1, 0), EntityPrototypes.NULL);
+        final Vehicle primitive = createVehicle(new Vector3(1, 0, 0), new Vector3(0, 1, 0), EntityPrototypes.NULL);
+        final EntityAccelerationProvider legacySpring = new EntityAccelerationProvider()
+        {
+            @Override
+            public Vector3 getAcceleration(Vector3 position, Vector3 velocity, double time)
+            {
+                return SPRING.getAcceleration(position, velocity, time);
+            }
+        };
+        for(int i = 0; i < 50; ++i)
+        {
+            DefaultEntityMotionIntegrator.getInstance().updateEntity(reference, legacySpring, 0.1);
+            Rk4Integrator.getInstance().updateEntity(legacy, legacySpring, 0.1);
+            Rk4Integrator.getInstance().updateEntity(primitive, SPRING, 0.1);
+        }
+        assertVectorEquals(reference.getPosition(), legacy.getPosition(), 0.0);
+        assertVectorEquals(reference.getVelocity(), legacy.getVelocity(), 0.0);
+        assertVectorEquals(reference.getPosition(), primitive.getPosition(), 0.0);
+        assertVectorEquals(reference.getVelocity(), primitive.getVelocity(), 0.0);
+    }
+    
+    public void testAdaptiveRk45SubdividesLargeSteps()
+    {
+        // A full period of the spring in only 4 ticks. Fixed step RK4 drifts
+        // noticeably; the adaptive integrator should stay within tolerance.
+        final double dt = Math.PI / 2.0;
+        final Vehicle rk4 = createVehicle(new Vector3(1, 0, 0), Vector3.ZERO, EntityPrototypes.NULL);
+        final Vehicle rk45 = createVehicle(new Vector3(1, 0, 0), Vector3.ZERO, EntityPrototypes.NULL);
+        final AdaptiveRk45Integrator adaptive = new AdaptiveRk45Integrator(1e-6);
+        for(int i = 0; i < 4; ++i)
+        {
+            Rk4Integrator.getInstance().updateEntity(rk4, SPRING, dt);
+            adaptive.updateEntity(rk45, SPRING, dt);
+        }
+        final Vector3 expected = new Vector3(1, 0, 0);
+        assertTrue(rk4.getPosition().subtract(expected).length() > 1e-3);
+        assertVectorEquals(expected, rk45.getPosition(), 1e-4);
+        assertVectorEquals(Vector3.ZERO, rk45.getVelocity(), 1e-4);
+    }
+    
+    public void testIntegratorIsSelectedFromPrototypeProperty()
+    {
+        final EntityPrototype rk4 = new DefaultEntityPrototype.Builder().id("rk4").
+            property(EntityConstants.PROPERTY_MOTION_INTEGRATOR, MotionIntegrators.RK4).build();
+        assertSame(Rk4Integrator.getInstance(), createVehicle(Vector3.ZERO, Vector3.ZERO, rk4).getMotionIntegrator());
+        
+        final EntityPrototype rk45 = new DefaultEntityPrototype.Builder().id("rk45").
+            property(EntityConstants.PROPERTY_MOTION_INTEGRATOR, MotionIntegrators.RK45).
+            property(EntityConstants.PROPERTY_MOTION_INTEGRATOR_TOLERANCE, "1e-5").build();
+        final EntityMotionIntegrator adaptive = createVehicle(Vector3.ZERO, Vector3.ZERO, rk45).getMotionIntegrator();
+        assertTrue(adaptive instanceof AdaptiveRk45Integrator);
+        assertEquals(1e-5, ((AdaptiveRk45Integrator) adaptive).getTolerance(), 0.0);
+        
+        final EntityPrototype unknown = new DefaultEntityPrototype.Builder().id("unknown").
+            property(EntityConstants.PROPERTY_MOTION_INTEGRATOR, "leapfrog").build();
+        assertSame(DefaultEntityMotionIntegrator.getInstance(), 
+                   createVehicle(Vector3.ZERO, Vector3.ZERO, unknown).getMotionIntegrator());
+    }
+    
+    public void testSetMotionIntegrator()
+    {
+        final Vehicle v = createVehicle(Vector3.ZERO, Vector3.ZERO, EntityPrototypes.NULL);
+        assertSame(DefaultEntityMotionIntegrator.getInstance(), v.getMotionIntegrator());
+        v.setMotionIntegrator(SemiImplicitEulerIntegrator.getInstance());
+        assertSame(SemiImplicitEulerIntegrator.getInstance(), v.getMotionIntegrator());
+        try
+        {
+            v.setMotionIntegrator(null);
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+    }
+}
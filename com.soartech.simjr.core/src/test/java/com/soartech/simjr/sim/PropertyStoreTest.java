@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+public class PropertyStoreTest extends TestCase
+{
+    public void testPutGetAndRemove()
+    {
+        final PropertyStore store = new PropertyStore(1);
+        final PropertyKey a = PropertyKey.of("PropertyStoreTest.a");
+        final PropertyKey b = PropertyKey.of("PropertyStoreTest.b");
+        
+        assertNull(store.get(a));
+        assertNull(store.put(a, "one"));
+        assertNull(store.put(b, "two"));
+        assertEquals("one", store.get(a));
+        assertEquals("two", store.get("PropertyStoreTest.b"));
+        
+        assertEquals("one", store.put(a, null));
+        assertNull(store.get(a));
+        assertEquals("two", store.remove(b));
+        assertNull(store.get(b));
+    }
+    
+    public void testKeysAreInterned()
+    {
+        final PropertyKey key = PropertyKey.of("PropertyStoreTest.interned");
+        assertSame(key, PropertyKey.of(new String("PropertyStoreTest.interned")));
+        assertSame(key, PropertyKey.find("PropertyStoreTest.interned"));
+        assertSame(key, PropertyKey.forSlot(key.getSlot()));
+    }
+    
+    public void testLookupOfUnknownNameDoesNotCreateKey()
+    {
+        final PropertyStore store = new PropertyStore();
+        assertNull(store.get("PropertyStoreTest.unknown"));
+        assertNull(store.remove("PropertyStoreTest.unknown"));
+        assertNull(PropertyKey.find("PropertyStoreTest.unknown"));
+    }
+    
+    public void testMapView()
+    {
+        final PropertyStore store = new PropertyStore();
+        final Map<String, Object> expected = new HashMap<String, Object>();
+        expected.put("PropertyStoreTest.x", 1);
+        expected.put("PropertyStoreTest.y", 2);
+        
+        final Map<String, Object> view = store.asMap();
+        view.putAll(expected);
+        assertEquals(expected, view);
+        assertEquals(2, view.size());
+        assertTrue(view.containsKey("PropertyStoreTest.x"));
+        
+        view.remove("PropertyStoreTest.x");
+        assertNull(store.get("PropertyStoreTest.x"));
+        assertEquals(1, view.size());
+    }
+}
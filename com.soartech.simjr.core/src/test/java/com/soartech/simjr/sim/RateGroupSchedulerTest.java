@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import junit.framework.TestCase;
+
+/**
+ * @author ray
+ */
+public class RateGroupSchedulerTest extends TestCase
+{
+    private static class Periodic implements PeriodicTickable
+    {
+        double period;
+        
+        Periodic(double period)
+        {
+            this.period = period;
+        }
+        
+        public double getTickPeriod()
+        {
+            return period;
+        }
+        
+        public void tick(double dt)
+        {
+        }
+    }
+    
+    public void testMembersWithoutPeriodAreAlwaysDue()
+    {
+        final RateGroupScheduler scheduler = new RateGroupScheduler();
+        final Object member = new Object();
+        for(int i = 0; i < 10; ++i)
+        {
+            assertEquals(0.2, scheduler.advance(member, 0, 0.0, 0.2), 0.0);
+        }
+    }
+    
+    public void testPeriodicMemberIsTickedWithElapsedTime()
+    {
+        final RateGroupScheduler scheduler = new RateGroupScheduler();
+        final Object member = new Object();
+        
+        // Phase key 0 is due on the first tick
+        assertEquals(0, RateGroupScheduler.getPhase(0));
+        assertEquals(0.2, scheduler.advance(member, 0, 1.0, 0.2), 1e-9);
+        
+        int ticks = 1;
+        for(int i = 1; i < 50; ++i)
+        {
+            final double dt = scheduler.advance(member, 0, 1.0, 0.2);
+            if(dt > 0.0)
+            {
+                assertEquals("tick " + i, 0, i % 5);
+                assertEquals(1.0, dt, 1e-9);
+                ++ticks;
+            }
+        }
+        assertEquals(10, ticks);
+    }
+    
+    public void testPhasesSpreadMembersOverTicks()
+    {
+        final RateGroupScheduler scheduler = new RateGroupScheduler();
+        final Object[] members = new Object[16];
+        for(int i = 0; i < members.length; ++i)
+        {
+            members[i] = new Object();
+        }
+        
+        // 16 members with a period of 16 ticks
+        for(int tick = 0; tick < 64; ++tick)
+        {
+            int due = 0;
+            for(int i = 0; i < members.length; ++i)
+            {
+                if(scheduler.advance(members[i], i, 1.6, 0.1) > 0.0)
+                {
+                    ++due;
+                }
+            }
+            assertTrue("tick " + tick + ": " + due, due <= 2);
+        }
+    }
+    
+    public void testPeriodicTickableOverridesClassPeriod()
+    {
+        assertEquals(0.5, RateGroupScheduler.getPeriod(new Periodic(0.5)), 0.0);
+        assertEquals(0.0, RateGroupScheduler.getPeriod(new Periodic(0.0)), 0.0);
+        assertEquals(0.0, RateGroupScheduler.getPeriod(new Periodic(Double.NaN)), 0.0);
+        assertEquals(0.0, RateGroupScheduler.getPeriod(new Object()), 0.0);
+    }
+    
+    public void testSweepForgetsMembersThatWereNotAdvanced()
+    {
+        final RateGroupScheduler scheduler = new RateGroupScheduler();
+        final Object member = new Object();
+        assertTrue(scheduler.advance(member, 0, 1.0, 0.1) > 0.0);
+        assertEquals(0.0, scheduler.advance(member, 0, 1.0, 0.1), 0.0);
+        
+        scheduler.sweep();
+        assertEquals(0.0, scheduler.advance(member, 0, 1.0, 0.1), 0.0);
+        scheduler.sweep();
+        scheduler.sweep();
+        
+        // Forgotten, so it starts over at its phase
+        assertTrue(scheduler.advance(member, 0, 1.0, 0.1) > 0.0);
+    }
+}
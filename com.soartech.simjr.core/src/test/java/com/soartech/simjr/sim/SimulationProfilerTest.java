@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import junit.framework.TestCase;
+
+import com.soartech.simjr.console.ConsoleManager;
+import com.soartech.simjr.console.ConsoleParticipant;
+import com.soartech.simjr.controllers.FixedWingFlightController;
+import com.soartech.simjr.services.DefaultServiceManager;
+import com.soartech.simjr.sim.SimulationProfiler.Phase;
+import com.soartech.simjr.sim.SimulationProfiler.Timing;
+import com.soartech.simjr.sim.entities.Vehicle;
+
+public class SimulationProfilerTest extends TestCase
+{
+    private DefaultServiceManager services;
+    private Simulation sim;
+    private SimulationProfiler profiler;
+    
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#setUp()
+     */
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        services = new DefaultServiceManager();
+        sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        services.addService(sim);
+        profiler = SimulationProfiler.findService(services);
+    }
+
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#tearDown()
+     */
+    protected void tearDown() throws Exception
+    {
+        services.shutdownServices();
+        sim.shutdown();
+        super.tearDown();
+    }
+    
+    public void testProfilerIsDisabledByDefault()
+    {
+        assertNotNull(profiler);
+        assertFalse(profiler.isEnabled());
+        assertNull(sim.getProfiler());
+        
+        sim.tick(0.1);
+        assertEquals(0, profiler.getTickCount());
+    }
+    
+    public void testRecordsPhasesEntitiesCapabilitiesAndListeners()
+    {
+        final Vehicle v = new Vehicle("v", EntityPrototypes.NULL);
+        v.addCapability(new FixedWingFlightController());
+        sim.addEntity(v);
+        sim.addListener(new SimulationListenerAdapter());
+        
+        profiler.setEnabled(true);
+        assertSame(profiler, sim.getProfiler());
+        for(int i = 0; i < 3; ++i)
+        {
+            sim.tick(0.1);
+        }
+        
+        assertEquals(3, profiler.getTickCount());
+        for(Phase phase : Phase.values())
+        {
+            assertEquals(phase.name(), 3, profiler.getTiming(phase).getCount());
+        }
+        assertTrue(profiler.getTickMaxMicros() >= profiler.getTickP50Micros());
+        
+        assertEquals(1, profiler.getEntityTimings().size());
+        assertEquals(Vehicle.class.getName(), profiler.getEntityTimings().get(0).getName());
+        assertEquals(3, profiler.getEntityTimings().get(0).getCount());
+        
+        boolean foundController = false;
+        for(Timing t : profiler.getTickableTimings())
+        {
+            foundController |= t.getName().equals(FixedWingFlightController.class.getName());
+        }
+        assertTrue(foundController);
+        
+        assertEquals(1, profiler.getListenerTimings().size());
+        assertEquals(3, profiler.getListenerTimings().get(0).getCount());
+        
+        profiler.setEnabled(false);
+        sim.tick(0.1);
+        assertEquals(3, profiler.getTickCount());
+        
+        profiler.reset();
+        assertEquals(0, profiler.getTickCount());
+        assertTrue(profiler.getEntityTimings().isEmpty());
+    }
+    
+    public void testParallelTickSamplesAreMergedAfterEachBatch()
+    {
+        sim.setParallelTickEnabled(true);
+        for(int i = 0; i < 200; ++i)
+        {
+            final Vehicle v = new Vehicle("v" + i, EntityPrototypes.NULL);
+            v.addCapability(new FixedWingFlightController());
+            sim.addEntity(v);
+        }
+        
+        profiler.setEnabled(true);
+        for(int i = 0; i < 5; ++i)
+        {
+            sim.tick(0.1);
+            assertEquals(200 * (i + 1), profiler.getEntityTimings().get(0).getCount());
+        }
+        for(Timing t : profiler.getTickableTimings())
+        {
+            if(t.getName().equals(FixedWingFlightController.class.getName()))
+            {
+                assertEquals(1000, t.getCount());
+            }
+        }
+    }
+    
+    public void testTimingKeepsRollingWindow()
+    {
+        final Timing t = new Timing("test", 10);
+        assertEquals(0, t.getMaxNanos());
+        for(int i = 1; i <= 20; ++i)
+        {
+            t.record(i);
+        }
+        assertEquals(20, t.getCount());
+        assertEquals(210, t.getTotalNanos());
+        assertEquals(20, t.getMaxNanos());
+        assertEquals(15, t.getPercentileNanos(0.5));
+        assertEquals(11, t.getPercentileNanos(0.0));
+    }
+    
+    public void testConsoleCommands()
+    {
+        ConsoleParticipant console = null;
+        for(ConsoleParticipant p : services.findService(ConsoleManager.class).getParticipants())
+        {
+            if(p.getName().equals("profiler"))
+            {
+                console = p;
+            }
+        }
+        assertNotNull(console);
+        
+        console.executeCommand("on");
+        assertTrue(profiler.isEnabled());
+        sim.tick(0.1);
+        assertTrue(console.executeCommand("report").contains(Phase.ENTITIES.name()));
+        console.executeCommand("off");
+        assertFalse(profiler.isEnabled());
+    }
+}
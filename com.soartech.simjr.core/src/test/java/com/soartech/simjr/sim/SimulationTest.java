@@ -31,9 +31,20 @@
  */
 package com.soartech.simjr.sim;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.soartech.math.Vector3;
 import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.controllers.FixedWingFlightController;
+import com.soartech.simjr.sensors.GenericVisualSensor;
+import com.soartech.simjr.sensors.SensorPlatform;
 import com.soartech.simjr.services.DefaultServiceManager;
 import com.soartech.simjr.services.ServiceManager;
+import com.soartech.simjr.util.ExtendedProperties;
+import com.soartech.simjr.sim.entities.DefaultPolygon;
+import com.soartech.simjr.sim.entities.Vehicle;
 
 import junit.framework.TestCase;
 
@@ -66,4 +77,635 @@ public class SimulationTest extends TestCase
         assertNotNull(db);
         assertSame(sim.getEntityPrototypes(), db);
     }
+    
+    public void testRangeQueriesSeeEntitiesMovedBetweenTicks()
+    {
+        final Vehicle a = new Vehicle("a", EntityPrototypes.NULL);
+        final Vehicle b = new Vehicle("b", EntityPrototypes.NULL);
+        sim.addEntity(a);
+        sim.addEntity(b);
+        b.setPosition(new Vector3(10000, 0, 0));
+        
+        assertEquals(Arrays.asList(a), sim.getEntities(0, 0, 100));
+        assertEquals(Arrays.asList(b), sim.getEntities(new Vector3(10000, 0, 0), 100));
+        
+        a.setPosition(new Vector3(10050, 0, 0));
+        assertTrue(sim.getEntities(0, 0, 100).isEmpty());
+        assertEquals(Arrays.asList(a, b), sim.getEntitiesInRadius(new Vector3(10000, 0, 0), 100));
+        assertEquals(Arrays.asList(b, a), sim.getNearestEntities(new Vector3(10000, 0, 0), 2));
+    }
+    
+    public void testParallelTickMatchesSerialTick()
+    {
+        final Simulation parallel = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        parallel.setParallelTickEnabled(true);
+        try
+        {
+            final List<Vehicle> serialVehicles = createFlyingVehicles(sim, 300);
+            final List<Vehicle> parallelVehicles = createFlyingVehicles(parallel, 300);
+            for(int i = 0; i < 50; ++i)
+            {
+                sim.tick(0.25);
+                parallel.tick(0.25);
+            }
+            for(int i = 0; i < serialVehicles.size(); ++i)
+            {
+                final Vehicle s = serialVehicles.get(i);
+                final Vehicle p = parallelVehicles.get(i);
+                assertEquals(s.getPosition(), p.getPosition());
+                assertEquals(s.getVelocity(), p.getVelocity());
+                assertEquals(s.getHeading(), p.getHeading());
+            }
+        }
+        finally
+        {
+            parallel.shutdown();
+        }
+    }
+    
+    public void testKinematicStoreMatchesEntityFields()
+    {
+        final Simulation stored = new Simulation(SimpleTerrain.createExampleTerrain(), false, true);
+        try
+        {
+            final List<Vehicle> plainVehicles = createFlyingVehicles(sim, 100);
+            final List<Vehicle> storedVehicles = createFlyingVehicles(stored, 100);
+            plainVehicles.addAll(createDriftingVehicles(sim, 100));
+            storedVehicles.addAll(createDriftingVehicles(stored, 100));
+            for(int i = 0; i < 50; ++i)
+            {
+                sim.tick(0.25);
+                stored.tick(0.25);
+            }
+            for(int i = 0; i < plainVehicles.size(); ++i)
+            {
+                final Vehicle s = plainVehicles.get(i);
+                final Vehicle p = storedVehicles.get(i);
+                assertTrue(p.getKinematicSlot() >= 0);
+                assertEquals(s.getPosition(), p.getPosition());
+                assertEquals(s.getVelocity(), p.getVelocity());
+                assertEquals(s.getHeading(), p.getHeading());
+                assertEquals(s.getPitch(), p.getPitch());
+                assertEquals(s.getRoll(), p.getRoll());
+            }
+            
+            // State moves back into the entity when it leaves the sim
+            final Vehicle removed = storedVehicles.get(150);
+            final Vector3 position = removed.getPosition();
+            stored.removeEntity(removed);
+            assertEquals(-1, removed.getKinematicSlot());
+            assertEquals(position, removed.getPosition());
+            assertEquals(199, stored.getKinematicStore().getSlotCount());
+        }
+        finally
+        {
+            stored.shutdown();
+        }
+    }
+    
+    public void testEntitiesMovedByStoreAreSeenMovedByLaterEntities()
+    {
+        final Simulation serial = new Simulation(SimpleTerrain.createExampleTerrain(), false, true);
+        final Simulation parallel = new Simulation(SimpleTerrain.createExampleTerrain(), false, true);
+        parallel.setParallelTickEnabled(true);
+        try
+        {
+            checkEntitiesMovedByStoreAreSeenMoved(serial);
+            checkEntitiesMovedByStoreAreSeenMoved(parallel);
+        }
+        finally
+        {
+            serial.shutdown();
+            parallel.shutdown();
+        }
+    }
+    
+    private void checkEntitiesMovedByStoreAreSeenMoved(Simulation sim)
+    {
+        final List<Vehicle> movers = createDriftingVehicles(sim, 100);
+        final Vehicle mover = movers.get(1);
+        final List<Object> seen = new ArrayList<Object>();
+        final Vehicle reader = new Vehicle("reader", EntityPrototypes.NULL);
+        reader.addCapability(new ReadPositionCapability(mover, seen));
+        sim.addEntity(reader);
+        
+        final Vector3 start = mover.getPosition();
+        sim.tick(1.0);
+        final Vector3 moved = start.add(mover.getVelocity());
+        assertEquals(moved, mover.getPosition());
+        assertEquals(Arrays.<Object>asList(moved), seen);
+        assertEquals(moved, mover.getProperty(EntityConstants.PROPERTY_POSITION));
+        
+        sim.tick(1.0);
+        assertEquals(mover.getPosition(), seen.get(1));
+        assertEquals(mover.getPosition(), mover.getProperty(EntityConstants.PROPERTY_POSITION));
+    }
+    
+    /**
+     * Records another entity's position property when ticked
+     */
+    private static class ReadPositionCapability extends AbstractEntityCapability implements Tickable
+    {
+        private final Entity target;
+        private final List<Object> seen;
+        
+        ReadPositionCapability(Entity target, List<Object> seen)
+        {
+            this.target = target;
+            this.seen = seen;
+        }
+        
+        public void tick(double dt)
+        {
+            seen.add(target.getProperty(EntityConstants.PROPERTY_POSITION));
+        }
+    }
+    
+    public void testEntityIdsAreAssignedAndReused()
+    {
+        final Vehicle a = new Vehicle("a", EntityPrototypes.NULL);
+        final Vehicle b = new Vehicle("b", EntityPrototypes.NULL);
+        assertEquals(-1, a.getId());
+        sim.addEntity(a);
+        sim.addEntity(b);
+        assertEquals(0, a.getId());
+        assertEquals(1, b.getId());
+        assertSame(a, sim.getEntityById(0));
+        assertSame(b, sim.getEntityById(1));
+        assertNull(sim.getEntityById(2));
+        assertNull(sim.getEntityById(-1));
+        
+        sim.removeEntity(a);
+        assertEquals(-1, a.getId());
+        assertNull(sim.getEntityById(0));
+        
+        final Vehicle c = new Vehicle("c", EntityPrototypes.NULL);
+        sim.addEntity(c);
+        assertEquals(0, c.getId());
+        assertSame(c, sim.getEntityById(0));
+        
+        // Grow well past the initial table size
+        final List<Vehicle> more = new ArrayList<Vehicle>();
+        for(int i = 0; i < 200; ++i)
+        {
+            final Vehicle v = new Vehicle("more" + i, EntityPrototypes.NULL);
+            sim.addEntity(v);
+            more.add(v);
+        }
+        for(Vehicle v : more)
+        {
+            assertSame(v, sim.getEntityById(v.getId()));
+        }
+        assertSame(b, sim.getEntityById(1));
+    }
+    
+    public void testPolygonPointsFollowEntitiesReplacedByName()
+    {
+        final Vehicle p0 = new Vehicle("p0", EntityPrototypes.NULL);
+        final Vehicle p1 = new Vehicle("p1", EntityPrototypes.NULL);
+        sim.addEntity(p0);
+        sim.addEntity(p1);
+        
+        final Vehicle routeEntity = new Vehicle("route", EntityPrototypes.NULL);
+        final DefaultPolygon route = new DefaultPolygon();
+        routeEntity.addCapability(route);
+        sim.addEntity(routeEntity);
+        route.setPointNames(Arrays.asList("p0", "p1"));
+        assertEquals(Arrays.<Entity>asList(p0, p1), route.getPoints());
+        
+        // p1's id is reused by an entity with a different name, then p1 is
+        // replaced by a new entity with the same name.
+        sim.removeEntity(p1);
+        final Vehicle other = new Vehicle("other", EntityPrototypes.NULL);
+        sim.addEntity(other);
+        assertEquals(Arrays.<Entity>asList(p0), route.getPoints());
+        
+        final Vehicle newP1 = new Vehicle("p1", EntityPrototypes.NULL);
+        sim.addEntity(newP1);
+        assertEquals(Arrays.<Entity>asList(p0, newP1), route.getPoints());
+    }
+    
+    public void testVehiclesWithEnabledSensorsAreNotParallelTickSafe()
+    {
+        final Vehicle v = new Vehicle("v", EntityPrototypes.NULL);
+        assertTrue(v.isParallelTickSafe());
+        
+        final GenericVisualSensor sensor = new GenericVisualSensor("visual", new ExtendedProperties());
+        Adaptables.adapt(v, SensorPlatform.class).addSensor("visual", sensor);
+        assertFalse(v.isParallelTickSafe());
+        
+        sensor.setEnabled(false);
+        assertTrue(v.isParallelTickSafe());
+    }
+    
+    public void testSnapshotIsPublishedAtEndOfTick()
+    {
+        sim.setPaused(false);
+        final Vehicle a = new Vehicle("a", EntityPrototypes.NULL);
+        a.setProperty(EntityConstants.PROPERTY_FORCE, EntityConstants.FORCE_FRIENDLY);
+        a.setVelocity(new Vector3(10, 0, 0));
+        sim.addEntity(a);
+        
+        sim.tick(1.0);
+        final WorldSnapshot first = sim.getSnapshot();
+        assertEquals(1.0, first.getTime());
+        assertEquals(1, first.getEntities().size());
+        final WorldSnapshot.EntityState state = first.getEntity(a);
+        assertSame(state, first.getEntity("a"));
+        assertEquals(a.getPosition(), state.getPosition());
+        assertEquals(a.getVelocity(), state.getVelocity());
+        assertEquals(EntityConstants.FORCE_FRIENDLY, state.getProperty(EntityConstants.PROPERTY_FORCE));
+        
+        // Changes made while the sim is running show up after the next tick
+        final Vector3 before = state.getPosition();
+        a.setPosition(new Vector3(500, 500, 0));
+        assertSame(first, sim.getSnapshot());
+        assertEquals(before, first.getEntity(a).getPosition());
+        
+        sim.tick(1.0);
+        final WorldSnapshot second = sim.getSnapshot();
+        assertNotSame(first, second);
+        assertEquals(2.0, second.getTime());
+        assertEquals(a.getPosition(), second.getEntity(a).getPosition());
+    }
+    
+    public void testSnapshotKeepsStateOfUnchangedEntities()
+    {
+        sim.setPaused(false);
+        final Vehicle moving = new Vehicle("moving", EntityPrototypes.NULL);
+        moving.setVelocity(new Vector3(10, 0, 0));
+        sim.addEntity(moving);
+        final Vehicle parked = new Vehicle("parked", EntityPrototypes.NULL);
+        sim.addEntity(parked);
+        
+        sim.tick(1.0);
+        final WorldSnapshot first = sim.getSnapshot();
+        sim.tick(1.0);
+        final WorldSnapshot second = sim.getSnapshot();
+        assertSame(first.getEntity(parked), second.getEntity(parked));
+        assertNotSame(first.getEntity(moving), second.getEntity(moving));
+        assertEquals(moving.getPosition(), second.getEntity(moving).getPosition());
+        
+        // Setting a property captures the entity again
+        parked.setProperty(EntityConstants.PROPERTY_FORCE, EntityConstants.FORCE_OPPOSING);
+        sim.tick(1.0);
+        final WorldSnapshot third = sim.getSnapshot();
+        assertNotSame(second.getEntity(parked), third.getEntity(parked));
+        assertEquals(EntityConstants.FORCE_OPPOSING, third.getEntity(parked).getProperty(EntityConstants.PROPERTY_FORCE));
+        
+        // So does moving it between ticks
+        parked.setPosition(new Vector3(0, 100, 0));
+        sim.tick(1.0);
+        assertEquals(new Vector3(0, 100, 0), sim.getSnapshot().getEntity(parked).getPosition());
+    }
+    
+    public void testSnapshotIsRebuiltOnDemandWhilePaused()
+    {
+        assertTrue(sim.isPaused());
+        assertTrue(sim.getSnapshot().getEntities().isEmpty());
+        
+        final Vehicle a = new Vehicle("a", EntityPrototypes.NULL);
+        sim.addEntity(a);
+        assertNotNull(sim.getSnapshot().getEntity(a));
+        
+        a.setPosition(new Vector3(100, 200, 0));
+        assertEquals(new Vector3(100, 200, 0), sim.getSnapshot().getEntity(a).getPosition());
+        
+        sim.removeEntity(a);
+        assertNull(sim.getSnapshot().getEntity(a));
+        assertNull(sim.getSnapshot().getEntity("a"));
+    }
+    
+    public void testTimersFireInDueOrderOutsideTheLock()
+    {
+        final List<String> fired = new ArrayList<String>();
+        final Runnable checkLock = new Runnable()
+        {
+            public void run()
+            {
+                assertFalse(Thread.holdsLock(sim.getLock()));
+                fired.add("lock");
+            }
+        };
+        sim.setTimer(2.0, false, new Runnable() { public void run() { fired.add("b"); } });
+        sim.setTimer(1.0, false, new Runnable() { public void run() { fired.add("a"); } });
+        sim.setTimer(2.0, false, checkLock);
+        
+        sim.tick(0.5);
+        assertTrue(fired.isEmpty());
+        sim.tick(2.0);
+        assertEquals(Arrays.asList("a", "b", "lock"), fired);
+        sim.tick(10.0);
+        assertEquals(3, fired.size());
+    }
+    
+    public void testRepeatingTimerFiresOncePerTickUntilCancelled()
+    {
+        final int[] count = { 0 };
+        final SimulationTimer timer = sim.setTimer(1.0, true, new Runnable()
+        {
+            public void run()
+            {
+                count[0]++;
+            }
+        });
+        assertTrue(timer.isRepeating());
+        
+        sim.tick(1.0);
+        sim.tick(1.0);
+        assertEquals(2, count[0]);
+        
+        // Falling behind doesn't fire a burst of callbacks in one tick
+        sim.tick(5.0);
+        assertEquals(3, count[0]);
+        
+        timer.cancel();
+        sim.tick(1.0);
+        sim.tick(1.0);
+        assertEquals(3, count[0]);
+        assertTrue(timer.isCancelled());
+    }
+    
+    public void testCancelledTimersAreRemovedFromTheQueue()
+    {
+        final Runnable noop = new Runnable() { public void run() { } };
+        final List<SimulationTimer> timers = new ArrayList<SimulationTimer>();
+        for(int i = 0; i < 100; ++i)
+        {
+            timers.add(sim.setTimer(1000.0, i % 2 == 0, noop));
+        }
+        assertEquals(100, sim.getPendingTimerCount());
+        for(SimulationTimer timer : timers)
+        {
+            timer.cancel();
+        }
+        assertEquals(0, sim.getPendingTimerCount());
+        
+        // A repeating timer cancelling itself isn't rescheduled
+        final SimulationTimer[] self = { null };
+        self[0] = sim.setTimer(1.0, true, new Runnable() 
+        { 
+            public void run() { self[0].cancel(); } 
+        });
+        sim.tick(1.0);
+        assertEquals(0, sim.getPendingTimerCount());
+    }
+    
+    public void testCancelledTimersLeftInTheQueueDoNotFire()
+    {
+        final List<Integer> fired = new ArrayList<Integer>();
+        final List<SimulationTimer> timers = new ArrayList<SimulationTimer>();
+        for(int i = 0; i < 10; ++i)
+        {
+            final int n = i;
+            timers.add(sim.setTimer(1.0 + i, false, new Runnable() { public void run() { fired.add(n); } }));
+        }
+        
+        // Too few to purge the queue, so they're dropped as they come due
+        timers.get(0).cancel();
+        timers.get(3).cancel();
+        timers.get(4).cancel();
+        timers.get(9).cancel();
+        assertEquals(6, sim.getPendingTimerCount());
+        
+        for(int i = 0; i < 10; ++i)
+        {
+            sim.tick(1.0);
+        }
+        assertEquals(Arrays.asList(1, 2, 5, 6, 7, 8), fired);
+        assertEquals(0, sim.getPendingTimerCount());
+        
+        // Cancelling a timer that already fired changes nothing
+        timers.get(1).cancel();
+        assertEquals(0, sim.getPendingTimerCount());
+        sim.setTimer(1.0, false, new Runnable() { public void run() { fired.add(10); } });
+        assertEquals(1, sim.getPendingTimerCount());
+    }
+    
+    public void testTimerCancelledByEarlierTimerInSameTickDoesNotFire()
+    {
+        final List<String> fired = new ArrayList<String>();
+        final SimulationTimer second = sim.setTimer(1.0, false, new Runnable() { public void run() { fired.add("second"); } });
+        sim.setTimer(0.5, false, new Runnable()
+        {
+            public void run()
+            {
+                fired.add("first");
+                second.cancel();
+            }
+        });
+        sim.tick(1.0);
+        assertEquals(Arrays.asList("first"), fired);
+    }
+    
+    public void testTimerSetFromTimerFiresOnNextTick()
+    {
+        final List<String> fired = new ArrayList<String>();
+        sim.setTimer(0.0, false, new Runnable()
+        {
+            public void run()
+            {
+                fired.add("outer");
+                sim.setTimer(0.0, false, new Runnable() { public void run() { fired.add("inner"); } });
+            }
+        });
+        sim.tick(0.1);
+        assertEquals(Arrays.asList("outer"), fired);
+        sim.tick(0.1);
+        assertEquals(Arrays.asList("outer", "inner"), fired);
+    }
+    
+    /**
+     * Records entity events as "+name" and "-name"
+     */
+    private List<String> recordEntityEvents()
+    {
+        final List<String> events = new ArrayList<String>();
+        sim.addListener(new SimulationListenerAdapter() {
+
+            @Override
+            public void onEntityAdded(Entity e)
+            {
+                events.add("+" + e.getName());
+            }
+
+            @Override
+            public void onEntityRemoved(Entity e)
+            {
+                events.add("-" + e.getName());
+            }
+        });
+        return events;
+    }
+    
+    public void testAddEntitiesAddsAllOrNone()
+    {
+        final List<String> events = recordEntityEvents();
+        final Vehicle a = new Vehicle("a", EntityPrototypes.NULL);
+        final Vehicle b = new Vehicle("b", EntityPrototypes.NULL);
+        final Vehicle c = new Vehicle("c", EntityPrototypes.NULL);
+        
+        sim.addEntities(Arrays.asList(a, b, c));
+        assertEquals(Arrays.asList(a, b, c), sim.getEntities());
+        assertEquals(Arrays.asList("+a", "+b", "+c"), events);
+        assertSame(sim, b.getSimulation());
+        assertSame(b, sim.getEntityById(b.getId()));
+        
+        try
+        {
+            sim.addEntities(Arrays.asList(new Vehicle("d", EntityPrototypes.NULL), new Vehicle("a", EntityPrototypes.NULL)));
+            fail("Expected IllegalArgumentException");
+        }
+        catch(IllegalArgumentException e)
+        {
+        }
+        try
+        {
+            sim.addEntities(Arrays.asList(new Vehicle("e", EntityPrototypes.NULL), new Vehicle("e", EntityPrototypes.NULL)));
+            fail("Expected IllegalArgumentException");
+        }
+        catch(IllegalArgumentException e)
+        {
+        }
+        assertEquals(3, sim.getEntities().size());
+        assertNull(sim.getEntity("d"));
+        assertEquals(3, events.size());
+    }
+    
+    public void testEntityChangesDuringTickAreAppliedAfterMotion()
+    {
+        final List<String> events = recordEntityEvents();
+        final Vehicle a = new Vehicle("a", EntityPrototypes.NULL);
+        final Vehicle b = new Vehicle("b", EntityPrototypes.NULL);
+        final Vehicle c = new Vehicle("c", EntityPrototypes.NULL);
+        final Vehicle d = new Vehicle("d", EntityPrototypes.NULL);
+        c.setPosition(new Vector3(5000.0, 0.0, 0.0));
+        sim.addEntity(a);
+        sim.addEntity(b);
+        events.clear();
+        
+        sim.addTickable(new Tickable() {
+
+            @Override
+            public void tick(double dt)
+            {
+                if(sim.getTime() > 1.5)
+                {
+                    return;
+                }
+                sim.addEntity(c);
+                sim.removeEntity(a);
+                
+                // Added and removed before it's applied
+                sim.addEntity(d);
+                sim.removeEntity(d);
+                
+                // Visible by name right away, but not in the list until the
+                // end of the tick
+                assertSame(c, sim.getEntity("c"));
+                assertNull(sim.getEntity("a"));
+                assertNull(sim.getEntity("d"));
+                assertEquals(Arrays.asList(a, b), sim.getEntities());
+                assertSame(sim, a.getSimulation());
+                assertTrue(events.isEmpty());
+            }
+        });
+        
+        sim.tick(1.0);
+        assertEquals(Arrays.asList(b, c), sim.getEntities());
+        assertEquals(Arrays.asList("-a", "+c"), events);
+        assertNull(a.getSimulation());
+        assertEquals(-1, a.getId());
+        assertNull(d.getSimulation());
+        assertEquals(-1, d.getId());
+        assertEquals(Arrays.asList(c), sim.getEntitiesInRadius(c.getPosition(), 1.0));
+        
+        sim.tick(1.0);
+        assertEquals(Arrays.asList(b, c), sim.getEntities());
+        assertEquals(2, events.size());
+    }
+    
+    public void testEntityBatchIsAppliedWhenItEnds()
+    {
+        final List<String> events = recordEntityEvents();
+        final Vehicle a = new Vehicle("a", EntityPrototypes.NULL);
+        final Vehicle b = new Vehicle("b", EntityPrototypes.NULL);
+        b.setPosition(new Vector3(5000.0, 0.0, 0.0));
+        sim.addEntity(a);
+        
+        sim.beginEntityBatch();
+        sim.beginEntityBatch();
+        sim.addEntity(b);
+        sim.removeEntity(a);
+        sim.endEntityBatch();
+        
+        // Adds are visible right away, except in the fast entity list, 
+        // removes when the batch ends
+        assertSame(b, sim.getEntity("b"));
+        assertEquals(Arrays.asList(a, b), sim.getEntities());
+        assertEquals(Arrays.asList(a), sim.getEntitiesFast());
+        assertEquals(Arrays.asList(b), sim.getEntitiesInRadius(b.getPosition(), 1.0));
+        assertEquals(Arrays.asList("+a", "+b"), events);
+        
+        sim.endEntityBatch();
+        assertEquals(Arrays.asList(b), sim.getEntities());
+        assertEquals(Arrays.asList(b), sim.getEntitiesFast());
+        assertEquals(Arrays.asList("+a", "+b", "-a"), events);
+        
+        // Removed and re-added in the same batch
+        sim.beginEntityBatch();
+        sim.removeEntity(b);
+        sim.addEntity(b);
+        sim.endEntityBatch();
+        assertEquals(Arrays.asList(b), sim.getEntities());
+        assertSame(sim, b.getSimulation());
+        assertEquals(3, events.size());
+        
+        try
+        {
+            sim.endEntityBatch();
+            fail("Expected IllegalStateException");
+        }
+        catch(IllegalStateException e)
+        {
+        }
+    }
+    
+    private static List<Vehicle> createDriftingVehicles(Simulation sim, int count)
+    {
+        final List<Vehicle> result = new ArrayList<Vehicle>();
+        for(int i = 0; i < count; ++i)
+        {
+            final Vehicle v = new Vehicle("d" + i, EntityPrototypes.NULL);
+            if(i % 10 == 0)
+            {
+                // Clamped by setPosition, so not moved by the store
+                v.setProperty(EntityConstants.PROPERTY_MAX_ALTITUDE, 500.0);
+            }
+            sim.addEntity(v);
+            v.setPosition(new Vector3(i * 30.0, i * 20.0, 400.0));
+            v.setVelocity(new Vector3(50.0 + i, -i * 0.3, 1.5));
+            v.setRoll(Math.toRadians(i));
+            result.add(v);
+        }
+        return result;
+    }
+    
+    private static List<Vehicle> createFlyingVehicles(Simulation sim, int count)
+    {
+        final List<Vehicle> result = new ArrayList<Vehicle>();
+        for(int i = 0; i < count; ++i)
+        {
+            final Vehicle v = new Vehicle("v" + i, EntityPrototypes.NULL);
+            final FixedWingFlightController c = new FixedWingFlightController();
+            v.addCapability(c);
+            c.setDesiredSpeed(100.0 + i);
+            c.setDesiredHeading(Math.toRadians(i % 360));
+            c.setDesiredAltitude(1000.0 + 10 * i);
+            v.setPosition(new Vector3(i * 50.0, -i * 25.0, 0.0));
+            sim.addEntity(v);
+            result.add(v);
+        }
+        return result;
+    }
 }
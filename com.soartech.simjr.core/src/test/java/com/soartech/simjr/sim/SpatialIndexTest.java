@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim;
+
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.sim.entities.AbstractEntity;
+
+public class SpatialIndexTest extends TestCase
+{
+    private static class TestEntity extends AbstractEntity
+    {
+        public TestEntity(String name, Vector3 position)
+        {
+            super(name, EntityPrototypes.NULL);
+            setPosition(position);
+        }
+    }
+    
+    public void testRadiusQueryOnlyReturnsEntitiesStrictlyInRange()
+    {
+        final SpatialIndex index = new SpatialIndex(100.0);
+        final Entity a = new TestEntity("a", new Vector3(10, 10, 0));
+        final Entity b = new TestEntity("b", new Vector3(250, 0, 0));
+        final Entity c = new TestEntity("c", new Vector3(-99, 0, 500));
+        final Entity d = new TestEntity("d", new Vector3(1000, 1000, 0));
+        index.add(a);
+        index.add(b);
+        index.add(c);
+        index.add(d);
+        
+        assertEquals(Arrays.asList(a, b, c), index.getEntitiesInRadius(0, 0, 251));
+        assertEquals(Arrays.asList(a, c), index.getEntitiesInRadius(0, 0, 250));
+        assertEquals(Arrays.asList(a, b), index.getEntitiesInRadius(Vector3.ZERO, 251));
+    }
+    
+    public void testResultsAreInInsertionOrder()
+    {
+        final SpatialIndex index = new SpatialIndex(10.0);
+        final Entity a = new TestEntity("a", new Vector3(500, 500, 0));
+        final Entity b = new TestEntity("b", new Vector3(-500, -500, 0));
+        final Entity c = new TestEntity("c", new Vector3(0, 0, 0));
+        index.add(a);
+        index.add(b);
+        index.add(c);
+        
+        assertEquals(Arrays.asList(a, b, c), index.getEntitiesInRadius(0, 0, 1000));
+    }
+    
+    public void testUpdateMovesEntityToNewCell()
+    {
+        final SpatialIndex index = new SpatialIndex(100.0);
+        final Entity a = new TestEntity("a", new Vector3(0, 0, 0));
+        index.add(a);
+        
+        a.setPosition(new Vector3(5000, 5000, 0));
+        index.update(a);
+        
+        assertTrue(index.getEntitiesInRadius(0, 0, 50).isEmpty());
+        assertEquals(Arrays.asList(a), index.getEntitiesInRadius(5000, 5000, 50));
+    }
+    
+    public void testRemove()
+    {
+        final SpatialIndex index = new SpatialIndex(100.0);
+        final Entity a = new TestEntity("a", new Vector3(0, 0, 0));
+        final Entity b = new TestEntity("b", new Vector3(1, 0, 0));
+        index.add(a);
+        index.add(b);
+        index.remove(a);
+        
+        assertFalse(index.contains(a));
+        assertEquals(1, index.size());
+        assertEquals(Arrays.asList(b), index.getEntitiesInRadius(0, 0, 50));
+    }
+    
+    public void testBoxQuery()
+    {
+        final SpatialIndex index = new SpatialIndex(100.0);
+        final Entity a = new TestEntity("a", new Vector3(0, 0, 0));
+        final Entity b = new TestEntity("b", new Vector3(150, 150, 10));
+        final Entity c = new TestEntity("c", new Vector3(150, 150, 1000));
+        index.add(a);
+        index.add(b);
+        index.add(c);
+        
+        assertEquals(Arrays.asList(a, b), 
+                     index.getEntitiesInBox(new Vector3(0, 0, 0), new Vector3(200, 200, 100)));
+    }
+    
+    public void testNearestEntities()
+    {
+        final SpatialIndex index = new SpatialIndex(100.0);
+        final Entity a = new TestEntity("a", new Vector3(900, 0, 0));
+        final Entity b = new TestEntity("b", new Vector3(50, 0, 0));
+        final Entity c = new TestEntity("c", new Vector3(-300, 0, 0));
+        final Entity d = new TestEntity("d", new Vector3(0, 5000, 0));
+        index.add(a);
+        index.add(b);
+        index.add(c);
+        index.add(d);
+        
+        final List<Entity> nearest = index.getNearestEntities(Vector3.ZERO, 3);
+        assertEquals(Arrays.asList(b, c, a), nearest);
+        assertEquals(Arrays.asList(b, c, a, d), index.getNearestEntities(Vector3.ZERO, 10));
+    }
+
+    public void testUnboundedEntityIsFoundWithoutUpdate()
+    {
+        final SpatialIndex index = new SpatialIndex(100.0);
+        final Entity a = new TestEntity("a", new Vector3(0, 0, 0));
+        final Entity b = new TestEntity("b", new Vector3(10, 0, 0));
+        index.add(a);
+        index.add(b);
+        index.setUnbounded(b, true);
+        
+        b.setPosition(new Vector3(5000, 5000, 0));
+        assertEquals(Arrays.asList(b), index.getEntitiesInRadius(5000, 5000, 50));
+        assertEquals(Arrays.asList(a), index.getEntitiesInRadius(0, 0, 50));
+        assertEquals(Arrays.asList(a, b), index.getCandidates(0, 0, 50));
+        
+        index.setUnbounded(b, false);
+        assertEquals(Arrays.asList(a), index.getCandidates(0, 0, 50));
+        assertEquals(Arrays.asList(b), index.getCandidates(5000, 5000, 50));
+    }
+    
+    public void testNaNPositionIsAlwaysACandidate()
+    {
+        final SpatialIndex index = new SpatialIndex(100.0);
+        final Entity a = new TestEntity("a", new Vector3(Double.NaN, 0, 0));
+        final Entity b = new TestEntity("b", new Vector3(5000, 0, 0));
+        index.add(a);
+        index.add(b);
+        
+        assertEquals(Arrays.asList(a), index.getCandidates(0, 0, 10));
+        assertTrue(index.getEntitiesInRadius(0, 0, 10).isEmpty());
+    }
+    
+    public void testCandidatesIncludeBoundaryCells()
+    {
+        final SpatialIndex index = new SpatialIndex(100.0);
+        final Entity a = new TestEntity("a", new Vector3(199.9, 0, 0));
+        final Entity b = new TestEntity("b", new Vector3(-100.0, -100.0, 0));
+        final Entity c = new TestEntity("c", new Vector3(450, 0, 0));
+        index.add(a);
+        index.add(b);
+        index.add(c);
+        
+        final List<Entity> candidates = index.getCandidates(0, 0, 100);
+        assertTrue(candidates.containsAll(index.getEntitiesInRadius(0, 0, 100)));
+        assertTrue(candidates.contains(a));
+        assertTrue(candidates.contains(b));
+        assertFalse(candidates.contains(c));
+    }
+}
@@ -31,10 +31,14 @@
  */
 package com.soartech.simjr.sim.entities;
 
+import java.util.Arrays;
+import java.util.Map;
+
 import junit.framework.TestCase;
 
 import com.soartech.math.Vector3;
 import com.soartech.math.geotrans.Geodetic;
+import com.soartech.simjr.adaptables.Adaptables;
 import com.soartech.simjr.sim.AbstractEntityCapability;
 import com.soartech.simjr.sim.DefaultEntityPrototype;
 import com.soartech.simjr.sim.Entity;
@@ -42,6 +46,7 @@ import com.soartech.simjr.sim.EntityCapability;
 import com.soartech.simjr.sim.EntityConstants;
 import com.soartech.simjr.sim.EntityTools;
 import com.soartech.simjr.sim.LazyEntityPropertyValue;
+import com.soartech.simjr.sim.PeriodicTickable;
 import com.soartech.simjr.sim.SimpleTerrain;
 import com.soartech.simjr.sim.Simulation;
 import com.soartech.simjr.sim.SimulationListenerAdapter;
@@ -70,6 +75,23 @@ public class AbstractEntityTest extends TestCase
             tickDt = dt;
         }
     };
+    private static class PeriodicCapability extends TickableCapability implements PeriodicTickable
+    {
+        public int ticks = 0;
+        
+        @Override
+        public void tick(double dt)
+        {
+            super.tick(dt);
+            ++ticks;
+        }
+        
+        @Override
+        public double getTickPeriod()
+        {
+            return 1.0;
+        }
+    };
     
     protected void setUp() throws Exception
     {
@@ -94,6 +116,22 @@ public class AbstractEntityTest extends TestCase
         assertEquals(3.14159, cap.tickDt, 0.0001);
     }
     
+    public void testPeriodicCapabilitiesAreTickedAtTheirPeriod() throws Exception
+    {
+        final Entity entity = new TestEntity(getName());
+        final TickableCapability every = new TickableCapability();
+        final PeriodicCapability periodic = new PeriodicCapability();
+        entity.addCapability(every);
+        entity.addCapability(periodic);
+        for(int i = 0; i < 8; ++i)
+        {
+            entity.tick(0.25);
+            assertEquals(0.25, every.tickDt, 0.0001);
+        }
+        assertEquals(2, periodic.ticks);
+        assertEquals(1.0, periodic.tickDt, 0.0001);
+    }
+    
     public void testGetPropertyHandlesLazyPropertyValues() throws Exception
     {
         final Entity entity = new TestEntity(getName());
@@ -322,4 +360,81 @@ public class AbstractEntityTest extends TestCase
         entity.removeCapability(cap);
         assertFalse(detachCalled[0]);
     }
+    
+    public void testGetPropertiesIsReadOnlyLiveView() throws Exception
+    {
+        final Entity entity = new TestEntity(getName());
+        final Map<String, Object> props = entity.getProperties();
+        assertNull(props.get("test.value"));
+        
+        entity.setProperty("test.value", 99);
+        assertSame(props, entity.getProperties());
+        assertEquals(99, props.get("test.value"));
+        assertTrue(props.containsKey("test.value"));
+        
+        try
+        {
+            props.put("test.value", 100);
+            fail("Expected UnsupportedOperationException");
+        }
+        catch(UnsupportedOperationException e)
+        {
+        }
+        
+        // Calculated properties show up once the entity is in the sim
+        assertFalse(props.containsKey(EntityConstants.PROPERTY_POSITION));
+        sim.addEntity(entity);
+        entity.setPosition(new Vector3(1, 2, 3));
+        entity.updateProperties();
+        assertEquals(new Vector3(1, 2, 3), props.get(EntityConstants.PROPERTY_POSITION));
+        
+        boolean foundValue = false;
+        for(Map.Entry<String, Object> e : props.entrySet())
+        {
+            foundValue |= e.getKey().equals("test.value") && e.getValue().equals(99);
+        }
+        assertTrue(foundValue);
+        
+        entity.setProperty("test.value", null);
+        assertFalse(props.containsKey("test.value"));
+    }
+    
+    public void testAdapterLookupsAreUpdatedWhenCapabilitiesChange()
+    {
+        final TestEntity entity = new TestEntity(getName());
+        assertNull(Adaptables.adapt(entity, FuelModel.class));
+        assertTrue(entity.getCapabilityAdapters(FuelModel.class).isEmpty());
+        
+        final FuelModel first = new FuelModel();
+        entity.addCapability(first);
+        assertSame(first, Adaptables.adapt(entity, FuelModel.class));
+        assertSame(first, Adaptables.adapt(entity, FuelModel.class));
+        
+        final FuelModel second = new FuelModel();
+        entity.addCapability(second);
+        assertSame(first, Adaptables.adapt(entity, FuelModel.class));
+        assertEquals(Arrays.asList(first, second), entity.getCapabilityAdapters(FuelModel.class));
+        
+        entity.removeCapability(first);
+        assertSame(second, Adaptables.adapt(entity, FuelModel.class));
+        assertEquals(Arrays.asList(second), entity.getCapabilityAdapters(FuelModel.class));
+        
+        // The entity itself is still found first
+        assertSame(entity, Adaptables.adapt(entity, AbstractEntity.class));
+    }
+    
+    public void testCapabilitiesThatOverrideGetAdapterAreStillAsked()
+    {
+        final TestEntity entity = new TestEntity(getName());
+        final FuelModel fuel = new FuelModel();
+        entity.addCapability(new AbstractEntityCapability()
+        {
+            @Override
+            public Object getAdapter(Class<?> klass)
+            {
+                return klass == FuelModel.class ? fuel : super.getAdapter(klass);
+            }
+        });
+        assertSame(fuel, Adaptables.adapt(entity, FuelModel.class));
+    }
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.sim.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.sim.Detonation;
+import com.soartech.simjr.sim.EntityConstants;
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.SimpleTerrain;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.SimulationListenerAdapter;
+import com.soartech.simjr.weapons.AbstractFlyoutWeapon;
+import com.soartech.simjr.weapons.WeaponPlatform;
+
+/**
+ * @author ray
+ */
+public class AbstractFlyoutTest extends TestCase
+{
+    private Simulation sim;
+    private final List<Detonation> detonations = new ArrayList<Detonation>();
+    
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#setUp()
+     */
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        
+        sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        sim.addListener(new SimulationListenerAdapter() {
+
+            @Override
+            public void onDetonation(Detonation detonation)
+            {
+                detonations.add(detonation);
+            }
+        });
+    }
+
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#tearDown()
+     */
+    @Override
+    protected void tearDown() throws Exception
+    {
+        sim.shutdown();
+        
+        super.tearDown();
+    }
+    
+    private Missile createMissile(Vehicle target)
+    {
+        Helicopter shooter = new Helicopter("shooter", EntityPrototypes.NULL);
+        sim.addEntity(shooter);
+        
+        WeaponPlatform weapons = Adaptables.adapt(shooter, WeaponPlatform.class);
+        AbstractFlyoutWeapon weapon = (AbstractFlyoutWeapon) weapons.getWeapon("hellfire");
+        Missile missile = new Missile(weapon, target, EntityPrototypes.NULL);
+        missile.setSpeed(600.0);
+        missile.setPosition(Vector3.ZERO);
+        sim.addEntity(missile);
+        return missile;
+    }
+    
+    public void testTimeOfImpact()
+    {
+        // Head on at 10 m/s from 100m with a 5m radius
+        assertEquals(9.5, AbstractFlyout.getTimeOfImpact(new Vector3(-100.0, 0.0, 0.0), new Vector3(10.0, 0.0, 0.0), 5.0, 10.0), 1e-9);
+        
+        // Not reached within the interval
+        assertTrue(Double.isNaN(AbstractFlyout.getTimeOfImpact(new Vector3(-100.0, 0.0, 0.0), new Vector3(10.0, 0.0, 0.0), 5.0, 9.0)));
+        
+        // Moving away, passing outside the radius, and not moving at all
+        assertTrue(Double.isNaN(AbstractFlyout.getTimeOfImpact(new Vector3(-100.0, 0.0, 0.0), new Vector3(-10.0, 0.0, 0.0), 5.0, 100.0)));
+        assertTrue(Double.isNaN(AbstractFlyout.getTimeOfImpact(new Vector3(-100.0, 6.0, 0.0), new Vector3(10.0, 0.0, 0.0), 5.0, 100.0)));
+        assertTrue(Double.isNaN(AbstractFlyout.getTimeOfImpact(new Vector3(-100.0, 0.0, 0.0), Vector3.ZERO, 5.0, 100.0)));
+        
+        // Already inside
+        assertEquals(0.0, AbstractFlyout.getTimeOfImpact(new Vector3(3.0, 0.0, 0.0), new Vector3(-10.0, 0.0, 0.0), 5.0, 1.0));
+        
+        // Passing straight through the sphere in a single long step
+        assertEquals(99.6, AbstractFlyout.getTimeOfImpact(new Vector3(-1000.0, 3.0, 0.0), new Vector3(10.0, 0.0, 0.0), 5.0, 1000.0), 1e-9);
+    }
+    
+    public void testInterceptPointLeadsTheTarget()
+    {
+        Vector3 p = AbstractFlyout.getInterceptPoint(Vector3.ZERO, 600.0, new Vector3(3000.0, -1000.0, 0.0), new Vector3(0.0, 200.0, 0.0));
+        assertEquals(3000.0, p.x, 1e-6);
+        assertEquals(0.0, p.y, 1e-6);
+        
+        // A target that can't be caught is chased directly
+        Vector3 target = new Vector3(1000.0, 0.0, 0.0);
+        assertSame(target, AbstractFlyout.getInterceptPoint(Vector3.ZERO, 600.0, target, new Vector3(700.0, 0.0, 0.0)));
+    }
+    
+    public void testCrossingTargetIsHitWithLargeTimeSteps()
+    {
+        Vehicle target = new Vehicle("target", EntityPrototypes.NULL);
+        target.setPosition(new Vector3(3000.0, -1000.0, 0.0));
+        target.setVelocity(new Vector3(0.0, 200.0, 0.0));
+        
+        // The target is ticked after the missile here, and before it in
+        // testCrossingTargetTickedFirst()
+        Missile missile = createMissile(target);
+        missile.setLeadPursuit(true);
+        sim.addEntity(target);
+        
+        // The missile covers 1200m per tick, far more than the old tolerance
+        // allowed for, and passes within the impact radius mid-tick
+        for(int i = 0; i < 4 && detonations.isEmpty(); ++i)
+        {
+            sim.tick(2.0);
+        }
+        
+        assertEquals(1, detonations.size());
+        Detonation d = detonations.get(0);
+        assertSame(target, d.getTarget());
+        assertEquals(DamageStatus.destroyed, target.getProperty(EntityConstants.PROPERTY_DAMAGE));
+        assertNull(sim.getEntity(missile.getName()));
+        
+        // The relative closing speed is |(600, -200)|, so the missile is 
+        // exactly one impact radius short of the intercept point at (3000, 0)
+        double t = 5.0 - missile.getImpactRadius() / Math.sqrt(600.0 * 600.0 + 200.0 * 200.0);
+        assertEquals(t, d.getTime(), 1e-6);
+        assertEquals(600.0 * t, d.getLocation().x, 1e-6);
+        assertEquals(0.0, d.getLocation().y, 1e-6);
+    }
+    
+    public void testCrossingTargetTickedFirst()
+    {
+        Vehicle target = new Vehicle("target", EntityPrototypes.NULL);
+        target.setPosition(new Vector3(3000.0, -1000.0, 0.0));
+        target.setVelocity(new Vector3(0.0, 200.0, 0.0));
+        
+        // The target has already moved when the missile is ticked, but the
+        // missile still sweeps against where it was at the start of the tick
+        sim.addEntity(target);
+        Missile missile = createMissile(target);
+        missile.setLeadPursuit(true);
+        
+        for(int i = 0; i < 4 && detonations.isEmpty(); ++i)
+        {
+            sim.tick(2.0);
+        }
+        
+        assertEquals(1, detonations.size());
+        Detonation d = detonations.get(0);
+        assertSame(target, d.getTarget());
+        
+        double t = 5.0 - missile.getImpactRadius() / Math.sqrt(600.0 * 600.0 + 200.0 * 200.0);
+        assertEquals(t, d.getTime(), 1e-6);
+        assertEquals(600.0 * t, d.getLocation().x, 1e-6);
+        assertEquals(0.0, d.getLocation().y, 1e-6);
+        
+        // The impact is one impact radius from where the target was then
+        Vector3 targetAtImpact = new Vector3(3000.0, -1000.0 + 200.0 * t, 0.0);
+        assertEquals(missile.getImpactRadius(), d.getLocation().distance(targetAtImpact), 1e-6);
+    }
+    
+    public void testStaticTargetIsHitWithLargeTimeSteps()
+    {
+        Vehicle target = new Vehicle("target", EntityPrototypes.NULL);
+        target.setPosition(new Vector3(3000.0, 0.0, 0.0));
+        Missile missile = createMissile(target);
+        sim.addEntity(target);
+        
+        sim.tick(10.0);
+        
+        assertEquals(1, detonations.size());
+        assertEquals((3000.0 - missile.getImpactRadius()) / 600.0, detonations.get(0).getTime(), 1e-6);
+        assertEquals(3000.0 - missile.getImpactRadius(), detonations.get(0).getLocation().x, 1e-6);
+    }
+    
+    public void testPurePursuitIsTheDefault()
+    {
+        Vehicle target = new Vehicle("target", EntityPrototypes.NULL);
+        target.setPosition(new Vector3(3000.0, -1000.0, 0.0));
+        target.setVelocity(new Vector3(0.0, 200.0, 0.0));
+        sim.addEntity(target);
+        Missile missile = createMissile(target);
+        assertFalse(missile.isLeadPursuit());
+        
+        // Straight at where the target was at the start of the tick
+        sim.tick(1.0);
+        Vector3 expected = new Vector3(3000.0, -1000.0, 0.0).normalized().multiply(600.0);
+        assertEquals(expected.x, missile.getPosition().x, 1e-6);
+        assertEquals(expected.y, missile.getPosition().y, 1e-6);
+        
+        for(int i = 0; i < 20 && detonations.isEmpty(); ++i)
+        {
+            sim.tick(1.0);
+        }
+        assertEquals(1, detonations.size());
+        assertSame(target, detonations.get(0).getTarget());
+    }
+    
+    public void testStaticTargetDetonatesAtTarget()
+    {
+        Helicopter shooter = new Helicopter("shooter", EntityPrototypes.NULL);
+        sim.addEntity(shooter);
+        AbstractFlyoutWeapon weapon = (AbstractFlyoutWeapon) Adaptables.adapt(shooter, WeaponPlatform.class).getWeapon("hellfire");
+        Vector3 staticTarget = new Vector3(3000.0, 0.0, 0.0);
+        Missile missile = new Missile(weapon, staticTarget, EntityPrototypes.NULL);
+        missile.setSpeed(600.0);
+        missile.setPosition(Vector3.ZERO);
+        sim.addEntity(missile);
+        
+        sim.tick(10.0);
+        
+        assertEquals(1, detonations.size());
+        assertNull(detonations.get(0).getTarget());
+        assertEquals((3000.0 - missile.getImpactRadius()) / 600.0, detonations.get(0).getTime(), 1e-6);
+        assertEquals(staticTarget, detonations.get(0).getLocation());
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2026, Soar Technology, Inc.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * * Neither the name of Soar Technology, Inc. nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without the specific prior written permission of Soar Technology, Inc.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY SOAR TECHNOLOGY, INC. AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SOAR TECHNOLOGY, INC. OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER 
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, 
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE 
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Created on Oct 18, 2026
+ */
+package com.soartech.simjr.weapons;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.soartech.math.Vector3;
+import com.soartech.simjr.adaptables.Adaptables;
+import com.soartech.simjr.sim.Detonation;
+import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.EntityConstants;
+import com.soartech.simjr.sim.EntityPrototypes;
+import com.soartech.simjr.sim.SimpleTerrain;
+import com.soartech.simjr.sim.Simulation;
+import com.soartech.simjr.sim.SimulationListenerAdapter;
+import com.soartech.simjr.sim.entities.AbstractFlyout;
+import com.soartech.simjr.sim.entities.DamageStatus;
+import com.soartech.simjr.sim.entities.Missile;
+import com.soartech.simjr.sim.entities.Vehicle;
+
+/**
+ * @author ray
+ */
+public class ProjectileManagerTest extends TestCase
+{
+    private Simulation sim;
+    private ProjectileManager projectiles;
+    private MissileWeapon weapon;
+    private final List<Detonation> detonations = new ArrayList<Detonation>();
+    
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#setUp()
+     */
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        
+        sim = new Simulation(SimpleTerrain.createExampleTerrain(), false);
+        sim.addListener(new SimulationListenerAdapter() {
+
+            @Override
+            public void onDetonation(Detonation detonation)
+            {
+                detonations.add(detonation);
+            }
+        });
+        projectiles = ProjectileManager.get(sim);
+        projectiles.setEnabled(true);
+        
+        // Promoted flyouts don't depend on the prototype database
+        weapon = new MissileWeapon("test", 1000, 1000) {
+
+            @Override
+            protected AbstractFlyout createFlyoutEntity(Entity target)
+            {
+                return new Missile(this, target, EntityPrototypes.NULL);
+            }
+
+            @Override
+            protected AbstractFlyout createFlyoutEntity(Vector3 staticTarget)
+            {
+                return new Missile(this, staticTarget, EntityPrototypes.NULL);
+            }
+        };
+        weapon.setMaxSpeed(600.0);
+        
+        Vehicle shooter = new Vehicle("shooter", EntityPrototypes.NULL);
+        Adaptables.adapt(shooter, WeaponPlatform.class).addWeapon(weapon);
+        sim.addEntity(shooter);
+    }
+
+    /* (non-Javadoc)
+     * @see junit.framework.TestCase#tearDown()
+     */
+    @Override
+    protected void tearDown() throws Exception
+    {
+        sim.shutdown();
+        
+        super.tearDown();
+    }
+    
+    private Vehicle addCrossingTarget()
+    {
+        Vehicle target = new Vehicle("target", EntityPrototypes.NULL);
+        target.setPosition(new Vector3(3000.0, -1000.0, 0.0));
+        target.setVelocity(new Vector3(0.0, 200.0, 0.0));
+        sim.addEntity(target);
+        return target;
+    }
+    
+    public void testManagerIsSharedBySimulation()
+    {
+        assertSame(projectiles, ProjectileManager.get(sim));
+        assertSame(projectiles, sim.getAdapter(ProjectileManager.class));
+    }
+    
+    public void testRoundsFlyWithoutEntities()
+    {
+        Vehicle target = addCrossingTarget();
+        
+        // Lead the target so the detonation can be compared with AbstractFlyoutTest
+        projectiles.setLeadPursuit(true);
+        weapon.fire(1, target);
+        assertEquals(2, sim.getEntities().size());
+        assertEquals(1, projectiles.size());
+        assertSame(target, projectiles.getTarget(0));
+        assertSame(weapon, projectiles.getWeapon(0));
+        
+        for(int i = 0; i < 4 && detonations.isEmpty(); ++i)
+        {
+            sim.tick(2.0);
+            assertEquals(2, sim.getEntities().size());
+        }
+        assertEquals(0, projectiles.size());
+        
+        // Same as a flyout entity, see AbstractFlyoutTest
+        assertEquals(1, detonations.size());
+        Detonation d = detonations.get(0);
+        assertSame(target, d.getTarget());
+        assertSame(weapon, d.getWeapon());
+        assertEquals(DamageStatus.destroyed, target.getProperty(EntityConstants.PROPERTY_DAMAGE));
+        
+        double t = 5.0 - AbstractFlyout.DEFAULT_IMPACT_RADIUS / Math.sqrt(600.0 * 600.0 + 200.0 * 200.0);
+        assertEquals(t, d.getTime(), 1e-6);
+        assertEquals(600.0 * t, d.getLocation().x, 1e-6);
+        assertEquals(0.0, d.getLocation().y, 1e-6);
+    }
+    
+    public void testPromotedRoundContinuesAsEntity()
+    {
+        Vehicle target = addCrossingTarget();
+        
+        // The promoted flyout keeps leading the target
+        projectiles.setLeadPursuit(true);
+        weapon.fire(1, target);
+        sim.tick(2.0);
+        Vector3 position = projectiles.getPosition(0);
+        
+        AbstractFlyout flyout = projectiles.promote(0);
+        assertEquals(0, projectiles.size());
+        assertSame(flyout, sim.getEntity(flyout.getName()));
+        assertTrue(weapon.getFlyouts().contains(flyout));
+        assertEquals(position, flyout.getPosition());
+        assertEquals(600.0, flyout.getSpeed());
+        assertSame(target, flyout.getTarget());
+        assertTrue(flyout.isLeadPursuit());
+        
+        for(int i = 0; i < 4 && detonations.isEmpty(); ++i)
+        {
+            sim.tick(2.0);
+        }
+        assertEquals(1, detonations.size());
+        assertNull(sim.getEntity(flyout.getName()));
+        assertEquals(DamageStatus.destroyed, target.getProperty(EntityConstants.PROPERTY_DAMAGE));
+    }
+    
+    public void testSlotsAreReused()
+    {
+        for(int i = 0; i < 200; ++i)
+        {
+            weapon.fire(1, new Vector3(1000.0 + 10.0 * i, 0.0, 0.0));
+        }
+        assertEquals(200, projectiles.size());
+        
+        for(int i = 0; i < 10; ++i)
+        {
+            sim.tick(0.5);
+        }
+        assertEquals(200, detonations.size());
+        // Static targets are hit where they were aimed
+        List<Vector3> locations = new ArrayList<Vector3>();
+        for(Detonation d : detonations)
+        {
+            locations.add(d.getLocation());
+        }
+        for(int i = 0; i < 200; ++i)
+        {
+            assertTrue(locations.contains(new Vector3(1000.0 + 10.0 * i, 0.0, 0.0)));
+        }
+        assertEquals(0, projectiles.size());
+        assertEquals(1, sim.getEntities().size());
+        
+        weapon.fire(1, new Vector3(1000.0, 0.0, 0.0));
+        assertEquals(1, projectiles.size());
+        assertEquals(new Vector3(1000.0, 0.0, 0.0), projectiles.getStaticTarget(0));
+        
+        List<AbstractFlyout> promoted = projectiles.promoteAll();
+        assertEquals(1, promoted.size());
+        assertEquals(0, projectiles.size());
+        assertEquals(2, sim.getEntities().size());
+    }
+    
+    public void testFlyoutsIncludePooledRounds()
+    {
+        Vehicle target = addCrossingTarget();
+        
+        weapon.fire(1, target);
+        weapon.fire(1, target);
+        assertEquals(2, projectiles.size());
+        
+        List<AbstractFlyout> flyouts = weapon.getFlyouts();
+        assertEquals(2, flyouts.size());
+        assertEquals(0, projectiles.size());
+        for(AbstractFlyout flyout : flyouts)
+        {
+            assertSame(flyout, sim.getEntity(flyout.getName()));
+            assertSame(target, flyout.getTarget());
+        }
+    }
+    
+    public void testObserverPromotesRoundsAndStopsPooling()
+    {
+        Vehicle target = addCrossingTarget();
+        
+        weapon.fire(1, target);
+        assertTrue(projectiles.isPooling());
+        
+        Object observer = new Object();
+        projectiles.addObserver(observer);
+        assertFalse(projectiles.isPooling());
+        assertEquals(0, projectiles.size());
+        assertEquals(3, sim.getEntities().size());
+        
+        weapon.fire(1, target);
+        assertEquals(0, projectiles.size());
+        assertEquals(4, sim.getEntities().size());
+        assertEquals(2, weapon.getFlyouts().size());
+        
+        projectiles.removeObserver(observer);
+        assertTrue(projectiles.isPooling());
+        weapon.fire(1, target);
+        assertEquals(1, projectiles.size());
+        assertEquals(4, sim.getEntities().size());
+    }
+}
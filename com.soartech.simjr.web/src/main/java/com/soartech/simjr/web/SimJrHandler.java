@@ -1,7 +1,7 @@
 package com.soartech.simjr.web;
 
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,12 +17,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
-import com.soartech.simjr.sim.Entity;
 import com.soartech.simjr.sim.Simulation;
-import com.soartech.simjr.web.gson.adapter.EntityAdapter;
-import com.soartech.simjr.web.gson.adapter.EntityListAdapter;
+import com.soartech.simjr.sim.WorldSnapshot;
+import com.soartech.simjr.web.gson.adapter.EntityAdapter.EntityProxy;
 
 public class SimJrHandler extends AbstractHandler
 {
@@ -30,15 +27,10 @@ public class SimJrHandler extends AbstractHandler
     
     private final Map<String, Handler> handlers;
     
-    private static final Type entityListType = new TypeToken<List<Entity>>(){}.getType();
-    
     @SuppressWarnings("serial")
     public SimJrHandler(final Simulation simulation)
     {
-        final Gson gson = new GsonBuilder()
-            .registerTypeAdapter(Entity.class, new EntityAdapter())
-            .registerTypeAdapter(entityListType, new EntityListAdapter())
-            .create();
+        final Gson gson = new Gson();
         
         final Handler entitiesHandler = new AbstractHandler()
         {
@@ -47,9 +39,14 @@ public class SimJrHandler extends AbstractHandler
                     HttpServletRequest request, HttpServletResponse response)
                     throws IOException, ServletException
             {
-                response.getWriter().print(
-                        gson.toJson(simulation.getEntities(),
-                        entityListType));
+                // Serialize the latest snapshot so web clients never hold
+                // the sim lock.
+                final List<EntityProxy> proxies = new ArrayList<EntityProxy>();
+                for (WorldSnapshot.EntityState state : simulation.getSnapshot().getEntities())
+                {
+                    proxies.add(new EntityProxy(state));
+                }
+                response.getWriter().print(gson.toJson(proxies));
             }
         };
         
@@ -6,6 +6,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 import com.soartech.simjr.sim.Entity;
+import com.soartech.simjr.sim.WorldSnapshot;
 import com.soartech.simjr.web.gson.adapter.Vector3Adapter.Vector3Proxy;
 
 public class EntityAdapter implements JsonSerializer<Entity>
@@ -20,6 +21,12 @@ public class EntityAdapter implements JsonSerializer<Entity>
             name = entity.getName();
             position = new Vector3Proxy(entity.getPosition());
         }
+        
+        public EntityProxy(WorldSnapshot.EntityState state)
+        {
+            name = state.getName();
+            position = new Vector3Proxy(state.getPosition());
+        }
     }
     
     @Override